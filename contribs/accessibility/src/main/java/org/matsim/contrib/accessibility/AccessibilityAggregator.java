@@ -18,18 +18,16 @@
  * *********************************************************************** */
 package org.matsim.contrib.accessibility;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.matsim.api.core.v01.Coord;
 import org.matsim.core.utils.collections.Tuple;
 import org.matsim.facilities.ActivityFacility;
 
@@ -62,44 +60,13 @@ class AccessibilityAggregator implements FacilityDataExchangeInterface {
 
 	private Map<Tuple<ActivityFacility, Double>, Map<String, Double>> sortMeasurePointsByYAndXCoord() {
 		LOG.info("Start sorting measure points.");
-		Map<Double, List<Double>> coordMap = new TreeMap<>();
-		List<Double> yValues = new LinkedList<>();
-
-		for (Tuple<ActivityFacility, Double> tuple : accessibilitiesMap.keySet()) {
-			ActivityFacility activityFacility = tuple.getFirst();
-			double y = activityFacility.getCoord().getY();
-			if (!yValues.contains(y)) {
-				yValues.add(y);
-			}
-		}
-		yValues.sort(Comparator.naturalOrder());
-
-		for (double yGiven : yValues) {
-			List<Double> xValues = new LinkedList<>();
-			for (Tuple<ActivityFacility, Double> tuple : accessibilitiesMap.keySet()) {
-				ActivityFacility activityFacility = tuple.getFirst();
-				double y = activityFacility.getCoord().getY();
-				if (y == yGiven) {
-					double x = activityFacility.getCoord().getX();
-					if (!xValues.contains(x)) {
-						xValues.add(x);
-					}
-				}
-			}
-			xValues.sort(Comparator.naturalOrder());
-			coordMap.put(yGiven, xValues);
-		}
+		List<Tuple<ActivityFacility, Double>> keys = new ArrayList<>(accessibilitiesMap.keySet());
+		keys.sort(Comparator.<Tuple<ActivityFacility, Double>>comparingDouble(tuple -> tuple.getFirst().getCoord().getY())
+				.thenComparingDouble(tuple -> tuple.getFirst().getCoord().getX()));
 
 		Map<Tuple<ActivityFacility, Double>, Map<String,Double>> accessibilitiesMap2 = new LinkedHashMap<>();
-		for (double y : coordMap.keySet()) {
-			for (double x : coordMap.get(y)) {
-				for (Tuple<ActivityFacility, Double> tuple : accessibilitiesMap.keySet()) {
-					Coord coord = tuple.getFirst().getCoord();
-					if (coord.getX() == x && coord.getY() == y) {
-						accessibilitiesMap2.put(tuple, accessibilitiesMap.get(tuple));
-					}
-				}
-			}
+		for (Tuple<ActivityFacility, Double> tuple : keys) {
+			accessibilitiesMap2.put(tuple, accessibilitiesMap.get(tuple));
 		}
 		LOG.info("Finish sorting measure points.");
 		return accessibilitiesMap2;
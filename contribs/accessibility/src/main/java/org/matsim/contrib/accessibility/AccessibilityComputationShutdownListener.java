@@ -46,6 +46,7 @@ import org.matsim.facilities.ActivityFacility;
  */
 final class AccessibilityComputationShutdownListener implements ShutdownListener {
 	private static final Logger LOG = LogManager.getLogger(AccessibilityComputationShutdownListener.class);
+	private static final int PARTITIONS_PER_PROCESSOR = 8;
 
     private final ActivityFacilities measuringPoints;
     private ActivityFacilities opportunities;
@@ -129,18 +130,21 @@ final class AccessibilityComputationShutdownListener implements ShutdownListener
 				int numberOfProcessors = Runtime.getRuntime().availableProcessors();
 				LOG.info("There are " + numberOfProcessors + " available processors.");
 
-				final int partitionSize = (int) ((double) aggregatedOrigins.size() / numberOfProcessors) + 1;
+				// several partitions per thread for a better load balance; the calculators (and thus their least-cost path trees) are
+				// created once per thread and reused for all partitions processed by this thread
+				final int partitionSize = (int) ((double) aggregatedOrigins.size() / (PARTITIONS_PER_PROCESSOR * numberOfProcessors)) + 1;
 				LOG.info("Size of partitions = " + partitionSize);
 				Iterable<List<Id<? extends BasicLocation>>> partitions = Iterables.partition(aggregatedOriginIds, partitionSize);
 
 				ProgressBar progressBar = new ProgressBar(aggregatedOrigins.size());
 
+				ThreadLocal<AccessibilityContributionCalculator> threadCalculator = ThreadLocal.withInitial(calculator::duplicate);
 				ExecutorService service = Executors.newFixedThreadPool(numberOfProcessors);
 				List<Callable<Void>> tasks = new ArrayList<>();
 				for (final List<Id<? extends BasicLocation>> partition : partitions) {
 					tasks.add(() -> {
 						try {
-							compute(mode, departureTime, aggregatedOpportunities, aggregatedOrigins, partition, progressBar);
+							compute(threadCalculator.get(), mode, departureTime, aggregatedOpportunities, aggregatedOrigins, partition, progressBar);
 						} catch (Exception e) {
 							throw new RuntimeException(e);
 						}
@@ -156,12 +160,13 @@ final class AccessibilityComputationShutdownListener implements ShutdownListener
 					throw new RuntimeException(e);
 				} catch (ExecutionException e) {
 					throw new RuntimeException(e);
+				} finally {
+					service.shutdown();
 				}
-				service.shutdown();
 			} else {
 				LOG.info("Performing the computation without parallelization.");
 				ProgressBar progressBar = new ProgressBar(aggregatedOrigins.size());
-				compute(mode, departureTime, aggregatedOpportunities, aggregatedOrigins, aggregatedOriginIds, progressBar);
+				compute(calculator, mode, departureTime, aggregatedOpportunities, aggregatedOrigins, aggregatedOriginIds, progressBar);
 			}
 		}
 		for (FacilityDataExchangeInterface zoneDataExchangeInterface : this.zoneDataExchangeListeners) {
@@ -170,17 +175,11 @@ final class AccessibilityComputationShutdownListener implements ShutdownListener
 	}
 
 
-	private void compute(String mode, Double departureTime, Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities,
+	private void compute(AccessibilityContributionCalculator calculator, String mode, Double departureTime,
+						 Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities,
 						 Map<Id<? extends BasicLocation>, ArrayList<ActivityFacility>> aggregatedOrigins,
 						 Collection<Id<? extends BasicLocation>> subsetOfNodes, ProgressBar progressBar) {
 
-		AccessibilityContributionCalculator calculator;
-		if (acg.isUseParallelization()) {
-			calculator = calculators.get(mode).duplicate();
-		} else {
-			calculator = calculators.get(mode);
-		}
-
 		// Go through all nodes that have a measuring point assigned
 		for (Id<? extends BasicLocation> fromNodeId : subsetOfNodes) {
 			progressBar.update();
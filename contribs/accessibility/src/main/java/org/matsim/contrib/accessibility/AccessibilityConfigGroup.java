@@ -59,6 +59,11 @@ public final class AccessibilityConfigGroup extends ReflectiveConfigGroup{
 
 	private static final String USE_PARALLELIZATION = "useParallelization";
 	private boolean useParallelization = true;
+
+	private static final String USE_PT_STOP_TREES = "usePtStopTrees";
+	private boolean usePtStopTrees = false;
+	private static final String PT_STOP_TREE_CACHE_SIZE = "ptStopTreeCacheSize";
+	private int ptStopTreeCacheSize = 1000;
 	
 //	private static final String ACCESSIBILITY_DESTINATION_SAMPLING_RATE = "accessibilityDestinationSamplingRate";
 //	private Double accessibilityDestinationSamplingRate;
@@ -139,6 +144,16 @@ public final class AccessibilityConfigGroup extends ReflectiveConfigGroup{
 		}
 		map.put(AREA_OF_ACC_COMP, "method to determine the area for which the accessibility will be computed; possible values: " + stb);
 		
+		map.put(USE_PT_STOP_TREES, "if true, pt accessibilities are computed from stop-to-stop trees that are calculated once per stop and shared " +
+				"by all measuring points close to this stop. Much faster for many measuring points, but less exact than one tree per " +
+				"measuring point (the default): the stop-to-stop costs only contain the travel and waiting costs of the router, not its " +
+				"access costs. Access and egress are beeline walks at the teleported walk speed instead, and the waiting starts at the " +
+				"time of day at the access stop (i.e. the access walk time is not added to the departure time). " +
+				"Each cached tree takes about 12 bytes per egress stop reachable from its access stop, so up to " + PT_STOP_TREE_CACHE_SIZE +
+				" * 12 bytes * number of egress stops, e.g. about 240 MB for 1000 trees and 20k stops.");
+		map.put(PT_STOP_TREE_CACHE_SIZE, "max number of stop trees kept in memory if " + USE_PT_STOP_TREES + " is true; " +
+				"the least recently used trees are dropped (and recalculated if needed again). Default: 1000");
+
 		map.put(MEASURING_POINTS_FILE, "if the accibility is computed using the `fromFile` option, " +
 				"the this must be the file containing the measuring points' coordinates. ");
 		return map ;
@@ -237,6 +252,25 @@ public final class AccessibilityConfigGroup extends ReflectiveConfigGroup{
 	public void setUseParallelization(Boolean useParallelization) {
 		this.useParallelization = useParallelization;
 	}
+	@StringGetter(USE_PT_STOP_TREES)
+	public boolean isUsePtStopTrees() {
+		return usePtStopTrees;
+	}
+	@StringSetter(USE_PT_STOP_TREES)
+	public void setUsePtStopTrees(boolean usePtStopTrees) {
+		this.usePtStopTrees = usePtStopTrees;
+	}
+	@StringGetter(PT_STOP_TREE_CACHE_SIZE)
+	public int getPtStopTreeCacheSize() {
+		return ptStopTreeCacheSize;
+	}
+	@StringSetter(PT_STOP_TREE_CACHE_SIZE)
+	public void setPtStopTreeCacheSize(int ptStopTreeCacheSize) {
+		if (ptStopTreeCacheSize < 1) {
+			throw new IllegalArgumentException(PT_STOP_TREE_CACHE_SIZE + " must be positive: " + ptStopTreeCacheSize);
+		}
+		this.ptStopTreeCacheSize = ptStopTreeCacheSize;
+	}
     @StringGetter(WEIGHT_EXPONENT)
     public double getWeightExponent() {
     	return weightExponent;
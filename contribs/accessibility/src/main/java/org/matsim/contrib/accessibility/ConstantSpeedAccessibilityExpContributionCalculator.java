@@ -32,10 +32,12 @@ import org.matsim.core.config.Config;
 import org.matsim.core.config.groups.ScoringConfigGroup;
 import org.matsim.core.network.NetworkUtils;
 import org.matsim.core.network.algorithms.TransportModeNetworkFilter;
+import org.matsim.core.router.speedy.LeastCostPathTree;
+import org.matsim.core.router.speedy.SpeedyGraph;
+import org.matsim.core.router.speedy.SpeedyGraphBuilder;
 import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
 import org.matsim.facilities.ActivityFacilities;
 import org.matsim.facilities.ActivityFacility;
-import org.matsim.utils.leastcostpathtree.LeastCostPathTree;
 
 import java.util.*;
 
@@ -47,12 +49,14 @@ final class ConstantSpeedAccessibilityExpContributionCalculator implements Acces
 
 	// Estimates travel time by a constant speed along network, considering all links (including highways, which seems
 	// to be realistic in South Africa, but less elsewhere)
-	private final LeastCostPathTree lcptTravelDistance = new LeastCostPathTree(new FreeSpeedTravelTime(), new LinkLengthTravelDisutility());
+	private LeastCostPathTree lcptTravelDistance = null;
 
 	private final String mode;
 	private Config config;
 	// private Network network;
 	private Network subNetwork;
+	// shared by all duplicates of this calculator; every duplicate has its own least-cost path tree
+	private SpeedyGraph graph;
 	private Scenario scenario;
 
 	private double logitScaleParameter;
@@ -121,6 +125,7 @@ final class ConstantSpeedAccessibilityExpContributionCalculator implements Acces
 
 		this.aggregatedMeasurePoints = AccessibilityUtils.aggregateMeasurePointsWithSameNearestNode(measuringPoints, subNetwork);
 		this.aggregatedOpportunities = AccessibilityUtils.aggregateOpportunitiesWithSameNearestNode(opportunities, subNetwork, scenario.getConfig());
+		this.graph = SpeedyGraphBuilder.build(subNetwork);
 	}
 
 
@@ -128,7 +133,10 @@ final class ConstantSpeedAccessibilityExpContributionCalculator implements Acces
 	@Override
 	public void notifyNewOriginNode(Id<? extends BasicLocation> fromNodeId, Double departureTime) {
 		this.fromNode = subNetwork.getNodes().get(fromNodeId);
-		this.lcptTravelDistance.calculate(subNetwork, fromNode, departureTime);
+		if (this.lcptTravelDistance == null) {
+			this.lcptTravelDistance = new LeastCostPathTree(graph, new FreeSpeedTravelTime(), new LinkLengthTravelDisutility());
+		}
+		this.lcptTravelDistance.calculate(fromNode.getId().index(), departureTime, null, null);
 	}
 
 
@@ -137,28 +145,31 @@ final class ConstantSpeedAccessibilityExpContributionCalculator implements Acces
 			Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities, Double departureTime) {
 		double expSum = 0.;
 
-		for (final AggregationObject destination : aggregatedOpportunities.values()) {
-			// TODO departure time is not used, dz, apr'17
-			Link nearestLinkToOrigin = NetworkUtils.getNearestLinkExactly(subNetwork, origin.getCoord());
+		// TODO departure time is not used, dz, apr'17
+		Link nearestLinkToOrigin = NetworkUtils.getNearestLinkExactly(subNetwork, origin.getCoord());
 
-			// Captures the distance between the origin via the link to the node:
-			Distances distances = NetworkUtil.getDistances2NodeViaGivenLink(origin.getCoord(), nearestLinkToOrigin, fromNode);
+		// Captures the distance between the origin via the link to the node:
+		Distances distances = NetworkUtil.getDistances2NodeViaGivenLink(origin.getCoord(), nearestLinkToOrigin, fromNode);
 
-			// TODO: extract this walk part?
-			// In the state found before modularization (june 15), this was anyway not consistent accross modes
-			// (different for PtMatrix), pointing to the fact that making this mode-specific might make sense.
-			// distance to road, and then to node:
+		// TODO: extract this walk part?
+		// In the state found before modularization (june 15), this was anyway not consistent accross modes
+		// (different for PtMatrix), pointing to the fact that making this mode-specific might make sense.
+		// distance to road, and then to node:
 
-			// Utility to get on the network by walking
-			double distancePoint2Intersection_m = distances.getDistancePoint2Intersection();
-			double utilityMeasuringPoint2Road = (distancePoint2Intersection_m / this.walkSpeed_m_h * betaWalkTT)	+ (distancePoint2Intersection_m * betaWalkTD);
+		// Utility to get on the network by walking
+		double distancePoint2Intersection_m = distances.getDistancePoint2Intersection();
+		double utilityMeasuringPoint2Road = (distancePoint2Intersection_m / this.walkSpeed_m_h * betaWalkTT)	+ (distancePoint2Intersection_m * betaWalkTD);
 
-			// Utility on the network to first node
-			double distanceIntersection2Node_m = distances.getDistanceIntersection2Node();
-			double utilityRoad2Node = (distanceIntersection2Node_m / modeSpeed_m_h * betaModeTT)	+ (distanceIntersection2Node_m * betaModeTD); // toll or money ???
+		// Utility on the network to first node
+		double distanceIntersection2Node_m = distances.getDistanceIntersection2Node();
+		double utilityRoad2Node = (distanceIntersection2Node_m / modeSpeed_m_h * betaModeTT)	+ (distanceIntersection2Node_m * betaModeTD); // toll or money ???
 
+		for (final AggregationObject destination : aggregatedOpportunities.values()) {
 			// Uutility on the network from first node to destination node
-			double travelDistance_m = lcptTravelDistance.getTree().get(((Node) destination.getNearestBasicLocation()).getId()).getCost(); // travel link distances on road network for bicycle and walk
+			double travelDistance_m = lcptTravelDistance.getCost(((Node) destination.getNearestBasicLocation()).getId().index()); // travel link distances on road network for bicycle and walk
+			if (travelDistance_m == Double.POSITIVE_INFINITY) {
+				continue; // unreachable destination; skipped explicitly since infinity * betaModeTD (usually 0) would be NaN
+			}
 			double utility = ((travelDistance_m / modeSpeed_m_h * betaModeTT) + (travelDistance_m * betaModeTD)); // toll or money ???
 
 			// Utility based on opportunities that are attached to destination node
@@ -177,6 +188,7 @@ final class ConstantSpeedAccessibilityExpContributionCalculator implements Acces
 		ConstantSpeedAccessibilityExpContributionCalculator constantSpeedAccessibilityExpContributionCalculator =
 				new ConstantSpeedAccessibilityExpContributionCalculator(this.mode, this.scenario);
 		constantSpeedAccessibilityExpContributionCalculator.subNetwork = this.subNetwork;
+		constantSpeedAccessibilityExpContributionCalculator.graph = this.graph;
 		constantSpeedAccessibilityExpContributionCalculator.aggregatedMeasurePoints = this.aggregatedMeasurePoints;
 		constantSpeedAccessibilityExpContributionCalculator.aggregatedOpportunities = this.aggregatedOpportunities;
 		return constantSpeedAccessibilityExpContributionCalculator;
@@ -17,11 +17,13 @@ import org.matsim.core.gbl.Gbl;
 import org.matsim.core.network.NetworkUtils;
 import org.matsim.core.network.algorithms.TransportModeNetworkFilter;
 import org.matsim.core.router.costcalculators.TravelDisutilityFactory;
+import org.matsim.core.router.speedy.LeastCostPathTree;
+import org.matsim.core.router.speedy.SpeedyGraph;
+import org.matsim.core.router.speedy.SpeedyGraphBuilder;
 import org.matsim.core.router.util.TravelDisutility;
 import org.matsim.core.router.util.TravelTime;
 import org.matsim.facilities.ActivityFacilities;
 import org.matsim.facilities.ActivityFacility;
-import org.matsim.utils.leastcostpathtree.LeastCostPathTree;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -44,18 +46,23 @@ final class NetworkModeAccessibilityExpContributionCalculator implements Accessi
 	private final NetworkConfigGroup networkConfigGroup;
 
 	private Network subNetwork;
+	// shared by all duplicates of this calculator; every duplicate has its own least-cost path tree
+	private SpeedyGraph graph;
 
 	private double betaWalkTT;
 	private double walkSpeed_m_s;
 
 	private Node fromNode = null;
-	private LeastCostPathTree lcpt;
+	private LeastCostPathTree lcpt = null;
 	//private final DijkstraTree dijkstraTree;
 	//private final MultiNodePathCalculator multiNodePathCalculator;
 	//private ImaginaryNode aggregatedToNodes;
 
 	private Map<Id<? extends BasicLocation>, ArrayList<ActivityFacility>> aggregatedMeasurePoints;
 	private Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities;
+	// aggregated opportunities as primitive arrays: (speedy) index of the nearest node and sum of the opportunities at this node
+	private int[] opportunityNodeIndices;
+	private double[] opportunitySums;
 
 
 
@@ -73,7 +80,6 @@ final class NetworkModeAccessibilityExpContributionCalculator implements Accessi
 
 		RoadPricingScheme scheme = (RoadPricingScheme) scenario.getScenarioElement( RoadPricingScheme.ELEMENT_NAME );
 //		this.lcpt = new LeastCostPathTreeExtended(travelTime, travelDisutility, scheme);
-		this.lcpt = new LeastCostPathTree(travelTime, travelDisutility);
 		//this.dijkstraTree = new DijkstraTree(network, travelDisutility, travelTime);
 		//FastMultiNodeDijkstraFactory fastMultiNodeDijkstraFactory = new FastMultiNodeDijkstraFactory(true);
 		//this.multiNodePathCalculator = (MultiNodePathCalculator) fastMultiNodeDijkstraFactory.createPathCalculator(network, travelDisutility, travelTime);
@@ -104,13 +110,26 @@ final class NetworkModeAccessibilityExpContributionCalculator implements Accessi
 
         this.aggregatedMeasurePoints = AccessibilityUtils.aggregateMeasurePointsWithSameNearestNode(measuringPoints, subNetwork);
 		this.aggregatedOpportunities = AccessibilityUtils.aggregateOpportunitiesWithSameNearestNode(opportunities, subNetwork, scenario.getConfig());
+
+		this.graph = SpeedyGraphBuilder.build(subNetwork);
+		this.opportunityNodeIndices = new int[aggregatedOpportunities.size()];
+		this.opportunitySums = new double[aggregatedOpportunities.size()];
+		int i = 0;
+		for (AggregationObject destination : aggregatedOpportunities.values()) {
+			opportunityNodeIndices[i] = ((Node) destination.getNearestBasicLocation()).getId().index();
+			opportunitySums[i] = destination.getSum();
+			i++;
+		}
 	}
 
 
 	@Override
 	public void notifyNewOriginNode(Id<? extends BasicLocation> fromNodeId, Double departureTime) {
 		this.fromNode = subNetwork.getNodes().get(fromNodeId);
-		this.lcpt.calculate(subNetwork, fromNode, departureTime);
+		if (this.lcpt == null) {
+			this.lcpt = new LeastCostPathTree(graph, travelTime, travelDisutility);
+		}
+		this.lcpt.calculate(fromNode.getId().index(), departureTime, null, null);
 		//this.dijkstraTree.calcLeastCostPathTree(fromNode, departureTime);
 		//multiNodePathCalculator.calcLeastCostPath(fromNode, aggregatedToNodes, departureTime, null, null);
 	}
@@ -139,17 +158,23 @@ final class NetworkModeAccessibilityExpContributionCalculator implements Accessi
 		// Combine all utility components (using the identity: exp(a+b) = exp(a) * exp(b))
 		double modeSpecificConstant = AccessibilityUtils.getModeSpecificConstantForAccessibilities(mode, scoringConfigGroup);
 
-		for (final AggregationObject destination : aggregatedOpportunities.values()) {
-
-
+		if (aggregatedOpportunities != this.aggregatedOpportunities) {
+			for (final AggregationObject destination : aggregatedOpportunities.values()) {
+				double congestedCarUtility = -lcpt.getCost(((Node) destination.getNearestBasicLocation()).getId().index());
+				expSum += Math.exp(this.scoringConfigGroup.getBrainExpBeta() * (walkUtilityMeasuringPoint2Road + modeSpecificConstant
+					+ congestedCarUtilityRoad2Node + congestedCarUtility)) * destination.getSum();
+			}
+			return expSum;
+		}
 
+		for (int i = 0; i < opportunityNodeIndices.length; i++) {
 			// Remaining travel on network
-			double congestedCarUtility = -lcpt.getTree().get(((Node) destination.getNearestBasicLocation()).getId()).getCost();
+			double congestedCarUtility = -lcpt.getCost(opportunityNodeIndices[i]);
 			//double congestedCarUtility = - dijkstraTree.getLeastCostPath(destination.getNearestNode()).travelCost;
 			//double congestedCarUtility = - multiNodePathCalculator.constructPath(fromNode, destination.getNearestNode(), departureTime).travelCost;
 
 			// Pre-computed effect of all opportunities reachable from destination network node
-			double sumExpVjkWalk = destination.getSum();
+			double sumExpVjkWalk = opportunitySums[i];
 
 				expSum += Math.exp(this.scoringConfigGroup.getBrainExpBeta() * (walkUtilityMeasuringPoint2Road + modeSpecificConstant
 					+ congestedCarUtilityRoad2Node + congestedCarUtility)) * sumExpVjkWalk;
@@ -171,8 +196,11 @@ final class NetworkModeAccessibilityExpContributionCalculator implements Accessi
 		NetworkModeAccessibilityExpContributionCalculator networkModeAccessibilityExpContributionCalculator =
 				new NetworkModeAccessibilityExpContributionCalculator(this.mode, this.travelTime, this.travelDisutilityFactory, this.scenario);
 		networkModeAccessibilityExpContributionCalculator.subNetwork = this.subNetwork;
+		networkModeAccessibilityExpContributionCalculator.graph = this.graph;
 		networkModeAccessibilityExpContributionCalculator.aggregatedMeasurePoints = this.aggregatedMeasurePoints;
 		networkModeAccessibilityExpContributionCalculator.aggregatedOpportunities = this.aggregatedOpportunities;
+		networkModeAccessibilityExpContributionCalculator.opportunityNodeIndices = this.opportunityNodeIndices;
+		networkModeAccessibilityExpContributionCalculator.opportunitySums = this.opportunitySums;
 		return networkModeAccessibilityExpContributionCalculator;
 	}
 
@@ -36,8 +36,14 @@ import org.matsim.utils.objectattributes.attributable.AttributesImpl;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * Computes pt accessibilities based on least-cost trees of the {@link SwissRailRaptor}. By default, one tree is calculated per measuring
+ * point. If {@link AccessibilityConfigGroup#isUsePtStopTrees()} is set, one stop-to-stop tree is calculated per access stop and departure
+ * time instead. These trees are cached and shared by all measuring points (and all duplicates of this calculator) that use the same
+ * access stop; access walks are added afterwards.
+ *
  * @author dziemke
  */
 class SwissRailRaptorAccessibilityContributionCalculator implements AccessibilityContributionCalculator {
@@ -46,6 +52,9 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
 	private String mode;
 	private ScoringConfigGroup scoringConfigGroup;
 	private Scenario scenario;
+	private final RaptorParameters raptorParameters;
+	private final boolean useStopTrees;
+	private final int stopTreeCacheSize;
 
     Map<Id<? extends BasicLocation>, ArrayList<ActivityFacility>> aggregatedMeasurePoints;
     Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities;
@@ -57,18 +66,38 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
 
     Map<Id<ActivityFacility>, Collection<TransitStopFacility>> stopsPerAggregatedOpportunity = new LinkedHashMap<>();
 
+	// all stops close to at least one opportunity ("egress stops"); the stop trees contain the costs to these stops only
+	private TransitStopFacility[] egressStops;
+	private Map<Id<TransitStopFacility>, Integer> egressStopIndices;
+	// aggregated opportunities as primitive arrays: coordinates and, per opportunity, the egress stops with their egress walk costs
+	// (the egress stops of opportunity i are stored between opportunityStopOffsets[i] and opportunityStopOffsets[i + 1])
+	private double[] opportunityX;
+	private double[] opportunityY;
+	private int[] opportunityStopOffsets;
+	private int[] opportunityStopIndices;
+	private double[] opportunityEgressCosts;
+
+	// shared by all duplicates of this calculator
+	private AtomicReference<StopTrees> stopTrees = new AtomicReference<>();
+	private StopTrees currentStopTrees;
+	// least costs from the current origin to every egress stop; reused for all origins
+	private double[] costsToEgressStops;
+
 
     public SwissRailRaptorAccessibilityContributionCalculator(String mode, ScoringConfigGroup scoringConfigGroup, Scenario scenario) {
-		this.mode = mode;
+		this(mode, scoringConfigGroup, scenario, createRaptorData(scenario));
+	}
 
-		TransitSchedule schedule = scenario.getTransitSchedule();
-		Network ptNetwork = scenario.getNetwork();
 
-		RaptorStaticConfig raptorConfig = RaptorUtils.createStaticConfig(scenario.getConfig());
-		raptorConfig.setOptimization(RaptorStaticConfig.RaptorOptimization.OneToAllRouting);
-			this.raptorData = SwissRailRaptorData.create(schedule, null, raptorConfig, ptNetwork, null);
+	private SwissRailRaptorAccessibilityContributionCalculator(String mode, ScoringConfigGroup scoringConfigGroup, Scenario scenario, SwissRailRaptorData raptorData) {
+		this.mode = mode;
+		this.raptorData = raptorData;
 
 		this.raptor = new SwissRailRaptor.Builder(raptorData, scenario.getConfig()).build();
+		this.raptorParameters = RaptorUtils.createParameters(scenario.getConfig());
+		AccessibilityConfigGroup accessibilityConfigGroup = ConfigUtils.addOrGetModule(scenario.getConfig(), AccessibilityConfigGroup.class);
+		this.useStopTrees = accessibilityConfigGroup.isUsePtStopTrees();
+		this.stopTreeCacheSize = accessibilityConfigGroup.getPtStopTreeCacheSize();
 		this.scoringConfigGroup = scoringConfigGroup;
 		this.scenario = scenario;
 
@@ -78,6 +107,16 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
 	}
 
 
+	private static SwissRailRaptorData createRaptorData(Scenario scenario) {
+		TransitSchedule schedule = scenario.getTransitSchedule();
+		Network ptNetwork = scenario.getNetwork();
+
+		RaptorStaticConfig raptorConfig = RaptorUtils.createStaticConfig(scenario.getConfig());
+		raptorConfig.setOptimization(RaptorStaticConfig.RaptorOptimization.OneToAllRouting);
+		return SwissRailRaptorData.create(schedule, null, raptorConfig, ptNetwork, null);
+	}
+
+
     @Override
     public void initialize(ActivityFacilities measuringPoints, ActivityFacilities opportunities) {
 		LOG.warn("Initializing calculator for mode " + mode + "...");
@@ -102,13 +141,7 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
         for (ActivityFacility opportunity : opportunities.getFacilities().values()) {
 
             // Find stops close to opportunity
-            final Coord coord = opportunity.getCoord();
-            Collection<TransitStopFacility> stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), scenario.getConfig().transitRouter().getSearchRadius());
-            if (stops.isEmpty()) {
-                TransitStopFacilityImpl nearest = (TransitStopFacilityImpl) raptorData.findNearestStop(coord.getX(), coord.getY());
-                double nearestStopDistance = CoordUtils.calcEuclideanDistance(coord, nearest.getCoord());
-                stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), nearestStopDistance + scenario.getConfig().transitRouter().getExtensionRadius());
-            }
+            Collection<TransitStopFacility> stops = findStops(opportunity.getCoord());
 
             AggregationObject jco = aggregatedOpportunities.get(opportunity.getId());
             if (jco == null) {
@@ -128,59 +161,210 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
 
             stopsPerAggregatedOpportunity.put(opportunity.getId(), stops);
         }
+
+		// Prepare primitive arrays of the egress stops and opportunities
+		egressStopIndices = new LinkedHashMap<>();
+		for (Collection<TransitStopFacility> stops : stopsPerAggregatedOpportunity.values()) {
+			for (TransitStopFacility stop : stops) {
+				egressStopIndices.putIfAbsent(stop.getId(), egressStopIndices.size());
+			}
+		}
+		egressStops = new TransitStopFacility[egressStopIndices.size()];
+		for (Collection<TransitStopFacility> stops : stopsPerAggregatedOpportunity.values()) {
+			for (TransitStopFacility stop : stops) {
+				egressStops[egressStopIndices.get(stop.getId())] = stop;
+			}
+		}
+
+		int opportunityCount = aggregatedOpportunities.size();
+		opportunityX = new double[opportunityCount];
+		opportunityY = new double[opportunityCount];
+		opportunityStopOffsets = new int[opportunityCount + 1];
+		List<AggregationObject> destinations = new ArrayList<>(aggregatedOpportunities.values());
+		for (int i = 0; i < opportunityCount; i++) {
+			Collection<TransitStopFacility> stops = stopsPerAggregatedOpportunity.get(destinations.get(i).getNearestBasicLocation().getId());
+			opportunityStopOffsets[i + 1] = opportunityStopOffsets[i] + stops.size();
+		}
+		opportunityStopIndices = new int[opportunityStopOffsets[opportunityCount]];
+		opportunityEgressCosts = new double[opportunityStopOffsets[opportunityCount]];
+		for (int i = 0; i < opportunityCount; i++) {
+			Coord toCoord = destinations.get(i).getNearestBasicLocation().getCoord();
+			opportunityX[i] = toCoord.getX();
+			opportunityY[i] = toCoord.getY();
+			int j = opportunityStopOffsets[i];
+			for (TransitStopFacility stop : stopsPerAggregatedOpportunity.get(destinations.get(i).getNearestBasicLocation().getId())) {
+				opportunityStopIndices[j] = egressStopIndices.get(stop.getId());
+				opportunityEgressCosts[j] = calcWalkCost(CoordUtils.calcEuclideanDistance(stop.getCoord(), toCoord));
+				j++;
+			}
+		}
+		LOG.info(opportunityCount + " aggregated opportunities are served by " + egressStops.length + " stops.");
+
+		// trees of a previous initialization refer to other egress stops
+		stopTrees.set(null);
     }
 
 
+	private Collection<TransitStopFacility> findStops(Coord coord) {
+		Collection<TransitStopFacility> stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), scenario.getConfig().transitRouter().getSearchRadius());
+		if (stops.isEmpty()) {
+			TransitStopFacilityImpl nearest = (TransitStopFacilityImpl) raptorData.findNearestStop(coord.getX(), coord.getY());
+			double nearestStopDistance = CoordUtils.calcEuclideanDistance(coord, nearest.getCoord());
+			stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), nearestStopDistance + scenario.getConfig().transitRouter().getExtensionRadius());
+		}
+		return stops;
+	}
+
+
+	private double calcWalkCost(double distance_m) {
+		return -distance_m / walkSpeed_m_h * betaWalkTT;
+	}
+
+
 	@Override
 	public void notifyNewOriginNode(Id<? extends BasicLocation> fromNodeId, Double departureTime) {
+		if (useStopTrees) {
+			updateCurrentStopTrees(departureTime);
+		}
+	}
+
+
+	private void updateCurrentStopTrees(double departureTime) {
+		this.currentStopTrees = this.stopTrees.updateAndGet(trees -> trees != null && trees.departureTime == departureTime ? trees : new StopTrees(departureTime, this.stopTreeCacheSize));
 	}
 
 
 	@Override
 	public double computeContributionOfOpportunity(ActivityFacility origin,
             Map<Id<? extends BasicLocation>, AggregationObject> aggregatedOpportunities, Double departureTime) {
-        double expSum = 0.;
-
-        final Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> idTravelInfoMap = raptor.calcTree(origin, departureTime, null, new AttributesImpl());
-
-        for (final AggregationObject destination : aggregatedOpportunities.values()) {
-            //compute direct walk costs
-            final Coord toCoord = destination.getNearestBasicLocation().getCoord();
-            double directDistance_m = CoordUtils.calcEuclideanDistance(origin.getCoord(), toCoord);
-            double directWalkCost = -directDistance_m / walkSpeed_m_h * betaWalkTT;
-
-            double travelCost = Double.MAX_VALUE;
-            ActivityFacility nearestStop = ((ActivityFacility) destination.getNearestBasicLocation());
-            Collection<TransitStopFacility> stops = stopsPerAggregatedOpportunity.get(nearestStop.getId());
-
-            for (TransitStopFacility stop : stops) {
-                final SwissRailRaptorCore.TravelInfo travelInfo = idTravelInfoMap.get(stop.getId());
-                if (travelInfo != null) {
-                    double distance = CoordUtils.calcEuclideanDistance(stop.getCoord(), toCoord);
-                    double egressWalkCost = - distance / walkSpeed_m_h  * betaWalkTT;
-                    //total travel cost include travel, access, egress and waiting costs
-                    double cost = travelInfo.accessCost + travelInfo.travelCost + travelInfo.waitingCost + egressWalkCost;
-                    travelCost = Math.min(travelCost, cost);
-                }
-            }
+		double time = departureTime;
+		double[] stopCosts;
+		if (useStopTrees) {
+			if (this.currentStopTrees == null || this.currentStopTrees.departureTime != time) {
+				updateCurrentStopTrees(time);
+			}
+			stopCosts = calcCostsToEgressStopsFromStopTrees(origin);
+		} else {
+			stopCosts = calcCostsToEgressStopsFromOrigin(origin, time);
+		}
+
+		double originX = origin.getCoord().getX();
+		double originY = origin.getCoord().getY();
+		double brainExpBeta = this.scoringConfigGroup.getBrainExpBeta();
+		// Factor out the mode specific constant (using the identity: exp(a+b) = exp(a) * exp(b))
+		double modeSpecificConstant = AccessibilityUtils.getModeSpecificConstantForAccessibilities(mode, scoringConfigGroup);
+		double expModeSpecificConstant = Math.exp(brainExpBeta * modeSpecificConstant);
+
+		double expSum = 0.;
+		if (aggregatedOpportunities != this.aggregatedOpportunities) {
+			for (final AggregationObject destination : aggregatedOpportunities.values()) {
+				final Coord toCoord = destination.getNearestBasicLocation().getCoord();
+				//compute direct walk costs
+				double travelCost = calcWalkCost(CoordUtils.calcEuclideanDistance(origin.getCoord(), toCoord));
+				for (TransitStopFacility stop : stopsPerAggregatedOpportunity.get(destination.getNearestBasicLocation().getId())) {
+					Integer stopIndex = egressStopIndices.get(stop.getId());
+					if (stopIndex != null) {
+						travelCost = Math.min(travelCost, stopCosts[stopIndex] + calcWalkCost(CoordUtils.calcEuclideanDistance(stop.getCoord(), toCoord)));
+					}
+				}
+				expSum += Math.exp(-brainExpBeta * travelCost);
+			}
+			return expModeSpecificConstant * expSum;
+		}
+
+		for (int i = 0; i < opportunityX.length; i++) {
+			//compute direct walk costs
+			double dx = opportunityX[i] - originX;
+			double dy = opportunityY[i] - originY;
+			double travelCost = calcWalkCost(Math.sqrt(dx * dx + dy * dy));
+
+			//total travel cost include travel, access, egress and waiting costs; check whether direct walk is cheaper
+			for (int j = opportunityStopOffsets[i]; j < opportunityStopOffsets[i + 1]; j++) {
+				travelCost = Math.min(travelCost, stopCosts[opportunityStopIndices[j]] + opportunityEgressCosts[j]);
+			}
+			expSum += Math.exp(-brainExpBeta * travelCost);
+		}
+		return expModeSpecificConstant * expSum;
+	}
 
-            //check whether direct walk time is cheaper
-            travelCost = Math.min(travelCost, directWalkCost);
 
-            double modeSpecificConstant = AccessibilityUtils.getModeSpecificConstantForAccessibilities(mode, scoringConfigGroup);
-            expSum += Math.exp(this.scoringConfigGroup.getBrainExpBeta() * (-travelCost + modeSpecificConstant));
-        }
-        return expSum;
+	private double[] calcCostsToEgressStopsFromOrigin(ActivityFacility origin, double departureTime) {
+		double[] costs = resetCostsToEgressStops();
+		final Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> idTravelInfoMap = raptor.calcTree(origin, departureTime, null, new AttributesImpl());
+		for (int i = 0; i < costs.length; i++) {
+			final SwissRailRaptorCore.TravelInfo travelInfo = idTravelInfoMap.get(this.egressStops[i].getId());
+			if (travelInfo != null) {
+				costs[i] = travelInfo.accessCost + travelInfo.travelCost + travelInfo.waitingCost;
+			}
+		}
+		return costs;
+	}
+
+
+	/**
+	 * Combines the access walks to the stops close to the origin with the (cached) stop trees of these stops.
+	 */
+	private double[] calcCostsToEgressStopsFromStopTrees(ActivityFacility origin) {
+		double[] costs = resetCostsToEgressStops();
+		for (TransitStopFacility accessStop : findStops(origin.getCoord())) {
+			double accessCost = calcWalkCost(CoordUtils.calcEuclideanDistance(origin.getCoord(), accessStop.getCoord()));
+			StopTree tree = getStopTree(accessStop);
+			for (int k = 0; k < tree.egressStopIndices.length; k++) {
+				int i = tree.egressStopIndices[k];
+				costs[i] = Math.min(costs[i], accessCost + tree.costs[k]);
+			}
+		}
+		return costs;
+	}
+
+
+	private double[] resetCostsToEgressStops() {
+		if (this.costsToEgressStops == null || this.costsToEgressStops.length != this.egressStops.length) {
+			this.costsToEgressStops = new double[this.egressStops.length];
+		}
+		Arrays.fill(this.costsToEgressStops, Double.POSITIVE_INFINITY);
+		return this.costsToEgressStops;
+	}
+
+
+	private StopTree getStopTree(TransitStopFacility accessStop) {
+		StopTrees trees = this.currentStopTrees;
+		StopTree tree = trees.get(accessStop.getId());
+		if (tree == null) {
+			// computed outside of the cache so that other threads are not blocked; a tree might be computed twice, but it is the same tree
+			Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> idTravelInfoMap = raptor.calcTree(accessStop, trees.departureTime, raptorParameters, null);
+			int[] reachableStopIndices = new int[this.egressStops.length];
+			double[] costs = new double[this.egressStops.length];
+			int count = 0;
+			for (int i = 0; i < this.egressStops.length; i++) {
+				SwissRailRaptorCore.TravelInfo travelInfo = idTravelInfoMap.get(this.egressStops[i].getId());
+				if (travelInfo != null) {
+					reachableStopIndices[count] = i;
+					costs[count] = travelInfo.travelCost + travelInfo.waitingCost;
+					count++;
+				}
+			}
+			tree = trees.putIfAbsent(accessStop.getId(), new StopTree(Arrays.copyOf(reachableStopIndices, count), Arrays.copyOf(costs, count)));
+		}
+		return tree;
 	}
 
 
 	@Override
 	public SwissRailRaptorAccessibilityContributionCalculator duplicate() {
 		SwissRailRaptorAccessibilityContributionCalculator swissRailRaptorAccessibilityContributionCalculator =
-				new SwissRailRaptorAccessibilityContributionCalculator(this.mode, this.scoringConfigGroup, this.scenario);
+				new SwissRailRaptorAccessibilityContributionCalculator(this.mode, this.scoringConfigGroup, this.scenario, this.raptorData);
         swissRailRaptorAccessibilityContributionCalculator.aggregatedMeasurePoints = this.aggregatedMeasurePoints;
         swissRailRaptorAccessibilityContributionCalculator.aggregatedOpportunities = this.aggregatedOpportunities;
         swissRailRaptorAccessibilityContributionCalculator.stopsPerAggregatedOpportunity = this.stopsPerAggregatedOpportunity;
+		swissRailRaptorAccessibilityContributionCalculator.egressStops = this.egressStops;
+		swissRailRaptorAccessibilityContributionCalculator.egressStopIndices = this.egressStopIndices;
+		swissRailRaptorAccessibilityContributionCalculator.opportunityX = this.opportunityX;
+		swissRailRaptorAccessibilityContributionCalculator.opportunityY = this.opportunityY;
+		swissRailRaptorAccessibilityContributionCalculator.opportunityStopOffsets = this.opportunityStopOffsets;
+		swissRailRaptorAccessibilityContributionCalculator.opportunityStopIndices = this.opportunityStopIndices;
+		swissRailRaptorAccessibilityContributionCalculator.opportunityEgressCosts = this.opportunityEgressCosts;
+		swissRailRaptorAccessibilityContributionCalculator.stopTrees = this.stopTrees;
 		return swissRailRaptorAccessibilityContributionCalculator;
 	}
 
@@ -195,4 +379,42 @@ class SwissRailRaptorAccessibilityContributionCalculator implements Accessibilit
     public Map<Id<? extends BasicLocation>, AggregationObject> getAgregatedOpportunities() {
         return aggregatedOpportunities;
     }
+
+
+	/**
+	 * Stop-to-stop costs (travel and waiting costs) from an access stop to the egress stops reachable from it; unreachable egress
+	 * stops are not stored.
+	 */
+	private record StopTree(int[] egressStopIndices, double[] costs) {
+	}
+
+
+	/**
+	 * The stop trees calculated for one departure time. At most {@code cacheSize} trees are kept; the least recently used ones are
+	 * dropped first.
+	 */
+	private static final class StopTrees {
+		private final double departureTime;
+		private final Map<Id<TransitStopFacility>, StopTree> treesPerAccessStop;
+
+		private StopTrees(double departureTime, int cacheSize) {
+			this.departureTime = departureTime;
+			this.treesPerAccessStop = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Id<TransitStopFacility>, StopTree> eldest) {
+					return size() > cacheSize;
+				}
+			};
+		}
+
+		// an access-ordered map is modified by get(), too
+		private synchronized StopTree get(Id<TransitStopFacility> accessStopId) {
+			return treesPerAccessStop.get(accessStopId);
+		}
+
+		private synchronized StopTree putIfAbsent(Id<TransitStopFacility> accessStopId, StopTree tree) {
+			StopTree existing = treesPerAccessStop.putIfAbsent(accessStopId, tree);
+			return existing != null ? existing : tree;
+		}
+	}
 }
@@ -0,0 +1,269 @@
+/* *********************************************************************** *
+ * project: org.matsim.*                                                   *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.contrib.accessibility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.BasicLocation;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.Scenario;
+import org.matsim.api.core.v01.TransportMode;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.accessibility.utils.AggregationObject;
+import org.matsim.contrib.accessibility.utils.Distances;
+import org.matsim.contrib.accessibility.utils.NetworkUtil;
+import org.matsim.core.config.ConfigUtils;
+import org.matsim.core.config.groups.ScoringConfigGroup;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.costcalculators.OnlyTimeDependentTravelDisutilityFactory;
+import org.matsim.core.router.util.TravelDisutility;
+import org.matsim.core.router.util.TravelTime;
+import org.matsim.core.scenario.ScenarioUtils;
+import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
+import org.matsim.facilities.ActivityFacilities;
+import org.matsim.facilities.ActivityFacility;
+import org.matsim.facilities.FacilitiesUtils;
+import org.matsim.testcases.MatsimTestUtils;
+import org.matsim.utils.leastcostpathtree.LeastCostPathTree;
+
+/**
+ * Compares the network-mode and constant-speed contributions with the results of the (object-based) least-cost path tree that was
+ * calculated per origin before, both for the serial and the parallel computation.
+ */
+public class NetworkAccessibilityContributionCalculatorTest {
+
+	private static final double DEPARTURE_TIME = 8 * 3600.;
+
+	private final TravelTime travelTime = new FreeSpeedTravelTime();
+	private final TravelDisutility travelDisutility = new OnlyTimeDependentTravelDisutilityFactory().createTravelDisutility(travelTime);
+
+	@Test
+	void testNetworkMode() {
+		Scenario scenario = createScenario();
+		ActivityFacilities opportunities = createOpportunities();
+		NetworkModeAccessibilityExpContributionCalculator calculator = createNetworkModeCalculator(scenario);
+		calculator.initialize(createMeasuringPoints(), opportunities);
+		// the opportunities at D cannot be reached, so they must neither contribute nor make the computation fail
+		Assertions.assertTrue(calculator.getAgregatedOpportunities().containsKey(Id.createNodeId("D")));
+		// a map other than the calculator's own one is not backed by its primitive arrays
+		Map<Id<? extends BasicLocation>, AggregationObject> copiedOpportunities = new LinkedHashMap<>(calculator.getAgregatedOpportunities());
+
+		for (var entry : calculator.getAggregatedMeasurePoints().entrySet()) {
+			calculator.notifyNewOriginNode(entry.getKey(), DEPARTURE_TIME);
+			for (ActivityFacility origin : entry.getValue()) {
+				double expected = calcNetworkModeReference(scenario, opportunities, origin);
+				Assertions.assertEquals(expected, calculator.computeContributionOfOpportunity(origin, calculator.getAgregatedOpportunities(), DEPARTURE_TIME),
+						expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+				Assertions.assertEquals(expected, calculator.computeContributionOfOpportunity(origin, copiedOpportunities, DEPARTURE_TIME),
+						expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+			}
+		}
+	}
+
+	@Test
+	void testConstantSpeed() {
+		Scenario scenario = createScenario();
+		ActivityFacilities opportunities = createOpportunities();
+		ConstantSpeedAccessibilityExpContributionCalculator calculator = new ConstantSpeedAccessibilityExpContributionCalculator(TransportMode.bike, scenario);
+		calculator.initialize(createMeasuringPoints(), opportunities);
+		// the opportunities at D cannot be reached, so they must neither contribute nor make the computation fail
+		Assertions.assertTrue(calculator.getAgregatedOpportunities().containsKey(Id.createNodeId("D")));
+
+		for (var entry : calculator.getAggregatedMeasurePoints().entrySet()) {
+			calculator.notifyNewOriginNode(entry.getKey(), DEPARTURE_TIME);
+			for (ActivityFacility origin : entry.getValue()) {
+				double expected = calcConstantSpeedReference(scenario, opportunities, origin);
+				Assertions.assertEquals(expected, calculator.computeContributionOfOpportunity(origin, calculator.getAgregatedOpportunities(), DEPARTURE_TIME),
+						expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+			}
+		}
+	}
+
+	@Test
+	void testParallelComputation() {
+		Scenario scenario = createScenario();
+		ActivityFacilities measuringPoints = createMeasuringPoints();
+		ActivityFacilities opportunities = createOpportunities();
+
+		Map<String, Double> serial = computeAccessibilities(scenario, measuringPoints, opportunities, false);
+		Map<String, Double> parallel = computeAccessibilities(scenario, measuringPoints, opportunities, true);
+		Assertions.assertEquals(2 * measuringPoints.getFacilities().size(), serial.size());
+		Assertions.assertEquals(serial, parallel);
+
+		for (ActivityFacility origin : measuringPoints.getFacilities().values()) {
+			double expectedCar = calcNetworkModeReference(scenario, opportunities, origin);
+			Assertions.assertEquals(expectedCar, serial.get(TransportMode.car + "_" + origin.getId()), expectedCar * MatsimTestUtils.EPSILON);
+			double expectedBike = calcConstantSpeedReference(scenario, opportunities, origin);
+			Assertions.assertEquals(expectedBike, serial.get(TransportMode.bike + "_" + origin.getId()), expectedBike * MatsimTestUtils.EPSILON);
+		}
+	}
+
+	private Map<String, Double> computeAccessibilities(Scenario scenario, ActivityFacilities measuringPoints, ActivityFacilities opportunities,
+			boolean useParallelization) {
+		AccessibilityConfigGroup acg = ConfigUtils.addOrGetModule(scenario.getConfig(), AccessibilityConfigGroup.class);
+		acg.setUseParallelization(useParallelization);
+		acg.setAccessibilityMeasureType(AccessibilityConfigGroup.AccessibilityMeasureType.rawSum);
+
+		AccessibilityComputationShutdownListener listener = new AccessibilityComputationShutdownListener(scenario, measuringPoints, opportunities, null);
+		listener.putAccessibilityContributionCalculator(TransportMode.car, createNetworkModeCalculator(scenario));
+		listener.putAccessibilityContributionCalculator(TransportMode.bike, new ConstantSpeedAccessibilityExpContributionCalculator(TransportMode.bike, scenario));
+
+		Map<String, Double> accessibilities = new ConcurrentHashMap<>();
+		listener.addFacilityDataExchangeListener(new FacilityDataExchangeInterface() {
+			@Override
+			public void setFacilityAccessibilities(ActivityFacility measurePoint, Double timeOfDay, String mode, double accessibility) {
+				accessibilities.put(mode + "_" + measurePoint.getId(), accessibility);
+			}
+
+			@Override
+			public void finish() {
+			}
+		});
+		listener.computeAccessibilities(DEPARTURE_TIME, opportunities);
+		return accessibilities;
+	}
+
+	private NetworkModeAccessibilityExpContributionCalculator createNetworkModeCalculator(Scenario scenario) {
+		return new NetworkModeAccessibilityExpContributionCalculator(TransportMode.car, travelTime, new OnlyTimeDependentTravelDisutilityFactory(), scenario);
+	}
+
+	/**
+	 * Per origin: one object-based tree, unreachable opportunities are skipped.
+	 */
+	private double calcNetworkModeReference(Scenario scenario, ActivityFacilities opportunities, ActivityFacility origin) {
+		Network network = scenario.getNetwork();
+		ScoringConfigGroup scoring = scenario.getConfig().scoring();
+		double betaWalkTT = scoring.getModes().get(TransportMode.walk).getMarginalUtilityOfTraveling() - scoring.getPerforming_utils_hr();
+		double walkSpeed_m_s = scenario.getConfig().routing().getTeleportedModeSpeeds().get(TransportMode.walk);
+
+		Node fromNode = NetworkUtils.getNearestNode(network, origin.getCoord());
+		LeastCostPathTree tree = new LeastCostPathTree(travelTime, travelDisutility);
+		tree.calculate(network, fromNode, DEPARTURE_TIME);
+
+		Link nearestLink = NetworkUtils.getNearestLinkExactly(network, origin.getCoord());
+		Distances distances = NetworkUtil.getDistances2NodeViaGivenLink(origin.getCoord(), nearestLink, fromNode);
+		double walkUtility = distances.getDistancePoint2Intersection() / (walkSpeed_m_s * 3600) * betaWalkTT;
+		double road2NodeUtility = -travelDisutility.getLinkTravelDisutility(nearestLink, DEPARTURE_TIME, null, null)
+				* distances.getDistanceIntersection2Node() / nearestLink.getLength();
+		double constant = scoring.getModes().get(TransportMode.car).getConstant();
+
+		double expSum = 0;
+		for (AggregationObject destination : AccessibilityUtils.aggregateOpportunitiesWithSameNearestNode(opportunities, network,
+				scenario.getConfig()).values()) {
+			LeastCostPathTree.NodeData nodeData = tree.getTree().get(((Node)destination.getNearestBasicLocation()).getId());
+			if (nodeData != null) {
+				expSum += Math.exp(scoring.getBrainExpBeta() * (walkUtility + constant + road2NodeUtility - nodeData.getCost())) * destination.getSum();
+			}
+		}
+		return expSum;
+	}
+
+	/**
+	 * Per origin: one object-based tree over the link lengths, unreachable opportunities are skipped.
+	 */
+	private double calcConstantSpeedReference(Scenario scenario, ActivityFacilities opportunities, ActivityFacility origin) {
+		Network network = scenario.getNetwork();
+		ScoringConfigGroup scoring = scenario.getConfig().scoring();
+		ScoringConfigGroup.ModeParams walkParams = scoring.getModes().get(TransportMode.walk);
+		ScoringConfigGroup.ModeParams bikeParams = scoring.getOrCreateModeParams(TransportMode.bike);
+		double betaWalkTT = walkParams.getMarginalUtilityOfTraveling() - scoring.getPerforming_utils_hr();
+		double betaBikeTT = bikeParams.getMarginalUtilityOfTraveling() - scoring.getPerforming_utils_hr();
+		double walkSpeed_m_h = scenario.getConfig().routing().getTeleportedModeSpeeds().get(TransportMode.walk) * 3600;
+		double bikeSpeed_m_h = scenario.getConfig().routing().getTeleportedModeSpeeds().get(TransportMode.bike) * 3600;
+
+		Node fromNode = NetworkUtils.getNearestNode(network, origin.getCoord());
+		LeastCostPathTree tree = new LeastCostPathTree(new FreeSpeedTravelTime(), new LinkLengthTravelDisutility());
+		tree.calculate(network, fromNode, DEPARTURE_TIME);
+
+		Link nearestLink = NetworkUtils.getNearestLinkExactly(network, origin.getCoord());
+		Distances distances = NetworkUtil.getDistances2NodeViaGivenLink(origin.getCoord(), nearestLink, fromNode);
+		double walkDistance_m = distances.getDistancePoint2Intersection();
+		double walkUtility = walkDistance_m / walkSpeed_m_h * betaWalkTT + walkDistance_m * walkParams.getMarginalUtilityOfDistance();
+		double road2NodeDistance_m = distances.getDistanceIntersection2Node();
+		double road2NodeUtility = road2NodeDistance_m / bikeSpeed_m_h * betaBikeTT + road2NodeDistance_m * bikeParams.getMarginalUtilityOfDistance();
+
+		double expSum = 0;
+		for (AggregationObject destination : AccessibilityUtils.aggregateOpportunitiesWithSameNearestNode(opportunities, network,
+				scenario.getConfig()).values()) {
+			LeastCostPathTree.NodeData nodeData = tree.getTree().get(((Node)destination.getNearestBasicLocation()).getId());
+			if (nodeData != null) {
+				double distance_m = nodeData.getCost();
+				double utility = distance_m / bikeSpeed_m_h * betaBikeTT + distance_m * bikeParams.getMarginalUtilityOfDistance();
+				expSum += Math.exp(scoring.getBrainExpBeta() * (bikeParams.getConstant() + walkUtility + road2NodeUtility + utility))
+						* destination.getSum();
+			}
+		}
+		return expSum;
+	}
+
+	/**
+	 * A--B--C (both directions) and D->C (one way), i.e. D cannot be reached from the other nodes.
+	 */
+	private static Scenario createScenario() {
+		Scenario scenario = ScenarioUtils.createScenario(ConfigUtils.createConfig());
+		Network network = scenario.getNetwork();
+		Node a = NetworkUtils.createAndAddNode(network, Id.createNodeId("A"), new Coord(0, 0));
+		Node b = NetworkUtils.createAndAddNode(network, Id.createNodeId("B"), new Coord(1000, 0));
+		Node c = NetworkUtils.createAndAddNode(network, Id.createNodeId("C"), new Coord(2000, 0));
+		Node d = NetworkUtils.createAndAddNode(network, Id.createNodeId("D"), new Coord(2000, 2000));
+		addLink(network, "AB", a, b, 10);
+		addLink(network, "BA", b, a, 10);
+		addLink(network, "BC", b, c, 20);
+		addLink(network, "CB", c, b, 20);
+		addLink(network, "DC", d, c, 20);
+		return scenario;
+	}
+
+	private static void addLink(Network network, String id, Node from, Node to, double freespeed) {
+		Link link = NetworkUtils.createAndAddLink(network, Id.createLinkId(id), from, to, NetworkUtils.getEuclideanDistance(from.getCoord(),
+				to.getCoord()), freespeed, 1000, 1);
+		link.setAllowedModes(Set.of(TransportMode.car, TransportMode.bike));
+	}
+
+	private static ActivityFacilities createMeasuringPoints() {
+		ActivityFacilities measuringPoints = FacilitiesUtils.createActivityFacilities();
+		addFacility(measuringPoints, "a", new Coord(0, 50));
+		addFacility(measuringPoints, "b", new Coord(1000, -50));
+		addFacility(measuringPoints, "b2", new Coord(1100, 100));
+		addFacility(measuringPoints, "c", new Coord(1950, 30));
+		return measuringPoints;
+	}
+
+	private static ActivityFacilities createOpportunities() {
+		ActivityFacilities opportunities = FacilitiesUtils.createActivityFacilities();
+		addFacility(opportunities, "1", new Coord(300, 20));
+		addFacility(opportunities, "2", new Coord(1700, -20));
+		addFacility(opportunities, "3", new Coord(2050, 10));
+		// nearest node: D, which is unreachable
+		addFacility(opportunities, "4", new Coord(2000, 1990));
+		return opportunities;
+	}
+
+	private static void addFacility(ActivityFacilities facilities, String id, Coord coord) {
+		facilities.addActivityFacility(facilities.getFactory().createActivityFacility(Id.create(id, ActivityFacility.class), coord));
+	}
+}
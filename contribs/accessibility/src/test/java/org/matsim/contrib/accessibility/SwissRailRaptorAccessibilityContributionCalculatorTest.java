@@ -0,0 +1,288 @@
+/* *********************************************************************** *
+ * project: org.matsim.*                                                   *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.contrib.accessibility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.BasicLocation;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.Scenario;
+import org.matsim.api.core.v01.TransportMode;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.accessibility.utils.AggregationObject;
+import org.matsim.core.config.Config;
+import org.matsim.core.config.ConfigUtils;
+import org.matsim.core.config.groups.ScoringConfigGroup;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.population.routes.NetworkRoute;
+import org.matsim.core.population.routes.RouteUtils;
+import org.matsim.core.scenario.ScenarioUtils;
+import org.matsim.core.utils.geometry.CoordUtils;
+import org.matsim.facilities.ActivityFacilities;
+import org.matsim.facilities.ActivityFacility;
+import org.matsim.facilities.FacilitiesUtils;
+import org.matsim.pt.transitSchedule.api.Departure;
+import org.matsim.pt.transitSchedule.api.TransitLine;
+import org.matsim.pt.transitSchedule.api.TransitRoute;
+import org.matsim.pt.transitSchedule.api.TransitRouteStop;
+import org.matsim.pt.transitSchedule.api.TransitSchedule;
+import org.matsim.pt.transitSchedule.api.TransitScheduleFactory;
+import org.matsim.pt.transitSchedule.api.TransitStopFacility;
+import org.matsim.testcases.MatsimTestUtils;
+import org.matsim.utils.objectattributes.attributable.AttributesImpl;
+import org.matsim.vehicles.Vehicle;
+
+import ch.sbb.matsim.routing.pt.raptor.RaptorParameters;
+import ch.sbb.matsim.routing.pt.raptor.RaptorStaticConfig;
+import ch.sbb.matsim.routing.pt.raptor.RaptorUtils;
+import ch.sbb.matsim.routing.pt.raptor.SwissRailRaptor;
+import ch.sbb.matsim.routing.pt.raptor.SwissRailRaptorCore;
+import ch.sbb.matsim.routing.pt.raptor.SwissRailRaptorData;
+
+/**
+ * Compares the pt accessibility contributions with straightforward computations based on the {@link SwissRailRaptor}: one tree per
+ * measuring point (the default) and one stop-to-stop tree per access stop.
+ */
+public class SwissRailRaptorAccessibilityContributionCalculatorTest {
+
+	private static final double[] DEPARTURE_TIMES = {8 * 3600., 7 * 3600., 8 * 3600.};
+
+	@Test
+	void testTreePerMeasuringPoint() {
+		Scenario scenario = createScenario(false);
+		ActivityFacilities measuringPoints = createMeasuringPoints();
+		ActivityFacilities opportunities = createOpportunities();
+		Reference reference = new Reference(scenario, opportunities);
+
+		SwissRailRaptorAccessibilityContributionCalculator calculator = createCalculator(scenario, measuringPoints, opportunities);
+		Map<Id<? extends BasicLocation>, AggregationObject> copiedOpportunities = new LinkedHashMap<>(calculator.getAgregatedOpportunities());
+
+		for (double departureTime : DEPARTURE_TIMES) {
+			for (ActivityFacility origin : measuringPoints.getFacilities().values()) {
+				calculator.notifyNewOriginNode(origin.getId(), departureTime);
+				double expected = reference.calcContributionWithTreePerMeasuringPoint(origin, departureTime);
+				Assertions.assertEquals(expected, calculator.computeContributionOfOpportunity(origin, calculator.getAgregatedOpportunities(), departureTime),
+						expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+				Assertions.assertEquals(expected, calculator.computeContributionOfOpportunity(origin, copiedOpportunities, departureTime),
+						expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+			}
+		}
+	}
+
+	@Test
+	void testStopTrees() {
+		Scenario scenario = createScenario(true);
+		ActivityFacilities measuringPoints = createMeasuringPoints();
+		ActivityFacilities opportunities = createOpportunities();
+		Reference reference = new Reference(scenario, opportunities);
+
+		assertStopTreeContributions(scenario, measuringPoints, opportunities, reference);
+
+		// the shorter the wait for the departure, the higher the accessibility
+		ActivityFacility origin = measuringPoints.getFacilities().get(Id.create("west", ActivityFacility.class));
+		Assertions.assertTrue(reference.calcContributionWithStopTrees(origin, 7 * 3600.) < reference.calcContributionWithStopTrees(origin, 8 * 3600.),
+				"Pt does not improve the accessibility");
+	}
+
+	@Test
+	void testStopTreesWithEvictions() {
+		Scenario scenario = createScenario(true);
+		// only one tree is cached, so the trees of the west and the east stop evict each other
+		ConfigUtils.addOrGetModule(scenario.getConfig(), AccessibilityConfigGroup.class).setPtStopTreeCacheSize(1);
+		ActivityFacilities measuringPoints = createMeasuringPoints();
+		ActivityFacilities opportunities = createOpportunities();
+
+		assertStopTreeContributions(scenario, measuringPoints, opportunities, new Reference(scenario, opportunities));
+	}
+
+	private static void assertStopTreeContributions(Scenario scenario, ActivityFacilities measuringPoints, ActivityFacilities opportunities,
+			Reference reference) {
+		SwissRailRaptorAccessibilityContributionCalculator calculator = createCalculator(scenario, measuringPoints, opportunities);
+		SwissRailRaptorAccessibilityContributionCalculator duplicate = calculator.duplicate();
+
+		// the departure time changes in between, so the cached trees of the first departure time must not be reused
+		for (double departureTime : DEPARTURE_TIMES) {
+			for (ActivityFacility origin : measuringPoints.getFacilities().values()) {
+				double expected = reference.calcContributionWithStopTrees(origin, departureTime);
+				for (SwissRailRaptorAccessibilityContributionCalculator calc : List.of(calculator, duplicate)) {
+					calc.notifyNewOriginNode(origin.getId(), departureTime);
+					Assertions.assertEquals(expected, calc.computeContributionOfOpportunity(origin, calc.getAgregatedOpportunities(), departureTime),
+							expected * MatsimTestUtils.EPSILON, "Wrong contribution at " + origin.getCoord());
+				}
+			}
+		}
+	}
+
+	private static SwissRailRaptorAccessibilityContributionCalculator createCalculator(Scenario scenario, ActivityFacilities measuringPoints,
+			ActivityFacilities opportunities) {
+		SwissRailRaptorAccessibilityContributionCalculator calculator = new SwissRailRaptorAccessibilityContributionCalculator(TransportMode.pt,
+				scenario.getConfig().scoring(), scenario);
+		calculator.initialize(measuringPoints, opportunities);
+		return calculator;
+	}
+
+	private static Scenario createScenario(boolean usePtStopTrees) {
+		Config config = ConfigUtils.createConfig();
+		ConfigUtils.addOrGetModule(config, AccessibilityConfigGroup.class).setUsePtStopTrees(usePtStopTrees);
+		Scenario scenario = ScenarioUtils.createScenario(config);
+
+		/*
+		 * a pt line from (0,0) to (5000,0) with a single departure at 8:05; 5 min in-vehicle time
+		 */
+		Network network = scenario.getNetwork();
+		Node west = NetworkUtils.createAndAddNode(network, Id.createNodeId("west"), new Coord(0, 0));
+		Node east = NetworkUtils.createAndAddNode(network, Id.createNodeId("east"), new Coord(5000, 0));
+		Link westLink = NetworkUtils.createAndAddLink(network, Id.createLinkId("west"), west, west, 10, 20, 1000, 1);
+		Link line = NetworkUtils.createAndAddLink(network, Id.createLinkId("line"), west, east, 5000, 20, 1000, 1);
+
+		TransitSchedule schedule = scenario.getTransitSchedule();
+		TransitScheduleFactory factory = schedule.getFactory();
+		TransitStopFacility westStop = factory.createTransitStopFacility(Id.create("west", TransitStopFacility.class), west.getCoord(), false);
+		westStop.setLinkId(westLink.getId());
+		schedule.addStopFacility(westStop);
+		TransitStopFacility eastStop = factory.createTransitStopFacility(Id.create("east", TransitStopFacility.class), east.getCoord(), false);
+		eastStop.setLinkId(line.getId());
+		schedule.addStopFacility(eastStop);
+
+		List<TransitRouteStop> stops = new ArrayList<>();
+		stops.add(factory.createTransitRouteStop(westStop, 0, 0));
+		stops.add(factory.createTransitRouteStop(eastStop, 300, 300));
+		NetworkRoute networkRoute = RouteUtils.createLinkNetworkRouteImpl(westLink.getId(), line.getId());
+		TransitRoute route = factory.createTransitRoute(Id.create("route", TransitRoute.class), networkRoute, stops, TransportMode.pt);
+		Departure departure = factory.createDeparture(Id.create("dep", Departure.class), 8 * 3600. + 5 * 60.);
+		departure.setVehicleId(Id.create("veh", Vehicle.class));
+		route.addDeparture(departure);
+		TransitLine transitLine = factory.createTransitLine(Id.create("line", TransitLine.class));
+		transitLine.addRoute(route);
+		schedule.addTransitLine(transitLine);
+
+		return scenario;
+	}
+
+	private static ActivityFacilities createMeasuringPoints() {
+		ActivityFacilities measuringPoints = FacilitiesUtils.createActivityFacilities();
+		addFacility(measuringPoints, "west", new Coord(0, 100));
+		addFacility(measuringPoints, "center", new Coord(2500, 300));
+		addFacility(measuringPoints, "east", new Coord(4900, -100));
+		return measuringPoints;
+	}
+
+	private static ActivityFacilities createOpportunities() {
+		ActivityFacilities opportunities = FacilitiesUtils.createActivityFacilities();
+		addFacility(opportunities, "1", new Coord(5000, 200));
+		addFacility(opportunities, "2", new Coord(4800, -300));
+		addFacility(opportunities, "3", new Coord(200, 0));
+		return opportunities;
+	}
+
+	private static void addFacility(ActivityFacilities facilities, String id, Coord coord) {
+		facilities.addActivityFacility(facilities.getFactory().createActivityFacility(Id.create(id, ActivityFacility.class), coord));
+	}
+
+	/**
+	 * Computes the contributions directly from Raptor trees, without any caching.
+	 */
+	private static final class Reference {
+		private final Scenario scenario;
+		private final ActivityFacilities opportunities;
+		private final SwissRailRaptorData raptorData;
+		private final SwissRailRaptor raptor;
+		private final RaptorParameters raptorParameters;
+		private final ScoringConfigGroup scoring;
+		private final double betaWalkTT;
+		private final double walkSpeed_m_h;
+
+		private Reference(Scenario scenario, ActivityFacilities opportunities) {
+			this.scenario = scenario;
+			this.opportunities = opportunities;
+			RaptorStaticConfig raptorConfig = RaptorUtils.createStaticConfig(scenario.getConfig());
+			raptorConfig.setOptimization(RaptorStaticConfig.RaptorOptimization.OneToAllRouting);
+			this.raptorData = SwissRailRaptorData.create(scenario.getTransitSchedule(), null, raptorConfig, scenario.getNetwork(), null);
+			this.raptor = new SwissRailRaptor.Builder(raptorData, scenario.getConfig()).build();
+			this.raptorParameters = RaptorUtils.createParameters(scenario.getConfig());
+			this.scoring = scenario.getConfig().scoring();
+			this.betaWalkTT = scoring.getModes().get(TransportMode.walk).getMarginalUtilityOfTraveling() - scoring.getPerforming_utils_hr();
+			this.walkSpeed_m_h = scenario.getConfig().routing().getTeleportedModeSpeeds().get(TransportMode.walk) * 3600.;
+		}
+
+		private double calcContributionWithTreePerMeasuringPoint(ActivityFacility origin, double departureTime) {
+			Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> tree = raptor.calcTree(origin, departureTime, null, new AttributesImpl());
+			double expSum = 0;
+			for (ActivityFacility opportunity : opportunities.getFacilities().values()) {
+				double travelCost = calcWalkCost(origin.getCoord(), opportunity.getCoord());
+				for (TransitStopFacility stop : findStops(opportunity.getCoord())) {
+					SwissRailRaptorCore.TravelInfo travelInfo = tree.get(stop.getId());
+					if (travelInfo != null) {
+						travelCost = Math.min(travelCost, travelInfo.accessCost + travelInfo.travelCost + travelInfo.waitingCost
+								+ calcWalkCost(stop.getCoord(), opportunity.getCoord()));
+					}
+				}
+				expSum += calcExpUtility(travelCost);
+			}
+			return expSum;
+		}
+
+		private double calcContributionWithStopTrees(ActivityFacility origin, double departureTime) {
+			double expSum = 0;
+			for (ActivityFacility opportunity : opportunities.getFacilities().values()) {
+				double travelCost = calcWalkCost(origin.getCoord(), opportunity.getCoord());
+				for (TransitStopFacility accessStop : findStops(origin.getCoord())) {
+					Map<Id<TransitStopFacility>, SwissRailRaptorCore.TravelInfo> tree = raptor.calcTree(accessStop, departureTime, raptorParameters, null);
+					for (TransitStopFacility egressStop : findStops(opportunity.getCoord())) {
+						SwissRailRaptorCore.TravelInfo travelInfo = tree.get(egressStop.getId());
+						if (travelInfo != null) {
+							travelCost = Math.min(travelCost, calcWalkCost(origin.getCoord(), accessStop.getCoord()) + travelInfo.travelCost
+									+ travelInfo.waitingCost + calcWalkCost(egressStop.getCoord(), opportunity.getCoord()));
+						}
+					}
+				}
+				expSum += calcExpUtility(travelCost);
+			}
+			return expSum;
+		}
+
+		private Collection<TransitStopFacility> findStops(Coord coord) {
+			Collection<TransitStopFacility> stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), scenario.getConfig().transitRouter().getSearchRadius());
+			if (stops.isEmpty()) {
+				TransitStopFacility nearest = raptorData.findNearestStop(coord.getX(), coord.getY());
+				double nearestStopDistance = CoordUtils.calcEuclideanDistance(coord, nearest.getCoord());
+				stops = raptorData.findNearbyStops(coord.getX(), coord.getY(), nearestStopDistance + scenario.getConfig().transitRouter().getExtensionRadius());
+			}
+			return stops;
+		}
+
+		private double calcWalkCost(Coord from, Coord to) {
+			return -CoordUtils.calcEuclideanDistance(from, to) / walkSpeed_m_h * betaWalkTT;
+		}
+
+		private double calcExpUtility(double travelCost) {
+			double modeSpecificConstant = AccessibilityUtils.getModeSpecificConstantForAccessibilities(TransportMode.pt, scoring);
+			return Math.exp(scoring.getBrainExpBeta() * (-travelCost + modeSpecificConstant));
+		}
+	}
+}
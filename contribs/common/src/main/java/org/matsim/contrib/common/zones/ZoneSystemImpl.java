@@ -25,16 +25,16 @@ public class ZoneSystemImpl implements ZoneSystem {
 	public ZoneSystemImpl(Collection<Zone> zones, ZoneFinder zoneFinder, Network network) {
 		zones.forEach(zone -> this.zones.put(zone.getId(), zone));
 
+		// each node is looked up once; links are assigned to the zone of their to-node
 		IdMap<Node, Zone> nodeToZoneMap = ZoneSystemUtils.createNodeToZoneMap(network, zoneFinder);
-		IdMap<Link, Zone> linkToZoneMap = ZoneSystemUtils.createLinkToZoneMap(network, zoneFinder);
 		this.nodeToZoneMap.putAll(nodeToZoneMap);
-		this.link2zone.putAll(linkToZoneMap);
 
 		for (Link link : network.getLinks().values()) {
-			zoneFinder.findZone(link.getToNode().getCoord()).ifPresent(zone -> {
-                List<Link> links = zoneToLinksMap.computeIfAbsent(zone.getId(), zoneId1 -> new ArrayList<>());
-                links.add(link);
-            });
+			Zone zone = nodeToZoneMap.get(link.getToNode().getId());
+			if (zone != null) {
+				link2zone.put(link.getId(), zone);
+				zoneToLinksMap.computeIfAbsent(zone.getId(), zoneId -> new ArrayList<>()).add(link);
+			}
 		}
 	}
 
@@ -10,6 +10,7 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygonal;
 import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.locationtech.jts.geom.prep.PreparedPolygon;
+import org.locationtech.jts.index.strtree.STRtree;
 import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.IdCollectors;
 import org.matsim.api.core.v01.IdMap;
@@ -97,9 +98,11 @@ public final class ZoneSystemUtils {
 			.mapToEntry(SimpleFeature::getID, sf -> new PreparedFeature(sf, new PreparedPolygon((Polygonal) sf.getDefaultGeometry())))
 			.toMap();
 
+		STRtree featureIndex = createFeatureIndex(featureById);
+
 		//geometries without links are skipped
 		Map<String, List<Link>> linksByGeometryId = StreamEx.of(network.getLinks().values())
-			.mapToEntry(l -> getGeometryIdForLink(l, featureById), l -> l)
+			.mapToEntry(l -> getGeometryIdForLink(l, featureIndex), l -> l)
 			.filterKeys(Objects::nonNull)
 			.grouping(toList());
 
@@ -125,21 +128,39 @@ public final class ZoneSystemUtils {
 
 	private record PreparedFeature(SimpleFeature sf, PreparedPolygon preparedPolygon){}
 
+	// ordinal: position in the iteration order of the features
+	private record IndexedFeature(int ordinal, String id, PreparedPolygon preparedPolygon){}
+
+	private static STRtree createFeatureIndex(Map<String, PreparedFeature> features) {
+		STRtree featureIndex = new STRtree();
+		int ordinal = 0;
+		for (Map.Entry<String, PreparedFeature> e : features.entrySet()) {
+			PreparedPolygon preparedPolygon = e.getValue().preparedPolygon;
+			featureIndex.insert(preparedPolygon.getGeometry().getEnvelopeInternal(),
+				new IndexedFeature(ordinal++, e.getKey(), preparedPolygon));
+		}
+		featureIndex.build();
+		return featureIndex;
+	}
+
 	/**
 	 * @param link
 	 * @return the the {@code PreparedGeometry} that contains the {@code linkId}.
-	 * If a given link's {@code Coord} borders two or more cells, the allocation to a cell is random.
+	 * If a given link's {@code Coord} borders two or more cells, the allocation to a cell is random
+	 * (the first one in the iteration order of the features is taken).
 	 * Result may be null in case the given link is outside of the service area.
 	 */
 	@Nullable
-	private static String getGeometryIdForLink(Link link, Map<String, PreparedFeature> features) {
+	private static String getGeometryIdForLink(Link link, STRtree featureIndex) {
 		Point linkCoord = MGC.coord2Point(link.getToNode().getCoord());
-		return features.entrySet()
-			.stream()
-			.filter(e -> e.getValue().preparedPolygon.intersects(linkCoord))
-			.findAny()
-			.map(Map.Entry::getKey)
-			.orElse(null);
+		IndexedFeature first = null;
+		for (Object candidate : featureIndex.query(linkCoord.getEnvelopeInternal())) {
+			IndexedFeature feature = (IndexedFeature)candidate;
+			if ((first == null || feature.ordinal < first.ordinal) && feature.preparedPolygon.intersects(linkCoord)) {
+				first = feature;
+			}
+		}
+		return first == null ? null : first.id;
 	}
 
 	public static Id<Zone> createZoneId(String id) {
@@ -25,15 +25,18 @@ import java.util.Optional;
 
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Point;
-import org.locationtech.jts.index.SpatialIndex;
-import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.index.strtree.STRtree;
 import org.matsim.api.core.v01.Coord;
 import org.matsim.api.core.v01.Id;
 import org.matsim.contrib.common.zones.Zone;
 import org.matsim.core.utils.geometry.geotools.MGC;
 
+/**
+ * Zones are indexed in an STR-tree, which is built once (the set of zones does not change). After building, the tree
+ * is read-only, so concurrent queries are safe.
+ */
 public class ZoneFinderImpl implements ZoneFinder {
-	private final SpatialIndex quadTree = new Quadtree();
+	private final STRtree quadTree = new STRtree();
 	private final double expansionDistance;
 
 	public ZoneFinderImpl(Map<Id<Zone>, Zone> zones, double expansionDistance) {
@@ -42,13 +45,11 @@ public class ZoneFinderImpl implements ZoneFinder {
 		for (Zone z : zones.values()) {
 			quadTree.insert(z.getPreparedGeometry().getGeometry().getEnvelopeInternal(), z);
 		}
+		quadTree.build();
 	}
-	public ZoneFinderImpl(Map<Id<Zone>, Zone> zones) {
-		this.expansionDistance = Double.MIN_VALUE;
 
-		for (Zone z : zones.values()) {
-			quadTree.insert(z.getPreparedGeometry().getGeometry().getEnvelopeInternal(), z);
-		}
+	public ZoneFinderImpl(Map<Id<Zone>, Zone> zones) {
+		this(zones, Double.MIN_VALUE);
 	}
 
 	@Override
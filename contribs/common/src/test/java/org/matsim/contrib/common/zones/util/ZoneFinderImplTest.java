@@ -0,0 +1,64 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.common.zones.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.prep.PreparedPolygon;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.contrib.common.zones.Zone;
+import org.matsim.contrib.common.zones.ZoneImpl;
+import org.matsim.core.utils.geometry.GeometryUtils;
+
+public class ZoneFinderImplTest {
+	private final Zone large = square("large", 0, 0, 1000);
+	private final Zone small = square("small", 100, 100, 100);// inside large
+	private final Zone other = square("other", 2000, 0, 1000);
+
+	private final Map<Id<Zone>, Zone> zones = Map.of(large.getId(), large, small.getId(), small, other.getId(), other);
+
+	@Test
+	void findZone() {
+		var zoneFinder = new ZoneFinderImpl(zones);
+		assertThat(zoneFinder.findZone(new Coord(500, 500))).contains(large);
+		assertThat(zoneFinder.findZone(new Coord(150, 150))).contains(small);// the smallest containing zone
+		assertThat(zoneFinder.findZone(new Coord(2500, 500))).contains(other);
+		assertThat(zoneFinder.findZone(new Coord(1500, 500))).isEmpty();
+	}
+
+	@Test
+	void findZone_withExpansionDistance() {
+		var zoneFinder = new ZoneFinderImpl(zones, 200);
+		assertThat(zoneFinder.findZone(new Coord(1100, 500))).contains(large);
+		assertThat(zoneFinder.findZone(new Coord(1900, 500))).contains(other);
+		assertThat(zoneFinder.findZone(new Coord(1500, 500))).isEmpty();
+	}
+
+	private static Zone square(String id, double minX, double minY, double size) {
+		return new ZoneImpl(Id.create(id, Zone.class), new PreparedPolygon(GeometryUtils.createGeotoolsPolygon(
+				List.of(new Coord(minX, minY), new Coord(minX, minY + size), new Coord(minX + size, minY + size),
+						new Coord(minX + size, minY), new Coord(minX, minY)))), null);
+	}
+}
@@ -1,5 +1,7 @@
 package org.matsim.contrib.drt.extension.insertion.distances;
 
+import static org.matsim.contrib.drt.schedule.DrtTaskBaseType.DRIVE;
+
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -13,6 +15,7 @@ import org.matsim.contrib.drt.optimizer.insertion.InsertionDetourTimeCalculator.
 import org.matsim.contrib.drt.optimizer.insertion.InsertionGenerator.Insertion;
 import org.matsim.contrib.drt.passenger.AcceptedDrtRequest;
 import org.matsim.contrib.drt.schedule.DrtStopTask;
+import org.matsim.contrib.dvrp.analysis.ExecutedTask;
 import org.matsim.contrib.dvrp.fleet.dvrp_load.DvrpLoad;
 import org.matsim.contrib.dvrp.fleet.dvrp_load.IntegerLoad;
 import org.matsim.contrib.dvrp.schedule.DriveTask;
@@ -35,7 +38,19 @@ public class InsertionDistanceCalculator {
 				throw new IllegalStateException(String.format("Only %s instances are allowed", IntegerLoad.class));
 			}
 
-			for (Task task : schedule.getTasks()) {
+			// archived tasks (compacted schedule) carry no requests, so only their driven distance is known
+			for (ExecutedTask archivedTask : schedule.getArchivedTasks()) {
+				if (DRIVE.isBaseTypeOf(archivedTask.taskType)) {
+					if (occupancy.isEmpty()) {
+						emptyDistance += archivedTask.distance;
+					} else {
+						occupiedDistance += archivedTask.distance;
+						passengerDistance += scalarVehicleLoad.getLoad() * archivedTask.distance;
+					}
+				}
+			}
+
+			for (Task task : schedule.getTasks().subList(schedule.getArchivedTasks().size(), schedule.getTaskCount())) {
 				if (task instanceof DrtStopTask) {
 					occupancy = occupancy.add(Objects.requireNonNullElse(getPassengers(((DrtStopTask) task).getPickupRequests().values()), vehicleEntry.vehicle.getCapacity().getType().getEmptyLoad()));
 					occupancy = occupancy.subtract(Objects.requireNonNullElse(getPassengers(((DrtStopTask) task).getDropoffRequests().values()), vehicleEntry.vehicle.getCapacity()));
@@ -66,6 +66,21 @@ public class DrtSpatialRequestFleetFilterParams extends ReflectiveConfigGroupWit
 	@Comment("Update interval of the periodically built spatial search tree of vehicle positions.")
 	public double updateInterval = 5 * 600;
 
+	@Parameter
+	@Comment("If true, the search radius is not expanded iteratively. Instead, only vehicles that could reach the request"
+			+ " origin before its latest start time are returned, based on the beeline distance from the vehicle's current"
+			+ " position and the maximum ratio of beeline distance to free-flow travel time in the network."
+			+ " No feasible vehicle is filtered out as long as travel times are not shorter than free-flow travel times"
+			+ " and the max wait time is a hard constraint. The expansion parameters, minCandidates, returnAllIfEmpty"
+			+ " and updateInterval are then ignored. Default is false.")
+	public boolean filterByReachability = false;
+
+	@Parameter
+	@PositiveOrZero
+	@Comment("Used only if filterByReachability is true. Limits the number of vehicle candidates to the ones with the"
+			+ " earliest possible arrival at the request origin (a heuristic). 0 means no limit.")
+	public int maxCandidates = 0;
+
 	@Override
 	protected void checkConsistency(Config config) {
 		super.checkConsistency(config);
@@ -74,5 +89,6 @@ public class DrtSpatialRequestFleetFilterParams extends ReflectiveConfigGroupWit
 		Verify.verify(minExpansion >= 0, "Expansion must be greater than zero");
 		Verify.verify(minCandidates > 0, "Minimum number of candidates must be positive");
 		Verify.verify(updateInterval >= 0, "Update interval must not be negative");
+		Verify.verify(maxCandidates >= 0, "Maximum number of candidates must not be negative");
 	}
 }
@@ -19,6 +19,7 @@
 
 package org.matsim.contrib.drt.extension.insertion.spatialFilter;
 
+import org.matsim.api.core.v01.network.Network;
 import org.matsim.contrib.drt.extension.DrtWithExtensionsConfigGroup;
 import org.matsim.contrib.drt.optimizer.insertion.RequestFleetFilter;
 import org.matsim.contrib.drt.run.DrtConfigGroup;
@@ -51,7 +52,8 @@ public class SpatialFilterInsertionSearchQSimModule extends AbstractDvrpModeQSim
     @Override
     protected void configureQSim() {
         bindModal(RequestFleetFilter.class).toProvider(modalProvider(getter ->
-                new SpatialRequestFleetFilter(getter.getModal(Fleet.class), getter.get(MobsimTimer.class), drtSpatialRequestFleetFilterParams)
+                new SpatialRequestFleetFilter(getter.getModal(Fleet.class), getter.get(MobsimTimer.class),
+                        getter.getModal(Network.class), drtSpatialRequestFleetFilterParams)
         ));
     }
 }
@@ -19,11 +19,14 @@
 
 package org.matsim.contrib.drt.extension.insertion.spatialFilter;
 
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.index.strtree.STRtree;
+import org.matsim.api.core.v01.Coord;
 import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
 import org.matsim.contrib.drt.optimizer.VehicleEntry;
 import org.matsim.contrib.drt.optimizer.insertion.RequestFleetFilter;
 import org.matsim.contrib.drt.passenger.DrtRequest;
@@ -36,8 +39,11 @@ import org.matsim.contrib.dvrp.schedule.StayTask;
 import org.matsim.contrib.dvrp.schedule.Task;
 import org.matsim.contrib.dvrp.tracker.OnlineDriveTaskTracker;
 import org.matsim.core.mobsim.framework.MobsimTimer;
+import org.matsim.core.utils.geometry.CoordUtils;
 import org.matsim.core.utils.geometry.GeometryUtils;
 
+import com.google.common.base.Preconditions;
+
 import java.util.*;
 
 import static org.matsim.contrib.drt.schedule.DrtTaskBaseType.getBaseTypeOrElseThrow;
@@ -52,6 +58,14 @@ import static org.matsim.contrib.drt.schedule.DrtTaskBaseType.getBaseTypeOrElseT
  * iteratively expand further by the increment factor until either the maximum expansion or
  * a minimum number of candidates is found.
  *
+ * Alternatively (see {@link DrtSpatialRequestFleetFilterParams#filterByReachability}), the filter indexes the start
+ * waypoints of the vehicle entries once per optimisation step and only returns vehicles that could reach the request
+ * origin before its latest start time. The earliest arrival is estimated with the beeline distance and the maximum ratio
+ * of beeline distance to free-flow travel time found in the network, which is a lower bound of the free-flow travel
+ * time on any network path. So, as long as the estimated travel times are not shorter than the free-flow ones and the
+ * max wait time is a hard constraint, no feasible vehicle is filtered out. Limiting the number of candidates
+ * (see {@link DrtSpatialRequestFleetFilterParams#maxCandidates}) to the vehicles with the earliest possible arrivals
+ * is a heuristic though.
  *
  * @author nuehnel / MOIA
  */
@@ -71,8 +85,26 @@ public class SpatialRequestFleetFilter implements RequestFleetFilter {
 
     private final double updateInterval;
 
+    private final boolean filterByReachability;
+
+    private final double maxBeelineSpeed;
+
+    private final int maxCandidates;
+
+    private Map<Id<DvrpVehicle>, VehicleEntry> indexedEntries;
+
+    private STRtree entryTree;
+
     public SpatialRequestFleetFilter(Fleet fleet, MobsimTimer mobsimTimer,
                                      DrtSpatialRequestFleetFilterParams params) {
+        this(fleet, mobsimTimer, null, params);
+    }
+
+    /**
+     * @param network required if {@link DrtSpatialRequestFleetFilterParams#filterByReachability} is true
+     */
+    public SpatialRequestFleetFilter(Fleet fleet, MobsimTimer mobsimTimer, Network network,
+                                     DrtSpatialRequestFleetFilterParams params) {
         this.fleet = fleet;
         this.mobsimTimer = mobsimTimer;
         this.expansionIncrementFactor = params.expansionFactor;
@@ -81,10 +113,34 @@ public class SpatialRequestFleetFilter implements RequestFleetFilter {
         this.returnAllIfEmpty = params.returnAllIfEmpty;
         this.minCandidates = params.minCandidates;
         this.updateInterval = params.updateInterval;
+        this.filterByReachability = params.filterByReachability;
+        this.maxCandidates = params.maxCandidates;
+        if (filterByReachability) {
+            Preconditions.checkArgument(network != null, "The network is required to filter by reachability");
+            this.maxBeelineSpeed = calcMaxBeelineSpeed(network);
+        } else {
+            this.maxBeelineSpeed = Double.NaN;
+        }
+    }
+
+    // the beeline distance divided by this speed is a lower bound of the free-flow travel time on any path
+    // between two nodes (each link covers at most this beeline distance per second)
+    private static double calcMaxBeelineSpeed(Network network) {
+        double maxSpeed = 0;
+        for (Link link : network.getLinks().values()) {
+            double beeline = CoordUtils.calcEuclideanDistance(link.getFromNode().getCoord(), link.getToNode().getCoord());
+            if (beeline > 0) {
+                maxSpeed = Math.max(maxSpeed, beeline * link.getFreespeed() / link.getLength());
+            }
+        }
+        return maxSpeed;
     }
 
     @Override
     public Collection<VehicleEntry> filter(DrtRequest drtRequest, Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries, double now) {
+        if (filterByReachability) {
+            return filterReachableEntries(vehicleEntries, drtRequest, now);
+        }
         if ((mobsimTimer.getTimeOfDay() % updateInterval) == 0) {
             buildTree();
         }
@@ -118,6 +174,66 @@ public class SpatialRequestFleetFilter implements RequestFleetFilter {
         return extracted;
     }
 
+    private Collection<VehicleEntry> filterReachableEntries(Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries,
+                                                            DrtRequest drtRequest, double now) {
+        STRtree entryTree = getEntryTree(vehicleEntries);
+        Coord origin = drtRequest.getFromLink().getToNode().getCoord();
+        double latestStartTime = drtRequest.getLatestStartTime();
+
+        double maxDistance = (latestStartTime - now) * maxBeelineSpeed;
+        Collection<VehicleEntry> nearby;
+        if (Double.isFinite(maxDistance)) {
+            Envelope envelope = new Envelope(new Coordinate(origin.getX(), origin.getY()));
+            envelope.expandBy(Math.max(maxDistance, 0));
+            nearby = entryTree.query(envelope);
+        } else {
+            nearby = vehicleEntries.values();
+        }
+
+        List<Candidate> candidates = new ArrayList<>(nearby.size());
+        for (VehicleEntry indexedEntry : nearby) {
+            double distance = CoordUtils.calcEuclideanDistance(indexedEntry.start.link.getToNode().getCoord(), origin);
+            double earliestArrival = indexedEntry.start.time + (distance > 0 ? distance / maxBeelineSpeed : 0);
+            if (earliestArrival <= latestStartTime) {
+                // the entry may have been replaced after a previous insertion (but with the same start waypoint)
+                VehicleEntry currentEntry = vehicleEntries.get(indexedEntry.vehicle.getId());
+                if (currentEntry != null) {
+                    candidates.add(new Candidate(currentEntry, earliestArrival));
+                }
+            }
+        }
+
+        if (maxCandidates > 0 && candidates.size() > maxCandidates) {
+            candidates.sort(Comparator.comparingDouble(Candidate::earliestArrival)
+                    .thenComparing(candidate -> candidate.entry.vehicle.getId()));
+            candidates = candidates.subList(0, maxCandidates);
+        }
+
+        List<VehicleEntry> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            result.add(candidate.entry);
+        }
+        return result;
+    }
+
+    private record Candidate(VehicleEntry entry, double earliestArrival) {
+    }
+
+    // the start waypoints do not change while the requests of one optimisation step are processed (possibly in parallel)
+    private synchronized STRtree getEntryTree(Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries) {
+        if (indexedEntries != vehicleEntries) {
+            STRtree newTree = new STRtree();
+            for (VehicleEntry entry : vehicleEntries.values()) {
+                Coord coord = entry.start.link.getToNode().getCoord();
+                newTree.insert(new Envelope(new Coordinate(coord.getX(), coord.getY())), entry);
+            }
+            newTree.build();
+            entryTree = newTree;
+            indexedEntries = vehicleEntries;
+        }
+        return entryTree;
+    }
+
     private void buildTree() {
         tree = new STRtree();
         for (DvrpVehicle vehicle : fleet.getVehicles().values()) {
@@ -98,7 +98,7 @@ public class ShiftInsertionCostCalculator implements InsertionCostCalculator {
 				}
 			} else if (stop.task instanceof ShiftChangeOverTask) {
 				final List<? extends Task> tasks = vEntry.vehicle.getSchedule().getTasks();
-				final Task task = tasks.get(tasks.indexOf(stop.task) - 1);
+				final Task task = tasks.get(stop.task.getTaskIdx() - 1);
 
 				if (task instanceof DrtStayTask) {
 					final double refTime;
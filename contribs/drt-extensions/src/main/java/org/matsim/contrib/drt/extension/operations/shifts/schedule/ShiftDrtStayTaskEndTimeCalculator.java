@@ -42,7 +42,7 @@ public class ShiftDrtStayTaskEndTimeCalculator implements ScheduleTimingUpdater.
             return Math.max(newBeginTime, ((ShiftChangeOverTask) task).getShift().getEndTime()) + drtShiftParams.changeoverDuration;
         } else if (DrtTaskBaseType.getBaseTypeOrElseThrow(task).equals(DrtTaskBaseType.STAY)) {
             final List<? extends Task> tasks = vehicle.getSchedule().getTasks();
-            final int taskIdx = tasks.indexOf(task);
+            final int taskIdx = task.getTaskIdx();
             if (tasks.size() > taskIdx + 1) {
                 final Task nextTask = tasks.get(taskIdx + 1);
                 if (nextTask instanceof ShiftChangeOverTask) {
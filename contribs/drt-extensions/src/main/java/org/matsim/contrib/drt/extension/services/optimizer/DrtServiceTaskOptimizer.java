@@ -78,7 +78,7 @@ public class DrtServiceTaskOptimizer implements DrtOptimizer, MobsimInitializedL
 		}
 
 		int currentTaskIdx = vehicle.getSchedule().getCurrentTask().getTaskIdx();
-		var serviceTasks = vehicle.getSchedule().getTasks().stream()
+		var serviceTasks = vehicle.getSchedule().tasks()
 			.filter(t -> t.getTaskIdx() >= currentTaskIdx)
 			.filter(t -> t instanceof DrtServiceTask).toList();
 
@@ -30,6 +30,8 @@ import org.matsim.contrib.dvrp.path.VrpPath;
 import org.matsim.contrib.dvrp.schedule.Schedule;
 import org.matsim.contrib.dvrp.schedule.Task;
 
+import static org.matsim.contrib.drt.schedule.DrtTaskBaseType.DRIVE;
+
 /**
  * @author steffenaxer
  */
@@ -55,13 +57,28 @@ public class MileageReachedTrigger implements ServiceExecutionTrigger {
 	{
 		if(dvrpVehicle.getSchedule().getStatus() == Schedule.ScheduleStatus.STARTED)
 		{
-			double lastMaintenanceTime = dvrpVehicle.getSchedule().getTasks().stream()
-				.filter(t -> t instanceof DrtServiceTask)
-				.mapToDouble(Task::getEndTime)
-				.max()
-				.orElse(0);
+			Schedule schedule = dvrpVehicle.getSchedule();
+
+			// performed tasks may have been archived if the schedule is compacted
+			double lastMaintenanceTime = Math.max(schedule.getArchivedTasks().stream()
+					.filter(t -> t.taskType.equals(DrtServiceTask.TYPE))
+					.mapToDouble(t -> t.endTime)
+					.max()
+					.orElse(0),
+				schedule.tasks()
+					.filter(t -> t instanceof DrtServiceTask)
+					.mapToDouble(Task::getEndTime)
+					.max()
+					.orElse(0));
+
+			double archivedDistance = schedule.getArchivedTasks().stream()
+				.filter(t -> DRIVE.isBaseTypeOf(t.taskType))
+				.filter(t -> t.endTime > lastMaintenanceTime)
+				.filter(t -> t.endTime < timeStep)
+				.mapToDouble(t -> t.distance)
+				.sum();
 
-			double drivenDistance = dvrpVehicle.getSchedule().getTasks().stream()
+			double drivenDistance = archivedDistance + schedule.tasks()
 				.filter(t -> t instanceof DrtDriveTask)
 				.filter(t -> t.getEndTime() > lastMaintenanceTime)
 				.filter(t -> t.getEndTime() < timeStep)
@@ -27,6 +27,8 @@ import org.matsim.contrib.dvrp.fleet.DvrpVehicle;
 import org.matsim.contrib.dvrp.schedule.Schedule;
 import org.matsim.contrib.dvrp.schedule.Task;
 
+import static org.matsim.contrib.drt.schedule.DrtTaskBaseType.STOP;
+
 /**
  * @author steffenaxer
  */
@@ -56,14 +58,26 @@ public class StopsReachedTrigger implements ServiceExecutionTrigger {
 	}
 
 	private int calcStops(DvrpVehicle dvrpVehicle) {
-		double lastService = dvrpVehicle.getSchedule().getTasks().stream()
-			.filter(t -> t instanceof DrtServiceTask)
-			.mapToDouble(Task::getEndTime)
-			.max()
-			.orElse(0);
+		Schedule schedule = dvrpVehicle.getSchedule();
+
+		// performed tasks may have been archived if the schedule is compacted
+		double lastService = Math.max(schedule.getArchivedTasks().stream()
+				.filter(t -> t.taskType.equals(DrtServiceTask.TYPE))
+				.mapToDouble(t -> t.endTime)
+				.max()
+				.orElse(0),
+			schedule.tasks()
+				.filter(t -> t instanceof DrtServiceTask)
+				.mapToDouble(Task::getEndTime)
+				.max()
+				.orElse(0));
+
+		long archivedStops = schedule.getArchivedTasks().stream()
+			.filter(t -> STOP.isBaseTypeOf(t.taskType))
+			.filter(t -> t.beginTime > lastService).count();
 
-		return (int) dvrpVehicle.getSchedule().getTasks().stream()
+		return (int) (archivedStops + schedule.tasks()
 			.filter(t -> t instanceof DrtStopTask)
-			.filter(t -> t.getBeginTime() > lastService).count();
+			.filter(t -> t.getBeginTime() > lastService).count());
 	}
 }
@@ -16,6 +16,7 @@ import org.matsim.contrib.drt.passenger.DrtRequest;
 import org.matsim.contrib.drt.schedule.DefaultDrtStopTask;
 import org.matsim.contrib.drt.schedule.DrtTaskFactoryImpl;
 import org.matsim.contrib.dvrp.fleet.*;
+import org.matsim.contrib.dvrp.fleet.dvrp_load.DefaultIntegerLoadType;
 import org.matsim.contrib.dvrp.optimizer.Request;
 import org.matsim.contrib.dvrp.schedule.Task;
 import org.matsim.core.mobsim.framework.MobsimTimer;
@@ -24,9 +25,13 @@ import org.matsim.testcases.MatsimTestUtils;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 /**
  * @author nkuehnel / MOIA
  */
@@ -91,6 +96,104 @@ public class SpatIalRequestFleetFilterTest {
         Assertions.assertThat(filtered).isNotEmpty();
     }
 
+    @Test
+    void testFilterByReachability() {
+        Network network = NetworkUtils.createNetwork();
+        Link link_0_1 = link(network, 0, 1000);
+        Link link_1_2 = link(network, 1000, 2000);
+        Link link_2_10 = link(network, 2000, 10000);
+
+        // pickup at the to node of the from link (x = 1000), max beeline speed = 10 m/s
+        DrtRequest request = request("r1", link_0_1, link_1_2, 0, 1000, 0, 200);
+        var entries = entries(entry("close", link_0_1, 0), // arrival >= 0
+                entry("late", link_1_2, 150), // arrival >= 250
+                entry("far", link_2_10, 0)); // arrival >= 900
+
+        DrtSpatialRequestFleetFilterParams params = new DrtSpatialRequestFleetFilterParams();
+        params.filterByReachability = true;
+        var filter = new SpatialRequestFleetFilter(null, new MobsimTimer(1), network, params);
+        Assertions.assertThat(filter.filter(request, entries, 0)).containsExactly(entries.get(id("close")));
+    }
+
+    @Test
+    void testFilterByReachability_maxCandidates() {
+        Network network = NetworkUtils.createNetwork();
+        Link link_0_1 = link(network, 0, 1000);
+        Link link_1_2 = link(network, 1000, 2000);
+
+        DrtRequest request = request("r1", link_0_1, link_1_2, 0, 1000, 0, 200);
+        var entries = entries(entry("a", link_1_2, 0), // arrival >= 100
+                entry("b", link_0_1, 0), // arrival >= 0
+                entry("c", link_0_1, 50)); // arrival >= 50
+
+        DrtSpatialRequestFleetFilterParams params = new DrtSpatialRequestFleetFilterParams();
+        params.filterByReachability = true;
+        Assertions.assertThat(new SpatialRequestFleetFilter(null, new MobsimTimer(1), network, params)
+                        .filter(request, entries, 0))
+                .containsExactlyInAnyOrder(entries.get(id("a")), entries.get(id("b")), entries.get(id("c")));
+
+        params.maxCandidates = 2;
+        Assertions.assertThat(new SpatialRequestFleetFilter(null, new MobsimTimer(1), network, params)
+                        .filter(request, entries, 0))
+                .containsExactly(entries.get(id("b")), entries.get(id("c")));
+    }
+
+    @Test
+    void testFilterByReachability_replacedEntries() {
+        Network network = NetworkUtils.createNetwork();
+        Link link_0_1 = link(network, 0, 1000);
+        Link link_1_2 = link(network, 1000, 2000);
+
+        DrtRequest request = request("r1", link_0_1, link_1_2, 0, 1000, 0, 200);
+        var entries = entries(entry("a", link_0_1, 0));
+
+        DrtSpatialRequestFleetFilterParams params = new DrtSpatialRequestFleetFilterParams();
+        params.filterByReachability = true;
+        var filter = new SpatialRequestFleetFilter(null, new MobsimTimer(1), network, params);
+        Assertions.assertThat(filter.filter(request, entries, 0)).containsExactly(entries.get(id("a")));
+
+        // same start waypoint, but different stops after an insertion
+        var updatedEntry = entry("a", link_0_1, 0);
+        entries.put(id("a"), updatedEntry);
+        Assertions.assertThat(filter.filter(request, entries, 0)).containsExactly(updatedEntry);
+
+        entries.remove(id("a"));
+        Assertions.assertThat(filter.filter(request, entries, 0)).isEmpty();
+    }
+
+    // links are 10 % longer than the beeline distance, with a free speed of 11 m/s
+    private static Link link(Network network, double fromX, double toX) {
+        Node from = node(network, fromX);
+        Node to = node(network, toX);
+        return NetworkUtils.createAndAddLink(network, Id.createLinkId(from.getId() + "_" + to.getId()), from, to,
+                1.1 * (toX - fromX), 11, 1000, 1);
+    }
+
+    private static Node node(Network network, double x) {
+        var id = Id.createNodeId((long) x);
+        var node = network.getNodes().get(id);
+        return node != null ? node : NetworkUtils.createAndAddNode(network, id, new Coord(x, 0));
+    }
+
+    private static VehicleEntry entry(String vehicleId, Link startLink, double startTime) {
+        var vehicle = mock(DvrpVehicle.class);
+        when(vehicle.getId()).thenReturn(id(vehicleId));
+        var start = new Waypoint.Start(null, startLink, startTime, new DefaultIntegerLoadType().fromInt(0));
+        return new VehicleEntry(vehicle, start, ImmutableList.of(), null, null, 0);
+    }
+
+    private static Map<Id<DvrpVehicle>, VehicleEntry> entries(VehicleEntry... entries) {
+        Map<Id<DvrpVehicle>, VehicleEntry> map = new HashMap<>();
+        for (VehicleEntry entry : entries) {
+            map.put(entry.vehicle.getId(), entry);
+        }
+        return map;
+    }
+
+    private static Id<DvrpVehicle> id(String id) {
+        return Id.create(id, DvrpVehicle.class);
+    }
+
     @NotNull
     private VehicleEntry getVehicleEntry(Link link, Fleet fleet) {
         Waypoint.Start start = start(null, 0, link, 1);//not a STOP -> pickup cannot be appended
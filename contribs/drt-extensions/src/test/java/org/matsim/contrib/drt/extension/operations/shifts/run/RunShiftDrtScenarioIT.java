@@ -35,7 +35,16 @@ public class RunShiftDrtScenarioIT {
 
     @Test
     void test() {
+        run(false, "test/output/RunShiftDrtScenarioIT");
+    }
+
+    @Test
+    void testCompactedSchedules() {
+        // performed tasks get archived, so the shift end time and insertion cost calculations must not look them up
+        run(true, "test/output/RunShiftDrtScenarioIT_compacted");
+    }
 
+    private void run(boolean compactSchedules, String outputDirectory) {
         MultiModeDrtConfigGroup multiModeDrtConfigGroup = new MultiModeDrtConfigGroup(DrtWithExtensionsConfigGroup::new);
 
         String fleetFile = "holzkirchenFleet.xml";
@@ -84,6 +93,7 @@ public class RunShiftDrtScenarioIT {
         multiModeDrtConfigGroup.addParameterSet(drtWithShiftsConfigGroup);
 
         DvrpConfigGroup dvrpConfigGroup = new DvrpConfigGroup();
+        dvrpConfigGroup.compactSchedules = compactSchedules;
         DvrpTravelTimeMatrixParams matrixParams = dvrpConfigGroup.getTravelTimeMatrixParams();
         matrixParams.addParameterSet(matrixParams.createParameterSet(SquareGridZoneSystemParams.SET_NAME));
 
@@ -132,7 +142,7 @@ public class RunShiftDrtScenarioIT {
         config.controller().setWriteEventsInterval(1);
 
         config.controller().setOverwriteFileSetting(OutputDirectoryHierarchy.OverwriteFileSetting.deleteDirectoryIfExists);
-        config.controller().setOutputDirectory("test/output/RunShiftDrtScenarioIT");
+        config.controller().setOutputDirectory(outputDirectory);
 
         DrtOperationsParams operationsParams = (DrtOperationsParams) drtWithShiftsConfigGroup.createParameterSet(DrtOperationsParams.SET_NAME);
         ShiftsParams shiftsParams = (ShiftsParams) operationsParams.createParameterSet(ShiftsParams.SET_NAME);
@@ -1,5 +1,7 @@
 package org.matsim.contrib.drt.extension.services;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -7,10 +9,13 @@ import org.matsim.api.core.v01.Id;
 import org.matsim.contrib.drt.extension.services.run.DrtServicesControlerCreator;
 import org.matsim.contrib.drt.extension.services.services.params.DrtServiceParams;
 import org.matsim.contrib.drt.extension.services.services.params.DrtServicesParams;
+import org.matsim.contrib.drt.extension.services.services.params.MileageReachedTriggerParam;
+import org.matsim.contrib.drt.extension.services.services.params.StopsReachedTriggerParam;
 import org.matsim.contrib.drt.extension.services.services.params.TimeOfDayReachedTriggerParam;
 import org.matsim.contrib.drt.extension.services.trackers.ServiceTracker;
 import org.matsim.contrib.drt.run.MultiModeDrtConfigGroup;
 import org.matsim.contrib.dvrp.fleet.DvrpVehicle;
+import org.matsim.contrib.dvrp.run.DvrpConfigGroup;
 import org.matsim.core.config.Config;
 import org.matsim.core.config.ConfigUtils;
 import org.matsim.core.controler.AbstractModule;
@@ -84,4 +89,76 @@ public class RunDrtWithServicesScenarioIT {
 		}
     }
 
+	@Test
+	void testCompactedSchedules() {
+		final String outputDirectory = utils.getOutputDirectory();
+		final Config config = ServicesTestUtils.configure(outputDirectory, false);
+		// performed tasks get archived, so the triggers have to take the archived tasks into account
+		ConfigUtils.addOrGetModule(config, DvrpConfigGroup.class).compactSchedules = true;
+		var multiModeDrtConfigGroup = ConfigUtils.addOrGetModule(config, MultiModeDrtConfigGroup.class);
+		var drtConfigGroup = multiModeDrtConfigGroup.getModalElements().stream().findFirst().orElseThrow();
+
+		DrtServicesParams drtServicesParams = new DrtServicesParams();
+
+		{
+			DrtServiceParams clean = new DrtServiceParams("clean");
+			clean.executionLimit = 1;
+			clean.duration = 900;
+			var condition1 = new TimeOfDayReachedTriggerParam();
+			condition1.executionTime = 53205;
+			clean.addParameterSet(condition1);
+			drtServicesParams.addParameterSet(clean);
+		}
+
+		{
+			DrtServiceParams inspection = new DrtServiceParams("inspection");
+			inspection.executionLimit = 1;
+			inspection.duration = 600;
+			var condition1 = new StopsReachedTriggerParam();
+			condition1.requiredStops = 2;
+			inspection.addParameterSet(condition1);
+			drtServicesParams.addParameterSet(inspection);
+		}
+
+		{
+			DrtServiceParams maintenance = new DrtServiceParams("maintenance");
+			maintenance.executionLimit = 1;
+			maintenance.duration = 600;
+			var condition1 = new MileageReachedTriggerParam();
+			condition1.requiredMileage = 1000;
+			maintenance.addParameterSet(condition1);
+			drtServicesParams.addParameterSet(maintenance);
+		}
+
+		drtConfigGroup.addParameterSet(drtServicesParams);
+
+		Controler controler = DrtServicesControlerCreator.createControler(config, false);
+
+		ServiceTracker serviceTracker = new ServiceTracker();
+
+		controler.addOverridingModule(new AbstractModule() {
+			@Override
+			public void install() {
+				addEventHandlerBinding().toInstance(serviceTracker);
+			}
+		});
+
+		controler.run();
+
+		// Check vehicles have been cleaned
+		for (var entrySet : serviceTracker.serviceTracker.entrySet()) {
+			Id<DvrpVehicle> vehicleId = entrySet.getKey();
+			int nCleaning = (int) serviceTracker.serviceTracker.get(vehicleId).stream().filter(s -> s.getServiceType().equals("clean")).count();
+			Assertions.assertEquals(1, nCleaning);
+		}
+
+		// Check that the triggers based on the stop count and on the mileage (which need the performed tasks) fired
+		long nInspections = serviceTracker.serviceTracker.values().stream().flatMap(List::stream)
+			.filter(s -> s.getServiceType().equals("inspection")).count();
+		long nMaintenances = serviceTracker.serviceTracker.values().stream().flatMap(List::stream)
+			.filter(s -> s.getServiceType().equals("maintenance")).count();
+		Assertions.assertTrue(nInspections > 0);
+		Assertions.assertTrue(nMaintenances > 0);
+	}
+
 }
@@ -19,6 +19,7 @@
 
 package org.matsim.contrib.drt.optimizer.insertion;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -68,6 +69,7 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
 	private final ForkJoinPool forkJoinPool;
 	private final PassengerStopDurationProvider stopDurationProvider;
 	private final RequestFleetFilter requestFleetFilter;
+	private final boolean parallelBatchInsertion;
 
 	public DefaultUnplannedRequestInserter(DrtConfigGroup drtCfg, Fleet fleet, MobsimTimer mobsimTimer,
                                            EventsManager eventsManager, RequestInsertionScheduler insertionScheduler,
@@ -75,7 +77,8 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
                                            DrtRequestInsertionRetryQueue insertionRetryQueue, DrtOfferAcceptor drtOfferAcceptor,
                                            ForkJoinPool forkJoinPool, PassengerStopDurationProvider stopDurationProvider, RequestFleetFilter requestFleetFilter) {
 		this(drtCfg.getMode(), fleet, mobsimTimer::getTimeOfDay, eventsManager, insertionScheduler, vehicleEntryFactory,
-				insertionRetryQueue, insertionSearch, drtOfferAcceptor, forkJoinPool, stopDurationProvider, requestFleetFilter);
+				insertionRetryQueue, insertionSearch, drtOfferAcceptor, forkJoinPool, stopDurationProvider, requestFleetFilter,
+				drtCfg.parallelBatchInsertion);
 	}
 
 	@VisibleForTesting
@@ -83,6 +86,16 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
                                     RequestInsertionScheduler insertionScheduler, VehicleEntry.EntryFactory vehicleEntryFactory,
                                     DrtRequestInsertionRetryQueue insertionRetryQueue, DrtInsertionSearch insertionSearch,
                                     DrtOfferAcceptor drtOfferAcceptor, ForkJoinPool forkJoinPool, PassengerStopDurationProvider stopDurationProvider, RequestFleetFilter requestFleetFilter) {
+		this(mode, fleet, timeOfDay, eventsManager, insertionScheduler, vehicleEntryFactory, insertionRetryQueue,
+				insertionSearch, drtOfferAcceptor, forkJoinPool, stopDurationProvider, requestFleetFilter, false);
+	}
+
+	@VisibleForTesting
+	DefaultUnplannedRequestInserter(String mode, Fleet fleet, DoubleSupplier timeOfDay, EventsManager eventsManager,
+                                    RequestInsertionScheduler insertionScheduler, VehicleEntry.EntryFactory vehicleEntryFactory,
+                                    DrtRequestInsertionRetryQueue insertionRetryQueue, DrtInsertionSearch insertionSearch,
+                                    DrtOfferAcceptor drtOfferAcceptor, ForkJoinPool forkJoinPool, PassengerStopDurationProvider stopDurationProvider, RequestFleetFilter requestFleetFilter,
+                                    boolean parallelBatchInsertion) {
 		this.mode = mode;
 		this.fleet = fleet;
 		this.timeOfDay = timeOfDay;
@@ -95,6 +108,11 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
 		this.forkJoinPool = forkJoinPool;
 		this.stopDurationProvider = stopDurationProvider;
         this.requestFleetFilter = requestFleetFilter;
+		if (parallelBatchInsertion && !insertionSearch.isThreadSafe()) {
+			log.warn("Parallel batch insertion is enabled for mode " + mode + ", but the insertion search is not thread-safe."
+					+ " Requests will be inserted serially.");
+		}
+		this.parallelBatchInsertion = parallelBatchInsertion && insertionSearch.isThreadSafe();
     }
 
 	@Override
@@ -113,6 +131,16 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
 				.filter(Objects::nonNull)
 				.collect(Collectors.toMap(e -> e.vehicle.getId(), e -> e))).join();
 
+		if (parallelBatchInsertion) {
+			//first retry scheduling old requests, then schedule new requests
+			List<DrtRequest> batch = new ArrayList<>(requestsToRetry.size() + unplannedRequests.size());
+			batch.addAll(requestsToRetry);
+			batch.addAll(unplannedRequests);
+			scheduleBatch(batch, vehicleEntries, now);
+			unplannedRequests.clear();
+			return;
+		}
+
 		//first retry scheduling old requests
 		requestsToRetry.forEach(req -> scheduleUnplannedRequest(req, vehicleEntries, now));
 
@@ -123,11 +151,70 @@ public class DefaultUnplannedRequestInserter implements UnplannedRequestInserter
 		}
 	}
 
+	/**
+	 * Optimistic batch insertion: the insertion searches of all requests are run in parallel on the vehicle entries as
+	 * they are at the beginning of the batch. Then, the requests are processed in their original order. If the filtered
+	 * fleet of a request still consists of exactly the same vehicle entries (i.e. no candidate vehicle was changed by
+	 * scheduling one of the preceding requests), the speculative result is used, otherwise (conflict) the search is
+	 * repeated. Since insertion searches used here are thread-safe and do not depend on previous calls, the outcome is
+	 * the same as with serial insertion. The side effects of the searches (e.g. statistics) are applied only for the
+	 * speculative results that are used, in the original order of the requests.
+	 */
+	private void scheduleBatch(List<DrtRequest> requests, Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries,
+			double now) {
+		List<SpeculativeInsertion> speculativeInsertions = forkJoinPool.submit(() -> requests.parallelStream()
+				.map(req -> {
+					List<VehicleEntry> filteredFleet = List.copyOf(requestFleetFilter.filter(req, vehicleEntries, now));
+					return new SpeculativeInsertion(filteredFleet,
+							insertionSearch.findBestInsertionSpeculatively(req, filteredFleet));
+				})
+				.toList()).join();
+
+		int conflicts = 0;
+		for (int i = 0; i < requests.size(); i++) {
+			DrtRequest req = requests.get(i);
+			SpeculativeInsertion speculative = speculativeInsertions.get(i);
+			Collection<VehicleEntry> filteredFleet = requestFleetFilter.filter(req, vehicleEntries, now);
+			if (containsSameEntries(filteredFleet, speculative.filteredFleet)) {
+				// side effects (e.g. statistics) are applied only for the results actually used, in the serial order
+				speculative.result.commit().run();
+				handleBestInsertion(req, speculative.result.best(), vehicleEntries, now);
+			} else {
+				conflicts++;
+				handleBestInsertion(req,
+						insertionSearch.findBestInsertion(req, Collections.unmodifiableCollection(filteredFleet)),
+						vehicleEntries, now);
+			}
+		}
+		log.debug("Batch insertion of " + requests.size() + " requests: " + conflicts + " conflicts resolved by repeated search");
+	}
+
+	private static boolean containsSameEntries(Collection<VehicleEntry> currentFleet, List<VehicleEntry> speculativeFleet) {
+		if (currentFleet.size() != speculativeFleet.size()) {
+			return false;
+		}
+		var speculativeIter = speculativeFleet.iterator();
+		for (VehicleEntry entry : currentFleet) {
+			if (entry != speculativeIter.next()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private record SpeculativeInsertion(List<VehicleEntry> filteredFleet, DrtInsertionSearch.SpeculativeResult result) {
+	}
+
 	private void scheduleUnplannedRequest(DrtRequest req, Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries,
 			double now) {
 		Collection<VehicleEntry> filteredFleet = requestFleetFilter.filter(req, vehicleEntries, now);
 		Optional<InsertionWithDetourData> best = insertionSearch.findBestInsertion(req,
 				Collections.unmodifiableCollection(filteredFleet));
+		handleBestInsertion(req, best, vehicleEntries, now);
+	}
+
+	private void handleBestInsertion(DrtRequest req, Optional<InsertionWithDetourData> best,
+			Map<Id<DvrpVehicle>, VehicleEntry> vehicleEntries, double now) {
 		if (best.isEmpty()) {
 			retryOrReject(req, now, NO_INSERTION_FOUND_CAUSE);
 		} else {
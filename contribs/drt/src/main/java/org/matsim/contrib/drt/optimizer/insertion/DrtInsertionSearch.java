@@ -29,4 +29,26 @@ import org.matsim.contrib.drt.passenger.DrtRequest;
  */
 public interface DrtInsertionSearch {
 	Optional<InsertionWithDetourData> findBestInsertion(DrtRequest drtRequest, Collection<VehicleEntry> vehicleEntries);
+
+	/**
+	 * @return true if {@link #findBestInsertion} can be called concurrently and its result depends only on the arguments
+	 * (i.e. not on previous calls), which is required for inserting requests in parallel batches.
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Same as {@link #findBestInsertion}, but the side effects of the search (e.g. collecting statistics) are not
+	 * applied. Instead, they are returned as {@link SpeculativeResult#commit()}, which has to be run (serially) if and
+	 * only if the result is used. Required for parallel batch insertion, where some speculative results are discarded.
+	 */
+	default SpeculativeResult findBestInsertionSpeculatively(DrtRequest drtRequest,
+			Collection<VehicleEntry> vehicleEntries) {
+		return new SpeculativeResult(findBestInsertion(drtRequest, vehicleEntries), () -> {
+		});
+	}
+
+	record SpeculativeResult(Optional<InsertionWithDetourData> best, Runnable commit) {
+	}
 }
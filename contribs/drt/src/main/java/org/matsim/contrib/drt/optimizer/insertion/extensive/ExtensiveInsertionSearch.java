@@ -62,4 +62,9 @@ final class ExtensiveInsertionSearch implements DrtInsertionSearch {
 					detourTimeCalculator.calculateDetourTimeInfo(i, insertionDetourData, drtRequest));
 		}));
 	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
 }
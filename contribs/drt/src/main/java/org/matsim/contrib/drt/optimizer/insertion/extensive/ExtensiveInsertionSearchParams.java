@@ -23,6 +23,7 @@ package org.matsim.contrib.drt.optimizer.insertion.extensive;
 import org.matsim.contrib.drt.optimizer.insertion.DrtInsertionSearchParams;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 
 /**
@@ -39,6 +40,15 @@ public class ExtensiveInsertionSearchParams extends DrtInsertionSearchParams {
 	@DecimalMin("1.0")
 	public double admissibleBeelineSpeedFactor = 1.0;
 
+	@Parameter
+	@Comment("Number of least-cost path trees kept by each path search. There is one search per detour leg (4)"
+			+ " and path search thread (at most 4 threads), so up to 16 * pathTreeCacheSize trees are kept per DRT mode."
+			+ " Trees are reused by subsequent requests starting from the same link at the same time."
+			+ " Each tree needs about 40 bytes per network node, e.g. 16 trees need about 640 MB for 1M nodes."
+			+ " Default is 1.")
+	@Positive
+	public int pathTreeCacheSize = 1;
+
 	public ExtensiveInsertionSearchParams() {
 		super(SET_NAME);
 	}
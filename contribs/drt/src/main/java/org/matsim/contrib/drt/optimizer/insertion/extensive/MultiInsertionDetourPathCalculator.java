@@ -55,10 +55,16 @@ import com.google.common.annotations.VisibleForTesting;
 class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener {
 	public static final int MAX_THREADS = 4;
 
-	private final OneToManyPathSearch toPickupPathSearch;
-	private final OneToManyPathSearch fromPickupPathSearch;
-	private final OneToManyPathSearch toDropoffPathSearch;
-	private final OneToManyPathSearch fromDropoffPathSearch;
+	// The searches are kept per thread, so that paths for several requests can be calculated concurrently.
+	// Each leg has its own search, because the lazily created paths of one leg refer to the trees of its search,
+	// which must not be replaced by another leg running on the same thread (e.g. with fewer than 4 threads).
+	// Each search keeps the most recently calculated trees, which are reused by subsequent requests from the same link
+	// at the same time (e.g. pickups of immediate requests submitted in the same time step). Paths are created lazily,
+	// so if a tree has been recalculated before the path is needed, the path search is repeated.
+	private final ThreadLocal<OneToManyPathSearch> toPickupPathSearch;
+	private final ThreadLocal<OneToManyPathSearch> fromPickupPathSearch;
+	private final ThreadLocal<OneToManyPathSearch> toDropoffPathSearch;
+	private final ThreadLocal<OneToManyPathSearch> fromDropoffPathSearch;
 
 	private final ExecutorService executorService;
 
@@ -68,20 +74,25 @@ class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener
 		IdMap<Node, Node> nodeMap = new IdMap<>(Node.class);
 		nodeMap.putAll(network.getNodes());
 
-		toPickupPathSearch = OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true);
-		fromPickupPathSearch = OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true);
-		toDropoffPathSearch = OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true);
-		fromDropoffPathSearch = OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true);
+		int cachedTrees = ((ExtensiveInsertionSearchParams)drtCfg.getDrtInsertionSearchParams()).pathTreeCacheSize;
+		toPickupPathSearch = ThreadLocal.withInitial(
+				() -> OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true, cachedTrees));
+		fromPickupPathSearch = ThreadLocal.withInitial(
+				() -> OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true, cachedTrees));
+		toDropoffPathSearch = ThreadLocal.withInitial(
+				() -> OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true, cachedTrees));
+		fromDropoffPathSearch = ThreadLocal.withInitial(
+				() -> OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, true, cachedTrees));
 		executorService = Executors.newFixedThreadPool(Math.min(drtCfg.numberOfThreads, MAX_THREADS));
 	}
 
 	@VisibleForTesting
 	MultiInsertionDetourPathCalculator(OneToManyPathSearch toPickupPathSearch, OneToManyPathSearch fromPickupPathSearch,
 			OneToManyPathSearch toDropoffPathSearch, OneToManyPathSearch fromDropoffPathSearch, int numberOfThreads) {
-		this.toPickupPathSearch = toPickupPathSearch;
-		this.fromPickupPathSearch = fromPickupPathSearch;
-		this.toDropoffPathSearch = toDropoffPathSearch;
-		this.fromDropoffPathSearch = fromDropoffPathSearch;
+		this.toPickupPathSearch = ThreadLocal.withInitial(() -> toPickupPathSearch);
+		this.fromPickupPathSearch = ThreadLocal.withInitial(() -> fromPickupPathSearch);
+		this.toDropoffPathSearch = ThreadLocal.withInitial(() -> toDropoffPathSearch);
+		this.fromDropoffPathSearch = ThreadLocal.withInitial(() -> fromDropoffPathSearch);
 		executorService = Executors.newFixedThreadPool(Math.min(numberOfThreads, MAX_THREADS));
 	}
 
@@ -106,7 +117,7 @@ class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener
 		double earliestPickupTime = drtRequest.getEarliestStartTime(); // optimistic
 		Collection<Link> toLinks = getDetourLinks(filteredInsertions.stream(),
 				insertion -> insertion.pickup.previousWaypoint.getLink());
-		return toPickupPathSearch.calcPathDataMap(drtRequest.getFromLink(), toLinks, earliestPickupTime, false);
+		return toPickupPathSearch.get().calcPathDataMap(drtRequest.getFromLink(), toLinks, earliestPickupTime, false);
 	}
 
 	private Map<Link, PathData> calcPathsFromPickup(DrtRequest drtRequest, List<Insertion> filteredInsertions) {
@@ -114,7 +125,7 @@ class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener
 		double earliestPickupTime = drtRequest.getEarliestStartTime(); // optimistic
 		Collection<Link> toLinks = getDetourLinks(filteredInsertions.stream(),
 				insertion -> insertion.pickup.nextWaypoint.getLink());
-		return fromPickupPathSearch.calcPathDataMap(drtRequest.getFromLink(), toLinks, earliestPickupTime, true);
+		return fromPickupPathSearch.get().calcPathDataMap(drtRequest.getFromLink(), toLinks, earliestPickupTime, true);
 	}
 
 	private Map<Link, PathData> calcPathsToDropoff(DrtRequest drtRequest, List<Insertion> filteredInsertions) {
@@ -123,7 +134,7 @@ class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener
 		Collection<Link> toLinks = getDetourLinks(filteredInsertions.stream()
 						.filter(insertion -> !(insertion.dropoff.previousWaypoint instanceof Waypoint.Pickup)),
 				insertion -> insertion.dropoff.previousWaypoint.getLink());
-		return toDropoffPathSearch.calcPathDataMap(drtRequest.getToLink(), toLinks, latestDropoffTime, false);
+		return toDropoffPathSearch.get().calcPathDataMap(drtRequest.getToLink(), toLinks, latestDropoffTime, false);
 	}
 
 	private Map<Link, PathData> calcPathsFromDropoff(DrtRequest drtRequest, List<Insertion> filteredInsertions) {
@@ -132,7 +143,7 @@ class MultiInsertionDetourPathCalculator implements MobsimBeforeCleanupListener
 		Collection<Link> toLinks = getDetourLinks(filteredInsertions.stream()
 						.filter(insertion -> !(insertion.dropoff.nextWaypoint instanceof Waypoint.End)),
 				insertion -> insertion.dropoff.nextWaypoint.getLink());
-		return fromDropoffPathSearch.calcPathDataMap(drtRequest.getToLink(), toLinks, latestDropoffTime, true);
+		return fromDropoffPathSearch.get().calcPathDataMap(drtRequest.getToLink(), toLinks, latestDropoffTime, true);
 	}
 
 	private Collection<Link> getDetourLinks(Stream<Insertion> filteredInsertions,
@@ -69,9 +69,18 @@ final class SelectiveInsertionSearch implements DrtInsertionSearch, MobsimBefore
 	@Override
 	public Optional<InsertionWithDetourData> findBestInsertion(DrtRequest drtRequest,
 			Collection<VehicleEntry> vehicleEntries) {
+		var result = findBestInsertionSpeculatively(drtRequest, vehicleEntries);
+		result.commit().run();
+		return result.best();
+	}
+
+	@Override
+	public SpeculativeResult findBestInsertionSpeculatively(DrtRequest drtRequest,
+			Collection<VehicleEntry> vehicleEntries) {
 		var selectedInsertion = insertionProvider.getInsertion(drtRequest, vehicleEntries);
 		if (selectedInsertion.isEmpty()) {
-			return Optional.empty();
+			return new SpeculativeResult(Optional.empty(), () -> {
+			});
 		}
 
 		var insertion = selectedInsertion.get().insertion;
@@ -79,17 +88,26 @@ final class SelectiveInsertionSearch implements DrtInsertionSearch, MobsimBefore
 		var insertionWithDetourData = new InsertionWithDetourData(insertion, insertionDetourData,
 				detourTimeCalculator.calculateDetourTimeInfo(insertion, insertionDetourData, drtRequest));
 
-		collectDifferences(drtRequest, selectedInsertion.get().detourTimeInfo, insertionWithDetourData.detourTimeInfo);
+		// the matrix-vs-network statistics are collected only if the result is used (see DrtInsertionSearch)
+		Runnable collectDifferences = () -> collectDifferences(drtRequest, selectedInsertion.get().detourTimeInfo,
+				insertionWithDetourData.detourTimeInfo);
 
 		double insertionCost = insertionCostCalculator.calculate(drtRequest, insertion,
 				insertionWithDetourData.detourTimeInfo);
-		return insertionCost >= INFEASIBLE_SOLUTION_COST ? Optional.empty() : Optional.of(insertionWithDetourData);
+		return new SpeculativeResult(
+				insertionCost >= INFEASIBLE_SOLUTION_COST ? Optional.empty() : Optional.of(insertionWithDetourData),
+				collectDifferences);
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
 	}
 
 	private final Map<Integer, SummaryStatistics> pickupTimeLossStats = new LinkedHashMap<>();
 	private final Map<Integer, SummaryStatistics> dropoffTimeLossStats = new LinkedHashMap<>();
 
-	private void collectDifferences(DrtRequest request, DetourTimeInfo matrixTimeInfo, DetourTimeInfo networkTimeInfo) {
+	private synchronized void collectDifferences(DrtRequest request, DetourTimeInfo matrixTimeInfo, DetourTimeInfo networkTimeInfo) {
 		addRelativeDiff(matrixTimeInfo.pickupDetourInfo.pickupTimeLoss, networkTimeInfo.pickupDetourInfo.pickupTimeLoss,
 				networkTimeInfo.pickupDetourInfo.departureTime, pickupTimeLossStats);
 		addRelativeDiff(matrixTimeInfo.dropoffDetourInfo.dropoffTimeLoss,
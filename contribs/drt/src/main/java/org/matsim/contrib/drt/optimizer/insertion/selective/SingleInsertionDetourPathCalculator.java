@@ -57,10 +57,12 @@ public class SingleInsertionDetourPathCalculator implements MobsimBeforeCleanupL
 
 	private final TravelTime travelTime;
 
-	private final LeastCostPathCalculator toPickupPathSearch;
-	private final LeastCostPathCalculator fromPickupPathSearch;
-	private final LeastCostPathCalculator toDropoffPathSearch;
-	private final LeastCostPathCalculator fromDropoffPathSearch;
+	// The path calculators are kept per thread, so that paths for several requests can be calculated concurrently.
+	// All four calculators are configured identically, so a thread running tasks for different roles needs only one.
+	private final ThreadLocal<LeastCostPathCalculator> toPickupPathSearch;
+	private final ThreadLocal<LeastCostPathCalculator> fromPickupPathSearch;
+	private final ThreadLocal<LeastCostPathCalculator> toDropoffPathSearch;
+	private final ThreadLocal<LeastCostPathCalculator> fromDropoffPathSearch;
 
 	private final ExecutorService executorService;
 
@@ -74,10 +76,12 @@ public class SingleInsertionDetourPathCalculator implements MobsimBeforeCleanupL
 			int numberOfThreads, LeastCostPathCalculatorFactory pathCalculatorFactory) {
 		this.travelTime = travelTime;
 
-		toPickupPathSearch = pathCalculatorFactory.createPathCalculator(network, travelDisutility, travelTime);
-		fromPickupPathSearch = pathCalculatorFactory.createPathCalculator(network, travelDisutility, travelTime);
-		toDropoffPathSearch = pathCalculatorFactory.createPathCalculator(network, travelDisutility, travelTime);
-		fromDropoffPathSearch = pathCalculatorFactory.createPathCalculator(network, travelDisutility, travelTime);
+		ThreadLocal<LeastCostPathCalculator> pathSearch = ThreadLocal.withInitial(
+				() -> pathCalculatorFactory.createPathCalculator(network, travelDisutility, travelTime));
+		toPickupPathSearch = pathSearch;
+		fromPickupPathSearch = pathSearch;
+		toDropoffPathSearch = pathSearch;
+		fromDropoffPathSearch = pathSearch;
 		executorService = Executors.newFixedThreadPool(Math.min(numberOfThreads, MAX_THREADS));
 	}
 
@@ -124,12 +128,12 @@ public class SingleInsertionDetourPathCalculator implements MobsimBeforeCleanupL
 		executorService.shutdown();
 	}
 
-	private PathData calcPathData(LeastCostPathCalculator router, Link fromLink, Link toLink, double departureTime) {
+	private PathData calcPathData(ThreadLocal<LeastCostPathCalculator> router, Link fromLink, Link toLink, double departureTime) {
 		if (fromLink == toLink) {
 			return PathData.EMPTY;
 		}
 
-		Path path = router.calcLeastCostPath(fromLink.getToNode(), toLink.getFromNode(), departureTime + FIRST_LINK_TT,
+		Path path = router.get().calcLeastCostPath(fromLink.getToNode(), toLink.getFromNode(), departureTime + FIRST_LINK_TT,
 				null, null);
 		double firstAndLastLinkTT = FIRST_LINK_TT + VrpPaths.getLastLinkTT(travelTime, toLink,
 				departureTime + FIRST_LINK_TT + path.travelTime);
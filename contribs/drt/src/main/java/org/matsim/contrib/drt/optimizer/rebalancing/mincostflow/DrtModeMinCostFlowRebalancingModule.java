@@ -88,9 +88,17 @@ public class DrtModeMinCostFlowRebalancingModule extends AbstractDvrpModeModule
 								+ strategyParams.zonalDemandEstimatorType);
 				}
 
-				bindModal(ZonalRelocationCalculator.class).toProvider(modalProvider(
-						getter -> new AggregatedMinCostRelocationCalculator(
-								getter.getModal(DrtZoneTargetLinkSelector.class)))).asEagerSingleton();
+				bindModal(ZonalRelocationCalculator.class).toProvider(modalProvider(getter -> {
+					DrtZoneTargetLinkSelector targetLinkSelector = getter.getModal(DrtZoneTargetLinkSelector.class);
+					if (strategyParams.warmStartTransportProblem) {
+						// bound in the QSim module, so each iteration (mobsim) starts with a fresh solver
+						var transportProblem = new IncrementalTransportProblem(
+								getter.getModal(ZoneSystem.class).getZones().values());
+						return new AggregatedMinCostRelocationCalculator(targetLinkSelector,
+								transportProblem::solveForVehicleSurplus);
+					}
+					return new AggregatedMinCostRelocationCalculator(targetLinkSelector);
+				})).asEagerSingleton();
 			}
 		});
 
@@ -0,0 +1,447 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.drt.optimizer.rebalancing.mincostflow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.matsim.contrib.common.zones.Zone;
+import org.matsim.contrib.drt.optimizer.rebalancing.mincostflow.AggregatedMinCostRelocationCalculator.DrtZoneVehicleSurplus;
+import org.matsim.contrib.drt.optimizer.rebalancing.mincostflow.TransportProblem.Flow;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Solves the same transport problem as {@link TransportProblem#solveForVehicleSurplus(List)} (with the same
+ * straight-line distance costs), but warm-starts each solution from the previous one. This pays off if the problem is
+ * solved repeatedly for slowly changing vehicle surpluses, e.g. at consecutive rebalancing intervals. Warm starts only
+ * happen between calls on the same instance, so the lifetime of the instance decides how long a solution is reused
+ * (in {@link DrtModeMinCostFlowRebalancingModule}: one mobsim).
+ * <p>
+ * The solver uses successive shortest paths with node potentials on the (balanced) bipartite graph of producer and
+ * consumer zones. Between two calls, it keeps the potentials and flows of the previous solution. Since the costs between
+ * zones do not change, the previous potentials remain feasible for all zones that are still producers (or consumers),
+ * and the previous flows between them can be kept (up to the current supply and demand) without violating the
+ * optimality conditions. Only the remaining supply has to be routed, so typically only a few shortest path searches are
+ * needed instead of one per augmentation of the full problem. The results are optimal, but in case of ties, the flows
+ * may differ from the ones of {@link TransportProblem}.
+ * <p>
+ * Each search runs in O(V^2 + P*C), where V=P+C, and P and C are the number of producer and consumer zones,
+ * respectively. The costs between the current producers and consumers are precomputed once per call (P*C ints). All
+ * working arrays are kept between calls (the cost array grows with the largest P*C seen so far), so repeated calls do not
+ * allocate them anew.
+ * <p>
+ * Not thread-safe.
+ */
+public class IncrementalTransportProblem {
+	private static final long INFINITY = Long.MAX_VALUE;
+
+	private final Map<Zone, Integer> zoneIndices = new HashMap<>();
+	private final List<Zone> zones = new ArrayList<>();
+	private final double[] centroidX;
+	private final double[] centroidY;
+
+	// zone index: 0..n-1, the dummy producer/consumer that balances the problem: n
+	private final long[] potentials;
+	private final int[] roles;// PRODUCER, CONSUMER or NONE in the previous solution
+	private List<int[]> previousFlows = List.of();// {producer zone index, consumer zone index, amount}
+
+	// working arrays reused by all calls; P, C and V=P+C never exceed n+1
+	private final int[] producerZones;
+	private final int[] consumerZones;
+	private final int[] excess;
+	private final int[] deficit;
+	private final long[] producerPotentials;
+	private final long[] consumerPotentials;
+	private final boolean[] carriedProducers;
+	private final int[] producerIndices;// zone index -> producer (carried from the previous solution) or -1
+	private final int[] consumerIndices;// zone index -> consumer (carried from the previous solution) or -1
+	private final Map<Integer, Integer>[] inflows;// inflows[c]: producer -> flow
+	private final long[] dist;
+	private final boolean[] finished;
+	private final int[] pred;
+	private int[] costs = new int[0];
+
+	// number of shortest path searches in the last call
+	int searchCount;
+
+	private static final int NONE = 0;
+	private static final int PRODUCER = 1;
+	private static final int CONSUMER = -1;
+
+	public IncrementalTransportProblem(Collection<Zone> zones) {
+		int n = zones.size();
+		centroidX = new double[n];
+		centroidY = new double[n];
+		for (Zone zone : zones) {
+			int idx = this.zones.size();
+			zoneIndices.put(zone, idx);
+			this.zones.add(zone);
+			centroidX[idx] = zone.getCentroid().getX();
+			centroidY[idx] = zone.getCentroid().getY();
+		}
+		potentials = new long[n + 1];
+		roles = new int[n + 1];
+
+		producerZones = new int[n + 1];
+		consumerZones = new int[n + 1];
+		excess = new int[n + 1];
+		deficit = new int[n + 1];
+		producerPotentials = new long[n + 1];
+		consumerPotentials = new long[n + 1];
+		carriedProducers = new boolean[n + 1];
+		producerIndices = new int[n + 1];
+		consumerIndices = new int[n + 1];
+		@SuppressWarnings("unchecked")
+		Map<Integer, Integer>[] inflows = new Map[n + 1];
+		for (int c = 0; c <= n; c++) {
+			inflows[c] = new HashMap<>();
+		}
+		this.inflows = inflows;
+		dist = new long[n + 1];
+		finished = new boolean[n + 1];
+		pred = new int[n + 1];
+	}
+
+	public List<Flow<Zone, Zone>> solveForVehicleSurplus(List<DrtZoneVehicleSurplus> vehicleSurplus) {
+		int[] surplus = new int[zones.size()];
+		for (DrtZoneVehicleSurplus s : vehicleSurplus) {
+			Integer idx = zoneIndices.get(s.zone);
+			Preconditions.checkArgument(idx != null, "Unknown zone: %s", s.zone.getId());
+			surplus[idx] += s.surplus;
+		}
+
+		List<Flow<Zone, Zone>> flows = new ArrayList<>();
+		for (int[] flow : solve(surplus)) {
+			flows.add(new Flow<>(zones.get(flow[0]), zones.get(flow[1]), flow[2]));
+		}
+		return flows;
+	}
+
+	/**
+	 * @param surplus zone index -> supply (if positive) or demand (if negative)
+	 * @return flows between zones: {producer zone index, consumer zone index, amount}
+	 */
+	List<int[]> solve(int[] surplus) {
+		final int dummy = zones.size();
+		searchCount = 0;
+
+		// producers and consumers (incl. the dummy one)
+		int P = 0;
+		int C = 0;
+		int totalSupply = 0;
+		int totalDemand = 0;
+		for (int z = 0; z < dummy; z++) {
+			if (surplus[z] > 0) {
+				producerZones[P] = z;
+				excess[P++] = surplus[z];
+				totalSupply += surplus[z];
+			} else if (surplus[z] < 0) {
+				consumerZones[C] = z;
+				deficit[C++] = -surplus[z];
+				totalDemand -= surplus[z];
+			}
+		}
+		if (P == 0 || C == 0) {
+			return List.of();// nothing to do; keep the previous solution for the next call
+		}
+
+		// balance the problem with a dummy node connected to all zones of the other side at cost 0
+		if (totalSupply > totalDemand) {
+			consumerZones[C] = dummy;
+			deficit[C++] = totalSupply - totalDemand;
+		} else if (totalDemand > totalSupply) {
+			producerZones[P] = dummy;
+			excess[P++] = totalDemand - totalSupply;
+		}
+
+		if (costs.length < P * C) {
+			costs = new int[Math.max(P * C, 2 * costs.length)];
+		}
+		for (int p = 0; p < P; p++) {
+			for (int c = 0; c < C; c++) {
+				costs[p * C + c] = calcCost(producerZones[p], consumerZones[c]);
+			}
+		}
+
+		initPotentials(P, C);
+
+		for (int c = 0; c < C; c++) {
+			inflows[c].clear();
+		}
+		int remainingExcess = initFlows(P, C);
+		remainingExcess -= addTightFlows(P, C);
+
+		// successive shortest paths (multi-source Dijkstra from all producers with excess)
+		final int V = P + C;// nodes: producers 0..P-1, consumers P..P+C-1
+		while (remainingExcess > 0) {
+			searchCount++;
+			Arrays.fill(dist, 0, V, INFINITY);
+			Arrays.fill(finished, 0, V, false);
+			Arrays.fill(pred, 0, V, -1);
+			for (int p = 0; p < P; p++) {
+				if (excess[p] > 0) {
+					dist[p] = 0;
+				}
+			}
+
+			int target = -1;
+			while (target < 0) {
+				int u = -1;
+				for (int v = 0; v < V; v++) {
+					if (!finished[v] && dist[v] != INFINITY && (u < 0 || dist[v] < dist[u])) {
+						u = v;
+					}
+				}
+				finished[u] = true;
+
+				if (u < P) {// producer -> consumers
+					long base = dist[u] + producerPotentials[u];
+					for (int c = 0; c < C; c++) {
+						long d = base + costs[u * C + c] - consumerPotentials[c];
+						if (d < dist[P + c]) {
+							dist[P + c] = d;
+							pred[P + c] = u;
+						}
+					}
+				} else {
+					int c = u - P;
+					if (deficit[c] > 0) {
+						target = c;
+						break;
+					}
+					// consumer -> producers (residual edges of the flows)
+					long base = dist[u] + consumerPotentials[c];
+					for (int p : inflows[c].keySet()) {
+						long d = base - costs[p * C + c] - producerPotentials[p];
+						if (d < dist[p]) {
+							dist[p] = d;
+							pred[p] = u;
+						}
+					}
+				}
+			}
+
+			// update potentials (reduced costs remain non-negative, edges on the shortest paths become tight)
+			long targetDist = dist[P + target];
+			for (int p = 0; p < P; p++) {
+				if (finished[p]) {
+					producerPotentials[p] += dist[p] - targetDist;
+				}
+			}
+			for (int c = 0; c < C; c++) {
+				if (finished[P + c]) {
+					consumerPotentials[c] += dist[P + c] - targetDist;
+				}
+			}
+
+			// find the bottleneck and augment
+			int amount = deficit[target];
+			int v = P + target;
+			while (true) {
+				int p = pred[v];
+				if (pred[p] < 0) {
+					amount = Math.min(amount, excess[p]);
+					break;
+				}
+				amount = Math.min(amount, inflows[pred[p] - P].get(p));
+				v = pred[p];
+			}
+
+			v = P + target;
+			deficit[target] -= amount;
+			while (true) {
+				int p = pred[v];
+				inflows[v - P].merge(p, amount, Integer::sum);
+				if (pred[p] < 0) {
+					excess[p] -= amount;
+					break;
+				}
+				int c = pred[p] - P;
+				int newFlow = inflows[c].get(p) - amount;
+				if (newFlow == 0) {
+					inflows[c].remove(p);
+				} else {
+					inflows[c].put(p, newFlow);
+				}
+				v = pred[p];
+			}
+			remainingExcess -= amount;
+		}
+
+		return storeSolution(P, C);
+	}
+
+	/**
+	 * Keeps the potentials of zones that have the same role as in the previous solution. Potentials of the other
+	 * zones are chosen so that all reduced costs are non-negative.
+	 */
+	private void initPotentials(int P, int C) {
+		Arrays.fill(carriedProducers, 0, P, false);
+		Arrays.fill(consumerPotentials, 0, C, 0);
+		boolean anyCarriedProducer = false;
+		for (int p = 0; p < P; p++) {
+			if (roles[producerZones[p]] == PRODUCER) {
+				carriedProducers[p] = true;
+				anyCarriedProducer = true;
+				producerPotentials[p] = potentials[producerZones[p]];
+			}
+		}
+
+		for (int c = 0; c < C; c++) {
+			if (roles[consumerZones[c]] == CONSUMER) {
+				consumerPotentials[c] = potentials[consumerZones[c]];
+			} else if (anyCarriedProducer) {
+				long min = INFINITY;
+				for (int p = 0; p < P; p++) {
+					if (carriedProducers[p]) {
+						min = Math.min(min, producerPotentials[p] + costs[p * C + c]);
+					}
+				}
+				consumerPotentials[c] = min;
+			}
+		}
+
+		for (int p = 0; p < P; p++) {
+			if (!carriedProducers[p]) {
+				long max = -INFINITY;
+				for (int c = 0; c < C; c++) {
+					max = Math.max(max, consumerPotentials[c] - costs[p * C + c]);
+				}
+				producerPotentials[p] = max;
+			}
+		}
+	}
+
+	/**
+	 * Keeps the previous flows (as far as the current supply and demand allow) between the zones that have retained
+	 * their roles.
+	 *
+	 * @return remaining excess
+	 */
+	private int initFlows(int P, int C) {
+		Arrays.fill(producerIndices, -1);
+		Arrays.fill(consumerIndices, -1);
+		for (int p = 0; p < P; p++) {
+			if (roles[producerZones[p]] == PRODUCER) {
+				producerIndices[producerZones[p]] = p;
+			}
+		}
+		for (int c = 0; c < C; c++) {
+			if (roles[consumerZones[c]] == CONSUMER) {
+				consumerIndices[consumerZones[c]] = c;
+			}
+		}
+
+		for (int[] flow : previousFlows) {
+			int p = producerIndices[flow[0]];
+			int c = consumerIndices[flow[1]];
+			if (p >= 0 && c >= 0) {
+				int amount = Math.min(flow[2], Math.min(excess[p], deficit[c]));
+				if (amount > 0) {
+					inflows[c].put(p, amount);
+					excess[p] -= amount;
+					deficit[c] -= amount;
+				}
+			}
+		}
+
+		int remainingExcess = 0;
+		for (int p = 0; p < P; p++) {
+			remainingExcess += excess[p];
+		}
+		return remainingExcess;
+	}
+
+	/**
+	 * Any flow along edges with zero reduced cost keeps the solution optimal, so the (remaining) supply is shipped
+	 * greedily along such edges before starting the shortest path searches. In particular, this speeds up solving the
+	 * first problem, where each new producer is tight with its nearest consumer.
+	 *
+	 * @return added flow
+	 */
+	private int addTightFlows(int P, int C) {
+		int addedFlow = 0;
+		for (int p = 0; p < P; p++) {
+			for (int c = 0; c < C && excess[p] > 0; c++) {
+				if (deficit[c] > 0 && costs[p * C + c] + producerPotentials[p] - consumerPotentials[c] == 0) {
+					int amount = Math.min(excess[p], deficit[c]);
+					inflows[c].merge(p, amount, Integer::sum);
+					excess[p] -= amount;
+					deficit[c] -= amount;
+					addedFlow += amount;
+				}
+			}
+		}
+		return addedFlow;
+	}
+
+	private List<int[]> storeSolution(int P, int C) {
+		// shifting all potentials by a constant does not change the reduced costs, but prevents them from drifting
+		long shift = Long.MIN_VALUE;
+		for (int p = 0; p < P; p++) {
+			shift = Math.max(shift, producerPotentials[p]);
+		}
+		for (int c = 0; c < C; c++) {
+			shift = Math.max(shift, consumerPotentials[c]);
+		}
+
+		Arrays.fill(roles, NONE);
+		for (int p = 0; p < P; p++) {
+			roles[producerZones[p]] = PRODUCER;
+			potentials[producerZones[p]] = producerPotentials[p] - shift;
+		}
+		for (int c = 0; c < C; c++) {
+			roles[consumerZones[c]] = CONSUMER;
+			potentials[consumerZones[c]] = consumerPotentials[c] - shift;
+		}
+
+		final int dummy = zones.size();
+		List<int[]> allFlows = new ArrayList<>();
+		List<int[]> zonalFlows = new ArrayList<>();
+		for (int p = 0; p < P; p++) {
+			for (int c = 0; c < C; c++) {
+				Integer amount = inflows[c].get(p);
+				if (amount != null) {
+					int[] flow = { producerZones[p], consumerZones[c], amount };
+					allFlows.add(flow);
+					if (flow[0] != dummy && flow[1] != dummy) {
+						zonalFlows.add(flow);
+					}
+				}
+			}
+		}
+		previousFlows = allFlows;
+		return zonalFlows;
+	}
+
+	private int calcCost(int fromZone, int toZone) {
+		final int dummy = zones.size();
+		if (fromZone == dummy || toZone == dummy) {
+			return 0;
+		}
+		double dx = centroidX[fromZone] - centroidX[toZone];
+		double dy = centroidY[fromZone] - centroidY[toZone];
+		return (int)Math.sqrt(dx * dx + dy * dy);
+	}
+}
@@ -84,6 +84,14 @@ public final class MinCostFlowRebalancingStrategyParams extends ReflectiveConfig
 	@PositiveOrZero
 	public int demandEstimationPeriod = 1800;
 
+	@Parameter
+	@Comment("If true, the transport problem is solved incrementally, starting from the solution"
+			+ " of the previous rebalancing interval. The solver is created anew with each QSim,"
+			+ " so no solution is carried over from one iteration to the next."
+			+ " This is much faster for large zone systems. The rebalancing costs are the same, but in case of ties,"
+			+ " the selected flows may differ. Default is false.")
+	public boolean warmStartTransportProblem = false;
+
 	public MinCostFlowRebalancingStrategyParams() {
 		super(SET_NAME);
 	}
@@ -149,6 +149,16 @@ public class DrtConfigGroup extends ReflectiveConfigGroupWithConfigurableParamet
 	@Positive
 	public int numberOfThreads = Runtime.getRuntime().availableProcessors();
 
+	@Parameter
+	@Comment("If true, the unplanned requests of a time step are inserted as a batch: the best insertions of all requests"
+			+ " are searched in parallel against the same state of the fleet, and then committed one by one in the original"
+			+ " order. A found insertion is only committed if the candidate vehicles of its request have not been changed"
+			+ " by an earlier commit of the same batch, otherwise the search is repeated for that request."
+			+ " The result is identical to the serial insertion. Pays off mainly in combination with a request fleet filter"
+			+ " that limits the candidate vehicles of each request. Requires a thread-safe insertion search"
+			+ " (extensive or selective), otherwise requests are inserted serially. False by default.")
+	public boolean parallelBatchInsertion = false;
+
 	@Parameter
 	@Comment("Store planned unshared drt route as a link sequence")
 	public boolean storeUnsharedPath = false; // If true, the planned unshared path is stored and exported in plans
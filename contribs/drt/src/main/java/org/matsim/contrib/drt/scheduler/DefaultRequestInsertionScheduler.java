@@ -113,7 +113,7 @@ public class DefaultRequestInsertionScheduler implements RequestInsertionSchedul
 		 */
 
 		Schedule schedule = insertion.insertion.vehicleEntry.vehicle.getSchedule();
-		for (int i = 1; i < schedule.getTaskCount(); i++) {
+		for (int i = schedule.getArchivedTasks().size() + 1; i < schedule.getTaskCount(); i++) {
 			Task first = schedule.getTasks().get(i - 1);
 			Task second = schedule.getTasks().get(i);
 			Verify.verify(first.getEndTime() == second.getBeginTime());
@@ -130,7 +130,7 @@ public class DefaultRequestInsertionScheduler implements RequestInsertionSchedul
 		if (verifyConstraints) {
 			Schedule schedule = insertion.insertion.vehicleEntry.vehicle.getSchedule();
 
-			for (Task task : schedule.getTasks()) {
+			for (Task task : schedule.getTasks().subList(schedule.getArchivedTasks().size(), schedule.getTaskCount())) {
 				if (task instanceof DrtStopTask stopTask) {
 
 					for (AcceptedDrtRequest request : stopTask.getPickupRequests().values()) {
@@ -259,6 +259,132 @@ public class DefaultUnplannedRequestInserterTest {
 		assertThat(createEntryCounter.getValue()).isEqualTo(2);
 	}
 
+	@Test
+	void batchInsertion_conflictResolvedByRepeatedSearch() {
+		var vehicle1 = vehicle("1");
+		var fleet = fleet(vehicle1);
+		var request2 = request("r2", "from2", "to2");
+		var unplannedRequests = requests(request1, request2);
+		double now = 15;
+
+		var createdEntries = new ArrayList<VehicleEntry>();
+		VehicleEntry.EntryFactory entryFactory = (vehicle, currentTime) -> {
+			var entry = new VehicleEntry(vehicle, null, null, null, null, 0);
+			createdEntries.add(entry);
+			return entry;
+		};
+
+		DrtRequestInsertionRetryQueue retryQueue = new DrtRequestInsertionRetryQueue(
+				new DrtRequestInsertionRetryParams());//retry OFF, empty queue
+
+		var searchedEntries = Collections.synchronizedList(new ArrayList<VehicleEntry>());
+		DrtInsertionSearch insertionSearch = new DrtInsertionSearch() {
+			@Override
+			public Optional<InsertionWithDetourData> findBestInsertion(DrtRequest drtRequest,
+					Collection<VehicleEntry> vEntries) {
+				var entry = vEntries.iterator().next();
+				if (drtRequest == request2) {
+					searchedEntries.add(entry);
+				}
+				return Optional.of(new InsertionWithDetourData(
+						new InsertionGenerator.Insertion(entry, null, null, scalarVehicleLoadFactory.fromInt(1)), null,
+						new InsertionDetourTimeCalculator.DetourTimeInfo(
+								mock(InsertionDetourTimeCalculator.PickupDetourInfo.class),
+								mock(InsertionDetourTimeCalculator.DropoffDetourInfo.class))));
+			}
+
+			@Override
+			public boolean isThreadSafe() {
+				return true;
+			}
+		};
+
+		RequestInsertionScheduler insertionScheduler = (request, insertion) -> {
+			var pickupTask = new DefaultDrtStopTask(now, now + 10, request.getFromLink());
+			var dropoffTask = new DefaultDrtStopTask(now + 20, now + 30, request.getToLink());
+			return new PickupDropoffTaskPair(pickupTask, dropoffTask);
+		};
+
+		//call insertion
+		new DefaultUnplannedRequestInserter(mode, fleet, () -> now, eventsManager, insertionScheduler, entryFactory,
+				retryQueue, insertionSearch, new DefaultOfferAcceptor(), forkJoinPoolExtension.forkJoinPool,
+				StaticPassengerStopDurationProvider.of(10.0, 0.0), RequestFleetFilter.none,
+				true).scheduleUnplannedRequests(unplannedRequests);
+
+		//requests are removed from unplanned requests
+		assertThat(unplannedRequests).isEmpty();
+
+		//both requests are scheduled
+		verify(eventsManager, times(2)).processEvent(any(PassengerRequestScheduledEvent.class));
+
+		//request2 was searched speculatively on the initial entry, and again on the entry updated after scheduling request1
+		assertThat(createdEntries).hasSize(3);
+		assertThat(searchedEntries).containsExactly(createdEntries.get(0), createdEntries.get(1));
+	}
+
+	@Test
+	void batchInsertion_sideEffectsOnlyForUsedResults() {
+		// serial and batch insertion must collect the same statistics (samples), in the same order
+		assertThat(insertAndCollectSamples(true)).containsExactly("r1@0", "r2@1")
+				.isEqualTo(insertAndCollectSamples(false));
+	}
+
+	private List<String> insertAndCollectSamples(boolean parallelBatchInsertion) {
+		var vehicle1 = vehicle("1");
+		var request2 = request("r2", "from2", "to2");
+		double now = 15;
+
+		var createdEntries = new ArrayList<VehicleEntry>();
+		VehicleEntry.EntryFactory entryFactory = (vehicle, currentTime) -> {
+			var entry = new VehicleEntry(vehicle, null, null, null, null, 0);
+			createdEntries.add(entry);
+			return entry;
+		};
+
+		// the statistics are collected only when a result is committed
+		var samples = Collections.synchronizedList(new ArrayList<String>());
+		DrtInsertionSearch insertionSearch = new DrtInsertionSearch() {
+			@Override
+			public Optional<InsertionWithDetourData> findBestInsertion(DrtRequest drtRequest,
+					Collection<VehicleEntry> vEntries) {
+				var result = findBestInsertionSpeculatively(drtRequest, vEntries);
+				result.commit().run();
+				return result.best();
+			}
+
+			@Override
+			public SpeculativeResult findBestInsertionSpeculatively(DrtRequest drtRequest,
+					Collection<VehicleEntry> vEntries) {
+				var entry = vEntries.iterator().next();
+				var insertion = new InsertionWithDetourData(
+						new InsertionGenerator.Insertion(entry, null, null, scalarVehicleLoadFactory.fromInt(1)), null,
+						new InsertionDetourTimeCalculator.DetourTimeInfo(
+								mock(InsertionDetourTimeCalculator.PickupDetourInfo.class),
+								mock(InsertionDetourTimeCalculator.DropoffDetourInfo.class)));
+				return new SpeculativeResult(Optional.of(insertion),
+						() -> samples.add(drtRequest.getId() + "@" + createdEntries.indexOf(entry)));
+			}
+
+			@Override
+			public boolean isThreadSafe() {
+				return true;
+			}
+		};
+
+		RequestInsertionScheduler insertionScheduler = (request, insertion) -> {
+			var pickupTask = new DefaultDrtStopTask(now, now + 10, request.getFromLink());
+			var dropoffTask = new DefaultDrtStopTask(now + 20, now + 30, request.getToLink());
+			return new PickupDropoffTaskPair(pickupTask, dropoffTask);
+		};
+
+		new DefaultUnplannedRequestInserter(mode, fleet(vehicle1), () -> now, eventsManager, insertionScheduler,
+				entryFactory, new DrtRequestInsertionRetryQueue(new DrtRequestInsertionRetryParams()), insertionSearch,
+				new DefaultOfferAcceptor(), forkJoinPoolExtension.forkJoinPool,
+				StaticPassengerStopDurationProvider.of(10.0, 0.0), RequestFleetFilter.none,
+				parallelBatchInsertion).scheduleUnplannedRequests(requests(request1, request2));
+		return samples;
+	}
+
 	private Collection<DrtRequest> requests(DrtRequest... requests) {
 		return new ArrayList<>(Arrays.asList(requests));//returned collection needs to be modifiable
 	}
@@ -33,16 +33,26 @@ import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
 import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.IdMap;
 import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
 import org.matsim.api.core.v01.network.Node;
 import org.matsim.contrib.drt.optimizer.Waypoint;
 import org.matsim.contrib.drt.optimizer.insertion.InsertionGenerator;
+import org.matsim.contrib.drt.optimizer.insertion.InsertionWithDetourData.InsertionDetourData;
 import org.matsim.contrib.drt.passenger.DrtRequest;
+import org.matsim.contrib.drt.run.DrtConfigGroup;
 import org.matsim.contrib.dvrp.fleet.dvrp_load.DefaultIntegerLoadType;
 import org.matsim.contrib.dvrp.fleet.dvrp_load.IntegerLoadType;
 import org.matsim.contrib.dvrp.path.OneToManyPathSearch;
 import org.matsim.contrib.dvrp.path.OneToManyPathSearch.PathData;
+import org.matsim.contrib.dvrp.router.TimeAsTravelDisutility;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.speedy.SpeedyGraph;
+import org.matsim.core.router.speedy.SpeedyGraphBuilder;
+import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
 import org.matsim.testcases.fakes.FakeLink;
 import org.matsim.testcases.fakes.FakeNode;
 import org.mockito.ArgumentMatchers;
@@ -143,6 +153,75 @@ public class MultiInsertionDetourPathCalculatorTest {
 		assertThat(insertionWithDetourData.detourFromDropoff).isEqualTo(PathData.EMPTY);
 	}
 
+	@Test
+	void calculatePaths_serial_lazyPathsOfAllLegs() {
+		// line network 0 <-> 1 <-> ... <-> 5
+		Network network = NetworkUtils.createNetwork();
+		for (int i = 0; i < 6; i++) {
+			NetworkUtils.createAndAddNode(network, Id.createNodeId(i), new Coord(i * 1000, 0));
+		}
+		for (int i = 0; i < 5; i++) {
+			Node a = network.getNodes().get(Id.createNodeId(i));
+			Node b = network.getNodes().get(Id.createNodeId(i + 1));
+			NetworkUtils.createAndAddLink(network, Id.createLinkId(i + "_" + (i + 1)), a, b, 1000, 10, 1000, 1);
+			NetworkUtils.createAndAddLink(network, Id.createLinkId((i + 1) + "_" + i), b, a, 1000, 10, 1000, 1);
+		}
+		var travelTime = new FreeSpeedTravelTime();
+		var travelDisutility = new TimeAsTravelDisutility(travelTime);
+
+		// a single thread and a single cached tree per search, so that the legs would overwrite each other's trees
+		var drtCfg = new DrtConfigGroup();
+		drtCfg.numberOfThreads = 1;
+		var params = new ExtensiveInsertionSearchParams();
+		params.pathTreeCacheSize = 1;
+		drtCfg.setDrtInsertionSearchParams(params);
+		var calculator = new MultiInsertionDetourPathCalculator(network, travelTime, travelDisutility, drtCfg);
+
+		Link fromLink = network.getLinks().get(Id.createLinkId("1_2"));
+		Link toLink = network.getLinks().get(Id.createLinkId("3_4"));
+		var drtRequest = DrtRequest.newBuilder()
+				.fromLink(fromLink)
+				.toLink(toLink)
+				.earliestStartTime(100)
+				.latestStartTime(200)
+				.latestArrivalTime(500)
+				.build();
+		Link beforePickup = network.getLinks().get(Id.createLinkId("4_5"));
+		Link afterPickup = network.getLinks().get(Id.createLinkId("0_1"));
+		Link beforeDropoff = network.getLinks().get(Id.createLinkId("1_0"));
+		Link afterDropoff = network.getLinks().get(Id.createLinkId("5_4"));
+		var pickup = insertionPoint(waypoint(beforePickup), waypoint(afterPickup));
+		var dropoff = insertionPoint(waypoint(beforeDropoff), waypoint(afterDropoff));
+		var insertion = new InsertionGenerator.Insertion(null, pickup, dropoff, integerLoadType.fromInt(1));
+
+		InsertionDetourData detourData;
+		try {
+			detourData = calculator.calculatePaths(drtRequest, List.of(insertion)).createInsertionDetourData(insertion);
+		} finally {
+			calculator.notifyMobsimBeforeCleanup(null);
+		}
+
+		// the paths are materialized only after all four searches have run
+		SpeedyGraph graph = SpeedyGraphBuilder.build(network);
+		IdMap<Node, Node> nodeMap = new IdMap<>(Node.class);
+		nodeMap.putAll(network.getNodes());
+		var eagerSearch = OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, false);
+		assertSamePath(eagerSearch.calcPathDataMap(fromLink, List.of(beforePickup), 100, false).get(beforePickup),
+				detourData.detourToPickup);
+		assertSamePath(eagerSearch.calcPathDataMap(fromLink, List.of(afterPickup), 100, true).get(afterPickup),
+				detourData.detourFromPickup);
+		assertSamePath(eagerSearch.calcPathDataMap(toLink, List.of(beforeDropoff), 500, false).get(beforeDropoff),
+				detourData.detourToDropoff);
+		assertSamePath(eagerSearch.calcPathDataMap(toLink, List.of(afterDropoff), 500, true).get(afterDropoff),
+				detourData.detourFromDropoff);
+	}
+
+	private void assertSamePath(PathData expected, PathData actual) {
+		assertThat(actual.getTravelTime()).isEqualTo(expected.getTravelTime());
+		assertThat(actual.getPath().links).isEqualTo(expected.getPath().links);
+		assertThat(actual.getPath().links).isNotEmpty();
+	}
+
 	private PathData mockCalcPathData(Link fromLink, Link toLink, double startTimeArg, boolean forward,
 			double pathTravelTime) {
 		var fromNode = fromLink.getToNode();
@@ -0,0 +1,156 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.drt.optimizer.rebalancing.mincostflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.contrib.common.util.DistanceUtils;
+import org.matsim.contrib.common.zones.Zone;
+import org.matsim.contrib.common.zones.ZoneImpl;
+import org.matsim.contrib.drt.optimizer.rebalancing.mincostflow.AggregatedMinCostRelocationCalculator.DrtZoneVehicleSurplus;
+import org.matsim.contrib.drt.optimizer.rebalancing.mincostflow.TransportProblem.Flow;
+
+public class IncrementalTransportProblemTest {
+	private final Zone zoneA = ZoneImpl.createDummyZone(Id.create("A", Zone.class), new Coord(0, 0));
+	private final Zone zoneB = ZoneImpl.createDummyZone(Id.create("B", Zone.class), new Coord(1000, 0));
+	private final Zone zoneC = ZoneImpl.createDummyZone(Id.create("C", Zone.class), new Coord(3000, 0));
+
+	@Test
+	void simpleProblem() {
+		var problem = new IncrementalTransportProblem(List.of(zoneA, zoneB, zoneC));
+
+		// more supply than demand: A is closer to B than C
+		assertThat(problem.solveForVehicleSurplus(
+				List.of(surplus(zoneA, 2), surplus(zoneB, -1), surplus(zoneC, 2)))).containsExactly(
+				new Flow<>(zoneA, zoneB, 1));
+
+		// more demand than supply: C has to serve B
+		assertThat(problem.solveForVehicleSurplus(
+				List.of(surplus(zoneA, -1), surplus(zoneB, -3), surplus(zoneC, 2)))).containsExactly(
+				new Flow<>(zoneC, zoneB, 2));
+
+		assertThat(problem.solveForVehicleSurplus(
+				List.of(surplus(zoneA, 0), surplus(zoneB, 0), surplus(zoneC, 2)))).isEmpty();
+	}
+
+	@Test
+	void sameCostsAsTransportProblem() {
+		Random random = new Random(7);
+		for (int run = 0; run < 20; run++) {
+			List<Zone> zones = new ArrayList<>();
+			for (int i = 0; i < 2 + random.nextInt(30); i++) {
+				zones.add(ZoneImpl.createDummyZone(Id.create(run + "_" + i, Zone.class),
+						new Coord(random.nextDouble() * 10_000, random.nextDouble() * 10_000)));
+			}
+
+			var problem = new IncrementalTransportProblem(zones);
+			Map<Zone, Integer> surpluses = new HashMap<>();
+			zones.forEach(zone -> surpluses.put(zone, random.nextInt(11) - 5));
+
+			// consecutive problems differ only in a few zones
+			for (int step = 0; step < 20; step++) {
+				for (int i = 0; i < 3; i++) {
+					surpluses.put(zones.get(random.nextInt(zones.size())), random.nextInt(11) - 5);
+				}
+				List<DrtZoneVehicleSurplus> vehicleSurplus = zones.stream()
+						.map(zone -> surplus(zone, surpluses.get(zone)))
+						.toList();
+
+				var expectedFlows = TransportProblem.solveForVehicleSurplus(vehicleSurplus);
+				var flows = problem.solveForVehicleSurplus(vehicleSurplus);
+				assertThat(totalAmount(flows)).isEqualTo(totalAmount(expectedFlows));
+				assertThat(totalCost(flows)).isEqualTo(totalCost(expectedFlows));
+
+				for (var flow : flows) {
+					assertThat(surpluses.get(flow.origin())).isPositive();
+					assertThat(surpluses.get(flow.destination())).isNegative();
+				}
+			}
+		}
+	}
+
+	@Test
+	void warmStartReusesPreviousSolution() {
+		Random random = new Random(3);
+		List<Zone> zones = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			zones.add(ZoneImpl.createDummyZone(Id.create(i, Zone.class),
+					new Coord(random.nextDouble() * 10_000, random.nextDouble() * 10_000)));
+		}
+		int[] surplus = new int[zones.size()];
+		for (int i = 0; i < surplus.length; i++) {
+			surplus[i] = random.nextInt(11) - 5;
+		}
+
+		var problem = new IncrementalTransportProblem(zones);
+		problem.solve(surplus.clone());
+		assertThat(problem.searchCount).isGreaterThan(1);
+
+		// same problem: all previous flows are kept
+		problem.solve(surplus.clone());
+		assertThat(problem.searchCount).isZero();
+
+		// one more vehicle moves from a producer to a consumer: at most one search for the additional vehicle
+		int producer = 0;
+		while (surplus[producer] <= 0) {
+			producer++;
+		}
+		int consumer = 0;
+		while (surplus[consumer] >= 0) {
+			consumer++;
+		}
+		surplus[producer]++;
+		surplus[consumer]--;
+		var expectedFlows = new IncrementalTransportProblem(zones).solve(surplus.clone());
+		var flows = problem.solve(surplus.clone());
+		assertThat(problem.searchCount).isLessThanOrEqualTo(1);
+		assertThat(totalCost(flows, zones)).isEqualTo(totalCost(expectedFlows, zones));
+	}
+
+	private static DrtZoneVehicleSurplus surplus(Zone zone, int surplus) {
+		return new DrtZoneVehicleSurplus(zone, surplus);
+	}
+
+	private static int totalAmount(List<Flow<Zone, Zone>> flows) {
+		return flows.stream().mapToInt(Flow::amount).sum();
+	}
+
+	private static long totalCost(List<Flow<Zone, Zone>> flows) {
+		return flows.stream()
+				.mapToLong(f -> f.amount() * (long)DistanceUtils.calculateDistance(f.origin().getCentroid(),
+						f.destination().getCentroid()))
+				.sum();
+	}
+
+	private static long totalCost(List<int[]> flows, List<Zone> zones) {
+		return flows.stream()
+				.mapToLong(f -> f[2] * (long)DistanceUtils.calculateDistance(zones.get(f[0]).getCentroid(),
+						zones.get(f[1]).getCentroid()))
+				.sum();
+	}
+}
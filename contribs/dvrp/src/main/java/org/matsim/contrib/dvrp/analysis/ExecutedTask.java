@@ -22,6 +22,8 @@ package org.matsim.contrib.dvrp.analysis;
 
 import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.network.Link;
+import org.matsim.contrib.dvrp.path.VrpPath;
+import org.matsim.contrib.dvrp.schedule.DriveTask;
 import org.matsim.contrib.dvrp.schedule.Task;
 import org.matsim.contrib.dvrp.schedule.Tasks;
 
@@ -41,7 +43,16 @@ public class ExecutedTask {
 		// so no guarantee if the created ExecutedTask really represents its actual execution.
 		Preconditions.checkArgument(task.getStatus() == Task.TaskStatus.PERFORMED);
 		return new ExecutedTask(task.getTaskType(), task.getBeginTime(), task.getEndTime(),
-				Tasks.getBeginLink(task).getId(), Tasks.getEndLink(task).getId());
+				Tasks.getBeginLink(task).getId(), Tasks.getEndLink(task).getId(),
+				task instanceof DriveTask driveTask ? calcDistance(driveTask.getPath()) : 0);
+	}
+
+	private static double calcDistance(VrpPath path) {
+		double distance = 0;
+		for (int i = 0; i < path.getLinkCount(); i++) {
+			distance += path.getLink(i).getLength();
+		}
+		return distance;
 	}
 
 	public final Task.TaskType taskType;
@@ -49,14 +60,25 @@ public class ExecutedTask {
 	public final double endTime;
 	public final Id<Link> startLinkId;
 	public final Id<Link> endLinkId;
+	/**
+	 * Length of the driven path (including the first and last link) of a drive task, 0 for other tasks, or NaN if
+	 * unknown (e.g. if created from events).
+	 */
+	public final double distance;
 
 	public ExecutedTask(Task.TaskType taskType, double beginTime, double endTime, Id<Link> startLinkId,
 			Id<Link> endLinkId) {
+		this(taskType, beginTime, endTime, startLinkId, endLinkId, Double.NaN);
+	}
+
+	public ExecutedTask(Task.TaskType taskType, double beginTime, double endTime, Id<Link> startLinkId,
+			Id<Link> endLinkId, double distance) {
 		Preconditions.checkArgument(beginTime <= endTime);
 		this.taskType = Preconditions.checkNotNull(taskType);
 		this.beginTime = beginTime;
 		this.endTime = endTime;
 		this.startLinkId = Preconditions.checkNotNull(startLinkId);
 		this.endLinkId = Preconditions.checkNotNull(endLinkId);
+		this.distance = distance;
 	}
 }
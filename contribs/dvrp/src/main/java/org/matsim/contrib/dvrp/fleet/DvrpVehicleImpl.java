@@ -37,6 +37,14 @@ public class DvrpVehicleImpl implements DvrpVehicle {
 	private DvrpLoad capacity;
 
 	public DvrpVehicleImpl(DvrpVehicleSpecification specification, Link startLink) {
+		this(specification, startLink, false);
+	}
+
+	/**
+	 * @param compactSchedule if true, the performed tasks (except for the previous one) are archived
+	 *                        (see {@link Schedule#createCompacted(DvrpVehicleSpecification, int)})
+	 */
+	public DvrpVehicleImpl(DvrpVehicleSpecification specification, Link startLink, boolean compactSchedule) {
 		if (startLink == null) {
 			throw new RuntimeException("Start link "
 					+ specification.getStartLinkId()
@@ -51,7 +59,7 @@ public class DvrpVehicleImpl implements DvrpVehicle {
 		this.specification = specification;
 		this.startLink = startLink;
 		this.capacity = specification.getCapacity();
-		schedule = Schedule.create(specification);
+		schedule = compactSchedule ? Schedule.createCompacted(specification, 1) : Schedule.create(specification);
 	}
 
 	@Override
@@ -26,6 +26,7 @@ import org.matsim.contrib.dvrp.analysis.ExecutedScheduleCollector;
 import org.matsim.contrib.dvrp.fleet.dvrp_load.*;
 import org.matsim.contrib.dvrp.run.AbstractDvrpModeModule;
 import org.matsim.contrib.dvrp.run.AbstractDvrpModeQSimModule;
+import org.matsim.contrib.dvrp.run.DvrpConfigGroup;
 import org.matsim.core.controler.OutputDirectoryHierarchy;
 import org.matsim.vehicles.VehicleType;
 import org.matsim.vehicles.VehicleUtils;
@@ -98,12 +99,15 @@ public class FleetModule extends AbstractDvrpModeModule {
 			})).asEagerSingleton();
 		}
 
+		boolean compactSchedules = getConfig().getModules()
+				.get(DvrpConfigGroup.GROUP_NAME) instanceof DvrpConfigGroup dvrpCfg && dvrpCfg.compactSchedules;
 		installQSimModule(new AbstractDvrpModeQSimModule(getMode()) {
 			@Override
 			protected void configureQSim() {
 				bindModal(Fleet.class).toProvider(modalProvider(
 						getter -> Fleets.createDefaultFleet(getter.getModal(FleetSpecification.class),
-								getter.getModal(Network.class).getLinks()::get))).asEagerSingleton();
+								getter.getModal(Network.class).getLinks()::get,
+								compactSchedules))).asEagerSingleton();
 			}
 		});
 
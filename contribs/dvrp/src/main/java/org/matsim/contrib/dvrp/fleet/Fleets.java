@@ -33,8 +33,13 @@ import com.google.common.collect.ImmutableMap;
 public class Fleets {
 	public static Fleet createDefaultFleet(FleetSpecification fleetSpecification,
 			Function<Id<Link>, Link> linkProvider) {
+		return createDefaultFleet(fleetSpecification, linkProvider, false);
+	}
+
+	public static Fleet createDefaultFleet(FleetSpecification fleetSpecification,
+			Function<Id<Link>, Link> linkProvider, boolean compactSchedules) {
 		return createCustomFleet(fleetSpecification,
-				s -> new DvrpVehicleImpl(s, linkProvider.apply(s.getStartLinkId())));
+				s -> new DvrpVehicleImpl(s, linkProvider.apply(s.getStartLinkId()), compactSchedules));
 	}
 
 	public static Fleet createCustomFleet(FleetSpecification fleetSpecification,
@@ -0,0 +1,155 @@
+/*
+ * *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** *
+ */
+
+package org.matsim.contrib.dvrp.path;
+
+import static org.matsim.contrib.dvrp.path.LeastCostPathTreeStopCriteria.allEndNodesReached;
+import static org.matsim.contrib.dvrp.path.LeastCostPathTreeStopCriteria.withMaxTravelTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.core.router.speedy.LeastCostPathTree;
+import org.matsim.core.router.speedy.LeastCostPathTree.StopCriterion;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A small LRU cache of least-cost path trees, identified by their start node, start time and search direction.
+ * <p>
+ * A cached tree is reused if all requested end nodes have been settled, i.e. their cost does not exceed the cost at
+ * which the cached search was stopped. Dijkstra's algorithm expands the nodes in the same order regardless of the stop
+ * criterion, so a reused tree gives exactly the same results as a new search. Otherwise, the least recently used tree
+ * is recalculated, which increments its version. Paths that are reconstructed from a tree later on (lazily) must check
+ * the version to detect that the tree has been recalculated in the meantime.
+ * <p>
+ * Not thread-safe. Each tree needs memory proportional to the number of network nodes.
+ */
+final class LeastCostPathTreeCache {
+	static final class CachedTree {
+		private final LeastCostPathTree tree;
+		private int version = 0;
+
+		private int startNodeIndex = -1;
+		private double startTime;
+		private boolean forward;
+		private double costHorizon;
+
+		private CachedTree(LeastCostPathTree tree) {
+			this.tree = tree;
+		}
+
+		LeastCostPathTree getTree() {
+			return tree;
+		}
+
+		int getVersion() {
+			return version;
+		}
+
+		private boolean matches(int startNodeIndex, double startTime, boolean forward) {
+			return this.startNodeIndex == startNodeIndex && this.startTime == startTime && this.forward == forward;
+		}
+
+		private boolean hasSettled(Collection<Node> endNodes) {
+			if (costHorizon == Double.POSITIVE_INFINITY) {
+				return true; // all reachable nodes have been visited
+			}
+			for (Node endNode : endNodes) {
+				if (!(tree.getCost(endNode.getId().index()) <= costHorizon)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void calculate(int startNodeIndex, double startTime, boolean forward, StopCriterion stopCriterion) {
+			this.version++;
+			this.startNodeIndex = startNodeIndex;
+			this.startTime = startTime;
+			this.forward = forward;
+			this.costHorizon = Double.POSITIVE_INFINITY;
+
+			StopCriterion horizonRecorder = (nodeIndex, arrivalTime, travelCost, distance, departureTime) -> {
+				if (stopCriterion.stop(nodeIndex, arrivalTime, travelCost, distance, departureTime)) {
+					costHorizon = travelCost;
+					return true;
+				}
+				return false;
+			};
+			LeastCostPathTreeCache.calculate(tree, startNodeIndex, startTime, forward, horizonRecorder);
+		}
+	}
+
+	private final Supplier<LeastCostPathTree> treeFactory;
+	private final int maxSize;
+	private final List<CachedTree> trees = new ArrayList<>();// most recently used first
+
+	LeastCostPathTreeCache(Supplier<LeastCostPathTree> treeFactory, int maxSize) {
+		Preconditions.checkArgument(maxSize > 0, "At least one tree must be cached");
+		this.treeFactory = treeFactory;
+		this.maxSize = maxSize;
+	}
+
+	CachedTree calculate(int startNodeIndex, double startTime, boolean forward, Collection<Node> endNodes,
+			double maxTravelTime) {
+		// with a limited travel time, a reused tree could contain nodes that a new search would not reach
+		if (maxTravelTime == Double.POSITIVE_INFINITY) {
+			for (int i = 0; i < trees.size(); i++) {
+				CachedTree cachedTree = trees.get(i);
+				if (cachedTree.matches(startNodeIndex, startTime, forward) && cachedTree.hasSettled(endNodes)) {
+					trees.add(0, trees.remove(i));
+					return cachedTree;
+				}
+			}
+		}
+
+		CachedTree cachedTree = trees.size() < maxSize ?
+				new CachedTree(treeFactory.get()) :
+				trees.remove(trees.size() - 1);
+		trees.add(0, cachedTree);
+		cachedTree.calculate(startNodeIndex, startTime, forward,
+				withMaxTravelTime(allEndNodesReached(endNodes), maxTravelTime));
+		return cachedTree;
+	}
+
+	/**
+	 * Calculates a tree that is not managed by this cache, e.g. to reconstruct a path from a recalculated tree.
+	 */
+	LeastCostPathTree calculateUncached(int startNodeIndex, double startTime, boolean forward,
+			Collection<Node> endNodes, double maxTravelTime) {
+		LeastCostPathTree tree = treeFactory.get();
+		calculate(tree, startNodeIndex, startTime, forward,
+				withMaxTravelTime(allEndNodesReached(endNodes), maxTravelTime));
+		return tree;
+	}
+
+	private static void calculate(LeastCostPathTree tree, int startNodeIndex, double startTime, boolean forward,
+			StopCriterion stopCriterion) {
+		if (forward) {
+			tree.calculate(startNodeIndex, startTime, null, null, stopCriterion);
+		} else {
+			tree.calculateBackwards(startNodeIndex, startTime, null, null, stopCriterion);
+		}
+	}
+}
@@ -21,8 +21,6 @@
 package org.matsim.contrib.dvrp.path;
 
 import static java.util.stream.Collectors.toList;
-import static org.matsim.contrib.dvrp.path.LeastCostPathTreeStopCriteria.allEndNodesReached;
-import static org.matsim.contrib.dvrp.path.LeastCostPathTreeStopCriteria.withMaxTravelTime;
 import static org.matsim.contrib.dvrp.path.VrpPaths.FIRST_LINK_TT;
 
 import java.util.ArrayList;
@@ -41,6 +39,7 @@ import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.IdMap;
 import org.matsim.api.core.v01.network.Link;
 import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.dvrp.path.LeastCostPathTreeCache.CachedTree;
 import org.matsim.contrib.dvrp.path.OneToManyPathSearch.PathData;
 import org.matsim.core.router.speedy.LeastCostPathTree;
 import org.matsim.core.router.util.LeastCostPathCalculator.Path;
@@ -53,16 +52,20 @@ import org.matsim.core.utils.misc.OptionalTime;
  */
 class OneToManyPathCalculator {
 	private final IdMap<Node, Node> nodeMap;
-	private final LeastCostPathTree dijkstraTree;
+	private final LeastCostPathTreeCache treeCache;
 	private final TravelTime travelTime;
 	private final boolean forwardSearch;
 	private final Link fromLink;
 	private final double startTime;
 
-	OneToManyPathCalculator(IdMap<Node, Node> nodeMap, LeastCostPathTree dijkstraTree, TravelTime travelTime,
+	private CachedTree cachedTree;
+	private int treeVersion;
+	private double maxTravelTime;
+
+	OneToManyPathCalculator(IdMap<Node, Node> nodeMap, LeastCostPathTreeCache treeCache, TravelTime travelTime,
 			boolean forwardSearch, Link fromLink, double startTime) {
 		this.nodeMap = nodeMap;
-		this.dijkstraTree = dijkstraTree;
+		this.treeCache = treeCache;
 		this.travelTime = travelTime;
 		this.forwardSearch = forwardSearch;
 		this.fromLink = fromLink;
@@ -82,13 +85,9 @@ class OneToManyPathCalculator {
 		}
 
 		int fromNodeIdx = getStartNode(fromLink).getId().index();
-		var stopCriterion = withMaxTravelTime(allEndNodesReached(toNodes), maxTravelTime);
-
-		if (forwardSearch) {
-			dijkstraTree.calculate(fromNodeIdx, startTime, null, null, stopCriterion);
-		} else {
-			dijkstraTree.calculateBackwards(fromNodeIdx, startTime, null, null, stopCriterion);
-		}
+		this.maxTravelTime = maxTravelTime;
+		this.cachedTree = treeCache.calculate(fromNodeIdx, startTime, forwardSearch, toNodes, maxTravelTime);
+		this.treeVersion = cachedTree.getVersion();
 	}
 
 	PathData createPathDataLazily(Link toLink) {
@@ -96,7 +95,7 @@ class OneToManyPathCalculator {
 			return PathData.EMPTY;
 		} else {
 			Node endNode = getEndNode(toLink);
-			double pathTravelTime = getTravelTime(endNode.getId().index());
+			double pathTravelTime = getTravelTime(cachedTree.getTree(), endNode.getId().index());
 			if (pathTravelTime == Double.POSITIVE_INFINITY) {
 				return PathData.INFEASIBLE;
 			}
@@ -111,7 +110,7 @@ class OneToManyPathCalculator {
 			return PathData.EMPTY;
 		} else {
 			Node endNode = getEndNode(toLink);
-			if (dijkstraTree.getTime(endNode.getId().index()).isUndefined()) {
+			if (cachedTree.getTree().getTime(endNode.getId().index()).isUndefined()) {
 				return PathData.INFEASIBLE;
 			}
 			Path path = createPath(endNode);
@@ -121,8 +120,9 @@ class OneToManyPathCalculator {
 
 	@Nullable
 	Path createPath(Node toNode) {
+		LeastCostPathTree dijkstraTree = getTree(toNode);
 		int toNodeIndex = toNode.getId().index();
-		double travelTime = getTravelTime(toNodeIndex);
+		double travelTime = getTravelTime(dijkstraTree, toNodeIndex);
 		if (travelTime == Double.POSITIVE_INFINITY) {
 			return null;
 		}
@@ -132,13 +132,23 @@ class OneToManyPathCalculator {
 		return new Path(nodes, links, travelTime, cost);
 	}
 
-	private double getTravelTime(int toNodeIndex) {
+	private LeastCostPathTree getTree(Node toNode) {
+		if (cachedTree.getVersion() == treeVersion) {
+			return cachedTree.getTree();
+		}
+		// the tree has been recalculated for another search since the path data was created (lazy path creation),
+		// so repeat the search. Searching only for toNode gives the same path for toNode as the original search.
+		return treeCache.calculateUncached(getStartNode(fromLink).getId().index(), startTime, forwardSearch,
+				List.of(toNode), maxTravelTime);
+	}
+
+	private double getTravelTime(LeastCostPathTree dijkstraTree, int toNodeIndex) {
 		OptionalTime endTime = dijkstraTree.getTime(toNodeIndex);
 		if (endTime.isUndefined()) {
 			return Double.POSITIVE_INFINITY;
 		}
 		int travelTimeMultiplier = forwardSearch ? 1 : -1;
-		return travelTimeMultiplier * (dijkstraTree.getTime(toNodeIndex).seconds() - startTime);
+		return travelTimeMultiplier * (endTime.seconds() - startTime);
 	}
 
 	private List<Node> constructNodeSequence(LeastCostPathTree dijkstraTree, Node toNode, boolean forward) {
@@ -40,8 +40,18 @@ import com.google.common.collect.Maps;
 public class OneToManyPathSearch {
 	public static OneToManyPathSearch createSearch(SpeedyGraph graph, IdMap<Node, Node> nodeMap, TravelTime travelTime,
 			TravelDisutility travelDisutility, boolean lazyPathCreation) {
-		return new OneToManyPathSearch(nodeMap, new LeastCostPathTree(graph, travelTime, travelDisutility), travelTime,
-				lazyPathCreation);
+		return createSearch(graph, nodeMap, travelTime, travelDisutility, lazyPathCreation, 1);
+	}
+
+	/**
+	 * @param cachedTrees number of least-cost path trees kept by the search. Subsequent searches from the same link at
+	 *                    the same time are answered from a cached tree if it covers all requested links.
+	 */
+	public static OneToManyPathSearch createSearch(SpeedyGraph graph, IdMap<Node, Node> nodeMap, TravelTime travelTime,
+			TravelDisutility travelDisutility, boolean lazyPathCreation, int cachedTrees) {
+		var treeCache = new LeastCostPathTreeCache(() -> new LeastCostPathTree(graph, travelTime, travelDisutility),
+				cachedTrees);
+		return new OneToManyPathSearch(nodeMap, treeCache, travelTime, lazyPathCreation);
 	}
 
 	public static class PathData {
@@ -84,14 +94,14 @@ public class OneToManyPathSearch {
 	}
 
 	private final IdMap<Node, Node> nodeMap;
-	private final LeastCostPathTree dijkstraTree;
+	private final LeastCostPathTreeCache treeCache;
 	private final TravelTime travelTime;
 	private final boolean lazyPathCreation;
 
-	private OneToManyPathSearch(IdMap<Node, Node> nodeMap, LeastCostPathTree dijkstraTree, TravelTime travelTime,
+	private OneToManyPathSearch(IdMap<Node, Node> nodeMap, LeastCostPathTreeCache treeCache, TravelTime travelTime,
 			boolean lazyPathCreation) {
 		this.nodeMap = nodeMap;
-		this.dijkstraTree = dijkstraTree;
+		this.treeCache = treeCache;
 		this.travelTime = travelTime;
 		this.lazyPathCreation = lazyPathCreation;
 	}
@@ -102,7 +112,7 @@ public class OneToManyPathSearch {
 
 	public PathData[] calcPathDataArray(Link fromLink, List<Link> toLinks, double startTime, boolean forward,
 			double maxTravelTime) {
-		OneToManyPathCalculator pathConstructor = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime,
+		OneToManyPathCalculator pathConstructor = new OneToManyPathCalculator(nodeMap, treeCache, travelTime,
 				forward, fromLink, startTime);
 		pathConstructor.calculateDijkstraTree(toLinks, maxTravelTime);
 		return createPathDataArray(toLinks, pathConstructor);
@@ -115,7 +125,7 @@ public class OneToManyPathSearch {
 
 	public Map<Link, PathData> calcPathDataMap(Link fromLink, Collection<Link> toLinks, double startTime,
 			boolean forward, double maxTravelTime) {
-		OneToManyPathCalculator pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, forward,
+		OneToManyPathCalculator pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, forward,
 				fromLink, startTime);
 		pathCalculator.calculateDijkstraTree(toLinks, maxTravelTime);
 		return createPathDataMap(toLinks, pathCalculator);
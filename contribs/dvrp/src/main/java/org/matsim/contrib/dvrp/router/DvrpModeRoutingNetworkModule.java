@@ -21,28 +21,19 @@
 package org.matsim.contrib.dvrp.router;
 
 import java.io.File;
-import java.net.URL;
 import java.util.Collections;
 import java.util.Set;
 
 import org.matsim.api.core.v01.network.Network;
-import org.matsim.contrib.common.zones.ZoneSystem;
-import org.matsim.contrib.common.zones.ZoneSystemUtils;
 import org.matsim.contrib.dvrp.run.AbstractDvrpModeModule;
 import org.matsim.contrib.dvrp.run.DvrpConfigGroup;
-import org.matsim.contrib.zone.skims.DvrpTravelTimeMatrixParams;
-import org.matsim.contrib.zone.skims.FreeSpeedTravelTimeMatrix;
 import org.matsim.contrib.zone.skims.TravelTimeMatrix;
 import org.matsim.core.config.Config;
-import org.matsim.core.config.ConfigGroup;
-import org.matsim.core.config.groups.GlobalConfigGroup;
-import org.matsim.core.config.groups.QSimConfigGroup;
 import org.matsim.core.network.NetworkUtils;
 import org.matsim.core.network.algorithms.NetworkCleaner;
 import org.matsim.core.network.algorithms.TransportModeNetworkFilter;
 
 import com.google.common.base.Preconditions;
-import com.google.inject.Inject;
 import com.google.inject.Key;
 import com.google.inject.Singleton;
 import com.google.inject.name.Names;
@@ -53,15 +44,6 @@ import com.google.inject.name.Names;
 public class DvrpModeRoutingNetworkModule extends AbstractDvrpModeModule {
 	private final boolean useModeFilteredSubnetwork;
 
-	@Inject
-	private DvrpConfigGroup dvrpConfigGroup;
-
-	@Inject
-	private GlobalConfigGroup globalConfigGroup;
-
-	@Inject
-	private QSimConfigGroup qSimConfigGroup;
-
 	public DvrpModeRoutingNetworkModule(String mode, boolean useModeFilteredSubnetwork) {
 		super(mode);
 		this.useModeFilteredSubnetwork = useModeFilteredSubnetwork;
@@ -83,23 +65,7 @@ public class DvrpModeRoutingNetworkModule extends AbstractDvrpModeModule {
 
 			//use mode-specific travel time matrix built for this subnetwork
 			//lazily initialised: optimisers may not need it
-			bindModal(TravelTimeMatrix.class).toProvider(modalProvider(
-					getter -> {
-						Network network = getter.getModal(Network.class);
-						DvrpTravelTimeMatrixParams matrixParams = dvrpConfigGroup.getTravelTimeMatrixParams();
-						ZoneSystem zoneSystem = ZoneSystemUtils.createZoneSystem(getConfig().getContext(), network,
-							matrixParams.getZoneSystemParams(), getConfig().global().getCoordinateSystem(), zone -> true);
-						
-						
-						if (matrixParams.cachePath == null) {
-							return FreeSpeedTravelTimeMatrix.createFreeSpeedMatrix(network, zoneSystem, matrixParams, globalConfigGroup.getNumberOfThreads(),
-								qSimConfigGroup.getTimeStepSize());
-						} else {
-							URL cachePath = ConfigGroup.getInputFileURL(getConfig().getContext(), matrixParams.cachePath);
-							return FreeSpeedTravelTimeMatrix.createFreeSpeedMatrixFromCache(network, zoneSystem, matrixParams, globalConfigGroup.getNumberOfThreads(),
-								qSimConfigGroup.getTimeStepSize(), cachePath);
-						}
-                    })).in(Singleton.class);
+			bindModal(TravelTimeMatrix.class).toProvider(new DvrpTravelTimeMatrixProvider(modalKey(Network.class))).in(Singleton.class);
 		} else {
 			//use DVRP-routing (dvrp-global) network
 			bindModal(Network.class).to(
@@ -0,0 +1,102 @@
+/*
+ * *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** *
+ */
+
+package org.matsim.contrib.dvrp.router;
+
+import java.net.URL;
+
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.contrib.common.zones.ZoneSystem;
+import org.matsim.contrib.common.zones.ZoneSystemUtils;
+import org.matsim.contrib.dvrp.run.DvrpConfigGroup;
+import org.matsim.contrib.dvrp.trafficmonitoring.DvrpTravelTimeModule;
+import org.matsim.contrib.zone.skims.DvrpTravelTimeMatrixParams;
+import org.matsim.contrib.zone.skims.FreeSpeedTravelTimeMatrix;
+import org.matsim.contrib.zone.skims.TimeDependentTravelTimeMatrix;
+import org.matsim.contrib.zone.skims.TravelTimeMatrix;
+import org.matsim.core.config.Config;
+import org.matsim.core.config.ConfigGroup;
+import org.matsim.core.config.groups.QSimConfigGroup;
+import org.matsim.core.controler.ControlerListenerManager;
+import org.matsim.core.router.util.TravelTime;
+
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+/**
+ * Creates the DVRP travel time matrix for the network bound to the given key: the free-speed matrix or, if
+ * {@link DvrpTravelTimeMatrixParams#timeDependentMatrixInterval} is positive, a {@link TimeDependentTravelTimeMatrix} on
+ * top of it. The latter is recalculated at the start of each iteration.
+ */
+public class DvrpTravelTimeMatrixProvider implements Provider<TravelTimeMatrix> {
+	private final Key<Network> networkKey;
+
+	@Inject
+	private Injector injector;
+
+	@Inject
+	private Config config;
+
+	@Inject
+	private DvrpConfigGroup dvrpConfigGroup;
+
+	@Inject
+	private QSimConfigGroup qSimConfigGroup;
+
+	public DvrpTravelTimeMatrixProvider(Key<Network> networkKey) {
+		this.networkKey = networkKey;
+	}
+
+	@Override
+	public TravelTimeMatrix get() {
+		Network network = injector.getInstance(networkKey);
+		int numberOfThreads = config.global().getNumberOfThreads();
+		DvrpTravelTimeMatrixParams params = dvrpConfigGroup.getTravelTimeMatrixParams();
+		ZoneSystem zoneSystem = ZoneSystemUtils.createZoneSystem(config.getContext(), network, params.getZoneSystemParams(),
+				config.global().getCoordinateSystem(), zone -> true);
+
+		FreeSpeedTravelTimeMatrix freeSpeedMatrix;
+		if (params.cachePath == null) {
+			freeSpeedMatrix = FreeSpeedTravelTimeMatrix.createFreeSpeedMatrix(network, zoneSystem, params, numberOfThreads,
+					qSimConfigGroup.getTimeStepSize());
+		} else {
+			URL cachePath = ConfigGroup.getInputFileURL(config.getContext(), params.cachePath);
+			freeSpeedMatrix = FreeSpeedTravelTimeMatrix.createFreeSpeedMatrixFromCache(network, zoneSystem, params, numberOfThreads,
+					qSimConfigGroup.getTimeStepSize(), cachePath);
+		}
+
+		if (params.timeDependentMatrixInterval <= 0) {
+			return freeSpeedMatrix;
+		}
+
+		TravelTime estimatedTravelTime = injector.getInstance(
+				Key.get(TravelTime.class, Names.named(DvrpTravelTimeModule.DVRP_ESTIMATED)));
+		var matrix = new TimeDependentTravelTimeMatrix(network, zoneSystem, freeSpeedMatrix, estimatedTravelTime,
+				params.timeDependentMatrixInterval,
+				qSimConfigGroup.getEndTime().orElse(TimeDependentTravelTimeMatrix.DEFAULT_MAX_TIME), numberOfThreads);
+		// the matrix is created lazily (on first use), so it registers for the next iteration starts only now
+		injector.getInstance(ControlerListenerManager.class).addControlerListener(matrix);
+		return matrix;
+	}
+}
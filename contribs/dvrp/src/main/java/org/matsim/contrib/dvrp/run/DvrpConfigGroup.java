@@ -106,6 +106,12 @@ public class DvrpConfigGroup extends ReflectiveConfigGroupWithConfigurableParame
 	@Nullable
 	public String initialTravelTimesFile = null;
 
+	@Parameter
+	@Comment("If true, the performed tasks of DVRP vehicles (created by the default fleet) are archived"
+			+ " as executed tasks, so that only the previous, the current and the planned tasks are kept in schedules."
+			+ " Reduces memory usage in long simulations with large fleets. Default is false.")
+	public boolean compactSchedules = false;
+
 	@Nullable
 	private DvrpTravelTimeMatrixParams travelTimeMatrixParams;
 
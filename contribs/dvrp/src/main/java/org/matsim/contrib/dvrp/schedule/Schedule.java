@@ -22,6 +22,7 @@ package org.matsim.contrib.dvrp.schedule;
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.matsim.contrib.dvrp.analysis.ExecutedTask;
 import org.matsim.contrib.dvrp.fleet.DvrpVehicleSpecification;
 
 /**
@@ -43,20 +44,37 @@ public interface Schedule {
 		return new ScheduleImpl(vehicleSpecification);
 	}
 
+	/**
+	 * Creates a compacted schedule, which archives all performed tasks except for the last
+	 * {@code retainedPerformedTasks} ones (see {@link #getArchivedTasks()}). Intended for long simulations with large
+	 * fleets, where the performed tasks (including their paths and requests) would otherwise be kept until the end of
+	 * the simulation.
+	 */
+	static Schedule createCompacted(DvrpVehicleSpecification vehicleSpecification, int retainedPerformedTasks) {
+		return new ScheduleImpl(vehicleSpecification, retainedPerformedTasks);
+	}
+
 	enum ScheduleStatus {
 		UNPLANNED, PLANNED, STARTED, COMPLETED
 	}
 
 	/**
-	 * Tasks in the schedule.
+	 * Tasks in the schedule. In a compacted schedule, the archived tasks (i.e. with indices lower than
+	 * getArchivedTasks().size()) cannot be accessed.
 	 */
 	List<? extends Task> getTasks();// unmodifiableList
 
 	/**
-	 * Stream of tasks in the schedule.
+	 * Stream of tasks in the schedule (excluding the archived ones).
 	 */
 	Stream<? extends Task> tasks();
 
+	/**
+	 * Performed tasks that have been archived (in the order of execution). Always empty if the schedule is not
+	 * compacted.
+	 */
+	List<ExecutedTask> getArchivedTasks();
+
 	/**
 	 * Shortcut to getTasks().size()
 	 */
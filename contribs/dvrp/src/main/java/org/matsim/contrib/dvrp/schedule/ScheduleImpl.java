@@ -19,36 +19,86 @@
 
 package org.matsim.contrib.dvrp.schedule;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.stream.Stream;
 
 import org.matsim.api.core.v01.network.Link;
+import org.matsim.contrib.dvrp.analysis.ExecutedTask;
 import org.matsim.contrib.dvrp.fleet.DvrpVehicleSpecification;
 import org.matsim.contrib.dvrp.schedule.Task.TaskStatus;
 
 import com.google.common.base.Preconditions;
 
 /**
+ * If compacted, all performed tasks except for the last {@code retainedPerformedTasks} ones are archived as
+ * {@link ExecutedTask}s. The archived tasks keep their indices, so the indices of the remaining tasks do not change.
+ *
  * @author michalm
  */
 final class ScheduleImpl implements Schedule {
 	private final DvrpVehicleSpecification vehicleSpecification;
+	private final int retainedPerformedTasks;
 
+	// tasks with idx >= archivedTasks.size()
 	private final List<AbstractTask> tasks = new ArrayList<>();
-	private final List<? extends Task> unmodifiableTasks = Collections.unmodifiableList(tasks);
+	private final List<? extends Task> taskView = new TaskView();
+
+	private final List<ExecutedTask> archivedTasks = new ArrayList<>();
+	private final List<ExecutedTask> unmodifiableArchivedTasks = Collections.unmodifiableList(archivedTasks);
 
 	private ScheduleStatus status = ScheduleStatus.UNPLANNED;
 	private AbstractTask currentTask = null;
 
 	ScheduleImpl(DvrpVehicleSpecification vehicleSpecification) {
+		this(vehicleSpecification, Integer.MAX_VALUE);
+	}
+
+	ScheduleImpl(DvrpVehicleSpecification vehicleSpecification, int retainedPerformedTasks) {
+		Preconditions.checkArgument(retainedPerformedTasks >= 1, "At least the previous task must be retained");
 		this.vehicleSpecification = vehicleSpecification;
+		this.retainedPerformedTasks = retainedPerformedTasks;
+	}
+
+	private final class TaskView extends AbstractList<AbstractTask> implements RandomAccess {
+		@Override
+		public AbstractTask get(int index) {
+			Preconditions.checkElementIndex(index, size());
+			Preconditions.checkState(index >= archivedTasks.size(), "Task %s of %s has already been archived", index,
+					ScheduleImpl.this);
+			return tasks.get(index - archivedTasks.size());
+		}
+
+		@Override
+		public int size() {
+			return archivedTasks.size() + tasks.size();
+		}
+
+		// archived tasks are no longer stored, so searching starts at the first live task
+		@Override
+		public int indexOf(Object o) {
+			int idx = tasks.indexOf(o);
+			return idx < 0 ? -1 : archivedTasks.size() + idx;
+		}
+
+		@Override
+		public int lastIndexOf(Object o) {
+			int idx = tasks.lastIndexOf(o);
+			return idx < 0 ? -1 : archivedTasks.size() + idx;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return tasks.contains(o);
+		}
 	}
 
 	@Override
 	public List<? extends Task> getTasks() {
-		return unmodifiableTasks;
+		return taskView;
 	}
 
 	@Override
@@ -58,12 +108,17 @@ final class ScheduleImpl implements Schedule {
 
 	@Override
 	public int getTaskCount() {
-		return tasks.size();
+		return archivedTasks.size() + tasks.size();
+	}
+
+	@Override
+	public List<ExecutedTask> getArchivedTasks() {
+		return unmodifiableArchivedTasks;
 	}
 
 	@Override
 	public void addTask(Task task) {
-		addTask(tasks.size(), task);
+		addTask(getTaskCount(), task);
 	}
 
 	@Override
@@ -75,13 +130,14 @@ final class ScheduleImpl implements Schedule {
 		}
 
 		AbstractTask t = (AbstractTask)task;
-		tasks.add(taskIdx, t);
+		int offset = archivedTasks.size();
+		tasks.add(taskIdx - offset, t);
 		t.taskIdx = taskIdx;
 		t.status = TaskStatus.PLANNED;
 
 		// update idx of the existing tasks
-		for (int i = taskIdx + 1; i < tasks.size(); i++) {
-			tasks.get(i).taskIdx = i;
+		for (int i = taskIdx - offset + 1; i < tasks.size(); i++) {
+			tasks.get(i).taskIdx = offset + i;
 		}
 	}
 
@@ -92,13 +148,13 @@ final class ScheduleImpl implements Schedule {
 		double beginTime = task.getBeginTime();
 		double endTime = task.getEndTime();
 		Link beginLink = Tasks.getBeginLink(task);
-		int taskCount = tasks.size();
+		int taskCount = getTaskCount();
 
 		Preconditions.checkArgument(taskIdx >= 0 && taskIdx <= taskCount);
 		Preconditions.checkArgument(beginTime <= endTime);
 
 		if (taskIdx > 0) {
-			Task previousTask = tasks.get(taskIdx - 1);
+			Task previousTask = taskView.get(taskIdx - 1);
 			Preconditions.checkArgument(previousTask.getEndTime() == beginTime);
 			Preconditions.checkArgument(Tasks.getEndLink(previousTask) == beginLink,
 					"Last task end link: %s; Next task start link: %s", Tasks.getEndLink(previousTask).getId(),
@@ -110,7 +166,7 @@ final class ScheduleImpl implements Schedule {
 
 	@Override
 	public void removeLastTask() {
-		removeTaskImpl(tasks.size() - 1);
+		removeTaskImpl(getTaskCount() - 1);
 	}
 
 	@Override
@@ -122,14 +178,15 @@ final class ScheduleImpl implements Schedule {
 		failIfUnplanned();
 		failIfCompleted();
 
-		Preconditions.checkState(tasks.get(taskIdx).getStatus() == TaskStatus.PLANNED);
-		tasks.remove(taskIdx);
+		Preconditions.checkState(taskView.get(taskIdx).getStatus() == TaskStatus.PLANNED);
+		int offset = archivedTasks.size();
+		tasks.remove(taskIdx - offset);
 
-		for (int i = taskIdx; i < tasks.size(); i++) {
-			tasks.get(i).taskIdx = i;
+		for (int i = taskIdx - offset; i < tasks.size(); i++) {
+			tasks.get(i).taskIdx = offset + i;
 		}
 
-		if (tasks.size() == 0) {
+		if (getTaskCount() == 0) {
 			status = ScheduleStatus.UNPLANNED;
 		}
 	}
@@ -162,13 +219,26 @@ final class ScheduleImpl implements Schedule {
 			nextIdx = currentTask.taskIdx + 1;
 		}
 
-		if (nextIdx == tasks.size()) {
+		if (nextIdx == getTaskCount()) {
 			currentTask = null;
 			status = ScheduleStatus.COMPLETED;
 		} else {
-			currentTask = tasks.get(nextIdx);
+			currentTask = taskView.get(nextIdx);
 			currentTask.status = TaskStatus.STARTED;
 		}
+
+		archivePerformedTasks(nextIdx);
+	}
+
+	private void archivePerformedTasks(int firstNotPerformedIdx) {
+		int toArchive = firstNotPerformedIdx - archivedTasks.size() - retainedPerformedTasks;
+		if (toArchive > 0) {
+			List<AbstractTask> performedTasks = tasks.subList(0, toArchive);
+			for (AbstractTask task : performedTasks) {
+				archivedTasks.add(ExecutedTask.createFromTask(task));
+			}
+			performedTasks.clear();
+		}
 	}
 
 	@Override
@@ -179,13 +249,13 @@ final class ScheduleImpl implements Schedule {
 	@Override
 	public double getBeginTime() {
 		failIfUnplanned();
-		return tasks.get(0).getBeginTime();
+		return archivedTasks.isEmpty() ? tasks.get(0).getBeginTime() : archivedTasks.get(0).beginTime;
 	}
 
 	@Override
 	public double getEndTime() {
 		failIfUnplanned();
-		return tasks.get(tasks.size() - 1).getEndTime();
+		return tasks.get(tasks.size() - 1).getEndTime();// at least one performed task is retained
 	}
 
 	@Override
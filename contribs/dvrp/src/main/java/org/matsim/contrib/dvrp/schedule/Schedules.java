@@ -30,12 +30,18 @@ import org.matsim.contrib.dvrp.schedule.Schedule.ScheduleStatus;
 public class Schedules {
 	public static final Comparator<Task> TASK_SCHEDULE_IDX_COMPARATOR = Comparator.comparingInt(Task::getTaskIdx);
 
+	/**
+	 * In a compacted schedule, returns the first task that has not been archived.
+	 */
 	public static Task getFirstTask(Schedule schedule) {
-		return schedule.getTasks().get(0);
+		return schedule.getTasks().get(schedule.getArchivedTasks().size());
 	}
 
+	/**
+	 * In a compacted schedule, returns the second task that has not been archived.
+	 */
 	public static Task getSecondTask(Schedule schedule) {
-		return schedule.getTasks().get(1);
+		return schedule.getTasks().get(schedule.getArchivedTasks().size() + 1);
 	}
 
 	public static Task getNextToLastTask(Schedule schedule) {
@@ -85,7 +85,7 @@ public class VrpAgentQueryHelper implements NonPlanAgentQueryHelper {
 		Schedule schedule = vehicle.getSchedule();
 
 		if (schedule.getStatus() == ScheduleStatus.STARTED) {
-			for (Task t : schedule.getTasks()) {
+			for (Task t : schedule.getTasks().subList(schedule.getArchivedTasks().size(), schedule.getTaskCount())) {
 				if (t instanceof DriveTask) {
 					planElements.add(createLeg((DriveTask)t));
 				} else {
@@ -57,6 +57,16 @@ public class DvrpTravelTimeMatrixParams extends ReflectiveConfigGroupWithConfigu
 			+ " The unit is seconds. Default value is 0 s (for backward compatibility).")
 	@PositiveOrZero
 	public double maxNeighborTravelTime = 0; //[s]
+
+	@Parameter
+	@Comment("If positive, zonal travel times are additionally calculated for time bins of this length from the"
+			+ " estimated DVRP link travel times (see 'travelTimeEstimationAlpha'). They are recalculated once per iteration."
+			+ " Memory usage and computation time grow linearly with the number of time bins and quadratically with the"
+			+ " number of zones, so a coarse zone system is recommended."
+			+ " The unit is seconds. Default value is 0 s (only free-speed travel times are used).")
+	@PositiveOrZero
+	public double timeDependentMatrixInterval = 0; //[s]
+
 	@NotNull
 	private ZoneSystemParams zoneSystemParams;
 
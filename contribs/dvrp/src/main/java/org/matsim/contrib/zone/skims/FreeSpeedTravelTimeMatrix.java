@@ -88,6 +88,13 @@ public class FreeSpeedTravelTimeMatrix implements TravelTimeMatrix {
 		return freeSpeedTravelTimeMatrix.get(zoneSystem.getZoneForNodeId(fromNode.getId()).orElseThrow(), zoneSystem.getZoneForNodeId(toNode.getId()).orElseThrow());
 	}
 
+	/**
+	 * @return the node-level travel time if toNode is a neighbour of fromNode, -1 otherwise
+	 */
+	public int getNeighbourTravelTime(Node fromNode, Node toNode) {
+		return freeSpeedTravelTimeSparseMatrix != null ? freeSpeedTravelTimeSparseMatrix.get(fromNode, toNode) : -1;
+	}
+
 	public int getZonalTravelTime(Node fromNode, Node toNode, double departureTime) {
 		return freeSpeedTravelTimeMatrix.get(zoneSystem.getZoneForNodeId(fromNode.getId()).orElseThrow(), zoneSystem.getZoneForNodeId(toNode.getId()).orElseThrow());
 	}
@@ -0,0 +1,134 @@
+/*
+ * *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** *
+ */
+
+package org.matsim.contrib.zone.skims;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.common.zones.Zone;
+import org.matsim.contrib.common.zones.ZoneSystem;
+import org.matsim.contrib.common.zones.ZoneSystemUtils;
+import org.matsim.contrib.dvrp.router.TimeAsTravelDisutility;
+import org.matsim.core.controler.events.IterationStartsEvent;
+import org.matsim.core.controler.listener.IterationStartsListener;
+import org.matsim.core.router.speedy.SpeedyGraph;
+import org.matsim.core.router.speedy.SpeedyGraphBuilder;
+import org.matsim.core.router.util.TravelTime;
+import org.matsim.core.trafficmonitoring.TimeBinUtils;
+
+/**
+ * Zonal travel time matrices for consecutive time bins, calculated from time-dependent link travel times, typically
+ * the ones estimated by {@link org.matsim.contrib.dvrp.trafficmonitoring.DvrpTravelTimeEstimator}. Since the estimated
+ * link travel times are updated after each mobsim, the matrices are recalculated (in parallel) at the start of each
+ * iteration, i.e. outside the mobsim. The matrix must therefore be registered as a controler listener. The routing graph
+ * is built only once.
+ * <p>
+ * Travel times between neighbouring nodes are taken from the node-level free-speed matrix and scaled by the ratio of
+ * the time-dependent and the free-speed zonal travel times (if the nodes are in different zones).
+ * <p>
+ * The memory usage grows linearly with the number of time bins and quadratically with the number of zones.
+ */
+public final class TimeDependentTravelTimeMatrix implements TravelTimeMatrix, IterationStartsListener {
+	private static final Logger log = LogManager.getLogger(TimeDependentTravelTimeMatrix.class);
+
+	// used if the QSim end time is undefined
+	public static final double DEFAULT_MAX_TIME = 30 * 3600;
+
+	private final ZoneSystem zoneSystem;
+	private final FreeSpeedTravelTimeMatrix freeSpeedMatrix;
+	private final Map<Zone, Node> centralNodes;
+	private final TravelTimeMatrices.RoutingParams routingParams;
+	private final SpeedyGraph graph;
+	private final double timeInterval;
+	private final int numberOfBins;
+
+	private volatile Matrix[] matrices;
+
+	public TimeDependentTravelTimeMatrix(Network dvrpNetwork, ZoneSystem zoneSystem,
+			FreeSpeedTravelTimeMatrix freeSpeedMatrix, TravelTime travelTime, double timeInterval, double maxTime,
+			int numberOfThreads) {
+		checkArgument(timeInterval > 0, "timeInterval must be positive");
+		this.zoneSystem = zoneSystem;
+		this.freeSpeedMatrix = freeSpeedMatrix;
+		this.centralNodes = ZoneSystemUtils.computeMostCentralNodes(dvrpNetwork.getNodes().values(), zoneSystem);
+		this.routingParams = new TravelTimeMatrices.RoutingParams(dvrpNetwork, travelTime,
+				new TimeAsTravelDisutility(travelTime), numberOfThreads);
+		this.graph = SpeedyGraphBuilder.build(dvrpNetwork);
+		this.timeInterval = timeInterval;
+		this.numberOfBins = TimeBinUtils.getTimeBinCount((int)maxTime, timeInterval);
+	}
+
+	@Override
+	public int getTravelTime(Node fromNode, Node toNode, double departureTime) {
+		if (fromNode == toNode) {
+			return 0;
+		}
+
+		Zone fromZone = zoneSystem.getZoneForNodeId(fromNode.getId()).orElseThrow();
+		Zone toZone = zoneSystem.getZoneForNodeId(toNode.getId()).orElseThrow();
+		int bin = TimeBinUtils.getTimeBinIndex(departureTime, timeInterval, numberOfBins);
+		int zonalTime = getMatrices()[bin].get(fromZone, toZone);
+
+		int neighbourTime = freeSpeedMatrix.getNeighbourTravelTime(fromNode, toNode);
+		if (neighbourTime >= 0) {
+			int freeSpeedZonalTime = freeSpeedMatrix.getZonalTravelTime(fromNode, toNode, departureTime);
+			return freeSpeedZonalTime > 0 ?
+					(int)Math.round((double)neighbourTime * zonalTime / freeSpeedZonalTime) :
+					neighbourTime;
+		}
+		return zonalTime;
+	}
+
+	@Override
+	public void notifyIterationStarts(IterationStartsEvent event) {
+		// the link travel times have been updated after the previous mobsim
+		matrices = calculateMatrices();
+	}
+
+	private Matrix[] getMatrices() {
+		Matrix[] current = matrices;
+		if (current == null) {
+			// queried before the first iteration starts (e.g. while preparing the scenario)
+			synchronized (this) {
+				current = matrices;
+				if (current == null) {
+					current = calculateMatrices();
+					matrices = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private Matrix[] calculateMatrices() {
+		log.info("Calculating time-dependent DVRP travel time matrices for {} time bins", numberOfBins);
+		double[] departureTimes = new double[numberOfBins];
+		for (int bin = 0; bin < numberOfBins; bin++) {
+			departureTimes[bin] = (bin + 0.5) * timeInterval;
+		}
+		return TravelTimeMatrices.calculateTravelTimeMatrices(routingParams, graph, centralNodes, departureTimes);
+	}
+}
@@ -57,6 +57,30 @@ public final class TravelTimeMatrices {
 		return travelTimeMatrix;
 	}
 
+	/**
+	 * Calculates one zonal matrix per departure time. All matrices are computed in a single batch on the given (prebuilt)
+	 * graph, so that repeated calculations (e.g. once per iteration) do not rebuild the graph.
+	 */
+	public static Matrix[] calculateTravelTimeMatrices(RoutingParams params, SpeedyGraph graph, Map<Zone, Node> centralNodes,
+		double[] departureTimes) {
+		Matrix[] travelTimeMatrices = new Matrix[departureTimes.length];
+		List<BinAndZone> elements = new ArrayList<>(departureTimes.length * centralNodes.size());
+		for (int bin = 0; bin < departureTimes.length; bin++) {
+			travelTimeMatrices[bin] = new Matrix(centralNodes.keySet());
+			for (Zone zone : centralNodes.keySet()) {
+				elements.add(new BinAndZone(bin, zone));
+			}
+		}
+
+		Calculation<BinAndZone> calculation = (lcpTree, e) -> computeForDepartureZone(e.zone, centralNodes, departureTimes[e.bin],
+			travelTimeMatrices[e.bin], lcpTree);
+		calculate(params, graph, elements, calculation, "DVRP time-dependent TT matrices: zone ");
+		return travelTimeMatrices;
+	}
+
+	private record BinAndZone(int bin, Zone zone) {
+	}
+
 	private static void computeForDepartureZone(Zone fromZone, Map<Zone, Node> centralNodes, double departureTime, Matrix travelTimeMatrix,
 		LeastCostPathTree lcpTree) {
 		Node fromNode = centralNodes.get(fromZone);
@@ -115,8 +139,14 @@ public final class TravelTimeMatrices {
 	}
 
 	private static <E> void calculate(RoutingParams params, Collection<? extends E> elements, Calculation<E> calculation, String counterPrefix) {
+		calculate(params, SpeedyGraphBuilder.build(params.routingNetwork), elements, calculation, counterPrefix);
+	}
+
+	private static <E> void calculate(RoutingParams params, SpeedyGraph graph, Collection<? extends E> elements, Calculation<E> calculation,
+		String counterPrefix) {
+		// the graph is read-only, so it can be shared by all trees
 		var trees = IntStream.range(0, params.numberOfThreads)
-			.mapToObj(i -> new LeastCostPathTree(SpeedyGraphBuilder.build(params.routingNetwork), params.travelTime, params.travelDisutility))
+			.mapToObj(i -> new LeastCostPathTree(graph, params.travelTime, params.travelDisutility))
 			.toList();
 		var executorService = new ExecutorServiceWithResource<>(trees);
 		var counter = new Counter(counterPrefix, " / " + elements.size());
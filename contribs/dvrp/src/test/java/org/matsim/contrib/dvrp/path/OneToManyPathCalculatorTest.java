@@ -67,8 +67,9 @@ public class OneToManyPathCalculatorTest {
 	private final IdMap<Node, Node> nodeMap = new IdMap<>(Node.class);
 
 	private final TravelTime travelTime = new FreeSpeedTravelTime();
-	private final LeastCostPathTree dijkstraTree = new LeastCostPathTree(SpeedyGraphBuilder.build(network), travelTime,
-			new TimeAsTravelDisutility(travelTime));
+	private final SpeedyGraph graph = SpeedyGraphBuilder.build(network);
+	private final LeastCostPathTreeCache treeCache = new LeastCostPathTreeCache(
+			() -> new LeastCostPathTree(graph, travelTime, new TimeAsTravelDisutility(travelTime)), 1);
 
 	@BeforeEach
 	public void init() {
@@ -80,7 +81,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void forward_fromNodeB_toNodeB() {
 		//forward search starting from nodeB at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, true, linkAB, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, true, linkAB, 0);
 
 		//search until node B is reached
 		pathCalculator.calculateDijkstraTree(List.of(linkBC));
@@ -98,7 +99,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void forward_fromNodeB_toNodesBD() {
 		//forward search starting from nodeB at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, true, linkAB, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, true, linkAB, 0);
 
 		//search until nodes B and D are reached
 		pathCalculator.calculateDijkstraTree(List.of(linkBC, linkDE));
@@ -113,7 +114,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void forward_fromNodeB_toNodesBD_maxTravelTime() {
 		//forward search starting from nodeB at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, true, linkAB, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, true, linkAB, 0);
 
 		//search until nodes B and D are reached with max travel time of 5
 		pathCalculator.calculateDijkstraTree(List.of(linkBC, linkDE), 5);
@@ -128,7 +129,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void backward_fromNodeD_toNodeD() {
 		//backward search starting from nodeD at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, false, linkDE, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, false, linkDE, 0);
 
 		//search until node D is reached
 		pathCalculator.calculateDijkstraTree(List.of(linkCD));
@@ -146,7 +147,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void backward_fromNodeD_toNodesBD() {
 		//backward search starting from nodeD at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, false, linkDE, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, false, linkDE, 0);
 
 		//search until nodes B and D are reached
 		pathCalculator.calculateDijkstraTree(List.of(linkAB, linkCD));
@@ -161,7 +162,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void backward_fromNodeD_toNodesBD_maxTravelTime() {
 		//backward search starting from nodeD at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, false, linkDE, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, false, linkDE, 0);
 
 		//search until nodes B and D are reached with max travel time of 5
 		pathCalculator.calculateDijkstraTree(List.of(linkAB, linkCD), 5);
@@ -178,7 +179,8 @@ public class OneToManyPathCalculatorTest {
 		LeastCostPathTree mockedTree = mock(LeastCostPathTree.class);
 
 		for (boolean forward : List.of(true, false)) {
-			var pathCalculator = new OneToManyPathCalculator(nodeMap, mockedTree, travelTime, forward, linkAB, 0);
+			var pathCalculator = new OneToManyPathCalculator(nodeMap, new LeastCostPathTreeCache(() -> mockedTree, 1),
+					travelTime, forward, linkAB, 0);
 
 			//toLink == fromLink, so no search is done
 			pathCalculator.calculateDijkstraTree(List.of(linkAB));
@@ -190,7 +192,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void pathData_forward() {
 		//forward search starting from linkAB at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, true, linkAB, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, true, linkAB, 0);
 
 		pathCalculator.calculateDijkstraTree(List.of(linkDE));
 
@@ -202,7 +204,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void pathData_backward() {
 		//backward search starting from linkDE at time 0
-		var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, false, linkDE, 0);
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, false, linkDE, 0);
 
 		pathCalculator.calculateDijkstraTree(List.of(linkAB));
 
@@ -214,7 +216,7 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void pathData_fromLinkEqualsToLink() {
 		for (boolean forward : List.of(true, false)) {
-			var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, forward, linkAB, 0);
+			var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, forward, linkAB, 0);
 			pathCalculator.calculateDijkstraTree(List.of(linkAB));
 			assertThat(pathCalculator.createPathDataLazily(linkAB)).isEqualTo(PathData.EMPTY);
 		}
@@ -223,12 +225,51 @@ public class OneToManyPathCalculatorTest {
 	@Test
 	void pathData_nodeNotReached() {
 		for (boolean forward : List.of(true, false)) {
-			var pathCalculator = new OneToManyPathCalculator(nodeMap, dijkstraTree, travelTime, forward, linkAB, 0);
+			var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, forward, linkAB, 0);
 			pathCalculator.calculateDijkstraTree(List.of(linkBC));
 			assertThat(pathCalculator.createPathDataLazily(linkDE)).isEqualTo(PathData.INFEASIBLE);
 		}
 	}
 
+	@Test
+	void pathData_cachedTreeReused() {
+		var tree = spy(new LeastCostPathTree(graph, travelTime, new TimeAsTravelDisutility(travelTime)));
+		var cache = new LeastCostPathTreeCache(() -> tree, 1);
+
+		//forward search starting from linkAB at time 0, stops at node D
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, cache, travelTime, true, linkAB, 0);
+		pathCalculator.calculateDijkstraTree(List.of(linkDE));
+		var pathDataDE = pathCalculator.createPathDataLazily(linkDE);
+
+		//node C has already been settled, so the tree is reused
+		var pathCalculator2 = new OneToManyPathCalculator(nodeMap, cache, travelTime, true, linkAB, 0);
+		pathCalculator2.calculateDijkstraTree(List.of(linkCD));
+		verify(tree, times(1)).calculate(anyInt(), anyDouble(), any(), any(), any());
+
+		//path: B -> C
+		assertPathData(pathCalculator2.createPathDataLazily(linkCD),
+				new Path(ImmutableList.of(nodeB, nodeC), ImmutableList.of(linkBC), 10, 10), 1 + 10);
+		//path: B -> C -> D
+		assertPathData(pathDataDE,
+				new Path(ImmutableList.of(nodeB, nodeC, nodeD), ImmutableList.of(linkBC, linkCD), 20, 20), 1 + 10);
+	}
+
+	@Test
+	void pathData_lazyPathAfterTreeRecalculated() {
+		//forward search starting from linkAB at time 0
+		var pathCalculator = new OneToManyPathCalculator(nodeMap, treeCache, travelTime, true, linkAB, 0);
+		pathCalculator.calculateDijkstraTree(List.of(linkDE));
+		var pathData = pathCalculator.createPathDataLazily(linkDE);
+
+		//the only cached tree is recalculated for a backward search
+		new OneToManyPathCalculator(nodeMap, treeCache, travelTime, false, linkDE, 0).calculateDijkstraTree(
+				List.of(linkAB));
+
+		//path: B -> C -> D
+		assertPathData(pathData,
+				new Path(ImmutableList.of(nodeB, nodeC, nodeD), ImmutableList.of(linkBC, linkCD), 20, 20), 1 + 10);
+	}
+
 	private void assertPathData(PathData pathData, Path expectedPath, double firstAndLastLinkTT) {
 		assertThat(pathData.getPath()).isEqualToComparingFieldByField(expectedPath);
 		assertThat(pathData.getTravelTime()).isEqualTo(expectedPath.travelTime + firstAndLastLinkTT);
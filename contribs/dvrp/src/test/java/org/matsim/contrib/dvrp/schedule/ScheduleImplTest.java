@@ -0,0 +1,116 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.dvrp.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.dvrp.fleet.DvrpVehicle;
+import org.matsim.contrib.dvrp.fleet.DvrpVehicleSpecification;
+import org.matsim.contrib.dvrp.fleet.ImmutableDvrpVehicleSpecification;
+import org.matsim.core.network.NetworkUtils;
+
+public class ScheduleImplTest {
+	private enum TestTaskType implements Task.TaskType {
+		STAY
+	}
+
+	private final Network network = NetworkUtils.createNetwork();
+	private final Node node = NetworkUtils.createAndAddNode(network, Id.createNodeId("A"), new Coord(0, 0));
+	private final Link link = NetworkUtils.createAndAddLink(network, Id.createLinkId("AA"), node, node, 100, 10, 1000,
+			1);
+
+	private final DvrpVehicleSpecification specification = ImmutableDvrpVehicleSpecification.newBuilder()
+			.id(Id.create("v", DvrpVehicle.class))
+			.serviceBeginTime(0)
+			.serviceEndTime(100)
+			.startLinkId(link.getId())
+			.capacity(1)
+			.build();
+
+	@Test
+	void compactedSchedule() {
+		Schedule schedule = Schedule.createCompacted(specification, 1);
+		for (int i = 0; i < 5; i++) {
+			schedule.addTask(stayTask(i * 10, (i + 1) * 10));
+		}
+
+		schedule.nextTask();
+		schedule.nextTask();
+		assertThat(schedule.getArchivedTasks()).isEmpty();
+
+		Task current = schedule.nextTask();
+		assertThat(current.getTaskIdx()).isEqualTo(2);
+		assertThat(schedule.getArchivedTasks()).hasSize(1);
+		assertThat(schedule.getArchivedTasks().get(0).endTime).isEqualTo(10);
+
+		// task indices do not change
+		assertThat(schedule.getTaskCount()).isEqualTo(5);
+		assertThat(schedule.getTasks()).hasSize(5);
+		assertThat(schedule.getTasks().get(2)).isSameAs(current);
+		assertThat(Schedules.getPreviousTask(schedule).getTaskIdx()).isEqualTo(1);
+		assertThat(schedule.tasks()).hasSize(4);
+		assertThatThrownBy(() -> schedule.getTasks().get(0)).isInstanceOf(IllegalStateException.class);
+
+		// lookups skip the archived tasks
+		assertThat(schedule.getTasks().indexOf(current)).isEqualTo(2);
+		assertThat(schedule.getTasks().lastIndexOf(current)).isEqualTo(2);
+		assertThat(schedule.getTasks().contains(current)).isTrue();
+		assertThat(schedule.getTasks().indexOf(stayTask(0, 10))).isEqualTo(-1);
+
+		// modifications after the current task
+		schedule.removeLastTask();
+		schedule.addTask(stayTask(40, 60));
+		schedule.addTask(3, stayTask(30, 30));
+		assertThat(schedule.getTasks().get(5).getTaskIdx()).isEqualTo(5);
+		assertThat(schedule.getBeginTime()).isEqualTo(0);
+		assertThat(schedule.getEndTime()).isEqualTo(60);
+
+		while (schedule.getStatus() != Schedule.ScheduleStatus.COMPLETED) {
+			schedule.nextTask();
+		}
+		assertThat(schedule.getArchivedTasks()).hasSize(5);
+		assertThat(schedule.getTaskCount()).isEqualTo(6);
+		assertThat(Schedules.getPreviousTask(schedule).getEndTime()).isEqualTo(60);
+	}
+
+	@Test
+	void nonCompactedSchedule() {
+		Schedule schedule = Schedule.create(specification);
+		schedule.addTask(stayTask(0, 10));
+		schedule.addTask(stayTask(10, 20));
+		schedule.nextTask();
+		schedule.nextTask();
+		schedule.nextTask();
+
+		assertThat(schedule.getArchivedTasks()).isEmpty();
+		assertThat(schedule.getTasks().get(0).getStatus()).isEqualTo(Task.TaskStatus.PERFORMED);
+	}
+
+	private Task stayTask(double beginTime, double endTime) {
+		return new DefaultStayTask(TestTaskType.STAY, beginTime, endTime, link);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** *
+ */
+
+package org.matsim.contrib.zone.skims;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.common.zones.ZoneSystem;
+import org.matsim.contrib.common.zones.systems.grid.square.SquareGridZoneSystem;
+import org.matsim.contrib.dvrp.trafficmonitoring.QSimFreeSpeedTravelTime;
+import org.matsim.core.controler.events.IterationStartsEvent;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.util.TravelTime;
+
+public class TimeDependentTravelTimeMatrixTest {
+	private final Network network = NetworkUtils.createNetwork();
+	private final Node nodeA = NetworkUtils.createAndAddNode(network, Id.createNodeId("A"), new Coord(0, 0));
+	private final Node nodeB = NetworkUtils.createAndAddNode(network, Id.createNodeId("B"), new Coord(150, 150));
+	private final Node nodeC = NetworkUtils.createAndAddNode(network, Id.createNodeId("C"), new Coord(-10, -10));
+
+	private final ZoneSystem zoneSystem;
+
+	private final TravelTime freeSpeedTravelTime = new QSimFreeSpeedTravelTime(1);
+	private final AtomicInteger congestionFactor = new AtomicInteger(1);
+
+	// travel times are multiplied by the congestion factor after 1 hour
+	private final TravelTime travelTime = (link, time, person, vehicle) -> (time < 3600 ? 1 : congestionFactor.get())
+			* freeSpeedTravelTime.getLinkTravelTime(link, time, person, vehicle);
+
+	public TimeDependentTravelTimeMatrixTest() {
+		NetworkUtils.createAndAddLink(network, Id.createLinkId("AB"), nodeA, nodeB, 150, 15, 20, 1);
+		NetworkUtils.createAndAddLink(network, Id.createLinkId("BA"), nodeB, nodeA, 300, 15, 40, 1);
+		NetworkUtils.createAndAddLink(network, Id.createLinkId("AC"), nodeA, nodeC, 165, 15, 20, 1);
+		NetworkUtils.createAndAddLink(network, Id.createLinkId("CA"), nodeC, nodeA, 135, 15, 20, 1);
+		zoneSystem = new SquareGridZoneSystem(network, 100.);
+	}
+
+	@Test
+	void zonalTravelTimes() {
+		DvrpTravelTimeMatrixParams params = new DvrpTravelTimeMatrixParams();
+		params.maxNeighborDistance = 0;
+		var matrix = createMatrix(params);
+
+		congestionFactor.set(2);
+		assertThat(matrix.getTravelTime(nodeA, nodeA, 0)).isEqualTo(0);
+		assertThat(matrix.getTravelTime(nodeA, nodeB, 0)).isEqualTo(11);
+		assertThat(matrix.getTravelTime(nodeB, nodeA, 0)).isEqualTo(21);
+		assertThat(matrix.getTravelTime(nodeA, nodeB, 3600)).isEqualTo(22);
+		assertThat(matrix.getTravelTime(nodeB, nodeA, 3600)).isEqualTo(42);
+		assertThat(matrix.getTravelTime(nodeC, nodeB, 3600)).isEqualTo(22);
+
+		// matrices are recalculated at the start of each iteration
+		congestionFactor.set(3);
+		assertThat(matrix.getTravelTime(nodeA, nodeB, 3600)).isEqualTo(22);
+		matrix.notifyIterationStarts(new IterationStartsEvent(null, 1, false));
+		congestionFactor.set(4);
+		assertThat(matrix.getTravelTime(nodeA, nodeB, 3600)).isEqualTo(33);
+	}
+
+	@Test
+	void neighbourTravelTimes() {
+		DvrpTravelTimeMatrixParams params = new DvrpTravelTimeMatrixParams();
+		params.maxNeighborDistance = 9999;
+		var matrix = createMatrix(params);
+
+		congestionFactor.set(2);
+		// same zone: free-speed travel times
+		assertThat(matrix.getTravelTime(nodeA, nodeC, 3600)).isEqualTo(11 + 1);
+		// different zones: free-speed travel times scaled by the zonal congestion ratio
+		assertThat(matrix.getTravelTime(nodeB, nodeC, 0)).isEqualTo(20 + 11 + 2);
+		assertThat(matrix.getTravelTime(nodeB, nodeC, 3600)).isEqualTo(2 * (20 + 11 + 2));
+	}
+
+	private TimeDependentTravelTimeMatrix createMatrix(DvrpTravelTimeMatrixParams params) {
+		var freeSpeedMatrix = new FreeSpeedTravelTimeMatrix(network, zoneSystem, params, 1, freeSpeedTravelTime);
+		return new TimeDependentTravelTimeMatrix(network, zoneSystem, freeSpeedMatrix, travelTime, 3600, 7200, 1);
+	}
+}
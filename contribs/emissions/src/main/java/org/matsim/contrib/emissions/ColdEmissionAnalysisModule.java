@@ -67,6 +67,10 @@ import org.matsim.vehicles.VehicleType;
 final class ColdEmissionAnalysisModule {
 	private static final Logger logger = LogManager.getLogger(ColdEmissionAnalysisModule.class);
 
+	private static final int PARKING_TIME_CLASS_COUNT = 14;// 1 - 13 h
+	private static final int DISTANCE_CLASS_COUNT = 3;// 1 - 2 km
+	private static final int POLLUTANT_COUNT = Pollutant.values().length;
+
 	private final Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> avgHbefaColdTable;
 	private final Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> detailedHbefaColdTable;
 
@@ -75,6 +79,10 @@ final class ColdEmissionAnalysisModule {
 
 	private final Set<Pollutant> coldPollutants;
 
+	// Emission factors resolved according to the lookup behavior (incl. fallbacks), interned by vehicle information, and indexed by
+	// parking time, distance and pollutant. This way, each combination is looked up in the hbefa tables only once.
+	private final Map<Tuple<HbefaVehicleCategory, HbefaVehicleAttributes>, HbefaColdEmissionFactor[]> resolvedEfs = new HashMap<>();
+
 	private int detailedReadingInfoCnt = 0;
 	private int detailedTransformToHbefa4Cnt = 0;
 	private int detailedFallbackTechAverageWarnCnt = 0;
@@ -179,19 +187,42 @@ final class ColdEmissionAnalysisModule {
 
 		key.setParkingTime(parkingDuration_h);
 
+		HbefaColdEmissionFactor[] resolvedEfs = getResolvedEfs(vehicleInformationTuple);
+
 		for (Pollutant coldPollutant : coldPollutants) {
 			double generatedEmissions;
 			// this is a really weird logic. Probably a million ways how this could fail janek jan'21
 			if (distance_km == 1) {
-				generatedEmissions = getEmissionsFactor(vehicleInformationTuple, 1, key, coldPollutant).getFactor();
+				generatedEmissions = getEmissionsFactor(vehicleInformationTuple, 1, key, coldPollutant, resolvedEfs).getFactor();
 			} else {
-				generatedEmissions = getEmissionsFactor(vehicleInformationTuple, 2, key, coldPollutant).getFactor() - getEmissionsFactor(vehicleInformationTuple, 1, key, coldPollutant).getFactor();
+				generatedEmissions = getEmissionsFactor(vehicleInformationTuple, 2, key, coldPollutant, resolvedEfs).getFactor() - getEmissionsFactor(vehicleInformationTuple, 1, key, coldPollutant, resolvedEfs).getFactor();
 			}
 			coldEmissionsOfEvent.put(coldPollutant, generatedEmissions);
 		}
 		return coldEmissionsOfEvent;
 	}
 
+	private HbefaColdEmissionFactor[] getResolvedEfs(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple) {
+		HbefaColdEmissionFactor[] vehicleEfs = resolvedEfs.get(vehicleInformationTuple);
+		if (vehicleEfs == null) {
+			vehicleEfs = new HbefaColdEmissionFactor[PARKING_TIME_CLASS_COUNT * DISTANCE_CLASS_COUNT * POLLUTANT_COUNT];
+			// copy the key: the vehicle attributes are mutable
+			resolvedEfs.put(new Tuple<>(vehicleInformationTuple.getFirst(), new HbefaVehicleAttributes(vehicleInformationTuple.getSecond())), vehicleEfs);
+		}
+		return vehicleEfs;
+	}
+
+	private HbefaColdEmissionFactor getEmissionsFactor(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple, int distance_km,
+													   HbefaColdEmissionFactorKey efkey, Pollutant coldPollutant, HbefaColdEmissionFactor[] resolvedEfs) {
+		int index = (efkey.getParkingTime() * DISTANCE_CLASS_COUNT + distance_km) * POLLUTANT_COUNT + coldPollutant.ordinal();
+		HbefaColdEmissionFactor ef = resolvedEfs[index];
+		if (ef == null) {
+			ef = getEmissionsFactor(vehicleInformationTuple, distance_km, efkey, coldPollutant);
+			resolvedEfs[index] = ef;
+		}
+		return ef;
+	}
+
 	private HbefaColdEmissionFactor getEmissionsFactor(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple, int distance_km, HbefaColdEmissionFactorKey efkey, Pollutant coldPollutant) {
 
 		efkey.setDistance(distance_km);
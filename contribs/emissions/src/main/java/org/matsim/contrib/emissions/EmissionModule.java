@@ -104,6 +104,19 @@ public final class EmissionModule {
 		return eventsManager;
 	}
 
+	/**
+	 * Computes warm and cold emissions for the given events file (offline), with the traffic events partitioned by vehicle and the
+	 * partitions processed in parallel. The resulting emission events are passed, sorted by time, to the
+	 * {@link #getEmissionEventsManager() emission events manager}.
+	 * <p>
+	 * This replaces reading the events file into the events manager this module was created with. The counters reported by
+	 * {@link #writeEmissionInformation()} are not updated.
+	 */
+	public void processEventsFile(String eventsFile, int numberOfThreads) {
+		new ParallelEmissionCalculator(scenario, avgHbefaWarmTable, detailedHbefaWarmTable, avgHbefaColdTable, detailedHbefaColdTable,
+				hbefaRoadTrafficSpeeds, warmPollutants, coldPollutants, numberOfThreads).processEventsFile(eventsFile, eventsManager);
+	}
+
 	public void writeEmissionInformation() {
 		logger.info("Warm emissions were not calculated for {} of {} link leave events (no corresponding link enter event).", warmEmissionHandler.getLinkLeaveWarnCnt(), warmEmissionHandler.getLinkLeaveCnt());
 		int noVehicleLeavesTrafficEmissions = warmEmissionHandler.getSameLinkTrafficLeaveWarnCnt() + warmEmissionHandler.getUnusualTrafficLeaveWarnCnt();
@@ -0,0 +1,315 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.contrib.emissions;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.matsim.core.utils.io.IOUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format of the HBEFA emission factor tables. Road categories and vehicle attributes are stored once in dictionaries,
+ * and each table entry consists of integer codes (vehicle category, vehicle attributes, pollutant, road category and traffic
+ * situation, or parking time and distance) followed by the emission factor. Local files are memory-mapped, so loading a table
+ * requires neither csv parsing nor creating a string per cell.
+ * <p>
+ * Binary tables are created from the csv tables with {@link #main(String[])}. Since {@link HbefaTables} recognizes binary tables by
+ * their header, they can be configured in {@link org.matsim.contrib.emissions.utils.EmissionsConfigGroup} instead of the csv files.
+ */
+public final class HbefaBinaryTables {
+	private static final Logger logger = LogManager.getLogger(HbefaBinaryTables.class);
+
+	private static final int MAGIC = 0x48424546;// "HBEF"
+	private static final int VERSION = 1;
+
+	private static final byte WARM = 0;
+	private static final byte COLD = 1;
+
+	private HbefaBinaryTables() {
+	}
+
+	/**
+	 * Converts a csv table into the binary format.
+	 *
+	 * @param args table type (averageWarm, detailedWarm, averageCold or detailedCold), csv file, binary file
+	 */
+	public static void main(String[] args) {
+		if (args.length != 3) {
+			throw new IllegalArgumentException(
+					"Usage: HbefaBinaryTables <averageWarm|detailedWarm|averageCold|detailedCold> <csv file> <binary file>");
+		}
+		URL csvFile = IOUtils.resolveFileOrResource(args[1]);
+		switch (args[0]) {
+			case "averageWarm" -> writeWarm(HbefaTables.loadAverageWarm(csvFile), args[2]);
+			case "detailedWarm" -> writeWarm(HbefaTables.loadDetailedWarm(csvFile), args[2]);
+			case "averageCold" -> writeCold(HbefaTables.loadAverageCold(csvFile), args[2]);
+			case "detailedCold" -> writeCold(HbefaTables.loadDetailedCold(csvFile), args[2]);
+			default -> throw new IllegalArgumentException("Unknown table type: " + args[0]);
+		}
+	}
+
+	static void writeWarm(Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> table, String file) {
+		var dictionaries = new Dictionaries();
+		table.keySet().forEach(key -> {
+			dictionaries.strings.indexOf(key.getRoadCategory());
+			dictionaries.addVehicleAttributes(key.getVehicleAttributes());
+		});
+
+		try (var out = new DataOutputStream(new BufferedOutputStream(IOUtils.getOutputStream(IOUtils.getFileUrl(file), false)))) {
+			dictionaries.write(out, WARM);
+			out.writeInt(table.size());
+			for (var entry : table.entrySet()) {
+				HbefaWarmEmissionFactorKey key = entry.getKey();
+				dictionaries.writeCommonKeyCodes(out, key);
+				out.writeInt(dictionaries.strings.indexOf(key.getRoadCategory()));
+				out.writeByte(key.getTrafficSituation().ordinal());
+				out.writeDouble(entry.getValue().getFactor());
+				out.writeDouble(entry.getValue().getSpeed());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		logger.info("wrote {} warm emission factors to {}", table.size(), file);
+	}
+
+	static void writeCold(Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> table, String file) {
+		var dictionaries = new Dictionaries();
+		table.keySet().forEach(key -> dictionaries.addVehicleAttributes(key.getVehicleAttributes()));
+
+		try (var out = new DataOutputStream(new BufferedOutputStream(IOUtils.getOutputStream(IOUtils.getFileUrl(file), false)))) {
+			dictionaries.write(out, COLD);
+			out.writeInt(table.size());
+			for (var entry : table.entrySet()) {
+				HbefaColdEmissionFactorKey key = entry.getKey();
+				dictionaries.writeCommonKeyCodes(out, key);
+				out.writeInt(key.getParkingTime());
+				out.writeInt(key.getDistance());
+				out.writeDouble(entry.getValue().getFactor());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		logger.info("wrote {} cold emission factors to {}", table.size(), file);
+	}
+
+	static boolean isBinaryTable(URL url) {
+		try (InputStream in = IOUtils.getInputStream(url)) {
+			byte[] header = in.readNBytes(Integer.BYTES);
+			return header.length == Integer.BYTES && ByteBuffer.wrap(header).getInt() == MAGIC;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> readWarm(URL url) {
+		ByteBuffer buffer = load(url);
+		var codes = new Codes(buffer, WARM);
+		int size = buffer.getInt();
+		Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> table = new HashMap<>((int)(size / 0.75) + 1);
+		for (int i = 0; i < size; i++) {
+			var key = new HbefaWarmEmissionFactorKey();
+			codes.setCommonKeyValues(buffer, key);
+			key.setRoadCategory(codes.strings[buffer.getInt()]);
+			key.setTrafficSituation(codes.trafficSituations.get(buffer.get()));
+			double factor = buffer.getDouble();
+			double speed = buffer.getDouble();
+			table.put(key, new HbefaWarmEmissionFactor(factor, speed));
+		}
+		logger.info("read {} warm emission factors from {}", size, url);
+		return table;
+	}
+
+	static Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> readCold(URL url) {
+		ByteBuffer buffer = load(url);
+		var codes = new Codes(buffer, COLD);
+		int size = buffer.getInt();
+		Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> table = new HashMap<>((int)(size / 0.75) + 1);
+		for (int i = 0; i < size; i++) {
+			var key = new HbefaColdEmissionFactorKey();
+			codes.setCommonKeyValues(buffer, key);
+			key.setParkingTime(buffer.getInt());
+			key.setDistance(buffer.getInt());
+			table.put(key, new HbefaColdEmissionFactor(buffer.getDouble()));
+		}
+		logger.info("read {} cold emission factors from {}", size, url);
+		return table;
+	}
+
+	private static ByteBuffer load(URL url) {
+		if ("file".equals(url.getProtocol())) {
+			try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.limit() >= Integer.BYTES && buffer.getInt(0) == MAGIC) {
+					return buffer;
+				}
+				// otherwise compressed
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (URISyntaxException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		try (InputStream in = IOUtils.getInputStream(url)) {
+			return ByteBuffer.wrap(in.readAllBytes());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static final class Dictionary<T> {
+		private final Map<T, Integer> indices = new LinkedHashMap<>();
+
+		private int indexOf(T value) {
+			return indices.computeIfAbsent(value, v -> indices.size());
+		}
+	}
+
+	private static final class Dictionaries {
+		private final Dictionary<String> strings = new Dictionary<>();
+		private final Dictionary<HbefaVehicleAttributes> vehicleAttributes = new Dictionary<>();
+
+		private void addVehicleAttributes(HbefaVehicleAttributes attributes) {
+			strings.indexOf(attributes.getHbefaTechnology());
+			strings.indexOf(attributes.getHbefaSizeClass());
+			strings.indexOf(attributes.getHbefaEmConcept());
+			vehicleAttributes.indexOf(attributes);
+		}
+
+		private void write(DataOutputStream out, byte tableType) throws IOException {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeByte(tableType);
+
+			// enum constants are stored by name, so that the files do not depend on the order of the constants
+			writeEnumConstants(out, HbefaVehicleCategory.values());
+			writeEnumConstants(out, Pollutant.values());
+			writeEnumConstants(out, HbefaTrafficSituation.values());
+
+			out.writeInt(strings.indices.size());
+			for (String string : strings.indices.keySet()) {
+				writeString(out, string);
+			}
+
+			out.writeInt(vehicleAttributes.indices.size());
+			for (HbefaVehicleAttributes attributes : vehicleAttributes.indices.keySet()) {
+				out.writeInt(strings.indexOf(attributes.getHbefaTechnology()));
+				out.writeInt(strings.indexOf(attributes.getHbefaSizeClass()));
+				out.writeInt(strings.indexOf(attributes.getHbefaEmConcept()));
+			}
+		}
+
+		private void writeEnumConstants(DataOutputStream out, Enum<?>[] constants) throws IOException {
+			out.writeInt(constants.length);
+			for (Enum<?> constant : constants) {
+				writeString(out, constant.name());
+			}
+		}
+
+		private void writeCommonKeyCodes(DataOutputStream out, HbefaEmissionFactorKey key) throws IOException {
+			out.writeByte(key.getVehicleCategory().ordinal());
+			out.writeInt(vehicleAttributes.indexOf(key.getVehicleAttributes()));
+			out.writeByte(key.getComponent().ordinal());
+		}
+	}
+
+	private static final class Codes {
+		private final List<HbefaVehicleCategory> vehicleCategories;
+		private final List<Pollutant> pollutants;
+		private final List<HbefaTrafficSituation> trafficSituations;
+		private final String[] strings;
+		// shared by all keys
+		private final HbefaVehicleAttributes[] vehicleAttributes;
+
+		private Codes(ByteBuffer buffer, byte expectedTableType) {
+			if (buffer.getInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a binary hbefa table");
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported version of binary hbefa table: " + version);
+			}
+			byte tableType = buffer.get();
+			if (tableType != expectedTableType) {
+				throw new IllegalArgumentException("Expected a " + (expectedTableType == WARM ? "warm" : "cold") + " emission factor table");
+			}
+
+			vehicleCategories = readEnumConstants(buffer, HbefaVehicleCategory.class);
+			pollutants = readEnumConstants(buffer, Pollutant.class);
+			trafficSituations = readEnumConstants(buffer, HbefaTrafficSituation.class);
+
+			strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = readString(buffer);
+			}
+
+			vehicleAttributes = new HbefaVehicleAttributes[buffer.getInt()];
+			for (int i = 0; i < vehicleAttributes.length; i++) {
+				var attributes = new HbefaVehicleAttributes();
+				attributes.setHbefaTechnology(strings[buffer.getInt()]);
+				attributes.setHbefaSizeClass(strings[buffer.getInt()]);
+				attributes.setHbefaEmConcept(strings[buffer.getInt()]);
+				vehicleAttributes[i] = attributes;
+			}
+		}
+
+		private static <E extends Enum<E>> List<E> readEnumConstants(ByteBuffer buffer, Class<E> enumClass) {
+			int count = buffer.getInt();
+			List<E> constants = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				constants.add(Enum.valueOf(enumClass, readString(buffer)));
+			}
+			return constants;
+		}
+
+		private void setCommonKeyValues(ByteBuffer buffer, HbefaEmissionFactorKey key) {
+			key.setVehicleCategory(vehicleCategories.get(buffer.get()));
+			key.setVehicleAttributes(vehicleAttributes[buffer.getInt()]);
+			key.setComponent(pollutants.get(buffer.get()));
+		}
+	}
+}
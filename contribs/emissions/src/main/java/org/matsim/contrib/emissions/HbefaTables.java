@@ -40,7 +40,9 @@ public abstract class HbefaTables {
     private static final Logger logger = LogManager.getLogger(HbefaTables.class);
 
     static Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> loadAverageWarm(URL file) {
-
+        if (HbefaBinaryTables.isBinaryTable(file)) {
+            return HbefaBinaryTables.readWarm(file);
+        }
         return load(file, HbefaTables::createWarmKey, record -> {
             var factor = Double.parseDouble(record.get("EFA_weighted"));
             var speed = Double.parseDouble(record.get("V_weighted"));
@@ -49,6 +51,9 @@ public abstract class HbefaTables {
     }
 
     static Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> loadDetailedWarm(URL file) {
+        if (HbefaBinaryTables.isBinaryTable(file)) {
+            return HbefaBinaryTables.readWarm(file);
+        }
         return load(file, record -> {
             var key = createWarmKey(record);
             setCommonDetailedParametersOnKey(key, record);
@@ -57,10 +62,16 @@ public abstract class HbefaTables {
     }
 
     static Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> loadAverageCold(URL file) {
+        if (HbefaBinaryTables.isBinaryTable(file)) {
+            return HbefaBinaryTables.readCold(file);
+        }
         return load(file, HbefaTables::createColdKey, record -> new HbefaColdEmissionFactor(Double.parseDouble(record.get("EFA_weighted"))));
     }
 
     static Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> loadDetailedCold(URL file) {
+        if (HbefaBinaryTables.isBinaryTable(file)) {
+            return HbefaBinaryTables.readCold(file);
+        }
         return load(file, record -> {
             var key = createColdKey(record);
             setCommonDetailedParametersOnKey(key, record);
@@ -70,6 +81,8 @@ public abstract class HbefaTables {
 
     private static <K extends HbefaEmissionFactorKey, V extends HbefaEmissionFactor> Map<K, V> load(URL file, Function<CSVRecord, K> createKey, Function<CSVRecord, V> createValue) {
         Map<K, V> result = new HashMap<>();
+        // share equal vehicle attributes between keys, which reduces the memory footprint of detailed tables considerably
+        Map<HbefaVehicleAttributes, HbefaVehicleAttributes> vehicleAttributes = new HashMap<>();
 
         try (var reader = IOUtils.getBufferedReader(file);
              var parser = CSVParser.parse(reader, CSVFormat.newFormat(';').withFirstRecordAsHeader())) {
@@ -77,6 +90,7 @@ public abstract class HbefaTables {
             for (var record : parser) {
 
                 var key = createKey.apply(record);
+                key.setVehicleAttributes(vehicleAttributes.computeIfAbsent(key.getVehicleAttributes(), attributes -> attributes));
                 var value = createValue.apply(record);
                 result.put(key, value);
             }
@@ -90,7 +104,7 @@ public abstract class HbefaTables {
         var key = new HbefaWarmEmissionFactorKey();
         setCommonParametersOnKey(key, record);
         var trafficSit = record.get("TrafficSit");
-        key.setRoadCategory(trafficSit.substring(0, trafficSit.lastIndexOf('/')));
+        key.setRoadCategory(trafficSit.substring(0, trafficSit.lastIndexOf('/')).intern());
         key.setTrafficSituation(mapString2HbefaTrafficSituation(trafficSit));
         key.setVehicleAttributes(new HbefaVehicleAttributes());
         return key;
@@ -19,6 +19,8 @@
  * *********************************************************************** */
 package org.matsim.contrib.emissions;
 
+import java.util.Objects;
+
 /**
  * @author benjamin
  *
@@ -33,6 +35,12 @@ final class HbefaVehicleAttributes {
 	public HbefaVehicleAttributes(){
 	}
 
+	/*package-private*/ HbefaVehicleAttributes(HbefaVehicleAttributes copyFrom){
+		this.hbefaTechnology = copyFrom.hbefaTechnology;
+		this.hbefaSizeClass = copyFrom.hbefaSizeClass;
+		this.hbefaEmConcept = copyFrom.hbefaEmConcept;
+	}
+
 	private static final String TECHNOLOGY_CMT="Normally something like |diesel| or |petrol|." ;
 	/**
 	 * @return {@value #TECHNOLOGY_CMT}
@@ -84,16 +92,17 @@ final class HbefaVehicleAttributes {
 
 		HbefaVehicleAttributes that = (HbefaVehicleAttributes) o;
 
-		if (!hbefaTechnology.equals(that.hbefaTechnology)) return false;
-		if (!hbefaSizeClass.equals(that.hbefaSizeClass)) return false;
-		return hbefaEmConcept.equals(that.hbefaEmConcept);
+		if (!Objects.equals(hbefaTechnology, that.hbefaTechnology)) return false;
+		if (!Objects.equals(hbefaSizeClass, that.hbefaSizeClass)) return false;
+		return Objects.equals(hbefaEmConcept, that.hbefaEmConcept);
 	}
 
 	@Override
 	public int hashCode() {
-		int result = hbefaTechnology.hashCode();
-		result = 31 * result + hbefaSizeClass.hashCode();
-		result = 31 * result + hbefaEmConcept.hashCode();
+		// null-safe, since the attributes are not necessarily all set in the vehicle type (see EmissionUtils.convertVehicleDescription2VehicleInformationTuple)
+		int result = Objects.hashCode(hbefaTechnology);
+		result = 31 * result + Objects.hashCode(hbefaSizeClass);
+		result = 31 * result + Objects.hashCode(hbefaEmConcept);
 		return result;
 	}
 
@@ -0,0 +1,231 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.contrib.emissions;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.Scenario;
+import org.matsim.api.core.v01.events.Event;
+import org.matsim.api.core.v01.events.LinkEnterEvent;
+import org.matsim.api.core.v01.events.LinkLeaveEvent;
+import org.matsim.api.core.v01.events.VehicleEntersTrafficEvent;
+import org.matsim.api.core.v01.events.VehicleLeavesTrafficEvent;
+import org.matsim.api.core.v01.events.handler.LinkEnterEventHandler;
+import org.matsim.api.core.v01.events.handler.LinkLeaveEventHandler;
+import org.matsim.api.core.v01.events.handler.VehicleEntersTrafficEventHandler;
+import org.matsim.api.core.v01.events.handler.VehicleLeavesTrafficEventHandler;
+import org.matsim.contrib.emissions.events.ColdEmissionEvent;
+import org.matsim.contrib.emissions.events.WarmEmissionEvent;
+import org.matsim.contrib.emissions.utils.EmissionsConfigGroup;
+import org.matsim.core.api.experimental.events.EventsManager;
+import org.matsim.core.config.ConfigUtils;
+import org.matsim.core.events.EventsUtils;
+import org.matsim.core.events.handler.BasicEventHandler;
+import org.matsim.vehicles.Vehicle;
+import org.matsim.vehicles.VehicleType;
+import org.matsim.vehicles.VehicleUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes warm and cold emissions from an events file (offline). Warm and cold emissions of a vehicle depend only on the events of
+ * that vehicle, so the traffic events are partitioned by vehicle and the partitions are processed in parallel, each by its own
+ * {@link WarmEmissionHandler} and {@link ColdEmissionHandler}. The resulting emission events are passed to the emission events
+ * manager sorted by time.
+ * <p>
+ * All traffic events of the events file are kept in memory.
+ */
+final class ParallelEmissionCalculator {
+	private static final Logger logger = LogManager.getLogger(ParallelEmissionCalculator.class);
+
+	private final Scenario scenario;
+	private final EmissionsConfigGroup emissionsConfigGroup;
+
+	private final Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> avgHbefaWarmTable;
+	private final Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> detailedHbefaWarmTable;
+	private final Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> avgHbefaColdTable;
+	private final Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> detailedHbefaColdTable;
+	private final Map<HbefaRoadVehicleCategoryKey, Map<HbefaTrafficSituation, Double>> hbefaRoadTrafficSpeeds;
+	private final Set<Pollutant> warmPollutants;
+	private final Set<Pollutant> coldPollutants;
+
+	private final int numberOfThreads;
+
+	ParallelEmissionCalculator(Scenario scenario, Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> avgHbefaWarmTable,
+							   Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> detailedHbefaWarmTable,
+							   Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> avgHbefaColdTable,
+							   Map<HbefaColdEmissionFactorKey, HbefaColdEmissionFactor> detailedHbefaColdTable,
+							   Map<HbefaRoadVehicleCategoryKey, Map<HbefaTrafficSituation, Double>> hbefaRoadTrafficSpeeds,
+							   Set<Pollutant> warmPollutants, Set<Pollutant> coldPollutants, int numberOfThreads) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("numberOfThreads must be positive, but is " + numberOfThreads);
+		}
+		this.scenario = scenario;
+		this.emissionsConfigGroup = ConfigUtils.addOrGetModule(scenario.getConfig(), EmissionsConfigGroup.class);
+		this.avgHbefaWarmTable = avgHbefaWarmTable;
+		this.detailedHbefaWarmTable = detailedHbefaWarmTable;
+		this.avgHbefaColdTable = avgHbefaColdTable;
+		this.detailedHbefaColdTable = detailedHbefaColdTable;
+		this.hbefaRoadTrafficSpeeds = hbefaRoadTrafficSpeeds;
+		this.warmPollutants = warmPollutants;
+		this.coldPollutants = coldPollutants;
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	void processEventsFile(String eventsFile, EventsManager emissionEventsManager) {
+		List<List<Event>> partitions = readAndPartitionEvents(eventsFile);
+		List<Event> emissionEvents = calculateEmissions(partitions);
+
+		logger.info("passing {} emission events to the emission events manager", emissionEvents.size());
+		emissionEventsManager.initProcessing();
+		for (Event emissionEvent : emissionEvents) {
+			emissionEventsManager.processEvent(emissionEvent);
+		}
+		emissionEventsManager.finishProcessing();
+	}
+
+	private List<List<Event>> readAndPartitionEvents(String eventsFile) {
+		var partitioner = new VehiclePartitioner(numberOfThreads);
+		EventsManager eventsManager = EventsUtils.createEventsManager();
+		eventsManager.addHandler(partitioner);
+		eventsManager.initProcessing();
+		EventsUtils.readEvents(eventsManager, eventsFile);
+		eventsManager.finishProcessing();
+
+		// The vehicle types are repaired (i.e. the hbefa description is moved to the engine information) while computing emissions.
+		// Do this here for all vehicles, so that the (not thread-safe) attributes are not extended concurrently.
+		Set<VehicleType> vehicleTypes = new HashSet<>();
+		for (Id<Vehicle> vehicleId : partitioner.vehicleIds) {
+			Vehicle vehicle = VehicleUtils.findVehicle(vehicleId, scenario);
+			if (vehicle != null && vehicleTypes.add(vehicle.getType())) {
+				EmissionUtils.getHbefaVehicleDescription(vehicle.getType(), emissionsConfigGroup);
+			}
+		}
+		return partitioner.partitions;
+	}
+
+	private List<Event> calculateEmissions(List<List<Event>> partitions) {
+		List<Callable<List<Event>>> tasks = new ArrayList<>();
+		for (List<Event> partition : partitions) {
+			tasks.add(() -> calculatePartitionEmissions(partition));
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Event> emissionEvents = new ArrayList<>();
+			for (Future<List<Event>> future : executorService.invokeAll(tasks)) {
+				emissionEvents.addAll(future.get());
+			}
+			// stable sort: keeps the order of emission events of the same vehicle
+			emissionEvents.sort(Comparator.comparingDouble(Event::getTime));
+			return emissionEvents;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private List<Event> calculatePartitionEmissions(List<Event> partition) {
+		List<Event> emissionEvents = new ArrayList<>();
+		EventsManager partitionEventsManager = EventsUtils.createEventsManager();
+		partitionEventsManager.addHandler(new BasicEventHandler() {
+			@Override
+			public void handleEvent(Event event) {
+				if (event instanceof WarmEmissionEvent || event instanceof ColdEmissionEvent) {
+					emissionEvents.add(event);
+				}
+			}
+		});
+
+		// same order of handlers as in EmissionModule
+		var warmEmissionHandler = new WarmEmissionHandler(scenario, avgHbefaWarmTable, detailedHbefaWarmTable, hbefaRoadTrafficSpeeds,
+				warmPollutants, partitionEventsManager);
+		var coldEmissionHandler = new ColdEmissionHandler(scenario, avgHbefaColdTable, detailedHbefaColdTable, coldPollutants,
+				partitionEventsManager);
+
+		// call the handlers directly instead of dispatching the traffic events via the events manager
+		for (Event event : partition) {
+			if (event instanceof LinkEnterEvent linkEnterEvent) {
+				warmEmissionHandler.handleEvent(linkEnterEvent);
+			} else if (event instanceof LinkLeaveEvent linkLeaveEvent) {
+				warmEmissionHandler.handleEvent(linkLeaveEvent);
+				coldEmissionHandler.handleEvent(linkLeaveEvent);
+			} else if (event instanceof VehicleEntersTrafficEvent vehicleEntersTrafficEvent) {
+				warmEmissionHandler.handleEvent(vehicleEntersTrafficEvent);
+				coldEmissionHandler.handleEvent(vehicleEntersTrafficEvent);
+			} else if (event instanceof VehicleLeavesTrafficEvent vehicleLeavesTrafficEvent) {
+				warmEmissionHandler.handleEvent(vehicleLeavesTrafficEvent);
+				coldEmissionHandler.handleEvent(vehicleLeavesTrafficEvent);
+			}
+		}
+		return emissionEvents;
+	}
+
+	private static final class VehiclePartitioner implements LinkEnterEventHandler, LinkLeaveEventHandler, VehicleEntersTrafficEventHandler,
+			VehicleLeavesTrafficEventHandler {
+		private final List<List<Event>> partitions = new ArrayList<>();
+		private final Set<Id<Vehicle>> vehicleIds = new HashSet<>();
+
+		private VehiclePartitioner(int partitionCount) {
+			for (int i = 0; i < partitionCount; i++) {
+				partitions.add(new ArrayList<>());
+			}
+		}
+
+		private void add(Id<Vehicle> vehicleId, Event event) {
+			vehicleIds.add(vehicleId);
+			partitions.get(Math.floorMod(vehicleId.index(), partitions.size())).add(event);
+		}
+
+		@Override
+		public void handleEvent(LinkEnterEvent event) {
+			add(event.getVehicleId(), event);
+		}
+
+		@Override
+		public void handleEvent(LinkLeaveEvent event) {
+			add(event.getVehicleId(), event);
+		}
+
+		@Override
+		public void handleEvent(VehicleEntersTrafficEvent event) {
+			add(event.getVehicleId(), event);
+		}
+
+		@Override
+		public void handleEvent(VehicleLeavesTrafficEvent event) {
+			add(event.getVehicleId(), event);
+		}
+	}
+}
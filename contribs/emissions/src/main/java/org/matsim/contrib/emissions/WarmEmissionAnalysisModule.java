@@ -49,6 +49,9 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 
 	private static final Logger logger = LogManager.getLogger(WarmEmissionAnalysisModule.class);
 
+	private static final int TRAFFIC_SITUATION_COUNT = HbefaTrafficSituation.values().length;
+	private static final int POLLUTANT_COUNT = Pollutant.values().length;
+
 	private final Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor>  avgHbefaWarmTable;
 	private final Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> detailedHbefaWarmTable;
 	private final Map<HbefaRoadVehicleCategoryKey, Map<HbefaTrafficSituation, Double>> hbefaRoadTrafficSpeeds;
@@ -57,6 +60,10 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 	private final EventsManager eventsManager;
 	private final EmissionsConfigGroup ecg;
 
+	// Emission factors resolved according to the lookup behavior (incl. fallbacks), interned by vehicle information and road category,
+	// and indexed by traffic situation and pollutant. This way, each combination is looked up in the hbefa tables only once.
+	private final Map<Tuple<HbefaVehicleCategory, HbefaVehicleAttributes>, Map<String, HbefaWarmEmissionFactor[]>> resolvedEfs = new HashMap<>();
+
 	private int detailedReadingInfoCnt = 0;
 	private int detailedTransformToHbefa4Cnt = 0;
 	private int detailedFallbackTechAverageWarnCnt = 0;
@@ -249,6 +256,8 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 			return warmEmissionsOfEvent;
 		}
 
+		HbefaWarmEmissionFactor[] resolvedEfs = getResolvedEfs(vehicleInformationTuple, roadType);
+
 		// translate vehicle information type into factor key.  yyyy maybe combine these two? kai, jan'20
 		HbefaWarmEmissionFactorKey efkey = new HbefaWarmEmissionFactorKey();
 		efkey.setVehicleCategory(vehicleInformationTuple.getFirst());
@@ -296,13 +305,13 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 			if (ecg.getEmissionsComputationMethod() == StopAndGoFraction) {
 
 				// compute faction.  This cannot be done earlier since efkey.component is needed.
-				fractionStopGo = getFractionStopAndGo(freeVelocity_ms * 3.6, averageSpeed_kmh, vehicleInformationTuple, efkey);
+				fractionStopGo = getFractionStopAndGo(freeVelocity_ms * 3.6, averageSpeed_kmh, vehicleInformationTuple, efkey, resolvedEfs);
 
 				double efStopGo_gpkm = 0.;
 				if (fractionStopGo > 0) {
 					// compute emissions from stop-go fraction:
 					efkey.setTrafficSituation(STOPANDGO);
-					efStopGo_gpkm = getEf(vehicleInformationTuple, efkey).getFactor();
+					efStopGo_gpkm = getEf(vehicleInformationTuple, efkey, resolvedEfs).getFactor();
 					logger.debug("pollutant={}; efStopGo={}", warmPollutant, efStopGo_gpkm);
 
 				}
@@ -311,7 +320,7 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 				if ( fractionStopGo<1.) {
 					// compute emissions for free-flow fraction:
 					efkey.setTrafficSituation(FREEFLOW);
-					efFreeFlow_gpkm = getEf(vehicleInformationTuple, efkey).getFactor();
+					efFreeFlow_gpkm = getEf(vehicleInformationTuple, efkey, resolvedEfs).getFactor();
 					logger.debug("pollutant={}; efFreeFlow={}", warmPollutant, efFreeFlow_gpkm);
 				}
 
@@ -320,7 +329,7 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 				ef_gpkm = (fractionFreeFlow * efFreeFlow_gpkm) + (fractionStopGo * efStopGo_gpkm);
 
 			} else if (ecg.getEmissionsComputationMethod() == AverageSpeed) {
-				ef_gpkm = getEf(vehicleInformationTuple, efkey).getFactor();
+				ef_gpkm = getEf(vehicleInformationTuple, efkey, resolvedEfs).getFactor();
 			} else {
 				throw new RuntimeException( Gbl.NOT_IMPLEMENTED );
 			}
@@ -345,10 +354,10 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 
 	private double getFractionStopAndGo(double freeFlowSpeed_kmh, double averageSpeed_kmh,
 										Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple,
-										HbefaWarmEmissionFactorKey efkey) {
+										HbefaWarmEmissionFactorKey efkey, HbefaWarmEmissionFactor[] resolvedEfs) {
 
 		efkey.setTrafficSituation(STOPANDGO);
-		double stopGoSpeedFromTable_kmh = getEf(vehicleInformationTuple, efkey).getSpeed();
+		double stopGoSpeedFromTable_kmh = getEf(vehicleInformationTuple, efkey, resolvedEfs).getSpeed();
 
 		double fractionStopGo;
 
@@ -363,6 +372,28 @@ public final class WarmEmissionAnalysisModule implements LinkEmissionsCalculator
 		return fractionStopGo;
 	}
 
+	private HbefaWarmEmissionFactor[] getResolvedEfs(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple, String roadCategory) {
+		Map<String, HbefaWarmEmissionFactor[]> resolvedEfsByRoadCategory = resolvedEfs.get(vehicleInformationTuple);
+		if (resolvedEfsByRoadCategory == null) {
+			resolvedEfsByRoadCategory = new HashMap<>();
+			// copy the key: the vehicle attributes are mutable
+			resolvedEfs.put(new Tuple<>(vehicleInformationTuple.getFirst(), new HbefaVehicleAttributes(vehicleInformationTuple.getSecond())),
+					resolvedEfsByRoadCategory);
+		}
+		return resolvedEfsByRoadCategory.computeIfAbsent(roadCategory, c -> new HbefaWarmEmissionFactor[TRAFFIC_SITUATION_COUNT * POLLUTANT_COUNT]);
+	}
+
+	private HbefaWarmEmissionFactor getEf(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple, HbefaWarmEmissionFactorKey efkey,
+										  HbefaWarmEmissionFactor[] resolvedEfs) {
+		int index = efkey.getTrafficSituation().ordinal() * POLLUTANT_COUNT + efkey.getComponent().ordinal();
+		HbefaWarmEmissionFactor ef = resolvedEfs[index];
+		if (ef == null) {
+			ef = getEf(vehicleInformationTuple, efkey);
+			resolvedEfs[index] = ef;
+		}
+		return ef;
+	}
+
 	private HbefaWarmEmissionFactor getEf(Tuple<HbefaVehicleCategory, HbefaVehicleAttributes> vehicleInformationTuple, HbefaWarmEmissionFactorKey efkey) {
 
 		switch ( ecg.getDetailedVsAverageLookupBehavior() ) {
@@ -3,6 +3,10 @@ package org.matsim.contrib.emissions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.matsim.api.core.v01.Scenario;
+import org.matsim.contrib.emissions.events.ColdEmissionEvent;
+import org.matsim.contrib.emissions.events.ColdEmissionEventHandler;
+import org.matsim.contrib.emissions.events.WarmEmissionEvent;
+import org.matsim.contrib.emissions.events.WarmEmissionEventHandler;
 import org.matsim.contrib.emissions.utils.EmissionsConfigGroup;
 import org.matsim.contrib.emissions.utils.TestUtils;
 import org.matsim.core.api.experimental.events.EventsManager;
@@ -11,10 +15,15 @@ import org.matsim.core.controler.AbstractModule;
 import org.matsim.core.controler.Injector;
 import org.matsim.core.events.EventsUtils;
 import org.matsim.core.scenario.ScenarioUtils;
+import org.matsim.core.events.MatsimEventsReader;
 import org.matsim.core.utils.io.IOUtils;
 import org.matsim.examples.ExamplesUtils;
 import org.matsim.testcases.MatsimTestUtils;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -66,4 +75,54 @@ public class EmissionModuleTest {
 			fail("Was expecting exception");
 		});
 	}
+
+	@Test
+	void testProcessEventsFile_sameEmissionsAsSequentialProcessing() {
+		var scenarioURL = ExamplesUtils.getTestScenarioURL("emissions-sampleScenario/testv2_Vehv2");
+		var config = ConfigUtils.loadConfig(IOUtils.extendUrl(scenarioURL, "config_average.xml"), new EmissionsConfigGroup());
+		var scenario = ScenarioUtils.loadScenario(config);
+		String eventsFile = IOUtils.extendUrl(scenarioURL, "../output_events.xml.gz").toString();
+
+		// sequential
+		EventsManager eventsManager = EventsUtils.createEventsManager();
+		EmissionModule sequentialModule = new EmissionModule(scenario, eventsManager);
+		var sequentialEmissions = new EmissionsCollector();
+		sequentialModule.getEmissionEventsManager().addHandler(sequentialEmissions);
+		eventsManager.initProcessing();
+		new MatsimEventsReader(eventsManager).readFile(eventsFile);
+		eventsManager.finishProcessing();
+
+		// parallel
+		EmissionModule parallelModule = new EmissionModule(scenario, EventsUtils.createEventsManager());
+		var parallelEmissions = new EmissionsCollector();
+		parallelModule.getEmissionEventsManager().addHandler(parallelEmissions);
+		parallelModule.processEventsFile(eventsFile, 3);
+
+		assertEquals(sequentialEmissions.warmEventCount, parallelEmissions.warmEventCount);
+		assertEquals(sequentialEmissions.coldEventCount, parallelEmissions.coldEventCount);
+		assertEquals(sequentialEmissions.emissions.keySet(), parallelEmissions.emissions.keySet());
+		for (Pollutant pollutant : sequentialEmissions.emissions.keySet()) {
+			double expected = sequentialEmissions.emissions.get(pollutant);
+			double actual = parallelEmissions.emissions.get(pollutant);
+			assertEquals(expected, actual, Math.abs(expected) * 1e-9, pollutant.toString());
+		}
+	}
+
+	private static class EmissionsCollector implements WarmEmissionEventHandler, ColdEmissionEventHandler {
+		private final Map<Pollutant, Double> emissions = new EnumMap<>(Pollutant.class);
+		private int warmEventCount = 0;
+		private int coldEventCount = 0;
+
+		@Override
+		public void handleEvent(WarmEmissionEvent event) {
+			warmEventCount++;
+			event.getWarmEmissions().forEach((pollutant, value) -> emissions.merge(pollutant, value, Double::sum));
+		}
+
+		@Override
+		public void handleEvent(ColdEmissionEvent event) {
+			coldEventCount++;
+			event.getColdEmissions().forEach((pollutant, value) -> emissions.merge(pollutant, value, Double::sum));
+		}
+	}
 }
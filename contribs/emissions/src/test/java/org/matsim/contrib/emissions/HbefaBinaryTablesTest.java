@@ -0,0 +1,92 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.contrib.emissions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.matsim.core.utils.io.IOUtils;
+import org.matsim.examples.ExamplesUtils;
+import org.matsim.testcases.MatsimTestUtils;
+
+import java.net.URL;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HbefaBinaryTablesTest {
+
+	@RegisterExtension
+	public MatsimTestUtils utils = new MatsimTestUtils();
+
+	private final URL scenarioUrl = ExamplesUtils.getTestScenarioURL("emissions-sampleScenario");
+
+	@Test
+	void testDetailedWarm() {
+		var csvTable = HbefaTables.loadDetailedWarm(IOUtils.extendUrl(scenarioUrl, "sample_41_EFA_HOT_SubSegm_2020detailed.csv"));
+		var binaryTable = HbefaTables.loadDetailedWarm(convert("detailedWarm", "sample_41_EFA_HOT_SubSegm_2020detailed.csv", "warm.bin"));
+		assertWarmTablesEqual(csvTable, binaryTable);
+	}
+
+	@Test
+	void testAverageWarm_compressed() {
+		var csvTable = HbefaTables.loadAverageWarm(IOUtils.extendUrl(scenarioUrl, "sample_41_EFA_HOT_vehcat_2020average.csv"));
+		var binaryTable = HbefaTables.loadAverageWarm(convert("averageWarm", "sample_41_EFA_HOT_vehcat_2020average.csv", "warm.bin.gz"));
+		assertWarmTablesEqual(csvTable, binaryTable);
+	}
+
+	@Test
+	void testDetailedCold() {
+		var csvTable = HbefaTables.loadDetailedCold(IOUtils.extendUrl(scenarioUrl, "sample_41_EFA_ColdStart_SubSegm_2020detailed.csv"));
+		var binaryTable = HbefaTables.loadDetailedCold(convert("detailedCold", "sample_41_EFA_ColdStart_SubSegm_2020detailed.csv", "cold.bin"));
+
+		assertEquals(csvTable.size(), binaryTable.size());
+		csvTable.forEach((key, factor) -> {
+			var binaryFactor = binaryTable.get(key);
+			assertNotNull(binaryFactor, key.toString());
+			assertEquals(factor.getFactor(), binaryFactor.getFactor(), 0);
+		});
+	}
+
+	@Test
+	void testIsBinaryTable() {
+		URL csvFile = IOUtils.extendUrl(scenarioUrl, "sample_41_EFA_ColdStart_vehcat_2020average.csv");
+		assertFalse(HbefaBinaryTables.isBinaryTable(csvFile));
+		assertTrue(HbefaBinaryTables.isBinaryTable(convert("averageCold", "sample_41_EFA_ColdStart_vehcat_2020average.csv", "cold.bin")));
+	}
+
+	private URL convert(String tableType, String csvFile, String binaryFile) {
+		String outputFile = utils.getOutputDirectory() + binaryFile;
+		HbefaBinaryTables.main(new String[] { tableType, IOUtils.extendUrl(scenarioUrl, csvFile).toString(), outputFile });
+		return IOUtils.getFileUrl(outputFile);
+	}
+
+	private static void assertWarmTablesEqual(Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> expected,
+											  Map<HbefaWarmEmissionFactorKey, HbefaWarmEmissionFactor> actual) {
+		assertEquals(expected.size(), actual.size());
+		expected.forEach((key, factor) -> {
+			var actualFactor = actual.get(key);
+			assertNotNull(actualFactor, key.toString());
+			assertEquals(factor.getFactor(), actualFactor.getFactor(), 0);
+			assertEquals(factor.getSpeed(), actualFactor.getSpeed(), 0);
+		});
+	}
+}
@@ -21,6 +21,7 @@ package org.matsim.contrib.ev;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.matsim.core.config.Config;
 import org.matsim.core.config.ReflectiveConfigGroup;
 
@@ -44,6 +45,15 @@ public final class EvConfigGroup extends ReflectiveConfigGroup {
 	@Positive
 	public int auxDischargeTimeStep = 60; // 1 min
 
+	@Parameter
+	@Comment("If positive, EnergyChargedEvents and IdlingEnergyConsumptionEvents are aggregated per vehicle and emitted"
+			+ " once every 'energyEventsInterval' seconds (and when charging ends) instead of every 'chargeTimeStep'"
+			+ " or 'auxDischargeTimeStep'. Each aggregated event reports the total energy since the previous event"
+			+ " and the charge at the end of the aggregation period. This reduces the number of events with large"
+			+ " EV fleets. 0 (default) means no aggregation.")
+	@PositiveOrZero
+	public int energyEventsInterval = 0;
+
 	@Parameter("minChargingTime")
 	@Comment("Minimum activity duration for charging. Used in EvNetwork Routing.")
 	public int minimumChargeTime = 1200;
@@ -25,14 +25,17 @@ import org.matsim.contrib.ev.EvConfigGroup;
 import org.matsim.contrib.ev.infrastructure.Charger;
 import org.matsim.contrib.ev.infrastructure.ChargingInfrastructure;
 import org.matsim.core.mobsim.framework.events.MobsimAfterSimStepEvent;
+import org.matsim.core.mobsim.framework.events.MobsimBeforeCleanupEvent;
 import org.matsim.core.mobsim.framework.listeners.MobsimAfterSimStepListener;
+import org.matsim.core.mobsim.framework.listeners.MobsimBeforeCleanupListener;
 
 import com.google.inject.Inject;
 
-public class ChargingHandler implements MobsimAfterSimStepListener {
+public class ChargingHandler implements MobsimAfterSimStepListener, MobsimBeforeCleanupListener {
 	private static final Logger log = LogManager.getLogger( ChargingHandler.class );
 	private final Iterable<Charger> chargers;
 	private final int chargeTimeStep;
+	private double lastSimulationTime;
 
 	@Inject
 	ChargingHandler(ChargingInfrastructure chargingInfrastructure, EvConfigGroup evConfig) {
@@ -42,10 +45,18 @@ public class ChargingHandler implements MobsimAfterSimStepListener {
 
 	@Override
 	public void notifyMobsimAfterSimStep(@SuppressWarnings("rawtypes") MobsimAfterSimStepEvent e) {
+		lastSimulationTime = e.getSimulationTime();
 		if ((e.getSimulationTime() + 1) % chargeTimeStep == 0) {
 			for (Charger c : chargers) {
 				c.getLogic().chargeVehicles(chargeTimeStep, e.getSimulationTime());
 			}
 		}
 	}
+
+	@Override
+	public void notifyMobsimBeforeCleanup(@SuppressWarnings("rawtypes") MobsimBeforeCleanupEvent e) {
+		for (Charger c : chargers) {
+			c.getLogic().emitPendingEvents(lastSimulationTime);
+		}
+	}
 }
@@ -37,6 +37,12 @@ public interface ChargingLogic {
 
 	void chargeVehicles(double chargePeriod, double now);
 
+	/**
+	 * Emits events that have been aggregated, but not emitted yet (e.g. at the end of the simulation).
+	 */
+	default void emitPendingEvents(double now) {
+	}
+
 	Collection<ChargingVehicle> getPluggedVehicles();
 
 	Collection<ChargingVehicle> getQueuedVehicles();
@@ -35,7 +35,12 @@ public class ChargingWithQueueingAndAssignmentLogic extends ChargingWithQueueing
 	private final Map<Id<Vehicle>, ChargingVehicle> assignedVehicles = new LinkedHashMap<>();
 
 	public ChargingWithQueueingAndAssignmentLogic(ChargerSpecification charger, EventsManager eventsManager, ChargingPriority priority) {
-		super(charger, eventsManager, priority);
+		this(charger, eventsManager, priority, 0);
+	}
+
+	public ChargingWithQueueingAndAssignmentLogic(ChargerSpecification charger, EventsManager eventsManager, ChargingPriority priority,
+			int energyEventsInterval) {
+		super(charger, eventsManager, priority, energyEventsInterval);
 	}
 
 	@Override
@@ -69,15 +74,22 @@ public class ChargingWithQueueingAndAssignmentLogic extends ChargingWithQueueing
 	static public class Factory implements ChargingLogic.Factory {
 		private final EventsManager eventsManager;
 		private final ChargingPriority.Factory priorityFactory;
+		private final int energyEventsInterval;
 
 		public Factory(EventsManager eventsManager, ChargingPriority.Factory priorityFactory) {
+			this(eventsManager, priorityFactory, 0);
+		}
+
+		public Factory(EventsManager eventsManager, ChargingPriority.Factory priorityFactory, int energyEventsInterval) {
 			this.eventsManager = eventsManager;
 			this.priorityFactory = priorityFactory;
+			this.energyEventsInterval = energyEventsInterval;
 		}
 
 		@Override
 		public ChargingLogic create(ChargerSpecification charger) {
-			return new ChargingWithQueueingAndAssignmentLogic(charger, eventsManager, priorityFactory.create(charger));
+			return new ChargingWithQueueingAndAssignmentLogic(charger, eventsManager, priorityFactory.create(charger),
+					energyEventsInterval);
 		}
 	}
 }
@@ -37,20 +37,37 @@ import org.matsim.vehicles.Vehicle;
 
 import com.google.common.base.Preconditions;
 
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+
 public class ChargingWithQueueingLogic implements ChargingLogic {
 	protected final ChargerSpecification charger;
 	private final EventsManager eventsManager;
 	private final ChargingPriority priority;
+	private final int energyEventsInterval;
 
 	private final Map<Id<Vehicle>, ChargingVehicle> pluggedVehicles = new LinkedHashMap<>();
 	private final Queue<ChargingVehicle> queuedVehicles = new LinkedList<>();
 	private final Queue<ChargingVehicle> arrivingVehicles = new LinkedBlockingQueue<>();
 	private final Map<Id<Vehicle>, ChargingListener> listeners = new LinkedHashMap<>();
 
+	// energy charged since the last EnergyChargedEvent (only if energy events are aggregated)
+	private final Object2DoubleMap<Id<Vehicle>> pendingChargedEnergy = new Object2DoubleOpenHashMap<>();
+
 	public ChargingWithQueueingLogic(ChargerSpecification charger,  EventsManager eventsManager, ChargingPriority priority) {
+		this(charger, eventsManager, priority, 0);
+	}
+
+	/**
+	 * @param energyEventsInterval if positive, EnergyChargedEvents are aggregated per vehicle and emitted every
+	 *                             energyEventsInterval seconds (and at the end of charging)
+	 */
+	public ChargingWithQueueingLogic(ChargerSpecification charger, EventsManager eventsManager, ChargingPriority priority,
+			int energyEventsInterval) {
 		this.charger = Objects.requireNonNull(charger);
 		this.eventsManager = Objects.requireNonNull(eventsManager);
 		this.priority = priority;
+		this.energyEventsInterval = energyEventsInterval;
 	}
 
 	@Override
@@ -64,15 +81,26 @@ public class ChargingWithQueueingLogic implements ChargingLogic {
 			double energy = cv.ev().getChargingPower().calcChargingPower(charger) * chargePeriod;
 			double newCharge = Math.min(oldCharge + energy, cv.ev().getBattery().getCapacity());
 			cv.ev().getBattery().setCharge(newCharge);
-			eventsManager.processEvent(new EnergyChargedEvent(now, charger.getId(), cv.ev().getId(), newCharge - oldCharge, newCharge));
+			if (energyEventsInterval > 0) {
+				pendingChargedEnergy.mergeDouble(cv.ev().getId(), newCharge - oldCharge, Double::sum);
+			} else {
+				eventsManager.processEvent(new EnergyChargedEvent(now, charger.getId(), cv.ev().getId(), newCharge - oldCharge, newCharge));
+			}
 
 			if (cv.strategy().isChargingCompleted()) {
 				cvIter.remove();
+				emitPendingEnergyChargedEvent(cv.ev(), now);
 				eventsManager.processEvent(new ChargingEndEvent(now, charger.getId(), cv.ev().getId(), cv.ev().getBattery().getCharge()));
 				listeners.remove(cv.ev().getId()).notifyChargingEnded(cv.ev(), now);
 			}
 		}
 
+		// emit aggregated events if an aggregation interval ends within this charge period
+		if (energyEventsInterval > 0
+				&& Math.floor((now + 1) / energyEventsInterval) > Math.floor((now + 1 - chargePeriod) / energyEventsInterval)) {
+			emitPendingEvents(now);
+		}
+
 		var queuedVehiclesIter = queuedVehicles.iterator();
 		while (queuedVehiclesIter.hasNext() && pluggedVehicles.size() < charger.getPlugCount()) {
 			var cv = queuedVehiclesIter.next();
@@ -106,6 +134,7 @@ public class ChargingWithQueueingLogic implements ChargingLogic {
 	@Override
 	public void removeVehicle(ElectricVehicle ev, double now) {
 		if (pluggedVehicles.remove(ev.getId()) != null) {// successfully removed
+			emitPendingEnergyChargedEvent(ev, now);
 			eventsManager.processEvent(new ChargingEndEvent(now, charger.getId(), ev.getId(), ev.getBattery().getCharge()));
 			listeners.remove(ev.getId()).notifyChargingEnded(ev, now);
 
@@ -134,6 +163,20 @@ public class ChargingWithQueueingLogic implements ChargingLogic {
 		}
 	}
 
+	@Override
+	public void emitPendingEvents(double now) {
+		for (ChargingVehicle cv : pluggedVehicles.values()) {
+			emitPendingEnergyChargedEvent(cv.ev(), now);
+		}
+	}
+
+	private void emitPendingEnergyChargedEvent(ElectricVehicle ev, double now) {
+		if (pendingChargedEnergy.containsKey(ev.getId())) {
+			double energy = pendingChargedEnergy.removeDouble(ev.getId());
+			eventsManager.processEvent(new EnergyChargedEvent(now, charger.getId(), ev.getId(), energy, ev.getBattery().getCharge()));
+		}
+	}
+
 	private void queueVehicle(ChargingVehicle cv, double now) {
 		queuedVehicles.add(cv);
 		eventsManager.processEvent(new QueuedAtChargerEvent(now, charger.getId(), cv.ev().getId()));
@@ -173,15 +216,21 @@ public class ChargingWithQueueingLogic implements ChargingLogic {
 	static public class Factory implements ChargingLogic.Factory {
 		private final EventsManager eventsManager;
 		private final ChargingPriority.Factory chargingPriorityFactory;
+		private final int energyEventsInterval;
 
 		public Factory(EventsManager eventsManager, ChargingPriority.Factory chargingPriorityFactory) {
+			this(eventsManager, chargingPriorityFactory, 0);
+		}
+
+		public Factory(EventsManager eventsManager, ChargingPriority.Factory chargingPriorityFactory, int energyEventsInterval) {
 			this.eventsManager = eventsManager;
 			this.chargingPriorityFactory = chargingPriorityFactory;
+			this.energyEventsInterval = energyEventsInterval;
 		}
 
 		@Override
 		public ChargingLogic create(ChargerSpecification charger) {
-			return new ChargingWithQueueingLogic(charger,  eventsManager, chargingPriorityFactory.create(charger));
+			return new ChargingWithQueueingLogic(charger,  eventsManager, chargingPriorityFactory.create(charger), energyEventsInterval);
 		}
 	}
 }
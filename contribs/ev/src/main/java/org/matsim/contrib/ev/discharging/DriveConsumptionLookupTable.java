@@ -0,0 +1,153 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.ev.discharging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.DoubleBinaryOperator;
+
+import org.matsim.core.utils.io.IOUtils;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Consumption [kWh/km] precomputed on a regular (speed [m/s], slope [-]) grid. Values between grid points are
+ * interpolated bilinearly, so the interpolation error of a smooth consumption model decreases quadratically with the
+ * grid resolution. Values outside the grid are clamped to the grid boundaries.
+ * <p>
+ * The table can be written in the LTH consumption model format and read back with
+ * {@link org.matsim.contrib.ev.infrastructure.LTHConsumptionModelReader#readLookupTable(java.net.URL)}, so that
+ * expensive consumption models need to be evaluated only once per vehicle type.
+ */
+public final class DriveConsumptionLookupTable {
+	public static DriveConsumptionLookupTable create(DoubleBinaryOperator consumption, double minSpeed, double maxSpeed,
+			int speedCount, double minSlope, double maxSlope, int slopeCount) {
+		double[] speeds = createGrid(minSpeed, maxSpeed, speedCount);
+		double[] slopes = createGrid(minSlope, maxSlope, slopeCount);
+		double[][] values = new double[speedCount][slopeCount];
+		for (int i = 0; i < speedCount; i++) {
+			for (int j = 0; j < slopeCount; j++) {
+				values[i][j] = consumption.applyAsDouble(speeds[i], slopes[j]);
+			}
+		}
+		return new DriveConsumptionLookupTable(speeds, slopes, values);
+	}
+
+	private static double[] createGrid(double min, double max, int count) {
+		Preconditions.checkArgument(count >= 2 && min < max, "Invalid grid: min=%s, max=%s, count=%s", min, max, count);
+		double[] grid = new double[count];
+		for (int i = 0; i < count; i++) {
+			grid[i] = min + (max - min) * i / (count - 1);
+		}
+		grid[count - 1] = max;// avoid rounding errors at the upper bound
+		return grid;
+	}
+
+	private final double[] speeds;
+	private final double[] slopes;
+	private final double[][] values;// [speed][slope]
+
+	private final double speedStep;
+	private final double slopeStep;
+
+	/**
+	 * @param speeds regularly spaced speeds (increasing)
+	 * @param slopes regularly spaced slopes (increasing)
+	 * @param values values[i][j] is the consumption at speeds[i] and slopes[j]
+	 */
+	public DriveConsumptionLookupTable(double[] speeds, double[] slopes, double[][] values) {
+		Preconditions.checkArgument(values.length == speeds.length, "Number of rows does not match the number of speeds");
+		for (double[] row : values) {
+			Preconditions.checkArgument(row.length == slopes.length, "Number of columns does not match the number of slopes");
+		}
+		this.speeds = speeds;
+		this.slopes = slopes;
+		this.values = values;
+		this.speedStep = calcStep(speeds);
+		this.slopeStep = calcStep(slopes);
+	}
+
+	private static double calcStep(double[] grid) {
+		Preconditions.checkArgument(grid.length >= 2, "At least 2 grid points required");
+		double step = (grid[grid.length - 1] - grid[0]) / (grid.length - 1);
+		Preconditions.checkArgument(step > 0, "Grid must be increasing");
+		for (int i = 1; i < grid.length; i++) {
+			Preconditions.checkArgument(Math.abs(grid[i] - grid[0] - i * step) <= 1e-6 * step, "Grid not regular: %s",
+					grid[i]);
+		}
+		return step;
+	}
+
+	/**
+	 * @return consumption [kWh/km]
+	 */
+	public double value(double speed, double slope) {
+		double x = clamp((speed - speeds[0]) / speedStep, speeds.length - 1);
+		double y = clamp((slope - slopes[0]) / slopeStep, slopes.length - 1);
+		int i = Math.min((int)x, speeds.length - 2);
+		int j = Math.min((int)y, slopes.length - 2);
+		double dx = x - i;
+		double dy = y - j;
+		return (1 - dx) * ((1 - dy) * values[i][j] + dy * values[i][j + 1]) //
+				+ dx * ((1 - dy) * values[i + 1][j] + dy * values[i + 1][j + 1]);
+	}
+
+	private static double clamp(double position, int maxPosition) {
+		return Math.max(0, Math.min(position, maxPosition));
+	}
+
+	public double getMinSpeed() {
+		return speeds[0];
+	}
+
+	public double getMaxSpeed() {
+		return speeds[speeds.length - 1];
+	}
+
+	public double getMinSlope() {
+		return slopes[0];
+	}
+
+	public double getMaxSlope() {
+		return slopes[slopes.length - 1];
+	}
+
+	/**
+	 * Writes the table in the LTH consumption model format: speeds [m/s] in columns, slopes [%] in rows.
+	 */
+	public void writeFile(String file) {
+		try (BufferedWriter writer = IOUtils.getBufferedWriter(file)) {
+			writer.write("slope");
+			for (double speed : speeds) {
+				writer.write("," + speed);
+			}
+			writer.newLine();
+			for (int j = 0; j < slopes.length; j++) {
+				writer.write(String.valueOf(slopes[j] * 100));
+				for (int i = 0; i < speeds.length; i++) {
+					writer.write("," + values[i][j]);
+				}
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -19,7 +19,11 @@
 
 package org.matsim.contrib.ev.discharging;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 
 import org.matsim.api.core.v01.Id;
@@ -34,7 +38,10 @@ import org.matsim.contrib.ev.fleet.ElectricVehicle;
 import org.matsim.core.api.experimental.events.EventsManager;
 import org.matsim.core.events.MobsimScopeEventHandler;
 import org.matsim.core.mobsim.framework.events.MobsimAfterSimStepEvent;
+import org.matsim.core.mobsim.framework.events.MobsimBeforeCleanupEvent;
 import org.matsim.core.mobsim.framework.listeners.MobsimAfterSimStepListener;
+import org.matsim.core.mobsim.framework.listeners.MobsimBeforeCleanupListener;
+import org.matsim.vehicles.Vehicle;
 
 import com.google.inject.Inject;
 
@@ -44,9 +51,13 @@ import com.google.inject.Inject;
  * <p>
  * VehicleProvider is responsible to decide if AUX discharging applies to a given vehicle based on information from
  * ActivityStartEvent.
+ * <p>
+ * If 'energyEventsInterval' is positive, IdlingEnergyConsumptionEvents are aggregated per vehicle and emitted at the end
+ * of each interval, or earlier when the vehicle stops idling (so that they precede the vehicle's driving events).
  */
 public final class IdleDischargingHandler
-		implements MobsimAfterSimStepListener, ActivityStartEventHandler, ActivityEndEventHandler, MobsimScopeEventHandler {
+		implements MobsimAfterSimStepListener, MobsimBeforeCleanupListener, ActivityStartEventHandler, ActivityEndEventHandler,
+		MobsimScopeEventHandler {
 	public interface VehicleProvider {
 		/**
 		 * During activities such as stopping at a bus stop or taxi rank, picking up/dropping off passengers etc.
@@ -61,21 +72,38 @@ public final class IdleDischargingHandler
 	private record VehicleAndLink(ElectricVehicle vehicle, Id<Link> linkId) {
 	}
 
+	private record PendingEnergy(Id<Link> linkId, double energy, double endCharge) {
+	}
+
+	private record IdlingEnd(Id<Vehicle> vehicleId, double time) {
+	}
+
 	private final VehicleProvider vehicleProvider;
 	private final int auxDischargeTimeStep;
+	private final int energyEventsInterval;
 	private final EventsManager eventsManager;
 
 	private final ConcurrentMap<Id<Person>, VehicleAndLink> vehicles = new ConcurrentHashMap<>();
 
+	// accessed only in the mobsim thread
+	private final Map<Id<Vehicle>, PendingEnergy> pendingEnergies = new LinkedHashMap<>();
+	// filled by the event handler (which may run outside the mobsim thread), drained in the mobsim thread
+	private final Queue<IdlingEnd> idlingEnds = new ConcurrentLinkedQueue<>();
+	private double lastSimulationTime;
+
 	@Inject
 	IdleDischargingHandler(VehicleProvider vehicleProvider, EvConfigGroup evCfg, EventsManager eventsManager) {
 		this.vehicleProvider = vehicleProvider;
 		this.auxDischargeTimeStep = evCfg.auxDischargeTimeStep;
+		this.energyEventsInterval = evCfg.energyEventsInterval;
 		this.eventsManager = eventsManager;
 	}
 
 	@Override
 	public void notifyMobsimAfterSimStep(@SuppressWarnings("rawtypes") MobsimAfterSimStepEvent e) {
+		lastSimulationTime = e.getSimulationTime();
+		emitPendingEventsOfEndedIdling();
+
 		if (e.getSimulationTime() % auxDischargeTimeStep == 0) {
 			for (VehicleAndLink vl : vehicles.values()) {
 				ElectricVehicle ev = vl.vehicle;
@@ -83,10 +111,51 @@ public final class IdleDischargingHandler
 				ev.getBattery()
 						.dischargeEnergy(energy, missingEnergy -> eventsManager.processEvent(
 								new MissingEnergyEvent(e.getSimulationTime(), ev.getId(), vl.linkId, missingEnergy)));
-				eventsManager.processEvent(
-						new IdlingEnergyConsumptionEvent(e.getSimulationTime(), ev.getId(), vl.linkId, energy, ev.getBattery().getCharge()));
+				if (energyEventsInterval > 0) {
+					PendingEnergy pending = pendingEnergies.get(ev.getId());
+					if (pending != null && !pending.linkId.equals(vl.linkId)) {
+						emitPendingEvent(ev.getId(), e.getSimulationTime());// the vehicle is now idling on another link
+						pending = null;
+					}
+					double pendingEnergy = pending == null ? 0 : pending.energy;
+					pendingEnergies.put(ev.getId(), new PendingEnergy(vl.linkId, pendingEnergy + energy, ev.getBattery().getCharge()));
+				} else {
+					eventsManager.processEvent(
+							new IdlingEnergyConsumptionEvent(e.getSimulationTime(), ev.getId(), vl.linkId, energy, ev.getBattery().getCharge()));
+				}
 			}
 		}
+
+		if (energyEventsInterval > 0 && (e.getSimulationTime() + 1) % energyEventsInterval == 0) {
+			emitPendingEvents(e.getSimulationTime());
+		}
+	}
+
+	@Override
+	public void notifyMobsimBeforeCleanup(@SuppressWarnings("rawtypes") MobsimBeforeCleanupEvent e) {
+		emitPendingEventsOfEndedIdling();
+		emitPendingEvents(lastSimulationTime);
+	}
+
+	private void emitPendingEventsOfEndedIdling() {
+		IdlingEnd idlingEnd;
+		while ((idlingEnd = idlingEnds.poll()) != null) {
+			if (pendingEnergies.containsKey(idlingEnd.vehicleId)) {
+				emitPendingEvent(idlingEnd.vehicleId, idlingEnd.time);
+			}
+		}
+	}
+
+	private void emitPendingEvents(double now) {
+		pendingEnergies.forEach((vehicleId, pending) -> eventsManager.processEvent(
+				new IdlingEnergyConsumptionEvent(now, vehicleId, pending.linkId, pending.energy, pending.endCharge)));
+		pendingEnergies.clear();
+	}
+
+	private void emitPendingEvent(Id<Vehicle> vehicleId, double now) {
+		PendingEnergy pending = pendingEnergies.remove(vehicleId);
+		eventsManager.processEvent(
+				new IdlingEnergyConsumptionEvent(now, vehicleId, pending.linkId, pending.energy, pending.endCharge));
 	}
 
 	@Override
@@ -99,6 +168,9 @@ public final class IdleDischargingHandler
 
 	@Override
 	public void handleEvent(ActivityEndEvent event) {
-		vehicles.remove(event.getPersonId());
+		VehicleAndLink vehicleAndLink = vehicles.remove(event.getPersonId());
+		if (vehicleAndLink != null && energyEventsInterval > 0) {
+			idlingEnds.add(new IdlingEnd(vehicleAndLink.vehicle.getId(), event.getTime()));
+		}
 	}
 }
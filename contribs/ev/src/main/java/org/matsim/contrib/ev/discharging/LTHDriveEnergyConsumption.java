@@ -21,7 +21,8 @@ package org.matsim.contrib.ev.discharging;/*
  * created by jbischoff, 23.08.2018
  */
 
-import org.apache.commons.math3.analysis.interpolation.PiecewiseBicubicSplineInterpolatingFunction;
+import java.util.function.DoubleBinaryOperator;
+
 import org.apache.commons.math3.analysis.interpolation.PiecewiseBicubicSplineInterpolator;
 import org.apache.logging.log4j.LogManager;
 import org.matsim.api.core.v01.network.Link;
@@ -33,7 +34,8 @@ import com.google.common.primitives.Doubles;
 
 public final class LTHDriveEnergyConsumption implements DriveEnergyConsumption {
 
-	private final PiecewiseBicubicSplineInterpolatingFunction function;
+	// consumption [kWh/km] as a function of speed [m/s] and slope [-]
+	private final DoubleBinaryOperator function;
 
 	private final double minSpeed;
 	private final double maxSpeed;
@@ -50,33 +52,61 @@ public final class LTHDriveEnergyConsumption implements DriveEnergyConsumption {
 	public static class Factory implements DriveEnergyConsumption.Factory {
 
 		private final boolean crashIfOutOfBoundValue;
-		private final double[] speeds;
-		private final double[] slopes;
-		private final double[][] consumptionPerSpeedAndSlope;
+		private final DoubleBinaryOperator function;
+		private final double minSpeed;
+		private final double maxSpeed;
+		private final double minSlope;
+		private final double maxSlope;
 
 		public Factory(double[] speeds, double[] slopes, double[][] consumptionPerSpeedAndSlope,
 				boolean crashIfOutOfBoundValue) {
-			this.speeds = speeds;
-			this.slopes = slopes;
-			this.consumptionPerSpeedAndSlope = consumptionPerSpeedAndSlope;
+			// the spline is immutable, so it can be shared by all vehicles (of the same type)
+			this(new PiecewiseBicubicSplineInterpolator().interpolate(speeds, slopes, consumptionPerSpeedAndSlope)::value,
+					Doubles.min(speeds), Doubles.max(speeds), Doubles.min(slopes), Doubles.max(slopes),
+					crashIfOutOfBoundValue);
+		}
+
+		/**
+		 * Consumption is looked up in the precomputed table instead of evaluating the spline on every link.
+		 */
+		public Factory(DriveConsumptionLookupTable lookupTable, boolean crashIfOutOfBoundValue) {
+			this(lookupTable::value, lookupTable.getMinSpeed(), lookupTable.getMaxSpeed(), lookupTable.getMinSlope(),
+					lookupTable.getMaxSlope(), crashIfOutOfBoundValue);
+		}
+
+		private Factory(DoubleBinaryOperator function, double minSpeed, double maxSpeed, double minSlope,
+				double maxSlope, boolean crashIfOutOfBoundValue) {
+			this.function = function;
+			this.minSpeed = minSpeed;
+			this.maxSpeed = maxSpeed;
+			this.minSlope = minSlope;
+			this.maxSlope = maxSlope;
 			this.crashIfOutOfBoundValue = crashIfOutOfBoundValue;
+		}
 
+		/**
+		 * Tabulates the consumption model on a regular grid of speedCount x slopeCount points (covering the speed
+		 * and slope ranges of this model).
+		 */
+		public DriveConsumptionLookupTable createLookupTable(int speedCount, int slopeCount) {
+			return DriveConsumptionLookupTable.create(function, minSpeed, maxSpeed, speedCount, minSlope, maxSlope,
+					slopeCount);
 		}
 
 		@Override
 		public DriveEnergyConsumption create(ElectricVehicle electricVehicle) {
-			return new LTHDriveEnergyConsumption(speeds, slopes, consumptionPerSpeedAndSlope, crashIfOutOfBoundValue);
+			return new LTHDriveEnergyConsumption(function, minSpeed, maxSpeed, minSlope, maxSlope,
+					crashIfOutOfBoundValue);
 		}
 	}
 
-	private LTHDriveEnergyConsumption(double[] speeds, double[] slopes, double[][] consumptionPerSpeedAndSlope,
-			boolean crashIfOutOfBoundValue) {
-		this.function = new PiecewiseBicubicSplineInterpolator().interpolate(speeds, slopes,
-				consumptionPerSpeedAndSlope);
-		this.minSpeed = Doubles.min(speeds);
-		this.maxSpeed = Doubles.max(speeds);
-		this.minSlope = Doubles.min(slopes);
-		this.maxSlope = Doubles.max(slopes);
+	private LTHDriveEnergyConsumption(DoubleBinaryOperator function, double minSpeed, double maxSpeed, double minSlope,
+			double maxSlope, boolean crashIfOutOfBoundValue) {
+		this.function = function;
+		this.minSpeed = minSpeed;
+		this.maxSpeed = maxSpeed;
+		this.minSlope = minSlope;
+		this.maxSlope = maxSlope;
 		this.crashIfOutOfBoundValue = crashIfOutOfBoundValue;
 	}
 
@@ -123,7 +153,7 @@ public final class LTHDriveEnergyConsumption implements DriveEnergyConsumption {
 		double consumption = 0;
 		for (double linkslope : linkslopes) {
 			double currentSlope = checkSlope(linkslope);
-			double currentEnergyuse = function.value(speed, currentSlope);
+			double currentEnergyuse = function.applyAsDouble(speed, currentSlope);
 			consumption += currentEnergyuse * slopeSegmentTravelDistance;
 		}
 		return EvUnits.kWh_to_J(consumption);
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.matsim.api.core.v01.Id;
+import org.matsim.contrib.ev.discharging.DriveConsumptionLookupTable;
 import org.matsim.contrib.ev.discharging.DriveEnergyConsumption;
 import org.matsim.contrib.ev.discharging.LTHDriveEnergyConsumption;
 import org.matsim.core.utils.io.tabularFileParser.TabularFileHandler;
@@ -48,6 +49,23 @@ public class LTHConsumptionModelReader {
 	}
 
 	public DriveEnergyConsumption.Factory readURL( URL fileUrl ) {
+		ConsumptionModel model = read(fileUrl);
+		return new LTHDriveEnergyConsumption.Factory(model.speeds, model.slopes, model.consumptionPerSpeedAndSlope, false);
+	}
+
+	/**
+	 * Reads a lookup table (e.g. written with {@link DriveConsumptionLookupTable#writeFile(String)}). Speeds and slopes
+	 * must be regularly spaced.
+	 */
+	public DriveConsumptionLookupTable readLookupTable( URL fileUrl ) {
+		ConsumptionModel model = read(fileUrl);
+		return new DriveConsumptionLookupTable(model.speeds, model.slopes, model.consumptionPerSpeedAndSlope);
+	}
+
+	private record ConsumptionModel(double[] speeds, double[] slopes, double[][] consumptionPerSpeedAndSlope) {
+	}
+
+	private ConsumptionModel read( URL fileUrl ) {
 		List<Double> speeds = new ArrayList<>();
 		List<Double> slopes = new ArrayList<>();
 		TabularFileParserConfig tabularFileParserConfig = new TabularFileParserConfig();
@@ -86,7 +104,6 @@ public class LTHConsumptionModelReader {
 			}
 		});
 
-		return new LTHDriveEnergyConsumption.Factory(Doubles.toArray(speeds), Doubles.toArray(slopes),
-				consumptionPerSpeedAndSlope, false);
+		return new ConsumptionModel(Doubles.toArray(speeds), Doubles.toArray(slopes), consumptionPerSpeedAndSlope);
 	}
 }
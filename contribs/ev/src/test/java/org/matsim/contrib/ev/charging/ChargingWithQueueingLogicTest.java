@@ -0,0 +1,117 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.ev.charging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Id;
+import org.matsim.contrib.ev.fleet.ElectricFleetUtils;
+import org.matsim.contrib.ev.fleet.ElectricVehicle;
+import org.matsim.contrib.ev.fleet.ElectricVehicleSpecification;
+import org.matsim.contrib.ev.infrastructure.Charger;
+import org.matsim.contrib.ev.infrastructure.ChargerSpecification;
+import org.matsim.contrib.ev.infrastructure.ImmutableChargerSpecification;
+import org.matsim.core.api.experimental.events.EventsManager;
+import org.matsim.core.events.EventsUtils;
+import org.matsim.vehicles.Vehicle;
+
+import com.google.common.collect.ImmutableList;
+
+public class ChargingWithQueueingLogicTest {
+	private final ChargerSpecification charger = ImmutableChargerSpecification.newBuilder()
+			.id(Id.create("charger_id", Charger.class))
+			.chargerType(ChargerSpecification.DEFAULT_CHARGER_TYPE)
+			.linkId(Id.createLinkId("link_id"))
+			.plugPower(1000)
+			.plugCount(1)
+			.build();
+
+	private final EventsManager eventsManager = EventsUtils.createEventsManager();
+	private final List<EnergyChargedEvent> energyChargedEvents = new ArrayList<>();
+
+	public ChargingWithQueueingLogicTest() {
+		eventsManager.addHandler(new EnergyChargedEventHandler() {
+			@Override
+			public void handleEvent(EnergyChargedEvent event) {
+				energyChargedEvents.add(event);
+			}
+		});
+	}
+
+	@Test
+	void energyChargedEvents_notAggregated() {
+		ElectricVehicle ev = chargeUpToHalfSoc(0);
+
+		// one event every charge time step
+		assertThat(energyChargedEvents).hasSize(180);
+		assertEnergyChargedEvents(ev);
+	}
+
+	@Test
+	void energyChargedEvents_aggregated() {
+		ElectricVehicle ev = chargeUpToHalfSoc(60);
+
+		// one event every minute (the first one after 5 charge time steps) plus one at the end of charging
+		assertThat(energyChargedEvents).hasSize(31);
+		assertThat(energyChargedEvents.get(0).getTime()).isEqualTo(59);
+		assertThat(energyChargedEvents.get(0).getEnergy()).isEqualTo(500);
+		assertThat(energyChargedEvents.get(1).getEnergy()).isEqualTo(600);
+		assertThat(energyChargedEvents.get(30).getTime()).isEqualTo(1809);
+		assertThat(energyChargedEvents.get(30).getEnergy()).isEqualTo(100);
+		assertEnergyChargedEvents(ev);
+	}
+
+	// charging at 10 W, i.e. 100 J every 10 s, from 0 J to 18 kJ
+	private ElectricVehicle chargeUpToHalfSoc(int energyEventsInterval) {
+		var logic = new ChargingWithQueueingLogic(charger, eventsManager, ChargingPriority.FIFO.create(charger),
+				energyEventsInterval);
+		ElectricVehicle ev = createElectricVehicle();
+		logic.addVehicle(ev, new ChargeUpToMaxSocStrategy(charger, ev, 0.5), 0);
+		for (int time = 9; time < 2000; time += 10) {
+			logic.chargeVehicles(10, time);
+		}
+		logic.emitPendingEvents(2000);
+		return ev;
+	}
+
+	private void assertEnergyChargedEvents(ElectricVehicle ev) {
+		assertThat(ev.getBattery().getCharge()).isEqualTo(18_000);
+		assertThat(energyChargedEvents.stream().mapToDouble(EnergyChargedEvent::getEnergy).sum()).isEqualTo(18_000);
+		assertThat(energyChargedEvents.get(energyChargedEvents.size() - 1).getEndCharge()).isEqualTo(18_000);
+	}
+
+	private ElectricVehicle createElectricVehicle() {
+		record TestEvSpecification(Id<Vehicle> getId, Vehicle getMatsimVehicle, String getVehicleType,
+								   ImmutableList<String> getChargerTypes, double getBatteryCapacity,
+								   double getInitialSoc) implements ElectricVehicleSpecification {
+		}
+		var specification = new TestEvSpecification(Id.create("ev_id", Vehicle.class), null, "vt",
+				ImmutableList.of(ChargerSpecification.DEFAULT_CHARGER_TYPE), 36_000, 0);
+
+		return ElectricFleetUtils.create(specification, ev -> (link, travelTime, linkEnterTime) -> {
+			throw new UnsupportedOperationException();
+		}, ev -> (beginTime, duration, linkId) -> {
+			throw new UnsupportedOperationException();
+		}, ev -> new FixedSpeedCharging(ev, 1));
+	}
+}
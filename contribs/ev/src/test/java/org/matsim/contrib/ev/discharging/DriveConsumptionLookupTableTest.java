@@ -0,0 +1,91 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.ev.discharging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.matsim.contrib.ev.infrastructure.LTHConsumptionModelReader;
+import org.matsim.core.utils.io.IOUtils;
+import org.matsim.testcases.MatsimTestUtils;
+
+public class DriveConsumptionLookupTableTest {
+	@RegisterExtension
+	public final MatsimTestUtils utils = new MatsimTestUtils();
+
+	private final DoubleBinaryOperator bilinearModel = (speed, slope) -> 0.1 + 0.002 * speed + 3 * slope
+			+ 0.05 * speed * slope;
+	private final DoubleBinaryOperator quadraticModel = (speed, slope) -> 0.2 - 0.01 * speed + 0.0004 * speed * speed
+			+ 2 * slope;
+
+	@Test
+	void value_bilinearModel_exact() {
+		var table = DriveConsumptionLookupTable.create(bilinearModel, 0, 30, 4, -0.06, 0.06, 3);
+		Random random = new Random(1);
+		for (int i = 0; i < 100; i++) {
+			double speed = random.nextDouble() * 30;
+			double slope = random.nextDouble() * 0.12 - 0.06;
+			assertThat(table.value(speed, slope)).isCloseTo(bilinearModel.applyAsDouble(speed, slope), within(1e-12));
+		}
+	}
+
+	@Test
+	void value_quadraticModel_boundedError() {
+		// error of linear interpolation <= h^2 / 8 * max|f''| = 0.1^2 / 8 * 0.0008 = 1e-6
+		var table = DriveConsumptionLookupTable.create(quadraticModel, 0, 30, 301, -0.06, 0.06, 13);
+		Random random = new Random(2);
+		for (int i = 0; i < 1000; i++) {
+			double speed = random.nextDouble() * 30;
+			double slope = random.nextDouble() * 0.12 - 0.06;
+			assertThat(table.value(speed, slope)).isCloseTo(quadraticModel.applyAsDouble(speed, slope), within(1.1e-6));
+		}
+	}
+
+	@Test
+	void value_outsideGrid_clamped() {
+		var table = DriveConsumptionLookupTable.create(bilinearModel, 1, 30, 30, -0.06, 0.06, 13);
+		assertThat(table.value(0, -0.1)).isCloseTo(bilinearModel.applyAsDouble(1, -0.06), within(1e-12));
+		assertThat(table.value(50, 0.1)).isCloseTo(bilinearModel.applyAsDouble(30, 0.06), within(1e-12));
+	}
+
+	@Test
+	void writeAndRead() {
+		var table = DriveConsumptionLookupTable.create(quadraticModel, 1, 35, 69, -0.06, 0.06, 13);
+		String file = utils.getOutputDirectory() + "consumption_table.csv";
+		table.writeFile(file);
+
+		var readTable = new LTHConsumptionModelReader().readLookupTable(IOUtils.getFileUrl(file));
+		assertThat(readTable.getMinSpeed()).isEqualTo(1);
+		assertThat(readTable.getMaxSpeed()).isEqualTo(35);
+		assertThat(readTable.getMinSlope()).isCloseTo(-0.06, within(1e-12));
+		assertThat(readTable.getMaxSlope()).isCloseTo(0.06, within(1e-12));
+
+		Random random = new Random(3);
+		for (int i = 0; i < 100; i++) {
+			double speed = 1 + random.nextDouble() * 34;
+			double slope = random.nextDouble() * 0.12 - 0.06;
+			assertThat(readTable.value(speed, slope)).isCloseTo(table.value(speed, slope), within(1e-12));
+		}
+	}
+}
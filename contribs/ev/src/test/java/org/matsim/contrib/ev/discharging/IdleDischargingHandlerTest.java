@@ -0,0 +1,112 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.ev.discharging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.events.ActivityEndEvent;
+import org.matsim.api.core.v01.events.ActivityStartEvent;
+import org.matsim.api.core.v01.events.Event;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.population.Person;
+import org.matsim.contrib.ev.EvConfigGroup;
+import org.matsim.contrib.ev.charging.FixedSpeedCharging;
+import org.matsim.contrib.ev.fleet.ElectricFleetUtils;
+import org.matsim.contrib.ev.fleet.ElectricVehicle;
+import org.matsim.contrib.ev.fleet.ElectricVehicleSpecification;
+import org.matsim.contrib.ev.infrastructure.ChargerSpecification;
+import org.matsim.core.api.experimental.events.EventsManager;
+import org.matsim.core.events.EventsUtils;
+import org.matsim.core.events.handler.BasicEventHandler;
+import org.matsim.core.mobsim.framework.events.MobsimAfterSimStepEvent;
+import org.matsim.core.mobsim.framework.events.MobsimBeforeCleanupEvent;
+import org.matsim.vehicles.Vehicle;
+
+import com.google.common.collect.ImmutableList;
+
+public class IdleDischargingHandlerTest {
+	private final Id<Person> driverId = Id.createPersonId("driver");
+	private final Id<Link> linkId = Id.createLinkId("link");
+
+	private final EventsManager eventsManager = EventsUtils.createEventsManager();
+	private final List<Event> energyEvents = new ArrayList<>();
+
+	public IdleDischargingHandlerTest() {
+		eventsManager.addHandler(new BasicEventHandler() {
+			@Override
+			public void handleEvent(Event event) {
+				if (event instanceof AbstractEnergyConsumptionEvent) {
+					energyEvents.add(event);
+				}
+			}
+		});
+	}
+
+	@Test
+	void aggregatedIdlingEvent_emittedBeforeDriving() {
+		EvConfigGroup evCfg = new EvConfigGroup();
+		evCfg.auxDischargeTimeStep = 10;
+		evCfg.energyEventsInterval = 60;
+		ElectricVehicle ev = createElectricVehicle();
+		var handler = new IdleDischargingHandler(event -> ev, evCfg, eventsManager);
+
+		// idling from 0 to 25 (AUX discharging at 0, 10 and 20), then driving
+		handler.handleEvent(new ActivityStartEvent(0, driverId, linkId, null, "stay"));
+		for (int time = 0; time < 120; time++) {
+			if (time == 25) {
+				handler.handleEvent(new ActivityEndEvent(time, driverId, linkId, null, "stay"));
+			} else if (time == 26) {
+				ev.getBattery().dischargeEnergy(500, missingEnergy -> {
+					throw new IllegalStateException();
+				});
+				eventsManager.processEvent(
+						new DrivingEnergyConsumptionEvent(time, ev.getId(), linkId, 500, ev.getBattery().getCharge()));
+			}
+			handler.notifyMobsimAfterSimStep(new MobsimAfterSimStepEvent<>(null, time));
+		}
+		handler.notifyMobsimBeforeCleanup(new MobsimBeforeCleanupEvent<>(null));
+
+		assertThat(energyEvents).hasSize(2);
+		var idlingEvent = (IdlingEnergyConsumptionEvent)energyEvents.get(0);
+		assertThat(idlingEvent.getTime()).isEqualTo(25);
+		assertThat(idlingEvent.getEnergy()).isEqualTo(30);
+		assertThat(idlingEvent.getEndCharge()).isEqualTo(17_970);
+		var drivingEvent = (DrivingEnergyConsumptionEvent)energyEvents.get(1);
+		assertThat(drivingEvent.getEndCharge()).isEqualTo(17_470);
+	}
+
+	// AUX consumption of 1 W, initial charge of 18 kJ
+	private ElectricVehicle createElectricVehicle() {
+		record TestEvSpecification(Id<Vehicle> getId, Vehicle getMatsimVehicle, String getVehicleType,
+								   ImmutableList<String> getChargerTypes, double getBatteryCapacity,
+								   double getInitialSoc) implements ElectricVehicleSpecification {
+		}
+		var specification = new TestEvSpecification(Id.create("ev_id", Vehicle.class), null, "vt",
+				ImmutableList.of(ChargerSpecification.DEFAULT_CHARGER_TYPE), 36_000, 0.5);
+
+		return ElectricFleetUtils.create(specification, ev -> (link, travelTime, linkEnterTime) -> {
+			throw new UnsupportedOperationException();
+		}, ev -> (beginTime, duration, linkId) -> duration, ev -> new FixedSpeedCharging(ev, 1));
+	}
+}
@@ -33,8 +33,9 @@ public class DEMContextImpl implements DEMContext {
         }
     }
 
+    // GridCoverage2D.evaluate() is not thread-safe
     @Override
-    public float getElevation(Position point) {
+    public synchronized float getElevation(Position point) {
         float[] sample =  (float[])coverage.evaluate(point);
         return sample[0];
     }
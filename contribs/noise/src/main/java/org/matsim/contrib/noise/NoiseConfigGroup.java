@@ -88,6 +88,7 @@ public final class NoiseConfigGroup extends ReflectiveConfigGroup {
 	private static final String NOISE_COMPUTATION_METHOD = "noiseComputationMethod";
 	private static final String USE_DEM = "useDGM";
 	private static final String DEM_FILE = "DGMFile";
+	private static final String RECEIVER_POINT_LINK_CORRECTIONS_FILE = "receiverPointLinkCorrectionsFile";
 
 	public NoiseConfigGroup() {
 		super(GROUP_NAME);
@@ -150,6 +151,8 @@ public final class NoiseConfigGroup extends ReflectiveConfigGroup {
 	private boolean useDEM = false;
 	private String demFile = null;
 
+	private String receiverPointLinkCorrectionsFile = null;
+
 	public enum NoiseComputationMethod {
 		RLS90, RLS19
 	}
@@ -213,6 +216,11 @@ public final class NoiseConfigGroup extends ReflectiveConfigGroup {
 		comments.put(USE_DEM, "Set to 'true' if a DEM (digital elevation model) should be used for road gradients. Otherwise set to 'false'.");
 		comments.put(DEM_FILE, "Path to the geoTiff file of the DEM.");
 
+		comments.put(RECEIVER_POINT_LINK_CORRECTIONS_FILE, "Path to a csv file with the correction terms of all receiver point / link pairs within the relevant radius. "
+			+ "If the file exists, the correction terms (distance, angle, shielding, reflection) are read from it instead of being computed. "
+			+ "Otherwise, they are computed and written to this file. "
+			+ "The file is only valid for the same network, receiver points, relevant radius, noise barriers and noise computation method.");
+
 		comments.put(NETWORK_MODES_TO_IGNORE, "Specifies the network modes to be excluded from the noise computation. By default, the following modes are excluded: [bike, walk, transit_walk, non_network_walk].");
 
 		comments.put(NOISE_COMPUTATION_METHOD, "Specifies the computation method of different guidelines: " + Arrays.toString(NoiseComputationMethod.values()));
@@ -833,6 +841,16 @@ public final class NoiseConfigGroup extends ReflectiveConfigGroup {
 		this.demFile = demFilePath;
 	}
 
+	@StringGetter(RECEIVER_POINT_LINK_CORRECTIONS_FILE)
+	public String getReceiverPointLinkCorrectionsFile() {
+		return this.receiverPointLinkCorrectionsFile;
+	}
+
+	@StringSetter(RECEIVER_POINT_LINK_CORRECTIONS_FILE)
+	public void setReceiverPointLinkCorrectionsFile(String receiverPointLinkCorrectionsFile) {
+		this.receiverPointLinkCorrectionsFile = receiverPointLinkCorrectionsFile;
+	}
+
 	@StringGetter(NOISE_BARRIERS_SOURCE_CRS)
 	public String getNoiseBarriersSourceCRS() {
 		return this.noiseBarriersSourceCrs;
@@ -2,6 +2,7 @@ package org.matsim.contrib.noise;
 
 import com.google.inject.Inject;
 import gnu.trove.map.TObjectDoubleMap;
+import gnu.trove.map.hash.TObjectDoubleHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.matsim.api.core.v01.Id;
@@ -61,15 +62,19 @@ public class NoiseDamageCalculation {
     }
 
 
-    void calculateDamages(NoiseReceiverPoint rp) {
+    /**
+     * Computes the damages at the given receiver point. The damage costs allocated to the causing links are collected in the given
+     * {@link LinkDamageCosts} and only added to the noise links by {@link LinkDamageCosts#addToNoiseLinks(Map)}.
+     */
+    void calculateDamages(NoiseReceiverPoint rp, LinkDamageCosts linkDamageCosts) {
         if (this.noiseContext.getNoiseParams().isComputePopulationUnits()) {
             calculateAffectedAgentUnits(rp);
             if (this.noiseContext.getNoiseParams().isComputeNoiseDamages()) {
                 calculateDamagePerReceiverPoint(rp);
             }
             if (this.noiseContext.getNoiseParams().isComputeCausingAgents()) {
-                computeAverageDamageCost(rp);
-                calculateMarginalDamageCost(rp);
+                computeAverageDamageCost(rp, linkDamageCosts);
+                calculateMarginalDamageCost(rp, linkDamageCosts);
             }
         }
     }
@@ -188,25 +193,22 @@ public class NoiseDamageCalculation {
     /*
      * Noise allocation approach: AverageCost
      */
-    private void computeAverageDamageCost(NoiseReceiverPoint rp) {
-        calculateCostSharesPerLinkPerTimeInterval(rp);
+    private void computeAverageDamageCost(NoiseReceiverPoint rp, LinkDamageCosts linkDamageCosts) {
+        calculateCostSharesPerLinkPerTimeInterval(rp, linkDamageCosts);
 //		calculateCostsPerVehiclePerLinkPerTimeInterval();
     }
 
     /*
      * Noise allocation approach: AverageCost
      */
-    private void calculateCostSharesPerLinkPerTimeInterval(NoiseReceiverPoint rp) {
+    private void calculateCostSharesPerLinkPerTimeInterval(NoiseReceiverPoint rp, LinkDamageCosts linkDamageCosts) {
         if (rp.getDamageCosts() != 0.) {
             for (Id<Link> linkId : rp.getLinkId2IsolatedImmission().keySet()) {
                 double linkImmission = rp.getLinkId2IsolatedImmission().get(linkId);
                 if (!(linkImmission == 0.)) {
                     double costShare = NoiseEquations.calculateShareOfResultingNoiseImmission(linkImmission, rp.getCurrentImmission());
                     double costs = costShare * rp.getDamageCosts();
-                    NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
-                    if ( noiseLink != null) {
-                        noiseLink.addDamageCost(costs);
-                    }
+                    linkDamageCosts.addDamageCost(linkId, costs);
                 }
             }
         }
@@ -217,7 +219,8 @@ public class NoiseDamageCalculation {
      */
     private void calculateCostsPerVehiclePerLinkPerTimeInterval() {
 
-        for (Id<Link> linkId : this.noiseContext.getScenario().getNetwork().getLinks().keySet()) {
+        // links are independent of each other
+        this.noiseContext.getScenario().getNetwork().getLinks().keySet().parallelStream().forEach(linkId -> {
             NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
             if (noiseLink != null) {
                 double damageCostSum = noiseLink.getDamageCost();
@@ -250,7 +253,7 @@ public class NoiseDamageCalculation {
                     }
                 }
             }
-        }
+        });
     }
 
     //	/*
@@ -285,7 +288,7 @@ public class NoiseDamageCalculation {
     /*
      * Noise allocation approach: MarginalCost
      */
-    private void calculateMarginalDamageCost(NoiseReceiverPoint rp) {
+    private void calculateMarginalDamageCost(NoiseReceiverPoint rp, LinkDamageCosts linkDamageCosts) {
 
         if (rp.getAffectedAgentUnits() != 0.) {
             for(NoiseVehicleType type: vehicleTypes) {
@@ -312,8 +315,7 @@ public class NoiseDamageCalculation {
                             marginalDamageCostVehicleThisLink = 0.;
                         }
                     }
-                    NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(thisLink);
-                    noiseLink.addMarginalDamageCostPerVehicle(type, marginalDamageCostVehicleThisLink);
+                    linkDamageCosts.addMarginalDamageCostPerVehicle(type, thisLink, marginalDamageCostVehicleThisLink);
                 }
             }
         }
@@ -437,4 +439,36 @@ public class NoiseDamageCalculation {
     public void setOutputFilePath(String outputFilePath) {
         this.outputDirectory = outputFilePath;
     }
+
+    /**
+     * Damage costs allocated to the causing links while a partition of receiver points is processed. The partitions are added to the
+     * noise links one after the other, so that the resulting sums do not depend on the thread scheduling.
+     */
+    static final class LinkDamageCosts {
+        private final TObjectDoubleMap<Id<Link>> damageCosts = new TObjectDoubleHashMap<>();
+        private final Map<NoiseVehicleType, TObjectDoubleMap<Id<Link>>> marginalDamageCostsPerVehicle = new HashMap<>();
+
+        void addDamageCost(Id<Link> linkId, double damageCost) {
+            damageCosts.adjustOrPutValue(linkId, damageCost, damageCost);
+        }
+
+        void addMarginalDamageCostPerVehicle(NoiseVehicleType type, Id<Link> linkId, double marginalDamageCostPerVehicle) {
+            marginalDamageCostsPerVehicle.computeIfAbsent(type, t -> new TObjectDoubleHashMap<>())
+                    .adjustOrPutValue(linkId, marginalDamageCostPerVehicle, marginalDamageCostPerVehicle);
+        }
+
+        void addToNoiseLinks(Map<Id<Link>, NoiseLink> noiseLinks) {
+            damageCosts.forEachEntry((linkId, damageCost) -> {
+                NoiseLink noiseLink = noiseLinks.get(linkId);
+                if (noiseLink != null) {
+                    noiseLink.addDamageCost(damageCost);
+                }
+                return true;
+            });
+            marginalDamageCostsPerVehicle.forEach((type, linkId2Cost) -> linkId2Cost.forEachEntry((linkId, marginalDamageCost) -> {
+                noiseLinks.get(linkId).addMarginalDamageCostPerVehicle(type, marginalDamageCost);
+                return true;
+            }));
+        }
+    }
 }
@@ -58,6 +58,7 @@ final class NoiseLink {
 	private final Map<NoiseVehicleType, Double> averageDamageCosts = new HashMap<>();
 
 	private double emission = 0.;
+	private double emissionEnergy = 0.;
 	private double damageCost = 0.; 
 
 
@@ -110,6 +111,15 @@ final class NoiseLink {
 
 	public void setEmission(double emission) {
 		this.emission = emission;
+		this.emissionEnergy = emission == 0. ? 0. : Math.pow(10, 0.1 * emission);
+	}
+
+	/**
+	 * @return the emission on the energetic scale, i.e. 10^(0.1 * emission), or 0 if there is no emission. Computed once per
+	 * time bin so that the immission calculation does not need to convert it for every receiver point.
+	 */
+	double getEmissionEnergy() {
+		return emissionEnergy;
 	}
 
 	double getEmissionPlusOneVehicle(NoiseVehicleType type) {
@@ -52,7 +52,19 @@ public class NoiseReceiverPoint extends ReceiverPoint {
 	 */
 	private boolean initialized = false;
 
-	private TObjectDoubleMap<Id<Link>> linkId2Correction = null;
+	/**
+	 * Correction terms collected while the relevant links are determined. Compacted into {@link #relevantLinkIndices} and
+	 * {@link #linkCorrections} once the receiver point is initialized.
+	 */
+	private volatile TObjectDoubleMap<Id<Link>> linkId2Correction = null;
+
+	/**
+	 * Sparse row of the receiver point x link correction matrix: indices of the relevant links in ascending order and the
+	 * corresponding correction terms.
+	 */
+	private int[] relevantLinkIndices = new int[0];
+	private double[] linkCorrections = new double[0];
+
 	private TObjectDoubleMap<Id<Link>> linkId2IsolatedImmission = null;
 
 	// time-specific information
@@ -88,28 +100,70 @@ public class NoiseReceiverPoint extends ReceiverPoint {
 	}
 
 	Collection<Id<Link>> getRelevantLinks() {
-		if(linkId2Correction == null) {
-			return Collections.emptySet();
-		} else {
-			return linkId2Correction.keySet();
+		compactLinkCorrections();
+		List<Id<Link>> relevantLinks = new ArrayList<>(relevantLinkIndices.length);
+		for (int linkIndex : relevantLinkIndices) {
+			relevantLinks.add(Id.get(linkIndex, Link.class));
 		}
+		return relevantLinks;
 	}
 
 	synchronized void setLinkId2Correction(Id<Link> linkId, double correction) {
 		if(linkId2Correction== null) {
 			linkId2Correction = new TObjectDoubleHashMap<>();
+			for (int i = 0; i < relevantLinkIndices.length; i++) {
+				linkId2Correction.put(Id.get(relevantLinkIndices[i], Link.class), linkCorrections[i]);
+			}
 		}
 		this.linkId2Correction.put(linkId, correction);
 	}
 
 	double getLinkCorrection(Id<Link> linkId) {
-		if(linkId2Correction == null) {
-			return 0;
+		compactLinkCorrections();
+		int i = Arrays.binarySearch(relevantLinkIndices, linkId.index());
+		return i >= 0 ? linkCorrections[i] : 0;
+	}
+
+	int getRelevantLinkCount() {
+		compactLinkCorrections();
+		return relevantLinkIndices.length;
+	}
+
+	/**
+	 * @return the index of the i-th relevant link, see {@link Id#index()}
+	 */
+	int getRelevantLinkIndex(int i) {
+		return relevantLinkIndices[i];
+	}
+
+	/**
+	 * @return the correction term of the i-th relevant link
+	 */
+	double getLinkCorrectionAt(int i) {
+		return linkCorrections[i];
+	}
+
+	private void compactLinkCorrections() {
+		if (linkId2Correction == null) {
+			return;
 		}
-		if(linkId2Correction.containsKey(linkId)) {
-			return linkId2Correction.get(linkId);
-		} else {
-			return 0;
+		synchronized (this) {
+			if (linkId2Correction == null) {
+				return;
+			}
+			int[] indices = new int[linkId2Correction.size()];
+			int i = 0;
+			for (Id<Link> linkId : linkId2Correction.keySet()) {
+				indices[i++] = linkId.index();
+			}
+			Arrays.sort(indices);
+			double[] corrections = new double[indices.length];
+			for (i = 0; i < indices.length; i++) {
+				corrections[i] = linkId2Correction.get(Id.get(indices[i], Link.class));
+			}
+			this.relevantLinkIndices = indices;
+			this.linkCorrections = corrections;
+			this.linkId2Correction = null;
 		}
 	}
 
@@ -220,6 +274,7 @@ public class NoiseReceiverPoint extends ReceiverPoint {
 	}
 
 	void setInitialized() {
+		compactLinkCorrections();
 		this.initialized = true;
 	}
 
@@ -42,10 +42,14 @@ import org.matsim.core.utils.misc.Time;
 import org.matsim.utils.MemoryObserver;
 import org.matsim.vehicles.Vehicle;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * A handler which computes noise emissions, immisions, affected agent units and damages for each receiver point and time interval.
@@ -59,6 +63,12 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 	private static final Logger log = LogManager.getLogger(NoiseTimeTracker.class);
 	private static final boolean printLog = true;
 
+	/**
+	 * Number of receiver points which are processed as one unit of work. Independent of the number of threads, so that the link
+	 * damage costs are always added up in the same order.
+	 */
+	private static final int RECEIVER_POINT_PARTITION_SIZE = 1000;
+
 	private NoiseContext noiseContext;
 
 	private String outputDirectory;
@@ -91,9 +101,16 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 	}
 
 	private void setRelevantLinkInfo() {
+		final NoiseConfigGroup noiseParams = noiseContext.getNoiseParams();
+		String correctionsFile = noiseParams.getReceiverPointLinkCorrectionsFile();
+		if (correctionsFile != null && new File(correctionsFile).exists()) {
+			ReceiverPointLinkCorrectionsIO.read(noiseContext.getGrid().getReceiverPoints(), correctionsFile);
+			noiseContext.getReceiverPoints().putAll(noiseContext.getGrid().getReceiverPoints());
+			return;
+		}
+
 		MemoryObserver.start(60);
 		Counter cnt = new Counter("set relevant link-info # ");
-		final NoiseConfigGroup noiseParams = noiseContext.getNoiseParams();
 		for(NoiseReceiverPoint nrp: noiseContext.getGrid().getReceiverPoints().values()) {
 			if(!nrp.isInitialized()) {
 				// get the zone grid cell around the receiver point
@@ -121,6 +138,10 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 		}
 		cnt.printCounter();
 		MemoryObserver.stop();
+
+		if (correctionsFile != null) {
+			ReceiverPointLinkCorrectionsIO.write(noiseContext.getReceiverPoints().values(), correctionsFile);
+		}
 	}
 
 
@@ -181,11 +202,11 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 
 	private void updateActivityInformation() {
 		double timeBinEnd = this.noiseContext.getCurrentTimeBinEndTime() - this.noiseContext.getNoiseParams().getTimeBinSizeNoiseComputation() ;
-		for (NoiseReceiverPoint rp : this.noiseContext.getReceiverPoints().values()) {
+		this.noiseContext.getReceiverPoints().values().parallelStream().forEach(rp -> {
 			for (Id<Person> personId : rp.getPersonId2actInfos().keySet()) {
 				rp.getPersonId2actInfos().get(personId).removeIf(personActivityInfo -> personActivityInfo.getEndTime() < (timeBinEnd));
 			}
-		}
+		});
 	}
 
 	private void computeNoiseForCurrentTimeInterval() {
@@ -236,15 +257,20 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 	 */
 	private void calculateNoiseEmission() {
 		Counter cnt = new Counter("calculate link noise emission # ");
+		// the noise links are created on this thread, their emissions are independent of each other and computed in parallel
+		List<NoiseLink> noiseLinks = new ArrayList<>(this.noiseContext.getScenario().getNetwork().getLinks().size());
 		for (Id<Link> linkId : this.noiseContext.getScenario().getNetwork().getLinks().keySet()) {
 			NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
             if(noiseLink == null) {
                 noiseLink = new NoiseLink(linkId);
                 this.noiseContext.getNoiseLinks().put(linkId, noiseLink );
             }
+			noiseLinks.add(noiseLink);
+		}
+		noiseLinks.parallelStream().forEach(noiseLink -> {
 			emission.calculateEmission(noiseLink);
 			cnt.incCounter();
-		}
+		});
 		cnt.printCounter();
 	}
 
@@ -253,16 +279,29 @@ class NoiseTimeTracker implements VehicleEntersTrafficEventHandler, PersonEnters
 	 */
 	private void calculateNoiseImmissionsAndDamages() {
 		Counter cnt = new Counter("process noise receiver point # ");
-		this.noiseContext.getReceiverPoints().values().parallelStream().forEach( rp -> {
-			immissionModule.calculateImmission(rp, this.noiseContext.getCurrentTimeBinEndTime());
-			damageCalculation.calculateDamages(rp);
-            cnt.incCounter();
-
-            //free up memory
-            rp.setLinkId2IsolatedImmission(null);
-            rp.setLinkId2IsolatedImmissionPlusOneVehicle(null);
-		});
+		List<NoiseReceiverPoint> receiverPoints = new ArrayList<>(this.noiseContext.getReceiverPoints().values());
+		int partitionCount = (receiverPoints.size() + RECEIVER_POINT_PARTITION_SIZE - 1) / RECEIVER_POINT_PARTITION_SIZE;
+		List<NoiseDamageCalculation.LinkDamageCosts> partitionDamageCosts = IntStream.range(0, partitionCount).parallel().mapToObj(partition -> {
+			NoiseDamageCalculation.LinkDamageCosts linkDamageCosts = new NoiseDamageCalculation.LinkDamageCosts();
+			int from = partition * RECEIVER_POINT_PARTITION_SIZE;
+			int to = Math.min(receiverPoints.size(), from + RECEIVER_POINT_PARTITION_SIZE);
+			for (NoiseReceiverPoint rp : receiverPoints.subList(from, to)) {
+				immissionModule.calculateImmission(rp, this.noiseContext.getCurrentTimeBinEndTime());
+				damageCalculation.calculateDamages(rp, linkDamageCosts);
+				cnt.incCounter();
+
+				//free up memory
+				rp.setLinkId2IsolatedImmission(null);
+				rp.setLinkId2IsolatedImmissionPlusOneVehicle(null);
+			}
+			return linkDamageCosts;
+		}).toList();
 		cnt.printCounter();
+
+		// add up the link damage costs in partition order, i.e. independent of the thread scheduling
+		for (NoiseDamageCalculation.LinkDamageCosts linkDamageCosts : partitionDamageCosts) {
+			linkDamageCosts.addToNoiseLinks(this.noiseContext.getNoiseLinks());
+		}
 		log.info("Done processing receiver points.");
 		damageCalculation.finishNoiseDamageCosts();
 	}
@@ -8,9 +8,11 @@ import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.geometry.Position2D;
 import org.geotools.referencing.CRS;
 import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.IdMap;
 import org.matsim.api.core.v01.Scenario;
 import org.matsim.api.core.v01.network.Link;
 import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
 import org.matsim.core.config.Config;
 import org.matsim.core.config.ConfigUtils;
 
@@ -29,6 +31,9 @@ class RLS19NoiseEmission implements NoiseEmission {
     private final DEMContext demContext;
     private CoordinateReferenceSystem crs;
 
+    // gradients (in %) derived from the DEM, which is not thread-safe, so they are computed once and serially
+    private final IdMap<Link, Double> demGradients = new IdMap<>(Link.class);
+
     @Inject
     RLS19NoiseEmission(Scenario scenario, RoadSurfaceContext surfaceContext, DEMContext demContext) {
         Config config = scenario.getConfig();
@@ -41,6 +46,26 @@ class RLS19NoiseEmission implements NoiseEmission {
         network = scenario.getNetwork();
         this.surfaceContext = surfaceContext;
         this.demContext = demContext;
+
+        if (noiseParams.isUseDEM()) {
+            calculateDemGradients();
+        }
+    }
+
+    private void calculateDemGradients() {
+        IdMap<Node, Float> elevations = new IdMap<>(Node.class);
+        for (Link link : network.getLinks().values()) {
+            float elevationFrom = elevations.computeIfAbsent(link.getFromNode().getId(), id -> getElevation(link.getFromNode()));
+            float elevationTo = elevations.computeIfAbsent(link.getToNode().getId(), id -> getElevation(link.getToNode()));
+            demGradients.put(link.getId(), ((elevationTo - elevationFrom) / link.getLength()) * 100);
+        }
+    }
+
+    private float getElevation(Node node) {
+        Coord coord = node.getCoord();
+        //MATSim coord's x/y are inversed to geotools/jts
+        Position position = new Position2D(crs, coord.getY(), coord.getX());
+        return demContext.getElevation(position);
     }
 
     /**
@@ -160,17 +185,7 @@ class RLS19NoiseEmission implements NoiseEmission {
         double g = 0;
         Link matsimLink = network.getLinks().get(link.getId());
         if(noiseParams.isUseDEM()) {
-            Coord from = matsimLink.getFromNode().getCoord();
-            Coord to = matsimLink.getToNode().getCoord();
-
-            //MATSim coord's x/y are inversed to geotools/jts
-            Position positionFrom = new Position2D(crs, from.getY(), from.getX());
-            Position positionTo = new Position2D(crs, to.getY(), to.getX());
-
-            float elevationFrom = demContext.getElevation(positionFrom);
-            float elevationTo = demContext.getElevation(positionTo);
-
-            g = ((elevationTo - elevationFrom) / matsimLink.getLength()) * 100;
+            g = demGradients.get(matsimLink.getId());
         } else {
             final Object gradient = matsimLink.getAttributes().getAttribute(GRADIENT);
             if(gradient != null) {
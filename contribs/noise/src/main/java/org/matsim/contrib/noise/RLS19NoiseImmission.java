@@ -44,49 +44,62 @@ public class RLS19NoiseImmission implements NoiseImmission {
     @Override
     public void calculateImmission(NoiseReceiverPoint rp, double currentTimeBinEndTime) {
 
-        double resultingNoiseImmission = 0.;
-        double sumTmp = 0.;
+        // isolated immissions per link are only needed to allocate the damages to the causing links
+        final boolean computeIsolatedImmissions = noiseParams.isComputeCausingAgents();
+        final int relevantLinkCount = rp.getRelevantLinkCount();
+
+        Map<RLS19VehicleType, TObjectDoubleMap<Id<Link>>> linkId2IsolatedImmissionPlusOneVehicle = null;
+        TObjectDoubleMap<Id<Link>> linkId2IsolatedImmission = null;
+        if (computeIsolatedImmissions) {
+            linkId2IsolatedImmissionPlusOneVehicle = new EnumMap<>(RLS19VehicleType.class);
+            linkId2IsolatedImmission = new TObjectDoubleHashMap<>(relevantLinkCount);
+        }
 
-        Map<RLS19VehicleType, TObjectDoubleMap<Id<Link>>> linkId2IsolatedImmissionPlusOneVehicle = new EnumMap<>(RLS19VehicleType.class);
-        TObjectDoubleMap<Id<Link>> linkId2IsolatedImmission = new TObjectDoubleHashMap<>(rp.getRelevantLinks().size());
-        if (!rp.getRelevantLinks().isEmpty()) {
-            for (Id<Link> linkId : rp.getRelevantLinks()) {
-                double noiseImmission = 0;
-                if (noiseParams.getTunnelLinkIDsSet().contains(linkId)) {
+        // energetic sum over the sparse row of (linear) correction terms of this receiver point
+        double sumTmp = 0.;
+        for (int i = 0; i < relevantLinkCount; i++) {
+            Id<Link> linkId = Id.get(rp.getRelevantLinkIndex(i), Link.class);
+            if (noiseParams.getTunnelLinkIDsSet().contains(linkId)) {
+                if (computeIsolatedImmissions) {
                     linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(pkw, type -> new TObjectDoubleHashMap<>()).put(linkId, 0.);
                     linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(lkw1, type -> new TObjectDoubleHashMap<>()).put(linkId, 0.);
                     linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(lkw2, type -> new TObjectDoubleHashMap<>()).put(linkId, 0.);
+                }
+                continue;
+            }
+            NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
+            if (noiseLink == null) {
+                continue;
+            }
+            double correction = rp.getLinkCorrectionAt(i);
+            double noiseImmission = calculateLinkImmission(correction, noiseLink);
+            sumTmp += noiseImmission;
+
+            if (computeIsolatedImmissions) {
+                double isolatedLinkImmission;
+                if(noiseImmission > 0) {
+                    isolatedLinkImmission = 10 * Math.log10(noiseImmission);
                 } else {
-                    NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
-                    if (noiseLink != null) {
-                        noiseImmission = calculateLinkImmission(rp, noiseLink);
-                        double isolatedLinkImmission;
-                        if(noiseImmission > 0) {
-                            isolatedLinkImmission = 10 * Math.log10(noiseImmission);
-                        } else {
-                            isolatedLinkImmission = 0;
-                        }
-                        linkId2IsolatedImmission.put(linkId, isolatedLinkImmission);
-                        for (RLS19VehicleType vehicleType : RLS19VehicleType.values()) {
-                            double immissionPlusOne = calculateIsolatedLinkImmissionPlusOneVehicle(rp, noiseLink, vehicleType);
-                            if (immissionPlusOne < 0.) {
-                                immissionPlusOne = 0.;
-                            }
-                            if (immissionPlusOne < isolatedLinkImmission) {
-                                throw new RuntimeException("noise immission: " + noiseImmission + " - noise immission plus one "
-                                        + vehicleType.getId() + immissionPlusOne + ". This should not happen. Aborting...");
-                            }
-                            linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(vehicleType, type -> new TObjectDoubleHashMap<>(rp.getRelevantLinks().size())).put(linkId, immissionPlusOne);
-                        }
-                    }
+                    isolatedLinkImmission = 0;
                 }
-                if (noiseImmission > 0.) {
-                    sumTmp += noiseImmission;
+                linkId2IsolatedImmission.put(linkId, isolatedLinkImmission);
+                for (RLS19VehicleType vehicleType : RLS19VehicleType.values()) {
+                    double immissionPlusOne = calculateIsolatedLinkImmissionPlusOneVehicle(correction, noiseLink, vehicleType);
+                    if (immissionPlusOne < 0.) {
+                        immissionPlusOne = 0.;
+                    }
+                    if (immissionPlusOne < isolatedLinkImmission) {
+                        throw new RuntimeException("noise immission: " + noiseImmission + " - noise immission plus one "
+                                + vehicleType.getId() + immissionPlusOne + ". This should not happen. Aborting...");
+                    }
+                    linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(vehicleType, type -> new TObjectDoubleHashMap<>(relevantLinkCount)).put(linkId, immissionPlusOne);
                 }
             }
-            if (sumTmp > 0) {
-                resultingNoiseImmission = 10 * Math.log10((sumTmp));
-            }
+        }
+
+        double resultingNoiseImmission = 0.;
+        if (sumTmp > 0) {
+            resultingNoiseImmission = 10 * Math.log10((sumTmp));
         }
         rp.setCurrentImmission(resultingNoiseImmission, currentTimeBinEndTime);
         rp.setLinkId2IsolatedImmission(linkId2IsolatedImmission);
@@ -203,21 +216,17 @@ public class RLS19NoiseImmission implements NoiseImmission {
     }
 
 
-    private double calculateLinkImmission(NoiseReceiverPoint rp, NoiseLink noiseLink) {
-        if (!(noiseLink.getEmission() == 0.)) {
-            double noiseImmission = Math.pow(10, 0.1 * noiseLink.getEmission()) * rp.getLinkCorrection(noiseLink.getId());
-            if (noiseImmission < 0.) {
-                noiseImmission = 0.;
-            }
-            return noiseImmission;
-        } else {
-            return 0;
+    private double calculateLinkImmission(double correction, NoiseLink noiseLink) {
+        double noiseImmission = noiseLink.getEmissionEnergy() * correction;
+        if (noiseImmission < 0.) {
+            noiseImmission = 0.;
         }
+        return noiseImmission;
     }
 
-    private double calculateIsolatedLinkImmissionPlusOneVehicle(NoiseReceiverPoint rp, NoiseLink noiseLink, NoiseVehicleType type) {
+    private double calculateIsolatedLinkImmissionPlusOneVehicle(double correction, NoiseLink noiseLink, NoiseVehicleType type) {
         if (!(noiseLink.getEmission() == 0.)) {
-            double noiseImmission = 10 * Math.log10(Math.pow(10, 0.1 * noiseLink.getEmissionPlusOneVehicle(type)) * rp.getLinkCorrection(noiseLink.getId()));
+            double noiseImmission = 10 * Math.log10(Math.pow(10, 0.1 * noiseLink.getEmissionPlusOneVehicle(type)) * correction);
 
             if (noiseImmission < 0.) {
                 noiseImmission = 0.;
@@ -35,52 +35,64 @@ class RLS90NoiseImmission implements NoiseImmission {
     @Override
     public void calculateImmission(NoiseReceiverPoint rp, double currentTimeBinEndTime) {
 
-        double resultingNoiseImmission = 0.;
-        double sumTmp = 0.;
+        // isolated immissions per link are only needed to allocate the damages to the causing links
+        final boolean computeIsolatedImmissions = noiseParams.isComputeCausingAgents();
+        final int relevantLinkCount = rp.getRelevantLinkCount();
+
+        Map<RLS90VehicleType, TObjectDoubleMap<Id<Link>>> linkId2IsolatedImmissionPlusOneVehicle = null;
+        TObjectDoubleMap<Id<Link>> linkId2IsolatedImmission = null;
+        if (computeIsolatedImmissions) {
+            linkId2IsolatedImmissionPlusOneVehicle = new EnumMap<>(RLS90VehicleType.class);
+            linkId2IsolatedImmission = new TObjectDoubleHashMap<>(relevantLinkCount);
+        }
 
-        Map<RLS90VehicleType, TObjectDoubleMap<Id<Link>>> linkId2IsolatedImmissionPlusOneVehicle = new EnumMap<>(RLS90VehicleType.class);
-        TObjectDoubleMap<Id<Link>> linkId2IsolatedImmission = new TObjectDoubleHashMap<>(rp.getRelevantLinks().size());
-        if(!rp.getRelevantLinks().isEmpty()) {
-            for (Id<Link> linkId : rp.getRelevantLinks()) {
-                double noiseImmission = 0;
-                if (noiseParams.getTunnelLinkIDsSet().contains(linkId)) {
+        double sumTmp = 0.;
+        for (int i = 0; i < relevantLinkCount; i++) {
+            Id<Link> linkId = Id.get(rp.getRelevantLinkIndex(i), Link.class);
+            if (noiseParams.getTunnelLinkIDsSet().contains(linkId)) {
+                if (computeIsolatedImmissions) {
                     linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(RLS90VehicleType.car, type -> new TObjectDoubleHashMap<>()).put(linkId, 0.);
                     linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(RLS90VehicleType.hgv, type -> new TObjectDoubleHashMap<>()).put(linkId, 0.);
-                } else {
-                    NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
-                    if (noiseLink != null) {
-                        noiseImmission = calculateIsolatedLinkImmission(rp, noiseLink);
-                        linkId2IsolatedImmission.put(linkId, noiseImmission);
-                        for (RLS90VehicleType vehicleType : RLS90VehicleType.values()) {
-                            double immissionPlusOne = calculateIsolatedLinkImmissionPlusOneVehicle(rp, noiseLink, vehicleType);
-                            if (immissionPlusOne < 0.) {
-                                immissionPlusOne = 0.;
-                            }
-                            if (immissionPlusOne < noiseImmission) {
-                                throw new RuntimeException("noise immission: " + noiseImmission + " - noise immission plus one "
-                                        + vehicleType.getId() + immissionPlusOne + ". This should not happen. Aborting...");
-                            }
-                            linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(vehicleType, type -> new TObjectDoubleHashMap<>(rp.getRelevantLinks().size())).put(linkId, immissionPlusOne);
-                        }
-                    }
-                }
-                if (noiseImmission > 0.) {
-                    sumTmp += (Math.pow(10, (0.1 * noiseImmission)));
                 }
+                continue;
             }
-            if (sumTmp > 0) {
-                resultingNoiseImmission = 10 * Math.log10((sumTmp));
+            NoiseLink noiseLink = this.noiseContext.getNoiseLinks().get(linkId);
+            if (noiseLink == null) {
+                continue;
+            }
+            double correction = rp.getLinkCorrectionAt(i);
+            double noiseImmission = calculateIsolatedLinkImmission(correction, noiseLink);
+            if (noiseImmission > 0.) {
+                sumTmp += (Math.pow(10, (0.1 * noiseImmission)));
+            }
+
+            if (computeIsolatedImmissions) {
+                linkId2IsolatedImmission.put(linkId, noiseImmission);
+                for (RLS90VehicleType vehicleType : RLS90VehicleType.values()) {
+                    double immissionPlusOne = calculateIsolatedLinkImmissionPlusOneVehicle(correction, noiseLink, vehicleType);
+                    if (immissionPlusOne < 0.) {
+                        immissionPlusOne = 0.;
+                    }
+                    if (immissionPlusOne < noiseImmission) {
+                        throw new RuntimeException("noise immission: " + noiseImmission + " - noise immission plus one "
+                                + vehicleType.getId() + immissionPlusOne + ". This should not happen. Aborting...");
+                    }
+                    linkId2IsolatedImmissionPlusOneVehicle.computeIfAbsent(vehicleType, type -> new TObjectDoubleHashMap<>(relevantLinkCount)).put(linkId, immissionPlusOne);
+                }
             }
         }
+
+        double resultingNoiseImmission = 0.;
+        if (sumTmp > 0) {
+            resultingNoiseImmission = 10 * Math.log10((sumTmp));
+        }
         rp.setCurrentImmission(resultingNoiseImmission, currentTimeBinEndTime);
         rp.setLinkId2IsolatedImmission(linkId2IsolatedImmission);
         rp.setLinkId2IsolatedImmissionPlusOneVehicle(linkId2IsolatedImmissionPlusOneVehicle);
 
     }
 
-    private double calculateIsolatedLinkImmission(NoiseReceiverPoint rp, NoiseLink noiseLink) {
-
-        double correction = rp.getLinkCorrection(noiseLink.getId());
+    private double calculateIsolatedLinkImmission(double correction, NoiseLink noiseLink) {
 
         double noiseImmission = 0.;
         if (!(noiseLink.getEmission() == 0.)) {
@@ -111,10 +123,9 @@ class RLS90NoiseImmission implements NoiseImmission {
     }
 
 
-    private double calculateIsolatedLinkImmissionPlusOneVehicle(NoiseReceiverPoint rp, NoiseLink noiseLink, NoiseVehicleType type) {
+    private double calculateIsolatedLinkImmissionPlusOneVehicle(double correction, NoiseLink noiseLink, NoiseVehicleType type) {
         double plusOne = 0;
         if (!(noiseLink.getEmissionPlusOneVehicle(type) == 0.)) {
-            double correction = rp.getLinkCorrection(noiseLink.getId());
             plusOne = noiseLink.getEmissionPlusOneVehicle(type)
                     + correction;
         }
@@ -0,0 +1,92 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.noise;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.core.utils.io.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads and writes the correction terms of receiver point / link pairs (i.e. the sparse rows of all {@link NoiseReceiverPoint}s),
+ * so that the time-consuming computation of distance, angle, shielding and reflection corrections can be skipped in later runs.
+ */
+final class ReceiverPointLinkCorrectionsIO {
+	private static final Logger log = LogManager.getLogger(ReceiverPointLinkCorrectionsIO.class);
+
+	private static final String SEPARATOR = ";";
+	private static final String HEADER = "receiverPointId" + SEPARATOR + "linkId" + SEPARATOR + "correction";
+
+	private ReceiverPointLinkCorrectionsIO() {
+	}
+
+	static void write(Collection<NoiseReceiverPoint> receiverPoints, String file) {
+		log.info("Writing receiver point link corrections to " + file);
+		try (BufferedWriter writer = IOUtils.getBufferedWriter(file)) {
+			writer.write(HEADER);
+			writer.newLine();
+			for (NoiseReceiverPoint rp : receiverPoints) {
+				String rpId = rp.getId().toString();
+				for (int i = 0; i < rp.getRelevantLinkCount(); i++) {
+					writer.write(rpId + SEPARATOR + Id.get(rp.getRelevantLinkIndex(i), Link.class) + SEPARATOR + rp.getLinkCorrectionAt(i));
+					writer.newLine();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Sets the correction terms of the given receiver points and marks them as initialized. Receiver points without any entry in the
+	 * file have no relevant links.
+	 */
+	static void read(Map<Id<ReceiverPoint>, NoiseReceiverPoint> receiverPoints, String file) {
+		log.info("Reading receiver point link corrections from " + file);
+		try (BufferedReader reader = IOUtils.getBufferedReader(file)) {
+			String line = reader.readLine();
+			if (!HEADER.equals(line)) {
+				throw new IllegalArgumentException("Unexpected header in " + file + ": " + line + ". Expected: " + HEADER);
+			}
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] columns = line.split(SEPARATOR);
+				NoiseReceiverPoint rp = receiverPoints.get(Id.create(columns[0], ReceiverPoint.class));
+				if (rp == null) {
+					throw new IllegalArgumentException("Unknown receiver point " + columns[0] + " in " + file);
+				}
+				rp.setLinkId2Correction(Id.createLinkId(columns[1]), Double.parseDouble(columns[2]));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		receiverPoints.values().forEach(NoiseReceiverPoint::setInitialized);
+	}
+}
@@ -41,8 +41,12 @@ import org.matsim.core.scenario.ScenarioUtils;
 import org.matsim.core.utils.geometry.CoordUtils;
 import org.matsim.testcases.MatsimTestUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author nkuehnel
@@ -196,4 +200,69 @@ public class NoiseRLS19IT {
         Assertions.assertEquals(73.77467715144601,
                 currentImmission, MatsimTestUtils.EPSILON, "Wrong immission!");
     }
+
+	@Test
+	void testEmissionWithDEMInParallel() {
+        Config config = ConfigUtils.createConfig();
+        ConfigUtils.addOrGetModule(config, NoiseConfigGroup.class).setUseDEM(true);
+        Scenario scenario = ScenarioUtils.createScenario(config);
+        Network network = scenario.getNetwork();
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 20; y++) {
+                Node node = NetworkUtils.createAndAddNode(network, Id.createNodeId(x + "_" + y), new Coord(x * 100, y * 100));
+                if (x > 0) {
+                    addLinks(network, network.getNodes().get(Id.createNodeId((x - 1) + "_" + y)), node);
+                }
+                if (y > 0) {
+                    addLinks(network, network.getNodes().get(Id.createNodeId(x + "_" + (y - 1))), node);
+                }
+            }
+        }
+
+        // slopes of 8 % (x) and 3 % (y); the DEM must not be accessed from several threads
+        Set<Thread> demThreads = ConcurrentHashMap.newKeySet();
+        DEMContext demContext = position -> {
+            demThreads.add(Thread.currentThread());
+            return (float) (0.08 * position.getOrdinate(1) - 0.03 * position.getOrdinate(0));
+        };
+        RLS19NoiseEmission emission = new RLS19NoiseEmission(scenario, new RoadSurfaceContext(network), demContext);
+
+        List<NoiseLink> serialLinks = createNoiseLinks(network);
+        serialLinks.forEach(emission::calculateEmission);
+        List<NoiseLink> parallelLinks = createNoiseLinks(network);
+        parallelLinks.parallelStream().forEach(emission::calculateEmission);
+
+        for (int i = 0; i < serialLinks.size(); i++) {
+            NoiseLink serialLink = serialLinks.get(i);
+            NoiseLink parallelLink = parallelLinks.get(i);
+            Assertions.assertEquals(serialLink.getEmission(), parallelLink.getEmission(), "Different emission on link " + serialLink.getId());
+            for (RLS19VehicleType type : RLS19VehicleType.values()) {
+                Assertions.assertEquals(serialLink.getEmissionPlusOneVehicle(type), parallelLink.getEmissionPlusOneVehicle(type),
+                        "Different emission plus one " + type + " on link " + serialLink.getId());
+            }
+        }
+        Assertions.assertEquals(Set.of(Thread.currentThread()), demThreads, "DEM accessed from other threads!");
+    }
+
+    private static void addLinks(Network network, Node node1, Node node2) {
+        NetworkUtils.createAndAddLink(network, Id.createLinkId(node1.getId() + "-" + node2.getId()), node1, node2, 100, 50 / 3.6, 1000, 1);
+        NetworkUtils.createAndAddLink(network, Id.createLinkId(node2.getId() + "-" + node1.getId()), node2, node1, 100, 50 / 3.6, 1000, 1);
+    }
+
+    private static List<NoiseLink> createNoiseLinks(Network network) {
+        List<NoiseLink> noiseLinks = new ArrayList<>();
+        int i = 0;
+        for (Link link : network.getLinks().values()) {
+            NoiseLink noiseLink = new NoiseLink(link.getId());
+            for (int j = 0; j < i % 50; j++) {
+                noiseLink.addEnteringAgent(RLS19VehicleType.pkw);
+            }
+            for (int j = 0; j < i % 7; j++) {
+                noiseLink.addEnteringAgent(RLS19VehicleType.lkw2);
+            }
+            noiseLinks.add(noiseLink);
+            i++;
+        }
+        return noiseLinks;
+    }
 }
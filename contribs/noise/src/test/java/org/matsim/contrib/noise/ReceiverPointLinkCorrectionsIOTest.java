@@ -0,0 +1,96 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.noise;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.testcases.MatsimTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReceiverPointLinkCorrectionsIOTest {
+
+	@RegisterExtension
+	public MatsimTestUtils utils = new MatsimTestUtils();
+
+	@Test
+	void testCompactedRow() {
+		NoiseReceiverPoint rp = new NoiseReceiverPoint(Id.create("rp", ReceiverPoint.class), new Coord(0, 0));
+		Id<Link> linkB = Id.createLinkId("compactedRow_b");
+		Id<Link> linkA = Id.createLinkId("compactedRow_a");
+		rp.setLinkId2Correction(linkB, -3.5);
+		rp.setLinkId2Correction(linkA, 1.25);
+		rp.setInitialized();
+
+		Assertions.assertEquals(2, rp.getRelevantLinkCount());
+		Assertions.assertTrue(rp.getRelevantLinkIndex(0) < rp.getRelevantLinkIndex(1), "relevant links are not sorted by index");
+		Assertions.assertEquals(-3.5, rp.getLinkCorrection(linkB), 0.);
+		Assertions.assertEquals(1.25, rp.getLinkCorrection(linkA), 0.);
+		Assertions.assertEquals(0., rp.getLinkCorrection(Id.createLinkId("compactedRow_c")), 0.);
+		Assertions.assertEquals(List.of(linkB, linkA), rp.getRelevantLinks());
+
+		// links added after initialization are merged into the row
+		Id<Link> linkC = Id.createLinkId("compactedRow_c");
+		rp.setLinkId2Correction(linkC, 7.);
+		Assertions.assertEquals(3, rp.getRelevantLinkCount());
+		Assertions.assertEquals(7., rp.getLinkCorrection(linkC), 0.);
+		Assertions.assertEquals(-3.5, rp.getLinkCorrection(linkB), 0.);
+	}
+
+	@Test
+	void testWriteAndRead() {
+		Map<Id<ReceiverPoint>, NoiseReceiverPoint> receiverPoints = createReceiverPoints();
+		NoiseReceiverPoint rp1 = receiverPoints.get(Id.create("1", ReceiverPoint.class));
+		rp1.setLinkId2Correction(Id.createLinkId("1"), 12.345678901234567);
+		rp1.setLinkId2Correction(Id.createLinkId("2"), -0.1);
+		rp1.setInitialized();
+		receiverPoints.get(Id.create("2", ReceiverPoint.class)).setInitialized();
+
+		String file = utils.getOutputDirectory() + "corrections.csv.gz";
+		ReceiverPointLinkCorrectionsIO.write(receiverPoints.values(), file);
+
+		Map<Id<ReceiverPoint>, NoiseReceiverPoint> readReceiverPoints = createReceiverPoints();
+		ReceiverPointLinkCorrectionsIO.read(readReceiverPoints, file);
+
+		for (NoiseReceiverPoint expected : receiverPoints.values()) {
+			NoiseReceiverPoint actual = readReceiverPoints.get(expected.getId());
+			Assertions.assertTrue(actual.isInitialized());
+			Assertions.assertEquals(expected.getRelevantLinkCount(), actual.getRelevantLinkCount());
+			for (Id<Link> linkId : expected.getRelevantLinks()) {
+				Assertions.assertEquals(expected.getLinkCorrection(linkId), actual.getLinkCorrection(linkId), 0.);
+			}
+		}
+	}
+
+	private static Map<Id<ReceiverPoint>, NoiseReceiverPoint> createReceiverPoints() {
+		Map<Id<ReceiverPoint>, NoiseReceiverPoint> receiverPoints = new LinkedHashMap<>();
+		for (String id : List.of("1", "2")) {
+			Id<ReceiverPoint> rpId = Id.create(id, ReceiverPoint.class);
+			receiverPoints.put(rpId, new NoiseReceiverPoint(rpId, new Coord(0, 0)));
+		}
+		return receiverPoints;
+	}
+}
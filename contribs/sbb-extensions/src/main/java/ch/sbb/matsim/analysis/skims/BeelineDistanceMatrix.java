@@ -19,6 +19,7 @@
  * *********************************************************************** */
 package ch.sbb.matsim.analysis.skims;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -40,9 +41,17 @@ public final class BeelineDistanceMatrix {
     }
 
     public static <T> FloatMatrix<T> calculateBeelineDistanceMatrix(Set<T> zoneIds, Map<T, Coord[]> coordsPerZone, int numberOfThreads) {
-        // prepare calculation
         FloatMatrix<T> matrix = new FloatMatrix<>(zoneIds, 0.0f);
+        calculateBeelineDistanceMatrix(zoneIds, coordsPerZone, numberOfThreads, matrix);
+        return matrix;
+    }
 
+    /**
+     * Calculates the beeline distances into the given matrix, which must contain the given zones. Every row is written at once, so the matrix can also be memory-mapped (see
+     * {@link FloatMatrixIO#createBinary}).
+     */
+    public static <T> void calculateBeelineDistanceMatrix(Set<T> zoneIds, Map<T, Coord[]> coordsPerZone, int numberOfThreads, FloatMatrix<T> matrix) {
+        // prepare calculation
         int numberOfPointsPerZone = coordsPerZone.values().iterator().next().length;
 
         // do calculation
@@ -51,7 +60,8 @@ public final class BeelineDistanceMatrix {
         Counter counter = new Counter("BeelineDistanceMatrix zone ", " / " + zoneIds.size());
         Thread[] threads = new Thread[numberOfThreads];
         for (int i = 0; i < numberOfThreads; i++) {
-            BeelineDistanceMatrix.RowWorker<T> worker = new BeelineDistanceMatrix.RowWorker<>(originZones, zoneIds, coordsPerZone, matrix, counter);
+            BeelineDistanceMatrix.RowWorker<T> worker = new BeelineDistanceMatrix.RowWorker<>(originZones, zoneIds, coordsPerZone, matrix,
+                    (float) (1.0 / numberOfPointsPerZone / numberOfPointsPerZone), counter);
             threads[i] = new Thread(worker, "BeelineDistanceMatrix-" + i);
             threads[i].start();
         }
@@ -64,9 +74,6 @@ public final class BeelineDistanceMatrix {
                 e.printStackTrace();
             }
         }
-
-        matrix.multiply((float) (1.0 / numberOfPointsPerZone / numberOfPointsPerZone));
-        return matrix;
     }
 
     private static class RowWorker<T> implements Runnable {
@@ -75,18 +82,21 @@ public final class BeelineDistanceMatrix {
         private final Set<T> destinationZones;
         private final Map<T, Coord[]> coordsPerZone;
         private final FloatMatrix<T> matrix;
+        private final float avgFactor;
         private final Counter counter;
 
-        RowWorker(ConcurrentLinkedQueue<T> originZones, Set<T> destinationZones, Map<T, Coord[]> coordsPerZone, FloatMatrix<T> matrix, Counter counter) {
+        RowWorker(ConcurrentLinkedQueue<T> originZones, Set<T> destinationZones, Map<T, Coord[]> coordsPerZone, FloatMatrix<T> matrix, float avgFactor, Counter counter) {
             this.originZones = originZones;
             this.destinationZones = destinationZones;
             this.coordsPerZone = coordsPerZone;
             this.matrix = matrix;
+            this.avgFactor = avgFactor;
             this.counter = counter;
         }
 
         @Override
         public void run() {
+            float[] row = new float[this.matrix.size()];
             while (true) {
                 T fromZoneId = this.originZones.poll();
                 if (fromZoneId == null) {
@@ -94,29 +104,33 @@ public final class BeelineDistanceMatrix {
                 }
 
                 this.counter.incCounter();
+                Arrays.fill(row, 0.0f);
                 Coord[] fromCoords = this.coordsPerZone.get(fromZoneId);
                 if (fromCoords != null) {
                     for (Coord fromCoord : fromCoords) {
 
                         for (T toZoneId : this.destinationZones) {
+                            int toIndex = this.matrix.id2index.get(toZoneId);
                             Coord[] toCoords = this.coordsPerZone.get(toZoneId);
                             if (toCoords != null) {
                                 for (Coord toCoord : toCoords) {
                                     double dist = CoordUtils.calcEuclideanDistance(fromCoord, toCoord);
-                                    this.matrix.add(fromZoneId, toZoneId, (float) dist);
+                                    row[toIndex] += (float) dist;
                                 }
                             } else {
                                 // this might happen if a zone has no geometry, for whatever reason...
-                                this.matrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
+                                row[toIndex] = Float.POSITIVE_INFINITY;
                             }
                         }
                     }
                 } else {
                     // this might happen if a zone has no geometry, for whatever reason...
-                    for (T toZoneId : this.destinationZones) {
-                        this.matrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    }
+                    Arrays.fill(row, Float.POSITIVE_INFINITY);
+                }
+                for (int i = 0; i < row.length; i++) {
+                    row[i] *= this.avgFactor;
                 }
+                this.matrix.setRow(fromZoneId, row);
             }
         }
     }
@@ -28,7 +28,9 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,8 +39,10 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -88,7 +92,8 @@ import org.matsim.pt.transitSchedule.api.TransitScheduleReader;
 /**
  * Main class to calculate skim matrices. Provides a main-method to be directly started from the command line, but the main-method also acts as a template for custom code using the skims calculation.
  * <p>
- * All calculated matrices are written to files with fixed names (see constants in this class) in an output directory.
+ * All calculated matrices are written to files with fixed names (see constants in this class) in an output directory. If {@link #setBinaryOutput(boolean)} is set, the matrices are not kept on the heap but
+ * calculated directly into memory-mapped files in the binary format of {@link FloatMatrixIO}, named like the CSV files but with the suffix {@link #BINARY_FILE_SUFFIX}.
  *
  * @author mrieser / SBB
  */
@@ -105,14 +110,17 @@ public class CalculateSkimMatrices {
     public static final String PT_TRAINSHARE_BYDISTANCE_FILENAME = "pt_train_distance_shares.csv.gz";
     public static final String PT_TRAINSHARE_BYTIME_FILENAME = "pt_train_traveltime_shares.csv.gz";
     public static final String PT_TRANSFERCOUNTS_FILENAME = "pt_transfer_counts.csv.gz";
+    public static final String PT_DATACOUNTS_FILENAME = "pt_data_counts.csv.gz";
     public static final String BEELINE_DISTANCE_FILENAME = "beeline_distances.csv.gz";
     public static final String ZONE_LOCATIONS_FILENAME = "zone_coordinates.csv";
+    public static final String BINARY_FILE_SUFFIX = ".bin";
     private static final Logger log = LogManager.getLogger(CalculateSkimMatrices.class);
     private final static GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
 
     private final String outputDirectory;
     private final int numberOfThreads;
     private Map<String, Coord[]> coordsPerZone = null;
+    private boolean binaryOutput = false;
 
     public CalculateSkimMatrices(String outputDirectory, int numberOfThreads) {
         this.outputDirectory = outputDirectory;
@@ -132,14 +140,34 @@ public class CalculateSkimMatrices {
         this.numberOfThreads = numberOfThreads;
     }
 
-    private static <T> void combineMatrices(FloatMatrix<T> matrix1, FloatMatrix<T> matrix2) {
-        Set<T> ids = matrix2.id2index.keySet();
-        for (T fromId : ids) {
-            for (T toId : ids) {
-                float value2 = matrix2.get(fromId, toId);
-                matrix1.add(fromId, toId, value2);
+    /**
+     * @return the name of the binary matrix file corresponding to the given CSV file name, e.g. <code>car_travel_times.bin</code> for {@link #CAR_TRAVELTIMES_FILENAME}
+     */
+    public static String getBinaryFilename(String csvFilename) {
+        return csvFilename.replace(".csv.gz", BINARY_FILE_SUFFIX);
+    }
+
+    /**
+     * If set, the calculateAndWrite-methods calculate the matrices directly into memory-mapped binary files instead of keeping them on the heap and writing them as CSV files afterwards.
+     * Use this for large numbers of zones, the binary files can be read lazily with {@link FloatMatrixIO#readAsBinary(String, FloatMatrixIO.IdConverter)}.
+     */
+    public void setBinaryOutput(boolean binaryOutput) {
+        this.binaryOutput = binaryOutput;
+    }
+
+    private Function<String, FloatMatrix<String>> createMatrixFactory() {
+        return filename -> new FloatMatrix<>(this.coordsPerZone.keySet(), 0);
+    }
+
+    private Function<String, FloatMatrix<String>> createBinaryMatrixFactory(String prefix) {
+        return filename -> {
+            String binaryFilename = this.outputDirectory + "/" + prefix + getBinaryFilename(filename);
+            try {
+                return FloatMatrixIO.createBinary(this.coordsPerZone.keySet(), 0, binaryFilename);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }
+        };
     }
 
     public static void main(String[] args) throws IOException {
@@ -341,6 +369,13 @@ public class CalculateSkimMatrices {
     }
 
     public final void calculateAndWriteBeelineMatrix() throws IOException {
+        if (this.binaryOutput) {
+            log.info("calc beeline distance matrix into " + outputDirectory);
+            FloatMatrix<String> beelineMatrix = createBinaryMatrixFactory("").apply(BEELINE_DISTANCE_FILENAME);
+            BeelineDistanceMatrix.calculateBeelineDistanceMatrix(this.coordsPerZone.keySet(), coordsPerZone, numberOfThreads, beelineMatrix);
+            beelineMatrix.flush();
+            return;
+        }
         log.info("calc beeline distance matrix");
         FloatMatrix<String> beelineMatrix = BeelineDistanceMatrix.calculateBeelineDistanceMatrix(this.coordsPerZone.keySet(), coordsPerZone, numberOfThreads);
 
@@ -356,8 +391,14 @@ public class CalculateSkimMatrices {
     public final void calculateAndWriteNetworkMatrices(String networkFilename, @Nullable String eventsFilename,
             double[] times, Config config, String outputPrefix, Predicate<Link> xy2linksPredicate) throws IOException {
         String prefix = outputPrefix == null ? "" : outputPrefix;
-        var netIndicators = prepareAndCalculateNetworkMatrices(networkFilename, eventsFilename, times, config, xy2linksPredicate);
-        writeNetworkMatricesAsCSV(netIndicators, prefix);
+        if (this.binaryOutput) {
+            log.info("calc CAR matrices into " + outputDirectory + (prefix.isEmpty() ? "" : (" with prefix " + prefix)));
+            var netIndicators = prepareAndCalculateNetworkMatrices(networkFilename, eventsFilename, times, config, xy2linksPredicate, createBinaryMatrixFactory(prefix));
+            netIndicators.flush();
+        } else {
+            var netIndicators = prepareAndCalculateNetworkMatrices(networkFilename, eventsFilename, times, config, xy2linksPredicate);
+            writeNetworkMatricesAsCSV(netIndicators, prefix);
+        }
     }
 
     public final void writeNetworkMatricesAsCSV(NetworkIndicators<String> netIndicators, String prefix) throws IOException {
@@ -368,6 +409,11 @@ public class CalculateSkimMatrices {
 
     public final NetworkIndicators<String> prepareAndCalculateNetworkMatrices(String networkFilename,
             @Nullable String eventsFilename, double[] times, Config config, Predicate<Link> xy2linksPredicate) {
+        return prepareAndCalculateNetworkMatrices(networkFilename, eventsFilename, times, config, xy2linksPredicate, createMatrixFactory());
+    }
+
+    private NetworkIndicators<String> prepareAndCalculateNetworkMatrices(String networkFilename,
+            @Nullable String eventsFilename, double[] times, Config config, Predicate<Link> xy2linksPredicate, Function<String, FloatMatrix<String>> matrixFactory) {
         Scenario scenario = ScenarioUtils.createScenario(config);
         log.info("loading network from " + networkFilename);
         new MatsimNetworkReader(scenario.getNetwork()).readFile(networkFilename);
@@ -386,11 +432,16 @@ public class CalculateSkimMatrices {
             log.info("No events specified. Travel Times will be calculated with free speed travel times.");
         }
 
-        return prepareAndCalculateNetworkMatrices(scenario.getNetwork(), tt, times, config, xy2linksPredicate);
+        return prepareAndCalculateNetworkMatrices(scenario.getNetwork(), tt, times, config, xy2linksPredicate, matrixFactory);
     }
 
     public final NetworkIndicators<String> prepareAndCalculateNetworkMatrices(Network network, TravelTime tt,
             double[] times, Config config, Predicate<Link> xy2linksPredicate) {
+        return prepareAndCalculateNetworkMatrices(network, tt, times, config, xy2linksPredicate, createMatrixFactory());
+    }
+
+    private NetworkIndicators<String> prepareAndCalculateNetworkMatrices(Network network, TravelTime tt,
+            double[] times, Config config, Predicate<Link> xy2linksPredicate, Function<String, FloatMatrix<String>> matrixFactory) {
         TravelDisutility td = new OnlyTimeDependentTravelDisutility(tt);
 
         log.info("extracting car-only network");
@@ -400,29 +451,26 @@ public class CalculateSkimMatrices {
         log.info("filter car-only network for assigning links to locations");
         final Network xy2linksNetwork = extractXy2LinksNetwork(carNetwork, xy2linksPredicate, config);
 
-        return calculateNetworkMatrices(times, carNetwork, xy2linksNetwork, tt, td);
+        return calculateNetworkMatrices(times, carNetwork, xy2linksNetwork, tt, td, matrixFactory);
     }
 
     public final NetworkIndicators<String> calculateNetworkMatrices(double[] times, Network carNetwork, Network xy2linksNetwork, TravelTime tt, TravelDisutility td) {
-        log.info("calc CAR matrix for " + Time.writeTime(times[0]));
-        NetworkIndicators<String> netIndicators = NetworkSkimMatrices.calculateSkimMatrices(
-            xy2linksNetwork, carNetwork, coordsPerZone, times[0], tt, td, this.numberOfThreads);
+        return calculateNetworkMatrices(times, carNetwork, xy2linksNetwork, tt, td, createMatrixFactory());
+    }
+
+    private NetworkIndicators<String> calculateNetworkMatrices(double[] times, Network carNetwork, Network xy2linksNetwork, TravelTime tt, TravelDisutility td,
+            Function<String, FloatMatrix<String>> matrixFactory) {
+        NetworkIndicators<String> netIndicators = new NetworkIndicators<>(matrixFactory);
 
+        double[] departureTimes = times;
         if (tt instanceof FreeSpeedTravelTime) {
             log.info("Do not calculate CAR matrices for other times as only freespeed is being used");
-        } else {
-            for (int i = 1; i < times.length; i++) {
-                log.info("calc CAR matrices for " + Time.writeTime(times[i]));
-                NetworkIndicators<String> indicators2 = NetworkSkimMatrices.calculateSkimMatrices(
-                        xy2linksNetwork, carNetwork, coordsPerZone, times[i], tt, td, this.numberOfThreads);
-                log.info("merge CAR matrices for " + Time.writeTime(times[i]));
-                combineMatrices(netIndicators.travelTimeMatrix, indicators2.travelTimeMatrix);
-                combineMatrices(netIndicators.distanceMatrix, indicators2.distanceMatrix);
-            }
-            log.info("re-scale CAR matrices after all data is merged.");
-            netIndicators.travelTimeMatrix.multiply((float) (1.0 / times.length));
-            netIndicators.distanceMatrix.multiply((float) (1.0 / times.length));
+            departureTimes = new double[] { times[0] };
         }
+        // the trees of all times are calculated per origin zone and directly averaged, so only one set of matrices is needed
+        log.info("calc CAR matrices for " + Arrays.stream(departureTimes).mapToObj(Time::writeTime).collect(Collectors.joining(", ")));
+        NetworkSkimMatrices.calculateSkimMatrices(xy2linksNetwork, carNetwork, coordsPerZone, departureTimes, tt, td, this.numberOfThreads, new PTSkimMatrices.CoordAggregator() {
+        }, netIndicators);
         return netIndicators;
     }
 
@@ -465,9 +513,17 @@ public class CalculateSkimMatrices {
 												  BiPredicate<TransitLine, TransitRoute> trainDetector,
 												  PTSkimMatrices.CoordAggregator coordAggregator) throws IOException {
 
-        var matrices = calculatePTMatrices(networkFilename,
-                transitScheduleFilename, startTime, endTime, config, trainDetector, coordAggregator);
-        writePTMatricesAsCSV(matrices, outputPrefix);
+        if (this.binaryOutput) {
+            String prefix = outputPrefix == null ? "" : outputPrefix;
+            log.info("calc PT matrices into " + outputDirectory + (prefix.isEmpty() ? "" : (" with prefix " + prefix)));
+            var matrices = calculatePTMatrices(networkFilename,
+                    transitScheduleFilename, startTime, endTime, config, trainDetector, coordAggregator, createBinaryMatrixFactory(prefix));
+            matrices.flush();
+        } else {
+            var matrices = calculatePTMatrices(networkFilename,
+                    transitScheduleFilename, startTime, endTime, config, trainDetector, coordAggregator);
+            writePTMatricesAsCSV(matrices, outputPrefix);
+        }
     }
 	public final void calculateAndWritePTMatrices(String networkFilename,
                                                   String transitScheduleFilename,
@@ -478,10 +534,9 @@ public class CalculateSkimMatrices {
 												  BiPredicate<TransitLine, TransitRoute> trainDetector
 												  ) throws IOException {
 
-        var matrices = calculatePTMatrices(networkFilename,
-			transitScheduleFilename, startTime, endTime, config, trainDetector, new PTSkimMatrices.CoordAggregator() {
+        calculateAndWritePTMatrices(networkFilename,
+			transitScheduleFilename, startTime, endTime, config, outputPrefix, trainDetector, new PTSkimMatrices.CoordAggregator() {
 			});
-        writePTMatricesAsCSV(matrices, outputPrefix);
     }
 
     public final void writePTMatricesAsCSV(PTSkimMatrices.PtIndicators<String> matrices, String outputPrefix) throws IOException {
@@ -506,6 +561,17 @@ public class CalculateSkimMatrices {
 																		 Config config,
 																		 BiPredicate<TransitLine, TransitRoute> trainDetector,
 																		 PTSkimMatrices.CoordAggregator coordAggregator) {
+        return calculatePTMatrices(networkFilename, transitScheduleFilename, startTime, endTime, config, trainDetector, coordAggregator, createMatrixFactory());
+    }
+
+    private PTSkimMatrices.PtIndicators<String> calculatePTMatrices(String networkFilename,
+                                                                    String transitScheduleFilename,
+                                                                    double startTime,
+                                                                    double endTime,
+                                                                    Config config,
+                                                                    BiPredicate<TransitLine, TransitRoute> trainDetector,
+                                                                    PTSkimMatrices.CoordAggregator coordAggregator,
+                                                                    Function<String, FloatMatrix<String>> matrixFactory) {
         Scenario scenario = ScenarioUtils.createScenario(config);
         log.info("loading schedule from " + transitScheduleFilename);
         new TransitScheduleReader(scenario).readFile(transitScheduleFilename);
@@ -518,8 +584,9 @@ public class CalculateSkimMatrices {
         RaptorParameters raptorParameters = RaptorUtils.createParameters(config);
 
         log.info("calc PT matrices for " + Time.writeTime(startTime) + " - " + Time.writeTime(endTime));
-        PTSkimMatrices.PtIndicators<String> matrices = PTSkimMatrices.calculateSkimMatrices(
-			raptorData, this.coordsPerZone, startTime, endTime, 120, raptorParameters, this.numberOfThreads, trainDetector, coordAggregator);
+        PTSkimMatrices.PtIndicators<String> matrices = new PTSkimMatrices.PtIndicators<>(matrixFactory);
+        PTSkimMatrices.calculateSkimMatrices(
+			raptorData, this.coordsPerZone, startTime, endTime, 120, raptorParameters, this.numberOfThreads, trainDetector, coordAggregator, matrices);
         return matrices;
 
     }
@@ -19,6 +19,8 @@
  * *********************************************************************** */
 package ch.sbb.matsim.analysis.skims;
 
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,42 +43,70 @@ import java.util.Set;
  *         So, as long as the matrix has entries in at least 1/16.5 = 6% or 1/25 = 4% of all cells, the simple float array should be more efficient.
  *         <p>
  *         For larger matrices the absolute volumes become even more impressive. For an 8000x8000 matrix, the float array will use 250MB, while the alternatives will use 4.5 or 6.5 GB respectively.
+ *         <p>
+ *         If even the float array is too large to be kept on the heap (e.g. many matrices for 10'000 or more zones), the cell values can be stored in a memory-mapped file instead, see
+ *         {@link FloatMatrixIO#createBinary(Set, float, String)} and {@link FloatMatrixIO#readAsBinary(String, FloatMatrixIO.IdConverter)}. Such matrices are split into blocks of complete rows,
+ *         as a single mapped buffer cannot be larger than 2 GB.
  */
 public class FloatMatrix<T> {
 
     final Map<T, Integer> id2index;
     private final int size;
     private final float[] data;
+    // alternative storage in a memory-mapped file, each block containing rowsPerBlock rows
+    private final MappedByteBuffer[] mappedBlocks;
+    private final FloatBuffer[] blocks;
+    private final int rowsPerBlock;
 
     public FloatMatrix(Set<T> zones, float defaultValue) {
         this.size = zones.size();
-        this.id2index = new HashMap<>((int) (this.size * 1.5));
+        this.id2index = createIndex(zones);
         this.data = new float[this.size * this.size];
         Arrays.fill(this.data, defaultValue);
+        this.mappedBlocks = null;
+        this.blocks = null;
+        this.rowsPerBlock = this.size;
+    }
+
+    FloatMatrix(Set<T> zones, MappedByteBuffer[] mappedBlocks, int rowsPerBlock) {
+        this.size = zones.size();
+        this.id2index = createIndex(zones);
+        this.data = null;
+        this.mappedBlocks = mappedBlocks;
+        this.blocks = new FloatBuffer[mappedBlocks.length];
+        for (int i = 0; i < mappedBlocks.length; i++) {
+            this.blocks[i] = mappedBlocks[i].asFloatBuffer();
+        }
+        this.rowsPerBlock = rowsPerBlock;
+    }
+
+    private static <T> Map<T, Integer> createIndex(Set<T> zones) {
+        Map<T, Integer> id2index = new HashMap<>((int) (zones.size() * 1.5));
         int index = 0;
         for (T t : zones) {
-            this.id2index.put(t, index);
+            id2index.put(t, index);
             index++;
         }
+        return id2index;
     }
 
     public float set(T from, T to, float value) {
-        int index = getIndex(from, to);
-        float oldValue = this.data[index];
-        this.data[index] = value;
+        int fromIndex = this.id2index.get(from);
+        int toIndex = this.id2index.get(to);
+        float oldValue = getValue(fromIndex, toIndex);
+        setValue(fromIndex, toIndex, value);
         return oldValue;
     }
 
     public float get(T from, T to) {
-        int index = getIndex(from, to);
-        return this.data[index];
+        return getValue(this.id2index.get(from), this.id2index.get(to));
     }
 
     public float add(T from, T to, float value) {
-        int index = getIndex(from, to);
-        float oldValue = this.data[index];
-        float newValue = oldValue + value;
-        this.data[index] = newValue;
+        int fromIndex = this.id2index.get(from);
+        int toIndex = this.id2index.get(to);
+        float newValue = getValue(fromIndex, toIndex) + value;
+        setValue(fromIndex, toIndex, newValue);
         return newValue;
     }
 
@@ -87,10 +117,10 @@ public class FloatMatrix<T> {
      * @return the new value
      */
     public float multiply(T from, T to, float factor) {
-        int index = getIndex(from, to);
-        float oldValue = this.data[index];
-        float newValue = oldValue * factor;
-        this.data[index] = newValue;
+        int fromIndex = this.id2index.get(from);
+        int toIndex = this.id2index.get(to);
+        float newValue = getValue(fromIndex, toIndex) * factor;
+        setValue(fromIndex, toIndex, newValue);
         return newValue;
     }
 
@@ -100,14 +130,81 @@ public class FloatMatrix<T> {
      * @param factor the multiplication factor
      */
     public void multiply(float factor) {
-        for (int i = 0; i < this.data.length; i++) {
-            this.data[i] *= factor;
+        if (this.data != null) {
+            for (int i = 0; i < this.data.length; i++) {
+                this.data[i] *= factor;
+            }
+        } else {
+            for (FloatBuffer block : this.blocks) {
+                for (int i = 0; i < block.limit(); i++) {
+                    block.put(i, block.get(i) * factor);
+                }
+            }
         }
     }
 
-    private int getIndex(T from, T to) {
+    /**
+     * Copies the values of the row of <code>from</code> into <code>values</code>, ordered by the index of the destination zones (i.e. the iteration order of the zones given when the matrix was
+     * created).
+     */
+    public void getRow(T from, float[] values) {
         int fromIndex = this.id2index.get(from);
-        int toIndex = this.id2index.get(to);
-        return fromIndex * this.size + toIndex;
+        if (this.data != null) {
+            System.arraycopy(this.data, fromIndex * this.size, values, 0, this.size);
+        } else {
+            this.blocks[fromIndex / this.rowsPerBlock].get((fromIndex % this.rowsPerBlock) * this.size, values, 0, this.size);
+        }
+    }
+
+    /**
+     * Replaces the values of the row of <code>from</code>, see {@link #getRow(Object, float[])} for the order of the values. Different rows can be set concurrently by different threads.
+     */
+    public void setRow(T from, float[] values) {
+        int fromIndex = this.id2index.get(from);
+        if (this.data != null) {
+            System.arraycopy(values, 0, this.data, fromIndex * this.size, this.size);
+        } else {
+            this.blocks[fromIndex / this.rowsPerBlock].put((fromIndex % this.rowsPerBlock) * this.size, values, 0, this.size);
+        }
+    }
+
+    /**
+     * Adds the values to the row of <code>from</code>, see {@link #getRow(Object, float[])} for the order of the values. Different rows can be added concurrently by different threads.
+     */
+    public void addRow(T from, float[] values) {
+        int fromIndex = this.id2index.get(from);
+        for (int toIndex = 0; toIndex < this.size; toIndex++) {
+            setValue(fromIndex, toIndex, getValue(fromIndex, toIndex) + values[toIndex]);
+        }
+    }
+
+    /**
+     * Writes all changes to the underlying file if the matrix is memory-mapped, does nothing otherwise.
+     */
+    public void flush() {
+        if (this.mappedBlocks != null) {
+            for (MappedByteBuffer block : this.mappedBlocks) {
+                block.force();
+            }
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private float getValue(int fromIndex, int toIndex) {
+        if (this.data != null) {
+            return this.data[fromIndex * this.size + toIndex];
+        }
+        return this.blocks[fromIndex / this.rowsPerBlock].get((fromIndex % this.rowsPerBlock) * this.size + toIndex);
+    }
+
+    private void setValue(int fromIndex, int toIndex, float value) {
+        if (this.data != null) {
+            this.data[fromIndex * this.size + toIndex] = value;
+        } else {
+            this.blocks[fromIndex / this.rowsPerBlock].put((fromIndex % this.rowsPerBlock) * this.size + toIndex, value);
+        }
     }
 }
@@ -19,18 +19,36 @@
  * *********************************************************************** */
 package ch.sbb.matsim.analysis.skims;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import org.matsim.core.utils.io.IOUtils;
 
 /**
- * Helper methods to write and read matrices as CSV files (well, actually semi-colon separated files).
+ * Helper methods to write and read matrices as CSV files (well, actually semi-colon separated files) or in a compact binary format.
+ * <p>
+ * The binary format consists of a header (an int magic number, the int length of the header in bytes, the int number of zones, and the zone ids as modified UTF-8 strings) followed by the cell
+ * values as (big-endian) floats, row by row. Binary files are not compressed, so they can be memory-mapped: matrices read with {@link #readAsBinary(String, IdConverter)} only load the rows that
+ * are actually accessed, and matrices created with {@link #createBinary(Set, float, String)} are written directly to the file while they are filled.
  *
  * @author mrieser / SBB
  */
@@ -40,6 +58,9 @@ public final class FloatMatrixIO {
     private final static String HEADER = "FROM" + SEP + "TO" + SEP + "VALUE";
     private final static String NL = "\n";
 
+    private final static int BINARY_MAGIC = 0x464d5831; // "FMX1"
+    private final static long MAX_BLOCK_SIZE = 1L << 30; // bytes per memory-mapped block
+
     public static <T> void writeAsCSV(FloatMatrix<T> matrix, String filename) throws IOException {
         try (BufferedWriter writer = IOUtils.getBufferedWriter(filename)) {
             writeCSV(matrix, writer);
@@ -94,6 +115,114 @@ public final class FloatMatrixIO {
         }
     }
 
+    public static <T> void writeAsBinary(FloatMatrix<T> matrix, String filename) throws IOException {
+        T[] zoneIds = getSortedIds(matrix);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Path.of(filename))))) {
+            out.write(createBinaryHeader(Arrays.asList(zoneIds)));
+            float[] row = new float[zoneIds.length];
+            for (T fromZoneId : zoneIds) {
+                matrix.getRow(fromZoneId, row);
+                for (float value : row) {
+                    out.writeFloat(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new matrix in the binary format whose cell values are stored in the memory-mapped file instead of on the heap. All changes are written to the file by the operating system, call
+     * {@link FloatMatrix#flush()} to make sure they are written before the file is used elsewhere.
+     */
+    public static <T> FloatMatrix<T> createBinary(Set<T> zones, float defaultValue, String filename) throws IOException {
+        byte[] header = createBinaryHeader(zones);
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+            while (headerBuffer.hasRemaining()) {
+                channel.write(headerBuffer);
+            }
+            FloatMatrix<T> matrix = mapBinary(channel, FileChannel.MapMode.READ_WRITE, header.length, zones);
+            if (defaultValue != 0.0f) {
+                float[] row = new float[zones.size()];
+                Arrays.fill(row, defaultValue);
+                for (T zone : zones) {
+                    matrix.setRow(zone, row);
+                }
+            }
+            return matrix;
+        }
+    }
+
+    /**
+     * Memory-maps a matrix in the binary format. The matrix is read-only, trying to modify it results in a {@link java.nio.ReadOnlyBufferException}.
+     */
+    public static <T> FloatMatrix<T> readAsBinary(String filename, IdConverter<T> idConverter) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            ByteBuffer start = ByteBuffer.allocate(8);
+            if (!readFully(channel, start) || start.getInt(0) != BINARY_MAGIC) {
+                throw new IOException("File " + filename + " is not a binary matrix file.");
+            }
+            int headerLength = start.getInt(4);
+            ByteBuffer header = ByteBuffer.allocate(headerLength);
+            if (!readFully(channel, header)) {
+                throw new IOException("Unexpected end of binary matrix file " + filename + ".");
+            }
+
+            Set<T> zones = new LinkedHashSet<>();
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(header.array(), 8, headerLength - 8))) {
+                int zoneCount = in.readInt();
+                for (int i = 0; i < zoneCount; i++) {
+                    zones.add(idConverter.parse(in.readUTF()));
+                }
+            }
+            long expectedSize = headerLength + 4L * zones.size() * zones.size();
+            if (channel.size() != expectedSize) {
+                throw new IOException("Expected " + expectedSize + " bytes in binary matrix file " + filename + ", but found " + channel.size() + ".");
+            }
+            return mapBinary(channel, FileChannel.MapMode.READ_ONLY, headerLength, zones);
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] createBinaryHeader(Iterable<?> zoneIds) throws IOException {
+        ByteArrayOutputStream ids = new ByteArrayOutputStream();
+        int zoneCount = 0;
+        try (DataOutputStream out = new DataOutputStream(ids)) {
+            for (Object zoneId : zoneIds) {
+                out.writeUTF(zoneId.toString());
+                zoneCount++;
+            }
+        }
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(header)) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeInt(12 + ids.size());
+            out.writeInt(zoneCount);
+            ids.writeTo(out);
+        }
+        return header.toByteArray();
+    }
+
+    private static <T> FloatMatrix<T> mapBinary(FileChannel channel, FileChannel.MapMode mode, long headerLength, Set<T> zones) throws IOException {
+        long rowSize = 4L * zones.size();
+        int rowsPerBlock = (int) Math.max(1, MAX_BLOCK_SIZE / Math.max(1, rowSize));
+        int blockCount = (zones.size() + rowsPerBlock - 1) / rowsPerBlock;
+        MappedByteBuffer[] blocks = new MappedByteBuffer[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            int rows = Math.min(rowsPerBlock, zones.size() - i * rowsPerBlock);
+            blocks[i] = channel.map(mode, headerLength + i * rowsPerBlock * rowSize, rows * rowSize);
+        }
+        return new FloatMatrix<>(zones, blocks, rowsPerBlock);
+    }
+
     private static <T> T[] getSortedIds(FloatMatrix<T> matrix) {
         // the array-creation is only safe as long as the generated array is only within this class!
         @SuppressWarnings("unchecked")
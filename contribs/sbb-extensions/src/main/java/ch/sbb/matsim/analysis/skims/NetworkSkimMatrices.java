@@ -21,10 +21,15 @@ package ch.sbb.matsim.analysis.skims;
 
 import org.matsim.core.router.speedy.SpeedyGraph;
 import org.matsim.core.router.speedy.LeastCostPathTree;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 import org.matsim.api.core.v01.Coord;
 import org.matsim.api.core.v01.Id;
 import org.matsim.api.core.v01.network.Network;
@@ -49,6 +54,10 @@ import org.matsim.vehicles.VehicleUtils;
  * Idea of the algorithm: - given n points per zone - find the nearest link and thereof the to-node for each point - this results in n nodes per zone (where some nodes can appear multiple times, this
  * is wanted as it acts as a weight/probability) - for each zone-to-zone combination, calculate the travel times for each node to node combination. - this results in n x n travel times per
  * zone-to-zone combination. - average the n x n travel times and store this value as the zone-to-zone travel time.
+ * <p>
+ * Points of an origin zone with the same node are merged and weighted by their number, so only one least-cost path tree is calculated per distinct node. Optionally, the points of the origin zones
+ * can be weighted by a {@link PTSkimMatrices.CoordAggregator}, like in the pt skims. The trees for all departure times are calculated by the same worker thread, which reuses its tree and writes
+ * the averaged row at once.
  *
  * @author mrieser / SBB
  */
@@ -59,34 +68,51 @@ public final class NetworkSkimMatrices {
 
     public static <T> NetworkIndicators<T> calculateSkimMatrices(Network xy2lNetwork, Network routingNetwork, Map<T, Coord[]> coordsPerZone, double departureTime, TravelTime travelTime,
             TravelDisutility travelDisutility, int numberOfThreads) {
+        NetworkIndicators<T> networkIndicators = new NetworkIndicators<>(coordsPerZone.keySet());
+        calculateSkimMatrices(xy2lNetwork, routingNetwork, coordsPerZone, new double[] { departureTime }, travelTime, travelDisutility, numberOfThreads, new PTSkimMatrices.CoordAggregator() {
+        }, networkIndicators);
+        return networkIndicators;
+    }
+
+    /**
+     * Calculates the matrices averaged over all given departure times into the given (empty) indicators. Every worker writes complete rows, so the indicators can also be backed by memory-mapped
+     * files (see {@link FloatMatrixIO#createBinary}).
+     */
+    public static <T> void calculateSkimMatrices(Network xy2lNetwork, Network routingNetwork, Map<T, Coord[]> coordsPerZone, double[] departureTimes, TravelTime travelTime,
+            TravelDisutility travelDisutility, int numberOfThreads, PTSkimMatrices.CoordAggregator coordAggregator, NetworkIndicators<T> networkIndicators) {
         SpeedyGraph routingGraph = SpeedyGraphBuilder.build(routingNetwork);
-        Map<T, Node[]> nodesPerZone = new HashMap<>();
-        for (Map.Entry<T, Coord[]> e : coordsPerZone.entrySet()) {
-            T zoneId = e.getKey();
-            Coord[] coords = e.getValue();
-            Node[] nodes = new Node[coords.length];
-            nodesPerZone.put(zoneId, nodes);
-            for (int i = 0; i < coords.length; i++) {
-                Coord coord = coords[i];
-                Node node = NetworkUtils.getNearestLink(xy2lNetwork, coord).getToNode();
-                nodes[i] = routingNetwork.getNodes().get(node.getId());
-            }
-        }
 
         // prepare calculation
-        NetworkIndicators<T> networkIndicators = new NetworkIndicators<>(coordsPerZone.keySet());
-
         int numberOfPointsPerZone = coordsPerZone.values().iterator().next().length;
-        float avgFactor = (float) (1.0 / numberOfPointsPerZone / numberOfPointsPerZone);
+        Map<T, OriginNodes> originNodesPerZone = new HashMap<>();
+        List<T> destinationZones = new ArrayList<>(coordsPerZone.keySet());
+        int[] destinationColumns = new int[destinationZones.size()];
+        int[][] destinationNodes = new int[destinationZones.size()][];
+        for (int i = 0; i < destinationZones.size(); i++) {
+            T zoneId = destinationZones.get(i);
+            Coord[] coords = coordsPerZone.get(zoneId);
+            destinationColumns[i] = networkIndicators.travelTimeMatrix.id2index.get(zoneId);
+            if (coords != null) {
+                int[] nodes = new int[coords.length];
+                for (int j = 0; j < coords.length; j++) {
+                    nodes[j] = findNodeIndex(xy2lNetwork, routingNetwork, coords[j]);
+                }
+                destinationNodes[i] = nodes;
+                originNodesPerZone.put(zoneId, new OriginNodes(coordAggregator.aggregateCoords(coords), xy2lNetwork, routingNetwork,
+                        1.0 / numberOfPointsPerZone / departureTimes.length));
+            }
+        }
 
         // do calculation
         ConcurrentLinkedQueue<T> originZones = new ConcurrentLinkedQueue<>(coordsPerZone.keySet());
 
-        Counter counter = new Counter("CAR-TravelTimeMatrix-" + Time.writeTime(departureTime) + " zone ", " / " + coordsPerZone.size());
+        String name = "CAR-TravelTimeMatrix-" + Time.writeTime(departureTimes[0]) + (departureTimes.length > 1 ? "-" + Time.writeTime(departureTimes[departureTimes.length - 1]) : "");
+        Counter counter = new Counter(name + " zone ", " / " + coordsPerZone.size());
         Thread[] threads = new Thread[numberOfThreads];
         for (int i = 0; i < numberOfThreads; i++) {
-            RowWorker<T> worker = new RowWorker<>(originZones, coordsPerZone.keySet(), routingGraph, nodesPerZone, networkIndicators, departureTime, travelTime, travelDisutility, counter);
-            threads[i] = new Thread(worker, "CAR-TravelTimeMatrix-" + Time.writeTime(departureTime) + "-" + i);
+            RowWorker<T> worker = new RowWorker<>(originZones, destinationColumns, destinationNodes, routingGraph, originNodesPerZone, networkIndicators, departureTimes, travelTime,
+                    travelDisutility, counter);
+            threads[i] = new Thread(worker, name + "-" + i);
             threads[i].start();
         }
 
@@ -98,11 +124,38 @@ public final class NetworkSkimMatrices {
                 e.printStackTrace();
             }
         }
+    }
 
-        networkIndicators.travelTimeMatrix.multiply(avgFactor);
-        networkIndicators.distanceMatrix.multiply(avgFactor);
+    private static int findNodeIndex(Network xy2lNetwork, Network routingNetwork, Coord coord) {
+        Node node = NetworkUtils.getNearestLink(xy2lNetwork, coord).getToNode();
+        return routingNetwork.getNodes().get(node.getId()).getId().index();
+    }
 
-        return networkIndicators;
+    /**
+     * The distinct nodes of the points of an origin zone, each with the factor its trees contribute to the average.
+     */
+    private static class OriginNodes {
+
+        private final int[] nodes;
+        private final float[] factors;
+
+        OriginNodes(List<CalculateSkimMatrices.WeightedCoord> coords, Network xy2lNetwork, Network routingNetwork, double avgFactor) {
+            Map<Integer, Double> weightPerNode = new LinkedHashMap<>();
+            double sumWeights = 0;
+            for (CalculateSkimMatrices.WeightedCoord coord : coords) {
+                weightPerNode.merge(findNodeIndex(xy2lNetwork, routingNetwork, coord.coord()), coord.weight(), Double::sum);
+                sumWeights += coord.weight();
+            }
+            this.nodes = new int[weightPerNode.size()];
+            this.factors = new float[weightPerNode.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Double> e : weightPerNode.entrySet()) {
+                this.nodes[i] = e.getKey();
+                // the weights of the points are normalized so that they sum up to one
+                this.factors[i] = (float) (e.getValue() / sumWeights * avgFactor);
+                i++;
+            }
+        }
     }
 
     private static class RowWorker<T> implements Runnable {
@@ -110,23 +163,25 @@ public final class NetworkSkimMatrices {
         private final static Vehicle VEHICLE = VehicleUtils.getFactory().createVehicle(Id.create("theVehicle", Vehicle.class), VehicleUtils.createDefaultVehicleType());
         private final static Person PERSON = PopulationUtils.getFactory().createPerson(Id.create("thePerson", Person.class));
         private final ConcurrentLinkedQueue<T> originZones;
-        private final Set<T> destinationZones;
+        private final int[] destinationColumns;
+        private final int[][] destinationNodes;
         private final SpeedyGraph graph;
-        private final Map<T, Node[]> nodesPerZone;
+        private final Map<T, OriginNodes> originNodesPerZone;
         private final NetworkIndicators<T> networkIndicators;
         private final TravelTime travelTime;
         private final TravelDisutility travelDisutility;
-        private final double departureTime;
+        private final double[] departureTimes;
         private final Counter counter;
 
-        RowWorker(ConcurrentLinkedQueue<T> originZones, Set<T> destinationZones, SpeedyGraph graph, Map<T, Node[]> nodesPerZone, NetworkIndicators<T> networkIndicators, double departureTime,
-                  TravelTime travelTime, TravelDisutility travelDisutility, Counter counter) {
+        RowWorker(ConcurrentLinkedQueue<T> originZones, int[] destinationColumns, int[][] destinationNodes, SpeedyGraph graph, Map<T, OriginNodes> originNodesPerZone,
+                  NetworkIndicators<T> networkIndicators, double[] departureTimes, TravelTime travelTime, TravelDisutility travelDisutility, Counter counter) {
             this.originZones = originZones;
-            this.destinationZones = destinationZones;
+            this.destinationColumns = destinationColumns;
+            this.destinationNodes = destinationNodes;
             this.graph = graph;
-            this.nodesPerZone = nodesPerZone;
+            this.originNodesPerZone = originNodesPerZone;
             this.networkIndicators = networkIndicators;
-            this.departureTime = departureTime;
+            this.departureTimes = departureTimes;
             this.travelTime = travelTime;
             this.travelDisutility = travelDisutility;
             this.counter = counter;
@@ -135,6 +190,10 @@ public final class NetworkSkimMatrices {
         @Override
         public void run() {
             LeastCostPathTree lcpTree = new LeastCostPathTree(this.graph, this.travelTime, this.travelDisutility);
+            // the values of one row are summed up locally and then written at once
+            int zoneCount = this.networkIndicators.travelTimeMatrix.size();
+            float[] travelTimeRow = new float[zoneCount];
+            float[] distanceRow = new float[zoneCount];
             while (true) {
                 T fromZoneId = this.originZones.poll();
                 if (fromZoneId == null) {
@@ -142,37 +201,44 @@ public final class NetworkSkimMatrices {
                 }
 
                 this.counter.incCounter();
-                Node[] fromNodes = this.nodesPerZone.get(fromZoneId);
+                Arrays.fill(travelTimeRow, 0.0f);
+                Arrays.fill(distanceRow, 0.0f);
+                OriginNodes fromNodes = this.originNodesPerZone.get(fromZoneId);
                 if (fromNodes != null) {
-                    for (Node fromNode : fromNodes) {
-                        lcpTree.calculate(fromNode.getId().index(), this.departureTime, PERSON, VEHICLE);
-
-                        for (T toZoneId : this.destinationZones) {
-                            Node[] toNodes = this.nodesPerZone.get(toZoneId);
-                            if (toNodes != null) {
-                                for (Node toNode : toNodes) {
-                                    int nodeIndex = toNode.getId().index();
-                                    OptionalTime currOptionalTime = lcpTree.getTime(nodeIndex);
-                                    double currTime = currOptionalTime.orElseThrow(() -> new RuntimeException("Undefined Time"));
-                                    double tt = currTime - this.departureTime;
-                                    double dist = lcpTree.getDistance(nodeIndex);
-                                    this.networkIndicators.travelTimeMatrix.add(fromZoneId, toZoneId, (float) tt);
-                                    this.networkIndicators.distanceMatrix.add(fromZoneId, toZoneId, (float) dist);
+                    for (double departureTime : this.departureTimes) {
+                        for (int i = 0; i < fromNodes.nodes.length; i++) {
+                            lcpTree.calculate(fromNodes.nodes[i], departureTime, PERSON, VEHICLE);
+                            float factor = fromNodes.factors[i];
+
+                            for (int j = 0; j < this.destinationColumns.length; j++) {
+                                int toIndex = this.destinationColumns[j];
+                                int[] toNodes = this.destinationNodes[j];
+                                if (toNodes != null) {
+                                    float tt = 0;
+                                    float dist = 0;
+                                    for (int nodeIndex : toNodes) {
+                                        OptionalTime currOptionalTime = lcpTree.getTime(nodeIndex);
+                                        double currTime = currOptionalTime.orElseThrow(() -> new RuntimeException("Undefined Time"));
+                                        tt += (float) (currTime - departureTime);
+                                        dist += (float) lcpTree.getDistance(nodeIndex);
+                                    }
+                                    travelTimeRow[toIndex] += factor * tt;
+                                    distanceRow[toIndex] += factor * dist;
+                                } else {
+                                    // this might happen if a zone has no geometry, for whatever reason...
+                                    travelTimeRow[toIndex] = Float.POSITIVE_INFINITY;
+                                    distanceRow[toIndex] = Float.POSITIVE_INFINITY;
                                 }
-                            } else {
-                                // this might happen if a zone has no geometry, for whatever reason...
-                                this.networkIndicators.travelTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                                this.networkIndicators.distanceMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
                             }
                         }
                     }
                 } else {
                     // this might happen if a zone has no geometry, for whatever reason...
-                    for (T toZoneId : this.destinationZones) {
-                        this.networkIndicators.travelTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                        this.networkIndicators.distanceMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    }
+                    Arrays.fill(travelTimeRow, Float.POSITIVE_INFINITY);
+                    Arrays.fill(distanceRow, Float.POSITIVE_INFINITY);
                 }
+                this.networkIndicators.travelTimeMatrix.addRow(fromZoneId, travelTimeRow);
+                this.networkIndicators.distanceMatrix.addRow(fromZoneId, distanceRow);
             }
         }
     }
@@ -183,8 +249,20 @@ public final class NetworkSkimMatrices {
         final FloatMatrix<T> distanceMatrix;
 
         NetworkIndicators(Set<T> zones) {
-            this.travelTimeMatrix = new FloatMatrix<>(zones, 0);
-            this.distanceMatrix = new FloatMatrix<>(zones, 0);
+            this(filename -> new FloatMatrix<>(zones, 0));
+        }
+
+        /**
+         * @param matrixFactory creates an empty matrix, given the name of the file the matrix is usually written to (e.g. {@link CalculateSkimMatrices#CAR_TRAVELTIMES_FILENAME})
+         */
+        NetworkIndicators(Function<String, FloatMatrix<T>> matrixFactory) {
+            this.travelTimeMatrix = matrixFactory.apply(CalculateSkimMatrices.CAR_TRAVELTIMES_FILENAME);
+            this.distanceMatrix = matrixFactory.apply(CalculateSkimMatrices.CAR_DISTANCES_FILENAME);
+        }
+
+        void flush() {
+            this.travelTimeMatrix.flush();
+            this.distanceMatrix.flush();
         }
     }
 
@@ -39,6 +39,7 @@ import org.matsim.pt.transitSchedule.api.TransitStopFacility;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -73,9 +74,20 @@ public class PTSkimMatrices {
 
     public static <T> PTSkimMatrices.PtIndicators<T> calculateSkimMatrices(SwissRailRaptorData raptorData, Map<T, Coord[]> coordsPerZone, double minDepartureTime, double maxDepartureTime,
             double stepSize_seconds, RaptorParameters parameters, int numberOfThreads, BiPredicate<TransitLine, TransitRoute> trainDetector, CoordAggregator coordAggregator) {
+        PtIndicators<T> pti = new PtIndicators<>(coordsPerZone.keySet());
+        calculateSkimMatrices(raptorData, coordsPerZone, minDepartureTime, maxDepartureTime, stepSize_seconds, parameters, numberOfThreads, trainDetector, coordAggregator, pti);
+        return pti;
+    }
+
+    /**
+     * Calculates the matrices into the given (empty) indicators. Every worker writes complete rows, so the indicators can also be backed by memory-mapped files (see
+     * {@link FloatMatrixIO#createBinary}).
+     */
+    public static <T> void calculateSkimMatrices(SwissRailRaptorData raptorData, Map<T, Coord[]> coordsPerZone, double minDepartureTime, double maxDepartureTime,
+            double stepSize_seconds, RaptorParameters parameters, int numberOfThreads, BiPredicate<TransitLine, TransitRoute> trainDetector, CoordAggregator coordAggregator,
+            PtIndicators<T> pti) {
         // prepare calculation
         Set<T> zoneIds = coordsPerZone.keySet();
-        PtIndicators<T> pti = new PtIndicators<>(zoneIds);
         Config config = ConfigUtils.createConfig();
 
         // do calculation
@@ -98,37 +110,6 @@ public class PTSkimMatrices {
                 e.printStackTrace();
             }
         }
-
-        for (T fromZoneId : zoneIds) {
-            for (T toZoneId : zoneIds) {
-                float count = pti.dataCountMatrix.get(fromZoneId, toZoneId);
-                if (count == 0) {
-                    pti.adaptionTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.frequencyMatrix.set(fromZoneId, toZoneId, 0);
-                    pti.distanceMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.travelTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.accessTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.egressTimeMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.transferCountMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.trainDistanceShareMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                    pti.trainTravelTimeShareMatrix.set(fromZoneId, toZoneId, Float.POSITIVE_INFINITY);
-                } else {
-                    float avgFactor = 1.0f / count;
-                    float adaptionTime = pti.adaptionTimeMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.distanceMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.travelTimeMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.accessTimeMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.egressTimeMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.trainDistanceShareMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.trainTravelTimeShareMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    pti.transferCountMatrix.multiply(fromZoneId, toZoneId, avgFactor);
-                    float frequency = (float) ((maxDepartureTime - minDepartureTime) / adaptionTime / 4.0);
-                    pti.frequencyMatrix.set(fromZoneId, toZoneId, frequency);
-                }
-            }
-        }
-
-        return pti;
     }
 
     static class RowWorker<T> implements Runnable {
@@ -146,6 +127,18 @@ public class PTSkimMatrices {
         private final BiPredicate<TransitLine, TransitRoute> trainDetector;
 		private final CoordAggregator coordAggregator;
 
+        // the values of one row are summed up locally, averaged and then written at once
+        private final float[] adaptionTimeRow;
+        private final float[] frequencyRow;
+        private final float[] distanceRow;
+        private final float[] travelTimeRow;
+        private final float[] accessTimeRow;
+        private final float[] egressTimeRow;
+        private final float[] transferCountRow;
+        private final float[] trainTravelTimeShareRow;
+        private final float[] trainDistanceShareRow;
+        private final float[] dataCountRow;
+
 		RowWorker(ConcurrentLinkedQueue<T> originZones, Set<T> destinationZones, Map<T, Coord[]> coordsPerZone, PtIndicators<T> pti, SwissRailRaptor raptor, RaptorParameters parameters,
 				  double minDepartureTime, double maxDepartureTime, double stepSize, Counter counter, BiPredicate<TransitLine, TransitRoute> trainDetector, CoordAggregator coordAggregator) {
             this.originZones = originZones;
@@ -160,6 +153,18 @@ public class PTSkimMatrices {
             this.counter = counter;
             this.trainDetector = trainDetector;
 			this.coordAggregator = coordAggregator;
+
+            int zoneCount = pti.adaptionTimeMatrix.size();
+            this.adaptionTimeRow = new float[zoneCount];
+            this.frequencyRow = new float[zoneCount];
+            this.distanceRow = new float[zoneCount];
+            this.travelTimeRow = new float[zoneCount];
+            this.accessTimeRow = new float[zoneCount];
+            this.egressTimeRow = new float[zoneCount];
+            this.transferCountRow = new float[zoneCount];
+            this.trainTravelTimeShareRow = new float[zoneCount];
+            this.trainDistanceShareRow = new float[zoneCount];
+            this.dataCountRow = new float[zoneCount];
         }
 
         private static Collection<TransitStopFacility> findStopCandidates(Coord coord, SwissRailRaptor raptor, RaptorParameters parameters) {
@@ -181,17 +186,74 @@ public class PTSkimMatrices {
                 }
 
                 this.counter.incCounter();
+                clearRows();
                 Coord[] fromCoords = this.coordsPerZone.get(fromZoneId);
                 if (fromCoords != null) {
 				var weightedRelevantFromCoords = coordAggregator.aggregateCoords(fromCoords);
 					for (var fromCoord : weightedRelevantFromCoords) {
-                        calcForRow(fromZoneId, fromCoord.coord(),fromCoord.weight());
+                        calcForRow(fromCoord.coord(),fromCoord.weight());
                     }
                 }
+                averageRows();
+                writeRows(fromZoneId);
             }
         }
 
-        private void calcForRow(T fromZoneId, Coord fromCoord, double fromCoordWeight) {
+        private void clearRows() {
+            Arrays.fill(this.adaptionTimeRow, 0);
+            Arrays.fill(this.frequencyRow, 0);
+            Arrays.fill(this.distanceRow, 0);
+            Arrays.fill(this.travelTimeRow, 0);
+            Arrays.fill(this.accessTimeRow, 0);
+            Arrays.fill(this.egressTimeRow, 0);
+            Arrays.fill(this.transferCountRow, 0);
+            Arrays.fill(this.trainTravelTimeShareRow, 0);
+            Arrays.fill(this.trainDistanceShareRow, 0);
+            Arrays.fill(this.dataCountRow, 0);
+        }
+
+        private void averageRows() {
+            for (int i = 0; i < this.dataCountRow.length; i++) {
+                float count = this.dataCountRow[i];
+                if (count == 0) {
+                    this.adaptionTimeRow[i] = Float.POSITIVE_INFINITY;
+                    this.frequencyRow[i] = 0;
+                    this.distanceRow[i] = Float.POSITIVE_INFINITY;
+                    this.travelTimeRow[i] = Float.POSITIVE_INFINITY;
+                    this.accessTimeRow[i] = Float.POSITIVE_INFINITY;
+                    this.egressTimeRow[i] = Float.POSITIVE_INFINITY;
+                    this.transferCountRow[i] = Float.POSITIVE_INFINITY;
+                    this.trainDistanceShareRow[i] = Float.POSITIVE_INFINITY;
+                    this.trainTravelTimeShareRow[i] = Float.POSITIVE_INFINITY;
+                } else {
+                    float avgFactor = 1.0f / count;
+                    this.adaptionTimeRow[i] *= avgFactor;
+                    this.distanceRow[i] *= avgFactor;
+                    this.travelTimeRow[i] *= avgFactor;
+                    this.accessTimeRow[i] *= avgFactor;
+                    this.egressTimeRow[i] *= avgFactor;
+                    this.trainDistanceShareRow[i] *= avgFactor;
+                    this.trainTravelTimeShareRow[i] *= avgFactor;
+                    this.transferCountRow[i] *= avgFactor;
+                    this.frequencyRow[i] = (float) ((this.maxDepartureTime - this.minDepartureTime) / this.adaptionTimeRow[i] / 4.0);
+                }
+            }
+        }
+
+        private void writeRows(T fromZoneId) {
+            this.pti.adaptionTimeMatrix.setRow(fromZoneId, this.adaptionTimeRow);
+            this.pti.frequencyMatrix.setRow(fromZoneId, this.frequencyRow);
+            this.pti.distanceMatrix.setRow(fromZoneId, this.distanceRow);
+            this.pti.travelTimeMatrix.setRow(fromZoneId, this.travelTimeRow);
+            this.pti.accessTimeMatrix.setRow(fromZoneId, this.accessTimeRow);
+            this.pti.egressTimeMatrix.setRow(fromZoneId, this.egressTimeRow);
+            this.pti.transferCountMatrix.setRow(fromZoneId, this.transferCountRow);
+            this.pti.trainTravelTimeShareMatrix.setRow(fromZoneId, this.trainTravelTimeShareRow);
+            this.pti.trainDistanceShareMatrix.setRow(fromZoneId, this.trainDistanceShareRow);
+            this.pti.dataCountMatrix.setRow(fromZoneId, this.dataCountRow);
+        }
+
+        private void calcForRow(Coord fromCoord, double fromCoordWeight) {
             double walkSpeed = this.parameters.getBeelineWalkSpeed();
 
             Collection<TransitStopFacility> fromStops = findStopCandidates(fromCoord, this.raptor, this.parameters);
@@ -212,16 +274,17 @@ public class PTSkimMatrices {
             }
 
             for (T toZoneId : this.destinationZones) {
+                int toIndex = this.pti.adaptionTimeMatrix.id2index.get(toZoneId);
                 Coord[] toCoords = this.coordsPerZone.get(toZoneId);
                 if (toCoords != null) {
                     for (Coord toCoord : toCoords) {
-                        calcForOD(fromZoneId, toZoneId, toCoord, accessTimes, trees, (float) fromCoordWeight);
+                        calcForOD(toIndex, toCoord, accessTimes, trees, (float) fromCoordWeight);
                     }
                 }
             }
         }
 
-        private void calcForOD(T fromZoneId, T toZoneId, Coord toCoord, Map<Id<TransitStopFacility>, Double> accessTimes, List<Map<Id<TransitStopFacility>, TravelInfo>> trees, float fromCoordWeight) {
+        private void calcForOD(int toIndex, Coord toCoord, Map<Id<TransitStopFacility>, Double> accessTimes, List<Map<Id<TransitStopFacility>, TravelInfo>> trees, float fromCoordWeight) {
             double walkSpeed = this.parameters.getBeelineWalkSpeed();
 
             Collection<TransitStopFacility> toStops = findStopCandidates(toCoord, this.raptor, this.parameters);
@@ -241,7 +304,7 @@ public class PTSkimMatrices {
 
             double avgAdaptionTime = RooftopUtils.calcAverageAdaptionTime(connections, minDepartureTime, maxDepartureTime);
 
-            this.pti.adaptionTimeMatrix.add(fromZoneId, toZoneId, (float) avgAdaptionTime);
+            this.adaptionTimeRow[toIndex] += (float) avgAdaptionTime;
 
             Map<ODConnection, Double> connectionShares = RooftopUtils.calcConnectionShares(connections, minDepartureTime, maxDepartureTime);
 
@@ -296,15 +359,15 @@ public class PTSkimMatrices {
             float trainShareByTravelTime = (float) (trainInVehTime / totalInVehTime);
             float trainShareByDistance = (float) (trainDistance / totalDistance);
 
-            this.pti.accessTimeMatrix.add(fromZoneId, toZoneId, accessTime*fromCoordWeight);
-            this.pti.egressTimeMatrix.add(fromZoneId, toZoneId, egressTime*fromCoordWeight);
-            this.pti.transferCountMatrix.add(fromZoneId, toZoneId, transferCount*fromCoordWeight);
-            this.pti.travelTimeMatrix.add(fromZoneId, toZoneId, travelTime*fromCoordWeight);
-            this.pti.distanceMatrix.add(fromZoneId, toZoneId, (float) totalDistance*fromCoordWeight);
-            this.pti.trainDistanceShareMatrix.add(fromZoneId, toZoneId, trainShareByDistance*fromCoordWeight);
-            this.pti.trainTravelTimeShareMatrix.add(fromZoneId, toZoneId, trainShareByTravelTime*fromCoordWeight);
+            this.accessTimeRow[toIndex] += accessTime*fromCoordWeight;
+            this.egressTimeRow[toIndex] += egressTime*fromCoordWeight;
+            this.transferCountRow[toIndex] += transferCount*fromCoordWeight;
+            this.travelTimeRow[toIndex] += travelTime*fromCoordWeight;
+            this.distanceRow[toIndex] += (float) totalDistance*fromCoordWeight;
+            this.trainDistanceShareRow[toIndex] += trainShareByDistance*fromCoordWeight;
+            this.trainTravelTimeShareRow[toIndex] += trainShareByTravelTime*fromCoordWeight;
 
-            this.pti.dataCountMatrix.add(fromZoneId, toZoneId, fromCoordWeight);
+            this.dataCountRow[toIndex] += fromCoordWeight;
         }
 
         private List<ODConnection> buildODConnections(List<Map<Id<TransitStopFacility>, TravelInfo>> trees, Map<Id<TransitStopFacility>, Double> accessTimes,
@@ -344,17 +407,37 @@ public class PTSkimMatrices {
         public final FloatMatrix<T> dataCountMatrix; // how many values/routes were taken into account to calculate the averages
 
         PtIndicators(Set<T> zones) {
-            this.adaptionTimeMatrix = new FloatMatrix<>(zones, 0);
-            this.frequencyMatrix = new FloatMatrix<>(zones, 0);
-
-            this.distanceMatrix = new FloatMatrix<>(zones, 0);
-            this.travelTimeMatrix = new FloatMatrix<>(zones, 0);
-            this.accessTimeMatrix = new FloatMatrix<>(zones, 0);
-            this.egressTimeMatrix = new FloatMatrix<>(zones, 0);
-            this.transferCountMatrix = new FloatMatrix<>(zones, 0);
-            this.dataCountMatrix = new FloatMatrix<>(zones, 0);
-            this.trainTravelTimeShareMatrix = new FloatMatrix<>(zones, 0);
-            this.trainDistanceShareMatrix = new FloatMatrix<>(zones, 0);
+            this(filename -> new FloatMatrix<>(zones, 0));
+        }
+
+        /**
+         * @param matrixFactory creates an empty matrix, given the name of the file the matrix is usually written to (e.g. {@link CalculateSkimMatrices#PT_TRAVELTIMES_FILENAME})
+         */
+        public PtIndicators(Function<String, FloatMatrix<T>> matrixFactory) {
+            this.adaptionTimeMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_ADAPTIONTIMES_FILENAME);
+            this.frequencyMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_FREQUENCIES_FILENAME);
+
+            this.distanceMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_DISTANCES_FILENAME);
+            this.travelTimeMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_TRAVELTIMES_FILENAME);
+            this.accessTimeMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_ACCESSTIMES_FILENAME);
+            this.egressTimeMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_EGRESSTIMES_FILENAME);
+            this.transferCountMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_TRANSFERCOUNTS_FILENAME);
+            this.dataCountMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_DATACOUNTS_FILENAME);
+            this.trainTravelTimeShareMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_TRAINSHARE_BYTIME_FILENAME);
+            this.trainDistanceShareMatrix = matrixFactory.apply(CalculateSkimMatrices.PT_TRAINSHARE_BYDISTANCE_FILENAME);
+        }
+
+        void flush() {
+            this.adaptionTimeMatrix.flush();
+            this.frequencyMatrix.flush();
+            this.distanceMatrix.flush();
+            this.travelTimeMatrix.flush();
+            this.accessTimeMatrix.flush();
+            this.egressTimeMatrix.flush();
+            this.transferCountMatrix.flush();
+            this.dataCountMatrix.flush();
+            this.trainTravelTimeShareMatrix.flush();
+            this.trainDistanceShareMatrix.flush();
         }
     }
 
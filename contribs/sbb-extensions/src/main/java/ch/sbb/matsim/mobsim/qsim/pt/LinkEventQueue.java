@@ -0,0 +1,197 @@
+/* *********************************************************************** *
+ * project: org.matsim.* 												   *
+ *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package ch.sbb.matsim.mobsim.qsim.pt;
+
+import java.util.Arrays;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.vehicles.Vehicle;
+
+/**
+ * A time-sorted queue of precomputed link-leave/link-enter pairs for deterministically simulated transit vehicles.
+ * <p>
+ * The entries are stored in primitive arrays organized as a binary min-heap, so no object has to be created per
+ * link traversal. Entries are ordered by time, then by vehicle id (same ordering as before, based on the
+ * string representation of the id), and finally by insertion order, so that several link changes of the same
+ * vehicle at the same time are returned in the order they were added.
+ */
+final class LinkEventQueue {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private double[] times;
+    private long[] sequence;
+    private int[] fromLinkIndices;
+    private int[] toLinkIndices;
+    private int[] vehicleIndices;
+    private int size = 0;
+    private long nextSequence = 0;
+
+    LinkEventQueue() {
+        this(INITIAL_CAPACITY);
+    }
+
+    LinkEventQueue(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 2);
+        this.times = new double[capacity];
+        this.sequence = new long[capacity];
+        this.fromLinkIndices = new int[capacity];
+        this.toLinkIndices = new int[capacity];
+        this.vehicleIndices = new int[capacity];
+    }
+
+    void add(double time, Id<Link> fromLinkId, Id<Link> toLinkId, Id<Vehicle> vehicleId) {
+        if (this.size == this.times.length) {
+            grow();
+        }
+        int pos = this.size;
+        this.size++;
+        this.times[pos] = time;
+        this.sequence[pos] = this.nextSequence++;
+        this.fromLinkIndices[pos] = fromLinkId.index();
+        this.toLinkIndices[pos] = toLinkId.index();
+        this.vehicleIndices[pos] = vehicleId.index();
+        siftUp(pos);
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the time of the first entry, or {@link Double#POSITIVE_INFINITY} if the queue is empty.
+     */
+    double peekTime() {
+        return this.size == 0 ? Double.POSITIVE_INFINITY : this.times[0];
+    }
+
+    Id<Link> peekFromLinkId() {
+        return Id.get(this.fromLinkIndices[0], Link.class);
+    }
+
+    Id<Link> peekToLinkId() {
+        return Id.get(this.toLinkIndices[0], Link.class);
+    }
+
+    Id<Vehicle> peekVehicleId() {
+        return Id.get(this.vehicleIndices[0], Vehicle.class);
+    }
+
+    /**
+     * Removes the first entry. Use the <code>peek*</code>-methods to read its values before.
+     */
+    void remove() {
+        if (this.size == 0) {
+            throw new IllegalStateException("queue is empty.");
+        }
+        this.size--;
+        if (this.size > 0) {
+            move(this.size, 0);
+            siftDown(0);
+        }
+    }
+
+    void clear() {
+        this.size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int current = pos;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (compare(current, parent) >= 0) {
+                break;
+            }
+            swap(current, parent);
+            current = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        int current = pos;
+        int half = this.size >>> 1;
+        while (current < half) {
+            int child = 2 * current + 1;
+            int right = child + 1;
+            if (right < this.size && compare(right, child) < 0) {
+                child = right;
+            }
+            if (compare(current, child) <= 0) {
+                break;
+            }
+            swap(current, child);
+            current = child;
+        }
+    }
+
+    private int compare(int a, int b) {
+        int result = Double.compare(this.times[a], this.times[b]);
+        if (result == 0) {
+            int vehA = this.vehicleIndices[a];
+            int vehB = this.vehicleIndices[b];
+            if (vehA != vehB) {
+                result = Id.get(vehA, Vehicle.class).compareTo(Id.get(vehB, Vehicle.class));
+            }
+            if (result == 0) {
+                result = Long.compare(this.sequence[a], this.sequence[b]);
+            }
+        }
+        return result;
+    }
+
+    private void swap(int a, int b) {
+        double t = this.times[a];
+        this.times[a] = this.times[b];
+        this.times[b] = t;
+        long s = this.sequence[a];
+        this.sequence[a] = this.sequence[b];
+        this.sequence[b] = s;
+        int i = this.fromLinkIndices[a];
+        this.fromLinkIndices[a] = this.fromLinkIndices[b];
+        this.fromLinkIndices[b] = i;
+        i = this.toLinkIndices[a];
+        this.toLinkIndices[a] = this.toLinkIndices[b];
+        this.toLinkIndices[b] = i;
+        i = this.vehicleIndices[a];
+        this.vehicleIndices[a] = this.vehicleIndices[b];
+        this.vehicleIndices[b] = i;
+    }
+
+    private void move(int from, int to) {
+        this.times[to] = this.times[from];
+        this.sequence[to] = this.sequence[from];
+        this.fromLinkIndices[to] = this.fromLinkIndices[from];
+        this.toLinkIndices[to] = this.toLinkIndices[from];
+        this.vehicleIndices[to] = this.vehicleIndices[from];
+    }
+
+    private void grow() {
+        int newCapacity = this.times.length * 2;
+        this.times = Arrays.copyOf(this.times, newCapacity);
+        this.sequence = Arrays.copyOf(this.sequence, newCapacity);
+        this.fromLinkIndices = Arrays.copyOf(this.fromLinkIndices, newCapacity);
+        this.toLinkIndices = Arrays.copyOf(this.toLinkIndices, newCapacity);
+        this.vehicleIndices = Arrays.copyOf(this.vehicleIndices, newCapacity);
+    }
+}
@@ -90,7 +90,7 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
     private final TransitSchedule schedule;
     private final PriorityQueue<TransitEvent> eventQueue = new PriorityQueue<>();
     private final Map<TransitRoute, List<Link[]>> linksCache;
-    private final PriorityQueue<LinkEvent> linkEventQueue;
+    private final LinkEventQueue linkEventQueue;
     private InternalInterface internalInterface;
     private TransitDriverAgentFactory deterministicDriverFactory;
     private TransitDriverAgentFactory networkDriverFactory;
@@ -107,7 +107,7 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         this.schedule = qSim.getScenario().getTransitSchedule();
         this.agentTracker = agentTracker;
         if (this.config.getCreateLinkEventsInterval() > 0) {
-            this.linkEventQueue = new PriorityQueue<>();
+            this.linkEventQueue = new LinkEventQueue();
             this.linksCache = new ConcurrentHashMap<>();
         } else {
             this.linkEventQueue = null;
@@ -169,12 +169,13 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
     @Override
     public void doSimStep(double time) {
         if (this.createLinkEvents) {
-            LinkEvent linkEvent = this.linkEventQueue.peek();
-            while (linkEvent != null && linkEvent.time <= time) {
-                this.linkEventQueue.poll();
-                this.qSim.getEventsManager().processEvent(new LinkLeaveEvent(time, linkEvent.vehicleId, linkEvent.fromLinkId));
-                this.qSim.getEventsManager().processEvent(new LinkEnterEvent(time, linkEvent.vehicleId, linkEvent.toLinkId));
-                linkEvent = this.linkEventQueue.peek();
+            while (this.linkEventQueue.peekTime() <= time) {
+                Id<Vehicle> vehicleId = this.linkEventQueue.peekVehicleId();
+                Id<Link> fromLinkId = this.linkEventQueue.peekFromLinkId();
+                Id<Link> toLinkId = this.linkEventQueue.peekToLinkId();
+                this.linkEventQueue.remove();
+                this.qSim.getEventsManager().processEvent(new LinkLeaveEvent(time, vehicleId, fromLinkId));
+                this.qSim.getEventsManager().processEvent(new LinkEnterEvent(time, vehicleId, toLinkId));
             }
         }
 
@@ -303,8 +304,7 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
             String mode = driver.getMode();
             this.qSim.getEventsManager().processEvent(new VehicleEntersTrafficEvent(now, driver.getId(), linkId, driver.getVehicle().getId(), mode, 1.0));
         }
-        TransitEvent event = new TransitEvent(now, TransitEventType.ArrivalAtStop, context);
-        this.eventQueue.add(event);
+        this.eventQueue.add(context.event.update(now, TransitEventType.ArrivalAtStop));
     }
 
     private void handleTransitEvent(TransitEvent event) {
@@ -332,11 +332,11 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         SBBTransitDriverAgent driver = event.context.driver;
         TransitRouteStop stop = event.context.nextStop;
         double stopTime = driver.handleTransitStop(stop.getStopFacility(), event.time);
+        // the event was already removed from the queue, so it can be re-used for the next step of this vehicle
         if (stopTime > 0) {
-            TransitEvent depEvent = new TransitEvent(event.time + stopTime, TransitEventType.PassengerExchange, event.context);
-            this.eventQueue.add(depEvent);
+            this.eventQueue.add(event.update(event.time + stopTime, TransitEventType.PassengerExchange));
         } else {
-            handleDepartureAtStop(new TransitEvent(event.time, TransitEventType.DepartureAtStop, event.context));
+            handleDepartureAtStop(event.update(event.time, TransitEventType.DepartureAtStop));
         }
 
     }
@@ -347,19 +347,19 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         driver.depart(stop.getStopFacility(), event.time);
 
         TransitRouteStop nextStop = event.context.advanceStop();
+        double depTime = event.time;
         if (nextStop != null) {
             double arrOffset = nextStop.getArrivalOffset().or(nextStop.getDepartureOffset()).seconds();
             double arrTime = driver.getDeparture().getDepartureTime() + arrOffset;
-            if (arrTime < event.time) {
+            if (arrTime < depTime) {
                 // looks like we had a huge delay before.
                 // MATSim does not allow to send events with an earlier time than the last time,
                 // so we have to adapt a bit here.
-                arrTime = event.time;
+                arrTime = depTime;
             }
-            TransitEvent arrEvent = new TransitEvent(arrTime, TransitEventType.ArrivalAtStop, event.context);
-            this.eventQueue.add(arrEvent);
+            this.eventQueue.add(event.update(arrTime, TransitEventType.ArrivalAtStop));
             if (this.createLinkEvents) {
-                precomputeLinkEvents(event.time, arrTime, event.context.linksToNextStop, driver.getVehicle(), driver);
+                precomputeLinkEvents(depTime, arrTime, event.context.linksToNextStop, driver.getVehicle(), driver);
             }
         } else {
             if (this.createLinkEvents) {
@@ -398,7 +398,7 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
                         this.qSim.getEventsManager().processEvent(new LinkLeaveEvent(time, vehicle.getId(), fromLink.getId()));
                         this.qSim.getEventsManager().processEvent(new LinkEnterEvent(time, vehicle.getId(), toLink.getId()));
                     } else {
-                        this.linkEventQueue.add(new LinkEvent(time, fromLink.getId(), toLink.getId(), vehicle.getId()));
+                        this.linkEventQueue.add(time, fromLink.getId(), toLink.getId(), vehicle.getId());
                     }
                     travelledLength += toLink.getLength();
                 }
@@ -472,9 +472,11 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         TransitRouteStop nextStop;
         Iterator<Link[]> linksIter;
         Link[] linksToNextStop;
+        final TransitEvent event;
 
         TransitContext(SBBTransitDriverAgent driver, List<Link[]> links) {
             this.driver = driver;
+            this.event = new TransitEvent(this);
             this.stopIter = driver.getTransitRoute().getStops().iterator();
             this.nextStop = this.stopIter.next();
             this.linksIter = links == null ? null : links.iterator();
@@ -502,10 +504,18 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         TransitEventType type;
         TransitContext context;
 
-        TransitEvent(double time, TransitEventType type, TransitContext context) {
+        TransitEvent(TransitContext context) {
+            this.context = context;
+        }
+
+        /**
+         * Every vehicle has at most one pending event in the queue, so the event object can be re-used once it is
+         * no longer part of the queue.
+         */
+        TransitEvent update(double time, TransitEventType type) {
             this.time = time;
             this.type = type;
-            this.context = context;
+            return this;
         }
 
         @Override
@@ -523,28 +533,4 @@ public class SBBTransitQSimEngine extends TransitQSimEngine /*implements Departu
         }
     }
 
-    private static class LinkEvent implements Comparable<LinkEvent> {
-
-        double time;
-        Id<Link> fromLinkId;
-        Id<Link> toLinkId;
-        Id<Vehicle> vehicleId;
-
-        LinkEvent(double time, Id<Link> fromLinkId, Id<Link> toLinkId, Id<Vehicle> vehicleId) {
-            this.time = time;
-            this.fromLinkId = fromLinkId;
-            this.toLinkId = toLinkId;
-            this.vehicleId = vehicleId;
-        }
-
-        @Override
-        public int compareTo(LinkEvent o) {
-            int result = Double.compare(this.time, o.time);
-            if (result == 0) {
-                result = this.vehicleId.compareTo(o.vehicleId);
-            }
-            return result;
-        }
-    }
-
 }
@@ -22,17 +22,23 @@ package ch.sbb.matsim.analysis.skims;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.matsim.testcases.MatsimTestUtils;
 
 /**
  * @author mrieser / SBB
  */
 public class FloatMatrixIOTest {
 
+	@RegisterExtension
+	public MatsimTestUtils utils = new MatsimTestUtils();
+
 	@Test
 	void testIO() throws IOException {
         Set<String> zoneIds = new HashSet<>();
@@ -71,4 +77,48 @@ public class FloatMatrixIOTest {
         Assertions.assertEquals(27.0f, matrix2.get("tres", "dos"), epsilon);
         Assertions.assertEquals(64.0f, matrix2.get("tres", "tres"), epsilon);
     }
+
+	@Test
+	void testBinaryIO() throws IOException {
+		FloatMatrix<String> matrix = new FloatMatrix<>(Set.of("un", "dos", "tres"), 0.0f);
+		matrix.set("un", "dos", 3.0f);
+		matrix.set("dos", "tres", 16.0f);
+		matrix.set("tres", "un", Float.POSITIVE_INFINITY);
+
+		String filename = this.utils.getOutputDirectory() + "matrix.bin";
+		FloatMatrixIO.writeAsBinary(matrix, filename);
+		FloatMatrix<String> matrix2 = FloatMatrixIO.readAsBinary(filename, id -> id);
+
+		for (String from : Set.of("un", "dos", "tres")) {
+			for (String to : Set.of("un", "dos", "tres")) {
+				Assertions.assertEquals(matrix.get(from, to), matrix2.get(from, to), 0.0f);
+			}
+		}
+		Assertions.assertThrows(ReadOnlyBufferException.class, () -> matrix2.set("un", "un", 1.0f));
+	}
+
+	@Test
+	void testMemoryMappedMatrix() throws IOException {
+		String filename = this.utils.getOutputDirectory() + "mapped.bin";
+		FloatMatrix<String> matrix = FloatMatrixIO.createBinary(Set.of("un", "dos"), 1.0f, filename);
+		Assertions.assertEquals(1.0f, matrix.get("dos", "un"), 0.0f);
+
+		float[] row = new float[2];
+		row[matrix.id2index.get("un")] = 2.0f;
+		row[matrix.id2index.get("dos")] = 3.0f;
+		matrix.addRow("un", row);
+		matrix.multiply(2.0f);
+		matrix.set("dos", "dos", 7.0f);
+		matrix.flush();
+
+		FloatMatrix<String> matrix2 = FloatMatrixIO.readAsBinary(filename, id -> id);
+		Assertions.assertEquals(6.0f, matrix2.get("un", "un"), 0.0f);
+		Assertions.assertEquals(8.0f, matrix2.get("un", "dos"), 0.0f);
+		Assertions.assertEquals(2.0f, matrix2.get("dos", "un"), 0.0f);
+		Assertions.assertEquals(7.0f, matrix2.get("dos", "dos"), 0.0f);
+
+		float[] row2 = new float[2];
+		matrix2.getRow("un", row2);
+		Assertions.assertEquals(6.0f, row2[matrix2.id2index.get("un")], 0.0f);
+	}
 }
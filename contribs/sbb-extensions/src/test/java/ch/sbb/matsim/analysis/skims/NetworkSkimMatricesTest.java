@@ -0,0 +1,87 @@
+/* *********************************************************************** *
+ * project: org.matsim.* 												   *
+ *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package ch.sbb.matsim.analysis.skims;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.costcalculators.OnlyTimeDependentTravelDisutility;
+import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
+
+public class NetworkSkimMatricesTest {
+
+	/**
+	 * Routing network: A -- B -- C, 1000m and 100s per link. The points of zone 1 are both at node A, the points of zone 2 at nodes B and C.
+	 */
+	@Test
+	void testSkimMatrices() {
+		Network network = NetworkUtils.createNetwork();
+		Network xy2lNetwork = NetworkUtils.createNetwork();
+		Node[] nodes = new Node[3];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = NetworkUtils.createAndAddNode(network, Id.createNodeId(i), new Coord(i * 1000, 0));
+			if (i > 0) {
+				NetworkUtils.createAndAddLink(network, Id.createLinkId(i + "-" + (i - 1)), nodes[i], nodes[i - 1], 1000, 10, 1000, 1);
+				NetworkUtils.createAndAddLink(network, Id.createLinkId((i - 1) + "-" + i), nodes[i - 1], nodes[i], 1000, 10, 1000, 1);
+			}
+			// access links from the north, so every point is clearly assigned to one node
+			Node accessNode = NetworkUtils.createAndAddNode(xy2lNetwork, Id.createNodeId("access" + i), new Coord(i * 1000, 1000));
+			Node node = NetworkUtils.createAndAddNode(xy2lNetwork, nodes[i].getId(), nodes[i].getCoord());
+			NetworkUtils.createAndAddLink(xy2lNetwork, Id.createLinkId("access" + i), accessNode, node, 1000, 10, 1000, 1);
+		}
+
+		Map<String, Coord[]> coordsPerZone = new LinkedHashMap<>();
+		coordsPerZone.put("1", new Coord[] { new Coord(0, 500), new Coord(0, 600) });
+		coordsPerZone.put("2", new Coord[] { new Coord(1000, 500), new Coord(2000, 500) });
+
+		FreeSpeedTravelTime travelTime = new FreeSpeedTravelTime();
+		NetworkSkimMatrices.NetworkIndicators<String> indicators = NetworkSkimMatrices.calculateSkimMatrices(xy2lNetwork, network, coordsPerZone, 8 * 3600, travelTime,
+				new OnlyTimeDependentTravelDisutility(travelTime), 2);
+
+		Assertions.assertEquals(0.0f, indicators.travelTimeMatrix.get("1", "1"), 1e-3f);
+		Assertions.assertEquals(150.0f, indicators.travelTimeMatrix.get("1", "2"), 1e-3f);
+		Assertions.assertEquals(150.0f, indicators.travelTimeMatrix.get("2", "1"), 1e-3f);
+		Assertions.assertEquals(50.0f, indicators.travelTimeMatrix.get("2", "2"), 1e-3f);
+		Assertions.assertEquals(1500.0f, indicators.distanceMatrix.get("2", "1"), 1e-2f);
+
+		// weight the first point of every origin zone three times as much as the second one, average over two departure times
+		NetworkSkimMatrices.NetworkIndicators<String> weightedIndicators = new NetworkSkimMatrices.NetworkIndicators<>(coordsPerZone.keySet());
+		NetworkSkimMatrices.calculateSkimMatrices(xy2lNetwork, network, coordsPerZone, new double[] { 7 * 3600, 8 * 3600 }, travelTime, new OnlyTimeDependentTravelDisutility(travelTime), 2,
+				new PTSkimMatrices.CoordAggregator() {
+					@Override
+					public List<CalculateSkimMatrices.WeightedCoord> aggregateCoords(Coord[] coords) {
+						return List.of(new CalculateSkimMatrices.WeightedCoord(coords[0], 3), new CalculateSkimMatrices.WeightedCoord(coords[1], 1));
+					}
+				}, weightedIndicators);
+
+		Assertions.assertEquals(150.0f, weightedIndicators.travelTimeMatrix.get("1", "2"), 1e-3f);
+		Assertions.assertEquals(125.0f, weightedIndicators.travelTimeMatrix.get("2", "1"), 1e-3f);
+		Assertions.assertEquals(50.0f, weightedIndicators.travelTimeMatrix.get("2", "2"), 1e-3f);
+		Assertions.assertEquals(1250.0f, weightedIndicators.distanceMatrix.get("2", "1"), 1e-2f);
+	}
+}
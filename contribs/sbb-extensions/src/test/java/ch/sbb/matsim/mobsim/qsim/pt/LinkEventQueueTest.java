@@ -0,0 +1,84 @@
+/* *********************************************************************** *
+ * project: org.matsim.* 												   *
+ *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package ch.sbb.matsim.mobsim.qsim.pt;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.vehicles.Vehicle;
+
+public class LinkEventQueueTest {
+
+    @Test
+    void testOrdering() {
+        Id<Link> link1 = Id.create("1", Link.class);
+        Id<Link> link2 = Id.create("2", Link.class);
+        Id<Link> link3 = Id.create("3", Link.class);
+        Id<Vehicle> vehA = Id.create("a", Vehicle.class);
+        Id<Vehicle> vehB = Id.create("b", Vehicle.class);
+
+        LinkEventQueue queue = new LinkEventQueue(2);
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, queue.peekTime(), 0.0);
+
+        queue.add(120, link2, link3, vehA);
+        queue.add(100, link1, link2, vehB);
+        queue.add(100, link1, link2, vehA);
+        queue.add(100, link2, link3, vehA);
+        queue.add(50, link3, link1, vehB);
+        Assertions.assertEquals(5, queue.size());
+
+        assertHead(queue, 50, link3, link1, vehB);
+        assertHead(queue, 100, link1, link2, vehA);
+        assertHead(queue, 100, link2, link3, vehA); // same vehicle and time: insertion order
+        assertHead(queue, 100, link1, link2, vehB);
+        assertHead(queue, 120, link2, link3, vehA);
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testManyEntries() {
+        Id<Link> link1 = Id.create("1", Link.class);
+        Id<Link> link2 = Id.create("2", Link.class);
+        Id<Vehicle> veh = Id.create("a", Vehicle.class);
+
+        LinkEventQueue queue = new LinkEventQueue(4);
+        for (int i = 0; i < 1000; i++) {
+            queue.add((i * 7919) % 1000, link1, link2, veh);
+        }
+        double lastTime = Double.NEGATIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            double time = queue.peekTime();
+            Assertions.assertTrue(time >= lastTime);
+            lastTime = time;
+            queue.remove();
+        }
+        Assertions.assertEquals(999, lastTime, 0.0);
+    }
+
+    private static void assertHead(LinkEventQueue queue, double time, Id<Link> fromLinkId, Id<Link> toLinkId, Id<Vehicle> vehicleId) {
+        Assertions.assertEquals(time, queue.peekTime(), 0.0);
+        Assertions.assertEquals(fromLinkId, queue.peekFromLinkId());
+        Assertions.assertEquals(toLinkId, queue.peekToLinkId());
+        Assertions.assertEquals(vehicleId, queue.peekVehicleId());
+        queue.remove();
+    }
+}
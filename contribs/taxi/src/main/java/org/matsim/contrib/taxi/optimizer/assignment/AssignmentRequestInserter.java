@@ -62,7 +62,8 @@ public class AssignmentRequestInserter implements UnplannedRequestInserter {
 		this.params = params;
 
 		assignmentProblem = new VehicleAssignmentProblem<>(network, travelTime, travelDisutility, router,
-				params.nearestRequestsLimit, params.nearestVehiclesLimit);
+				params.nearestRequestsLimit, params.nearestVehiclesLimit, params.sparseAssignment,
+				params.numberOfThreads);
 
 		assignmentCostProvider = new TaxiToRequestAssignmentCostProvider(params);
 	}
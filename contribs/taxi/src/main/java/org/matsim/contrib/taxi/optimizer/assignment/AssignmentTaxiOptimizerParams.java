@@ -86,6 +86,24 @@ public final class AssignmentTaxiOptimizerParams extends AbstractTaxiOptimizerPa
 	@Positive
 	public double nullPathCost = 48 * 3600;
 
+	@Parameter
+	@Comment("If true, only the vehicle-request pairs selected by 'nearestRequestsLimit' and 'nearestVehiclesLimit'"
+			+ " are considered in the assignment, which is then solved with a sparse shortest augmenting path"
+			+ " algorithm instead of the Hungarian algorithm on a dense cost matrix."
+			+ " The computation time and memory then grow roughly linearly with the fleet size,"
+			+ " which makes it suitable for large fleets and short re-optimisation intervals."
+			+ " Vehicles and requests without any candidate pair are not assigned (they are considered again"
+			+ " in the next re-optimisation), so 'nullPathCost' is not used."
+			+ " The default value is false.")
+	public boolean sparseAssignment = false;
+
+	@Parameter
+	@Comment("Number of threads used for computing path trees in the assignment procedure."
+			+ " The path trees are computed in the common ForkJoinPool, so the parallelism is also limited by its size."
+			+ " The default value is 1.")
+	@Positive
+	public int numberOfThreads = 1;
+
 	/**
 	 * {@value #REOPTIMIZATION_TIME_STEP_EXP}
 	 */
@@ -0,0 +1,270 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.taxi.optimizer.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Solves the assignment problem for a sparse set of candidate (row, column) pairs by successive shortest augmenting
+ * paths (Dijkstra with node potentials, as in the augmentation phase of LAPJV). Pairs that are not given as candidates
+ * cannot be assigned.
+ * <p>
+ * Each augmentation extends the matching along the globally shortest augmenting path (starting at any unmatched row),
+ * so the result is a maximum-cardinality matching that has the minimum total cost among all maximum-cardinality
+ * matchings. Each Dijkstra search stops as soon as it reaches an unmatched column, so with a few dozen candidates per
+ * row, augmentations usually explore only a small part of the graph.
+ * <p>
+ * Compared to {@link HungarianAlgorithm}, neither the time nor the memory consumption depends on the product of
+ * the number of rows and columns. Best performance is achieved if rows correspond to the smaller side of the problem.
+ */
+public class ShortestAugmentingPathAlgorithm {
+	private final int rows;
+	private final int cols;
+	private final int[][] colsByRow;
+	private final double[][] costsByRow;
+
+	private final double[] rowPotentials;
+	private final double[] colPotentials;
+	private double sourcePotential;
+
+	private final int[] matchColByRow;
+	private final int[] matchRowByCol;
+	private final double[] matchCostByCol;
+
+	// Dijkstra data (rows: [0, rows), cols: [rows, rows + cols))
+	private final double[] dist;
+	private final boolean[] finalized;
+	private final int[] predRowByCol;
+	private final double[] predCostByCol;
+	private final int[] touched;
+	private int touchedCount;
+
+	private int[] heapNodes = new int[16];
+	private double[] heapKeys = new double[16];
+	private int heapSize;
+
+	/**
+	 * @param cols       number of columns
+	 * @param colsByRow  colsByRow[r] holds the candidate columns of row r
+	 * @param costsByRow costsByRow[r][i] holds the cost of assigning row r to column colsByRow[r][i]; pairs with
+	 *                   non-finite costs are ignored
+	 */
+	public ShortestAugmentingPathAlgorithm(int cols, int[][] colsByRow, double[][] costsByRow) {
+		this.rows = colsByRow.length;
+		this.cols = cols;
+		this.colsByRow = colsByRow;
+		this.costsByRow = costsByRow;
+
+		rowPotentials = new double[rows];
+		colPotentials = new double[cols];
+
+		matchColByRow = new int[rows];
+		Arrays.fill(matchColByRow, -1);
+		matchRowByCol = new int[cols];
+		Arrays.fill(matchRowByCol, -1);
+		matchCostByCol = new double[cols];
+
+		dist = new double[rows + cols];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		finalized = new boolean[rows + cols];
+		predRowByCol = new int[cols];
+		predCostByCol = new double[cols];
+		touched = new int[rows + cols];
+	}
+
+	/**
+	 * @return the column assigned to each row; -1 indicates that the row is unassigned
+	 */
+	public int[] execute() {
+		computeInitialPotentials();
+		int maxMatchCount = Math.min(cols, (int)Arrays.stream(rowPotentials).filter(Double::isFinite).count());
+		for (int matchCount = 0; matchCount < maxMatchCount; matchCount++) {
+			int col = findShortestAugmentingPath();
+			if (col < 0) {
+				break;// maximum-cardinality matching reached
+			}
+			augment(col);
+		}
+		return matchColByRow.clone();
+	}
+
+	// reduced cost of edge (x, y) is: cost + potential(x) - potential(y) >= 0
+	private void computeInitialPotentials() {
+		sourcePotential = Double.NEGATIVE_INFINITY;
+		for (int r = 0; r < rows; r++) {
+			double minCost = Double.POSITIVE_INFINITY;
+			for (double cost : costsByRow[r]) {
+				if (Double.isFinite(cost)) {
+					minCost = Math.min(minCost, cost);
+				}
+			}
+			// rows without candidates get an infinite potential and are never considered
+			rowPotentials[r] = -minCost;
+			if (Double.isFinite(minCost)) {
+				sourcePotential = Math.max(sourcePotential, rowPotentials[r]);
+			}
+		}
+	}
+
+	private int findShortestAugmentingPath() {
+		for (int r = 0; r < rows; r++) {
+			if (matchColByRow[r] < 0 && Double.isFinite(rowPotentials[r])) {
+				relax(r, sourcePotential - rowPotentials[r]);
+			}
+		}
+
+		int targetCol = -1;
+		while (heapSize > 0) {
+			double d = heapKeys[0];
+			int node = pollHeap();
+			if (finalized[node] || d > dist[node]) {
+				continue;// outdated heap entry
+			}
+			finalized[node] = true;
+
+			if (node < rows) {
+				int r = node;
+				int[] rowCols = colsByRow[r];
+				double[] rowCosts = costsByRow[r];
+				for (int i = 0; i < rowCols.length; i++) {
+					int c = rowCols[i];
+					double cost = rowCosts[i];
+					if (c == matchColByRow[r] || !Double.isFinite(cost) || finalized[rows + c]) {
+						continue;
+					}
+					double newDist = d + cost + rowPotentials[r] - colPotentials[c];
+					if (newDist < dist[rows + c]) {
+						predRowByCol[c] = r;
+						predCostByCol[c] = cost;
+						relax(rows + c, newDist);
+					}
+				}
+			} else {
+				int c = node - rows;
+				int r = matchRowByCol[c];
+				if (r < 0) {
+					targetCol = c;
+					break;
+				}
+				// backward (matched) edge
+				double newDist = d - matchCostByCol[c] + colPotentials[c] - rowPotentials[r];
+				if (!finalized[r] && newDist < dist[r]) {
+					relax(r, newDist);
+				}
+			}
+		}
+
+		if (targetCol >= 0) {
+			updatePotentials(dist[rows + targetCol]);
+		}
+		resetDijkstraData();
+		return targetCol;
+	}
+
+	// potential += min(dist, maxDist) - maxDist; keeps all reduced costs non-negative and changes only finalized nodes
+	private void updatePotentials(double maxDist) {
+		sourcePotential -= maxDist;
+		for (int i = 0; i < touchedCount; i++) {
+			int node = touched[i];
+			if (finalized[node]) {
+				if (node < rows) {
+					rowPotentials[node] += dist[node] - maxDist;
+				} else {
+					colPotentials[node - rows] += dist[node] - maxDist;
+				}
+			}
+		}
+	}
+
+	private void augment(int col) {
+		int c = col;
+		while (c >= 0) {
+			int r = predRowByCol[c];
+			int prevCol = matchColByRow[r];
+			matchColByRow[r] = c;
+			matchRowByCol[c] = r;
+			matchCostByCol[c] = predCostByCol[c];
+			c = prevCol;
+		}
+	}
+
+	private void relax(int node, double newDist) {
+		if (dist[node] == Double.POSITIVE_INFINITY) {
+			touched[touchedCount++] = node;
+		}
+		dist[node] = newDist;
+		addToHeap(node, newDist);
+	}
+
+	private void resetDijkstraData() {
+		for (int i = 0; i < touchedCount; i++) {
+			int node = touched[i];
+			dist[node] = Double.POSITIVE_INFINITY;
+			finalized[node] = false;
+		}
+		touchedCount = 0;
+		heapSize = 0;
+	}
+
+	// binary min-heap with lazy deletion of outdated entries
+	private void addToHeap(int node, double key) {
+		if (heapSize == heapNodes.length) {
+			heapNodes = Arrays.copyOf(heapNodes, 2 * heapSize);
+			heapKeys = Arrays.copyOf(heapKeys, 2 * heapSize);
+		}
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heapKeys[parent] <= key) {
+				break;
+			}
+			heapNodes[i] = heapNodes[parent];
+			heapKeys[i] = heapKeys[parent];
+			i = parent;
+		}
+		heapNodes[i] = node;
+		heapKeys[i] = key;
+	}
+
+	private int pollHeap() {
+		int top = heapNodes[0];
+		int lastNode = heapNodes[--heapSize];
+		double lastKey = heapKeys[heapSize];
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+			if (lastKey <= heapKeys[child]) {
+				break;
+			}
+			heapNodes[i] = heapNodes[child];
+			heapKeys[i] = heapKeys[child];
+			i = child;
+		}
+		heapNodes[i] = lastNode;
+		heapKeys[i] = lastKey;
+		return top;
+	}
+}
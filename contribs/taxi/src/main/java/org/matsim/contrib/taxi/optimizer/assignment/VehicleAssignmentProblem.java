@@ -21,6 +21,10 @@ package org.matsim.contrib.taxi.optimizer.assignment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.matsim.api.core.v01.IdMap;
 import org.matsim.api.core.v01.network.Link;
@@ -40,6 +44,8 @@ import org.matsim.core.router.util.LeastCostPathCalculator;
 import org.matsim.core.router.util.TravelDisutility;
 import org.matsim.core.router.util.TravelTime;
 
+import com.google.common.util.concurrent.Futures;
+
 /**
  * @author michalm
  */
@@ -51,11 +57,14 @@ public class VehicleAssignmentProblem<D> {
 	private final TravelTime travelTime;
 	private final LeastCostPathCalculator router;
 
-	private final OneToManyPathSearch pathSearch;
+	// one search per thread (path searches are not thread-safe)
+	private final OneToManyPathSearch[] pathSearches;
 
 	private final StraightLineKnnFinder<VehicleData.Entry, DestEntry<D>> destinationFinder;
 	private final StraightLineKnnFinder<DestEntry<D>, VehicleData.Entry> vehicleFinder;
 
+	private final boolean sparseAssignment;
+
 	private AssignmentCost<D> assignmentCost;
 	private VehicleData vData;
 	private AssignmentDestinationData<D> dData;
@@ -67,13 +76,28 @@ public class VehicleAssignmentProblem<D> {
 
 	public VehicleAssignmentProblem(Network network, TravelTime travelTime, TravelDisutility travelDisutility,
 			LeastCostPathCalculator router, int nearestDestinationLimit, int nearestVehicleLimit) {
+		this(network, travelTime, travelDisutility, router, nearestDestinationLimit, nearestVehicleLimit, false, 1);
+	}
+
+	/**
+	 * @param sparseAssignment if true, only the kNN-filtered vehicle-destination pairs are considered in the
+	 *                         assignment (solved with {@link ShortestAugmentingPathAlgorithm}); otherwise, a dense cost
+	 *                         matrix is solved with {@link HungarianAlgorithm}
+	 * @param numberOfThreads  number of threads used for computing path trees
+	 */
+	public VehicleAssignmentProblem(Network network, TravelTime travelTime, TravelDisutility travelDisutility,
+			LeastCostPathCalculator router, int nearestDestinationLimit, int nearestVehicleLimit,
+			boolean sparseAssignment, int numberOfThreads) {
 		this.travelTime = travelTime;
 		this.router = router;
+		this.sparseAssignment = sparseAssignment;
 
 		IdMap<Node, Node> nodeMap = new IdMap<>(Node.class);
 		nodeMap.putAll(network.getNodes());
-		pathSearch = OneToManyPathSearch.createSearch(SpeedyGraphBuilder.build(network), nodeMap, travelTime, travelDisutility,
-				false);
+		SpeedyGraph graph = SpeedyGraphBuilder.build(network);
+		pathSearches = IntStream.range(0, numberOfThreads)
+				.mapToObj(i -> OneToManyPathSearch.createSearch(graph, nodeMap, travelTime, travelDisutility, false))
+				.toArray(OneToManyPathSearch[]::new);
 
 		// TODO this kNN is slow
 		destinationFinder = nearestDestinationLimit < 0 ?
@@ -92,60 +116,123 @@ public class VehicleAssignmentProblem<D> {
 		this.dData = dData;
 		this.assignmentCost = assignmentCost;
 
+		return sparseAssignment ? findSparseAssignments() : findDenseAssignments();
+	}
+
+	private List<Dispatch<D>> findDenseAssignments() {
 		PathData[][] pathDataMatrix = createPathDataMatrix();
 		double[][] costMatrix = createCostMatrix(pathDataMatrix);
 		int[] assignments = new HungarianAlgorithm(costMatrix).execute();
-		return createDispatches(assignments, pathDataMatrix, travelTime);
+		return createDispatches(assignments, pathDataMatrix);
 	}
 
-	// private static int calcPathsForVehiclesCount = 0;
-	// private static int calcPathsForDestinationsCount = 0;
-
 	private PathData[][] createPathDataMatrix() {
 		PathData[][] pathDataMatrix = new PathData[vData.getSize()][dData.getSize()];
-
-		if (dData.getSize() > vData.getSize()) {
-			calcPathsForVehicles(pathDataMatrix);
-		} else {
-			calcPathsForDestinations(pathDataMatrix);
+		boolean forVehicles = isForVehicles();
+		CandidatePaths candidatePaths = calcCandidatePaths(forVehicles);
+		for (int s = 0; s < candidatePaths.targets.length; s++) {
+			int[] targets = candidatePaths.targets[s];
+			for (int i = 0; i < targets.length; i++) {
+				if (forVehicles) {
+					pathDataMatrix[s][targets[i]] = candidatePaths.paths[s][i];
+				} else {
+					pathDataMatrix[targets[i]][s] = candidatePaths.paths[s][i];
+				}
+			}
 		}
-
 		return pathDataMatrix;
 	}
 
-	private void calcPathsForVehicles(PathData[][] pathDataMatrix) {
-		for (int v = 0; v < vData.getSize(); v++) {
-			VehicleData.Entry departure = vData.getEntry(v);
+	// sources are the smaller side (the one we compute path trees for)
+	private List<Dispatch<D>> findSparseAssignments() {
+		boolean forVehicles = isForVehicles();
+		CandidatePaths candidatePaths = calcCandidatePaths(forVehicles);
+		int[][] targets = candidatePaths.targets;
+		double[][] costs = new double[targets.length][];
+		for (int s = 0; s < targets.length; s++) {
+			costs[s] = new double[targets[s].length];
+			for (int i = 0; i < targets[s].length; i++) {
+				int v = forVehicles ? s : targets[s][i];
+				int d = forVehicles ? targets[s][i] : s;
+				costs[s][i] = assignmentCost.calc(vData.getEntry(v), dData.getEntry(d), candidatePaths.paths[s][i]);
+			}
+		}
 
-			List<DestEntry<D>> filteredDests = destinationFinder == null ?
-					dData.getEntries() :
-					destinationFinder.findNearest(departure, dData.getEntries().stream());
-			List<Link> toLinks = filteredDests.stream().map(dest -> dest.link).toList();
-			PathData[] paths = pathSearch.calcPathDataArray(departure.link, toLinks, departure.time, true);
+		int targetCount = forVehicles ? dData.getSize() : vData.getSize();
+		int[] assignments = new ShortestAugmentingPathAlgorithm(targetCount, targets, costs).execute();
 
-			for (int i = 0; i < filteredDests.size(); i++) {
-				int d = filteredDests.get(i).idx;
-				pathDataMatrix[v][d] = paths[i];
+		List<Dispatch<D>> dispatches = new ArrayList<>(assignments.length);
+		for (int s = 0; s < assignments.length; s++) {
+			int t = assignments[s];
+			if (t < 0) {
+				continue;
 			}
+			int i = indexOf(targets[s], t);
+			int v = forVehicles ? s : t;
+			int d = forVehicles ? t : s;
+			dispatches.add(createDispatch(v, d, candidatePaths.paths[s][i]));
 		}
+		return dispatches;
 	}
 
-	// TODO does not support adv reqs
-	private void calcPathsForDestinations(PathData[][] pathDataMatrix) {
-		for (int d = 0; d < dData.getSize(); d++) {
-			DestEntry<D> dest = dData.getEntry(d);
-
-			List<VehicleData.Entry> filteredVehs = vehicleFinder == null ?
-					vData.getEntries() :
-					vehicleFinder.findNearest(dest, vData.getEntries().stream());
-			List<Link> toLinks = filteredVehs.stream().map(veh -> veh.link).toList();
-			PathData[] paths = pathSearch.calcPathDataArray(dest.link, toLinks, dest.time, false);
-
-			for (int i = 0; i < filteredVehs.size(); i++) {
-				int v = filteredVehs.get(i).idx;
-				pathDataMatrix[v][d] = paths[i];
+	private boolean isForVehicles() {
+		return dData.getSize() > vData.getSize();
+	}
+
+	private record CandidatePaths(int[][] targets, PathData[][] paths) {
+	}
+
+	private CandidatePaths calcCandidatePaths(boolean forVehicles) {
+		int sourceCount = forVehicles ? vData.getSize() : dData.getSize();
+		CandidatePaths candidatePaths = new CandidatePaths(new int[sourceCount][], new PathData[sourceCount][]);
+
+		// interleaved partitioning to balance the load between threads
+		List<Runnable> tasks = IntStream.range(0, pathSearches.length).mapToObj(t -> (Runnable)() -> {
+			for (int s = t; s < sourceCount; s += pathSearches.length) {
+				if (forVehicles) {
+					calcPathsForVehicle(pathSearches[t], s, candidatePaths);
+				} else {
+					calcPathsForDestination(pathSearches[t], s, candidatePaths);
+				}
+			}
+		}).toList();
+
+		if (tasks.size() == 1) {
+			tasks.get(0).run();
+		} else {
+			// the common pool is shared and needs no shutdown (unlike a pool created per assignment problem)
+			ExecutorService executorService = ForkJoinPool.commonPool();
+			try {
+				executorService.invokeAll(tasks.stream().map(Executors::callable).toList())
+						.forEach(Futures::getUnchecked);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
 			}
 		}
+		return candidatePaths;
+	}
+
+	private void calcPathsForVehicle(OneToManyPathSearch pathSearch, int v, CandidatePaths candidatePaths) {
+		VehicleData.Entry departure = vData.getEntry(v);
+
+		List<DestEntry<D>> filteredDests = destinationFinder == null ?
+				dData.getEntries() :
+				destinationFinder.findNearest(departure, dData.getEntries().stream());
+		List<Link> toLinks = filteredDests.stream().map(dest -> dest.link).toList();
+		candidatePaths.paths[v] = pathSearch.calcPathDataArray(departure.link, toLinks, departure.time, true);
+		candidatePaths.targets[v] = filteredDests.stream().mapToInt(dest -> dest.idx).toArray();
+	}
+
+	// TODO does not support adv reqs
+	private void calcPathsForDestination(OneToManyPathSearch pathSearch, int d, CandidatePaths candidatePaths) {
+		DestEntry<D> dest = dData.getEntry(d);
+
+		List<VehicleData.Entry> filteredVehs = vehicleFinder == null ?
+				vData.getEntries() :
+				vehicleFinder.findNearest(dest, vData.getEntries().stream());
+		List<Link> toLinks = filteredVehs.stream().map(veh -> veh.link).toList();
+		candidatePaths.paths[d] = pathSearch.calcPathDataArray(dest.link, toLinks, dest.time, false);
+		candidatePaths.targets[d] = filteredVehs.stream().mapToInt(veh -> veh.idx).toArray();
 	}
 
 	private double[][] createCostMatrix(PathData[][] pathDataMatrix) {
@@ -162,7 +249,7 @@ public class VehicleAssignmentProblem<D> {
 		return costMatrix;
 	}
 
-	private List<Dispatch<D>> createDispatches(int[] assignments, PathData[][] pathDataMatrix, TravelTime travelTime) {
+	private List<Dispatch<D>> createDispatches(int[] assignments, PathData[][] pathDataMatrix) {
 		List<Dispatch<D>> dispatches = new ArrayList<>(Math.min(vData.getSize(), dData.getSize()));
 		for (int v = 0; v < assignments.length; v++) {
 			int d = assignments[v];
@@ -170,19 +257,30 @@ public class VehicleAssignmentProblem<D> {
 					d >= dData.getSize()) {// non-existing (dummy) request assigned
 				continue;
 			}
+			dispatches.add(createDispatch(v, d, pathDataMatrix[v][d]));
+		}
 
-			VehicleData.Entry departure = vData.getEntry(v);
-			DestEntry<D> dest = dData.getEntry(d);
-			PathData pathData = pathDataMatrix[v][d];
+		return dispatches;
+	}
 
-			// TODO if null is frequent we may be more efficient by increasing the neighbourhood
-			VrpPathWithTravelData vrpPath = pathData == null ?
-					VrpPaths.calcAndCreatePath(departure.link, dest.link, departure.time, router, travelTime) :
-					VrpPaths.createPath(departure.link, dest.link, departure.time, pathData, travelTime);
+	private Dispatch<D> createDispatch(int v, int d, PathData pathData) {
+		VehicleData.Entry departure = vData.getEntry(v);
+		DestEntry<D> dest = dData.getEntry(d);
 
-			dispatches.add(new Dispatch<>(departure.vehicle, dest.destination, vrpPath));
-		}
+		// TODO if null is frequent we may be more efficient by increasing the neighbourhood
+		VrpPathWithTravelData vrpPath = pathData == null ?
+				VrpPaths.calcAndCreatePath(departure.link, dest.link, departure.time, router, travelTime) :
+				VrpPaths.createPath(departure.link, dest.link, departure.time, pathData, travelTime);
 
-		return dispatches;
+		return new Dispatch<>(departure.vehicle, dest.destination, vrpPath);
+	}
+
+	private static int indexOf(int[] array, int value) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException();
 	}
 }
@@ -0,0 +1,93 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.taxi.optimizer.assignment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ShortestAugmentingPathAlgorithmTest {
+	@Test
+	void sparseProblem() {
+		int[][] cols = { { 0 }, { 0, 1 }, { 1 }, {} };
+		double[][] costs = { { 100 }, { 1, 5 }, { 2 }, {} };
+
+		// only two rows can be matched; row 0 is cheaper to leave unassigned than row 2
+		assertThat(new ShortestAugmentingPathAlgorithm(3, cols, costs).execute()).containsExactly(-1, 0, 1, -1);
+	}
+
+	@Test
+	void maximumCardinalityFirst() {
+		int[][] cols = { { 0, 1 }, { 0 } };
+		double[][] costs = { { 1, 100 }, { 50 } };
+
+		// matching both rows is preferred over the cheapest single assignment
+		assertThat(new ShortestAugmentingPathAlgorithm(2, cols, costs).execute()).containsExactly(1, 0);
+	}
+
+	@Test
+	void infiniteCostsAreIgnored() {
+		int[][] cols = { { 0, 1 }, { 1 } };
+		double[][] costs = { { 3, 1 }, { Double.POSITIVE_INFINITY } };
+
+		assertThat(new ShortestAugmentingPathAlgorithm(2, cols, costs).execute()).containsExactly(1, -1);
+	}
+
+	@Test
+	void sameCostsAsHungarianAlgorithm_denseProblems() {
+		Random random = new Random(123);
+		for (int run = 0; run < 50; run++) {
+			int rows = 1 + random.nextInt(30);
+			int cols = 1 + random.nextInt(30);
+			double[][] costMatrix = new double[rows][cols];
+			for (double[] row : costMatrix) {
+				for (int c = 0; c < cols; c++) {
+					row[c] = random.nextInt(1000) - 100;
+				}
+			}
+
+			int[] allCols = IntStream.range(0, cols).toArray();
+			int[][] colsByRow = new int[rows][];
+			for (int r = 0; r < rows; r++) {
+				colsByRow[r] = allCols;
+			}
+
+			int[] expected = new HungarianAlgorithm(costMatrix).execute();
+			int[] actual = new ShortestAugmentingPathAlgorithm(cols, colsByRow, costMatrix).execute();
+
+			assertThat(IntStream.of(actual).filter(c -> c >= 0).distinct().count()).isEqualTo(Math.min(rows, cols));
+			assertThat(totalCost(costMatrix, actual)).isCloseTo(totalCost(costMatrix, expected), within(1e-9));
+		}
+	}
+
+	private static double totalCost(double[][] costMatrix, int[] assignment) {
+		double cost = 0;
+		for (int r = 0; r < assignment.length; r++) {
+			if (assignment[r] >= 0 && assignment[r] < costMatrix[r].length) {
+				cost += costMatrix[r][assignment[r]];
+			}
+		}
+		return cost;
+	}
+}
@@ -0,0 +1,144 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.contrib.taxi.optimizer.assignment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Link;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.contrib.dvrp.fleet.DvrpVehicle;
+import org.matsim.contrib.dvrp.router.TimeAsTravelDisutility;
+import org.matsim.contrib.dvrp.util.LinkTimePair;
+import org.matsim.contrib.taxi.optimizer.BestDispatchFinder.Dispatch;
+import org.matsim.contrib.taxi.optimizer.VehicleData;
+import org.matsim.contrib.taxi.optimizer.assignment.AssignmentDestinationData.DestEntry;
+import org.matsim.contrib.taxi.scheduler.TaxiScheduleInquiry;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.util.TravelDisutility;
+import org.matsim.core.router.util.TravelTime;
+import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
+
+import com.google.common.collect.ImmutableList;
+
+public class VehicleAssignmentProblemTest {
+	private static final int GRID_SIZE = 6;
+
+	private final Random random = new Random(42);
+	private final Network network = createGridNetwork();
+	private final List<Link> links = new ArrayList<>(network.getLinks().values());
+	private final TravelTime travelTime = new FreeSpeedTravelTime();
+	private final TravelDisutility travelDisutility = new TimeAsTravelDisutility(travelTime);
+
+	// all costs passed to the assignment algorithms, to evaluate the dispatches
+	private final Map<Map.Entry<DvrpVehicle, Integer>, Double> costs = new ConcurrentHashMap<>();
+	private final VehicleAssignmentProblem.AssignmentCost<Integer> assignmentCost = (departure, dest, pathData) -> {
+		double cost = pathData.getTravelTime();
+		costs.put(Map.entry(departure.vehicle, dest.destination), cost);
+		return cost;
+	};
+
+	@Test
+	void sparseAssignmentWithThreads_sameCostsAsDenseAssignment() {
+		var denseProblem = new VehicleAssignmentProblem<Integer>(network, travelTime, travelDisutility);
+		// no kNN filtering, so both consider all vehicle-destination pairs
+		var sparseProblem = new VehicleAssignmentProblem<Integer>(network, travelTime, travelDisutility, null, -1, -1, true, 4);
+
+		// path trees computed for vehicles (fewer vehicles than destinations) and for destinations (the other way round)
+		for (int[] sizes : new int[][] { { 7, 12 }, { 12, 7 }, { 10, 10 } }) {
+			VehicleData vData = createVehicleData(sizes[0]);
+			AssignmentDestinationData<Integer> dData = createDestinationData(sizes[1]);
+
+			List<Dispatch<Integer>> expected = denseProblem.findAssignments(vData, dData, assignmentCost);
+			List<Dispatch<Integer>> actual = sparseProblem.findAssignments(vData, dData, assignmentCost);
+
+			assertThat(actual).hasSize(Math.min(sizes[0], sizes[1]));
+			assertThat(actual.stream().map(d -> d.vehicle).distinct()).hasSameSizeAs(actual);
+			assertThat(actual.stream().map(d -> d.destination).distinct()).hasSameSizeAs(actual);
+			assertThat(totalCost(actual)).isCloseTo(totalCost(expected), within(1e-9));
+		}
+	}
+
+	private VehicleData createVehicleData(int count) {
+		TaxiScheduleInquiry scheduleInquiry = mock(TaxiScheduleInquiry.class);
+		List<DvrpVehicle> vehicles = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			DvrpVehicle vehicle = mock(DvrpVehicle.class);
+			when(scheduleInquiry.getImmediateDiversionOrEarliestIdleness(vehicle)).thenReturn(new LinkTimePair(randomLink(), 0));
+			vehicles.add(vehicle);
+		}
+		return new VehicleData(0, scheduleInquiry, vehicles.stream());
+	}
+
+	private AssignmentDestinationData<Integer> createDestinationData(int count) {
+		var entries = ImmutableList.<DestEntry<Integer>>builder();
+		for (int i = 0; i < count; i++) {
+			entries.add(new DestEntry<>(i, i, randomLink(), 0));
+		}
+		return new AssignmentDestinationData<>(entries.build());
+	}
+
+	private Link randomLink() {
+		return links.get(random.nextInt(links.size()));
+	}
+
+	private double totalCost(List<Dispatch<Integer>> dispatches) {
+		return dispatches.stream().mapToDouble(d -> costs.get(Map.entry(d.vehicle, d.destination))).sum();
+	}
+
+	// grid with links in both directions and random speeds (to avoid too many ties)
+	private Network createGridNetwork() {
+		Network network = NetworkUtils.createNetwork();
+		Node[][] nodes = new Node[GRID_SIZE][GRID_SIZE];
+		for (int x = 0; x < GRID_SIZE; x++) {
+			for (int y = 0; y < GRID_SIZE; y++) {
+				nodes[x][y] = NetworkUtils.createAndAddNode(network, Id.createNodeId(x + "_" + y), new Coord(x * 100, y * 100));
+			}
+		}
+		for (int x = 0; x < GRID_SIZE; x++) {
+			for (int y = 0; y < GRID_SIZE; y++) {
+				if (x + 1 < GRID_SIZE) {
+					addLinks(network, nodes[x][y], nodes[x + 1][y]);
+				}
+				if (y + 1 < GRID_SIZE) {
+					addLinks(network, nodes[x][y], nodes[x][y + 1]);
+				}
+			}
+		}
+		return network;
+	}
+
+	private void addLinks(Network network, Node a, Node b) {
+		NetworkUtils.createAndAddLink(network, Id.createLinkId(a.getId() + "-" + b.getId()), a, b, 100, 5 + random.nextDouble() * 10, 1000, 1);
+		NetworkUtils.createAndAddLink(network, Id.createLinkId(b.getId() + "-" + a.getId()), b, a, 100, 5 + random.nextDouble() * 10, 1000, 1);
+	}
+}
@@ -24,23 +24,20 @@
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.matsim.api.core.v01.Scenario;
-import org.matsim.api.core.v01.TransportMode;
 import org.matsim.api.core.v01.network.Network;
 import org.matsim.api.core.v01.population.Population;
 import org.matsim.core.config.groups.GlobalConfigGroup;
-import org.matsim.core.network.NetworkUtils;
-import org.matsim.core.network.algorithms.TransportModeNetworkFilter;
 import org.matsim.core.population.algorithms.AbstractPersonAlgorithm;
 import org.matsim.core.population.algorithms.ParallelPersonAlgorithmUtils;
 import org.matsim.core.population.algorithms.PersonPrepareForSim;
 import org.matsim.core.router.PlanRouter;
+import org.matsim.core.router.SingleModeNetworksCache;
 import org.matsim.core.router.TripRouter;
 import org.matsim.core.utils.timing.TimeInterpretation;
 import org.matsim.facilities.ActivityFacilities;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
-import java.util.HashSet;
 
 public final class PrepareForMobsimImpl implements PrepareForMobsim {
 	// I think it is ok to have this public final.  Since one may want to use it as a delegate.  kai, may'18
@@ -58,10 +55,12 @@ public final class PrepareForMobsimImpl implements PrepareForMobsim {
 	private final ActivityFacilities activityFacilities;
 	private final Provider<TripRouter> tripRouterProvider;
 	private final TimeInterpretation timeInterpretation;
+	private final SingleModeNetworksCache singleModeNetworksCache;
 
 	@Inject
 	PrepareForMobsimImpl(GlobalConfigGroup globalConfigGroup, Scenario scenario, Network network,
-				Population population, ActivityFacilities activityFacilities, Provider<TripRouter> tripRouterProvider, TimeInterpretation timeInterpretation) {
+				Population population, ActivityFacilities activityFacilities, Provider<TripRouter> tripRouterProvider, TimeInterpretation timeInterpretation,
+				SingleModeNetworksCache singleModeNetworksCache) {
 		this.globalConfigGroup = globalConfigGroup;
 		this.scenario = scenario;
 		this.network = network;
@@ -69,6 +68,7 @@ public final class PrepareForMobsimImpl implements PrepareForMobsim {
 		this.activityFacilities = activityFacilities;
 		this.tripRouterProvider = tripRouterProvider;
 		this.timeInterpretation = timeInterpretation;
+		this.singleModeNetworksCache = singleModeNetworksCache;
 	}
 
 
@@ -80,18 +80,9 @@ public final class PrepareForMobsimImpl implements PrepareForMobsim {
 		 * be probably adapted in a way that other main modes are possible as well. cdobler, oct'15.
 		 * This is now only used for xy2links, which is the "street address" of the activity location of facility, and here for the time being we indeed
 		 *  assume that it can be reached by car.  kai, jul'18
+		 * The car-only network is taken from the SingleModeNetworksCache, so it is not filtered (and its node QuadTree not rebuilt) in every iteration.
 		 */
-		final Network carOnlyNetwork;
-		if (NetworkUtils.isMultimodal(network)) {
-			log.info("Network seems to be multimodal. Create car-only network which is handed over to PersonPrepareForSim.");
-			TransportModeNetworkFilter filter = new TransportModeNetworkFilter(network);
-			carOnlyNetwork = NetworkUtils.createNetwork(scenario.getConfig().network());
-			HashSet<String> modes = new HashSet<>();
-			modes.add(TransportMode.car);
-			filter.filter(carOnlyNetwork, modes);
-		} else {
-			carOnlyNetwork = network;
-		}
+		final Network carOnlyNetwork = PrepareForSimImpl.getCarOnlyNetwork(network, singleModeNetworksCache, scenario.getConfig().network());
 
 		// make sure all routes are calculated.
 		ParallelPersonAlgorithmUtils.run(population, globalConfigGroup.getNumberOfThreads(),
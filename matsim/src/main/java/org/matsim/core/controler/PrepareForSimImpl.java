@@ -44,6 +44,7 @@ import org.matsim.core.population.algorithms.PersonPrepareForSim;
 import org.matsim.core.population.routes.NetworkRoute;
 import org.matsim.core.router.MainModeIdentifier;
 import org.matsim.core.router.PlanRouter;
+import org.matsim.core.router.SingleModeNetworksCache;
 import org.matsim.core.router.TripRouter;
 import org.matsim.core.router.TripStructureUtils;
 import org.matsim.core.router.TripStructureUtils.Trip;
@@ -88,6 +89,13 @@ public final class PrepareForSimImpl implements PrepareForSim, PrepareForMobsim
 	@Inject
 	private Set<PersonPrepareForSimAlgorithm> prepareForSimAlgorithms;
 
+	/**
+	 * Can be null if instantiated via constructor, which should only happen in tests.
+	 */
+	@Nullable
+	@Inject
+	private SingleModeNetworksCache singleModeNetworksCache;
+
 	/**
 	 * backwardCompatibilityMainModeIdentifier should be a separate MainModeidentifier, neither the routing mode identifier from TripStructureUtils,
 	 * nor the AnalysisMainModeidentifier used for analysis (ModeStats etc.).
@@ -120,17 +128,7 @@ public final class PrepareForSimImpl implements PrepareForSim, PrepareForMobsim
 		 * own single-mode network. However, this assumes that the main mode is car - which PersonPrepareForSim also does. Should
 		 * be probably adapted in a way that other main modes are possible as well. cdobler, oct'15.
 		 */
-		final Network carOnlyNetwork;
-		if (NetworkUtils.isMultimodal(network)) {
-			log.info("Network seems to be multimodal. Create car-only network which is handed over to PersonPrepareForSim.");
-			TransportModeNetworkFilter filter = new TransportModeNetworkFilter(network);
-			carOnlyNetwork = NetworkUtils.createNetwork(scenario.getConfig().network());
-			HashSet<String> modes = new HashSet<>();
-			modes.add(TransportMode.car);
-			filter.filter(carOnlyNetwork, modes);
-		} else {
-			carOnlyNetwork = network;
-		}
+		final Network carOnlyNetwork = getCarOnlyNetwork(network, singleModeNetworksCache, scenario.getConfig().network());
 
 		//matsim-724
 		switch(this.facilitiesConfigGroup.getFacilitiesSource()){
@@ -215,6 +213,28 @@ public final class PrepareForSimImpl implements PrepareForSim, PrepareForMobsim
 		// (yyyy means that if someone replaces prepareForSim and does not add the above lines, the containers are not locked.  kai, nov'16)
 	}
 
+	/**
+	 * Returns the car-only network which is handed over to PersonPrepareForSim. If possible, this is the car network of the
+	 * routers from the {@link SingleModeNetworksCache}, so the network and its spatial indices (e.g. the node QuadTree used
+	 * by XY2Links) are built only once and shared by all threads, prepareForSim and every prepareForMobsim.
+	 */
+	static Network getCarOnlyNetwork(Network network, @Nullable SingleModeNetworksCache singleModeNetworksCache, NetworkConfigGroup networkConfigGroup) {
+		if (!NetworkUtils.isMultimodal(network)) {
+			return network;
+		}
+		if (singleModeNetworksCache != null) {
+			log.info("Network seems to be multimodal. Use the car-only network of the routers, which is handed over to PersonPrepareForSim.");
+			return singleModeNetworksCache.getOrCreateSingleModeNetwork(TransportMode.car);
+		}
+		log.info("Network seems to be multimodal. Create car-only network which is handed over to PersonPrepareForSim.");
+		TransportModeNetworkFilter filter = new TransportModeNetworkFilter(network);
+		Network carOnlyNetwork = NetworkUtils.createNetwork(networkConfigGroup);
+		HashSet<String> modes = new HashSet<>();
+		modes.add(TransportMode.car);
+		filter.filter(carOnlyNetwork, modes);
+		return carOnlyNetwork;
+	}
+
 	// only warn once that legacy vehicle id is used
 	private static boolean hasWarned = false;
 
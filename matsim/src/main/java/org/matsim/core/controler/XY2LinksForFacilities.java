@@ -29,6 +29,10 @@ import org.matsim.facilities.ActivityFacilities;
 import org.matsim.facilities.ActivityFacility;
 import org.matsim.facilities.ActivityFacilityImpl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
 /**
  * Created by amit on 13.07.18.
  */
@@ -42,6 +46,7 @@ public class XY2LinksForFacilities {
         int coordNullWarn = 0;
         int linkNullWarn = 0;
 
+        List<ActivityFacility> facilitiesWithoutLink = new ArrayList<>();
         for (ActivityFacility activityFacility : facilities.getFacilities().values()) {
 
             if (activityFacility.getCoord()==null && activityFacility.getLinkId()== null) {
@@ -52,12 +57,7 @@ public class XY2LinksForFacilities {
                     LOGGER.warn(Gbl.ONLYONCE);
                     linkNullWarn++;
                 }
-                Link link = NetworkUtils.getNearestLink(network, activityFacility.getCoord());
-                if (link==null) {
-                    LOGGER.warn("No nearest link is found for coord "+activityFacility.getCoord());
-                } else{
-                    ((ActivityFacilityImpl)activityFacility).setLinkId(link.getId());
-                }
+                facilitiesWithoutLink.add(activityFacility);
 
             } else if (activityFacility.getCoord()==null){
                 if (coordNullWarn==0) {
@@ -67,5 +67,17 @@ public class XY2LinksForFacilities {
                 }
             }
         }
+
+        // the lookups only read the network and its node QuadTree, so they can run in parallel. The links are set afterwards.
+        Link[] links = new Link[facilitiesWithoutLink.size()];
+        IntStream.range(0, links.length).parallel().forEach(i -> links[i] = NetworkUtils.getNearestLink(network, facilitiesWithoutLink.get(i).getCoord()));
+        for (int i = 0; i < links.length; i++) {
+            ActivityFacility activityFacility = facilitiesWithoutLink.get(i);
+            if (links[i]==null) {
+                LOGGER.warn("No nearest link is found for coord "+activityFacility.getCoord());
+            } else{
+                ((ActivityFacilityImpl)activityFacility).setLinkId(links[i].getId());
+            }
+        }
     }
 }
@@ -54,6 +54,7 @@ public class SnapshotGenerator implements PersonDepartureEventHandler, PersonArr
 	private final ArrayList<EventLink> linkList;
 	private final HashMap<Id<Person>, EventAgent> eventAgents;
 	private final List<SnapshotWriter> snapshotWriters = new ArrayList<>();
+	private final List<AgentSnapshotInfo> linkPositions = new ArrayList<>();
 	private final double capCorrectionFactor;
 	private final double storageCapFactor;
 	private final SnapshotStyle snapshotStyle;
@@ -170,36 +171,34 @@ public class SnapshotGenerator implements PersonDepartureEventHandler, PersonArr
 	}
 
 	private void doSnapshot(final double time) {
-
-			if (!this.snapshotWriters.isEmpty()) {
-				Collection<AgentSnapshotInfo> positions = getVehiclePositions(time);
+		if (!this.snapshotWriters.isEmpty()) {
+			if (this.snapshotStyle != SnapshotStyle.queue && this.snapshotStyle != SnapshotStyle.equiDist) {
+				// log statement to clarify: why only two snapshot styles. Amit Mar'17
+				log.warn("Cannot generate snapshots offline (e.g., from events) for "+this.snapshotStyle
+						+ ". This snapshot style is supported during simulation only.");
+				throw new RuntimeException("The snapshotStyle \"" + this.snapshotStyle + "\" is not supported.");
+			}
+			for (SnapshotWriter writer : this.snapshotWriters) {
+				writer.beginSnapshot(time);
+			}
+			// the positions are computed and passed on link by link, so only the positions of one link are in memory at any time
+			for (EventLink link : this.linkList) {
+				if (this.snapshotStyle == SnapshotStyle.queue) {
+					link.getVehiclePositionsQueue(this.linkPositions, time, this.builder);
+				} else {
+					link.getVehiclePositionsEquil(this.linkPositions, time, this.builder);
+				}
 				for (SnapshotWriter writer : this.snapshotWriters) {
-					writer.beginSnapshot(time);
-					for (AgentSnapshotInfo position : positions) {
+					for (AgentSnapshotInfo position : this.linkPositions) {
 						writer.addAgent(position);
 					}
-					writer.endSnapshot();
 				}
+				this.linkPositions.clear();
 			}
-	}
-
-	private Collection<AgentSnapshotInfo> getVehiclePositions(final double time) {
-		Collection<AgentSnapshotInfo> positions = new ArrayList<>();
-		if (this.snapshotStyle == SnapshotStyle.queue) {
-			for (EventLink link : this.linkList) {
-				link.getVehiclePositionsQueue(positions, time, this.builder);
-			}
-		} else if (this.snapshotStyle == SnapshotStyle.equiDist) {
-			for (EventLink link : this.linkList) {
-				link.getVehiclePositionsEquil(positions, time, this.builder);
+			for (SnapshotWriter writer : this.snapshotWriters) {
+				writer.endSnapshot();
 			}
-		} else {
-			// log statement to clarify: why only two snapshot styles. Amit Mar'17
-			log.warn("Cannot generate snapshots offline (e.g., from events) for "+this.snapshotStyle
-					+ ". This snapshot style is supported during simulation only.");
-			throw new RuntimeException("The snapshotStyle \"" + this.snapshotStyle + "\" is not supported.");
 		}
-		return positions;
 	}
 
 	public final void finish() {
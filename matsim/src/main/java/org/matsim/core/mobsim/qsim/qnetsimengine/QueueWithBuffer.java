@@ -20,13 +20,13 @@
 package org.matsim.core.mobsim.qsim.qnetsimengine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.matsim.api.core.v01.Coord;
@@ -121,6 +121,106 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 	private final FlowcapAccumulate flowcap_accumulate = new FlowcapAccumulate() ;
 	// might be changed back to standard double after all of this was figured out. kai, sep'14
 
+	/**
+	 * Ring buffer holding the vehicles in the buffer together with their flow capacity consumption.  Vehicles and consumptions are
+	 * stored in two parallel arrays, so that entering the buffer does not create any objects, and so that summing up the consumption
+	 * of the vehicles in the buffer (which is done every time step) iterates over a primitive array.  The iteration order is the
+	 * insertion order, i.e. the same as with the former queue of pairs, so that the floating point results do not change.
+	 */
+	private static final class VehicleBuffer implements Iterable<QVehicle> {
+		private QVehicle[] vehicles = new QVehicle[4];
+		private double[] flowConsumptions = new double[4];
+		private int head = 0;
+		private int size = 0;
+
+		private void add(QVehicle veh, double flowConsumption) {
+			if (this.size == this.vehicles.length) {
+				grow();
+			}
+			int pos = (this.head + this.size) % this.vehicles.length;
+			this.vehicles[pos] = veh;
+			this.flowConsumptions[pos] = flowConsumption;
+			this.size++;
+		}
+
+		private QVehicle peek() {
+			return this.size == 0 ? null : this.vehicles[this.head];
+		}
+
+		private QVehicle poll() {
+			if (this.size == 0) {
+				return null;
+			}
+			QVehicle veh = this.vehicles[this.head];
+			this.vehicles[this.head] = null;
+			this.head = (this.head + 1) % this.vehicles.length;
+			this.size--;
+			return veh;
+		}
+
+		private double subtractFlowConsumptionsFrom(double value) {
+			double result = value;
+			for (int i = 0, pos = this.head; i < this.size; i++) {
+				result -= this.flowConsumptions[pos];
+				pos++;
+				if (pos == this.flowConsumptions.length) {
+					pos = 0;
+				}
+			}
+			return result;
+		}
+
+		private boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		private int size() {
+			return this.size;
+		}
+
+		private void clear() {
+			Arrays.fill(this.vehicles, null);
+			this.head = 0;
+			this.size = 0;
+		}
+
+		private void grow() {
+			int capacity = this.vehicles.length;
+			QVehicle[] newVehicles = new QVehicle[capacity * 2];
+			double[] newFlowConsumptions = new double[capacity * 2];
+			for (int i = 0; i < this.size; i++) {
+				int pos = (this.head + i) % capacity;
+				newVehicles[i] = this.vehicles[pos];
+				newFlowConsumptions[i] = this.flowConsumptions[pos];
+			}
+			this.vehicles = newVehicles;
+			this.flowConsumptions = newFlowConsumptions;
+			this.head = 0;
+		}
+
+		@Override
+		public Iterator<QVehicle> iterator() {
+			return new Iterator<>() {
+				private int i = 0;
+
+				@Override
+				public boolean hasNext() {
+					return this.i < VehicleBuffer.this.size;
+				}
+
+				@Override
+				public QVehicle next() {
+					if (this.i >= VehicleBuffer.this.size) {
+						throw new NoSuchElementException();
+					}
+					QVehicle veh = VehicleBuffer.this.vehicles[(VehicleBuffer.this.head + this.i) % VehicleBuffer.this.vehicles.length];
+					this.i++;
+					return veh;
+				}
+			};
+		}
+	}
+
 	/**
 	 * true, i.e. green, if the link is not signalized
 	 */
@@ -151,7 +251,7 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 	 * (1) entry to the buffer (this is where it is computed and then stored) <br>
 	 * (2) update of the remaining flow capacity (where we account for all vehicles that are still in the buffer since previous time steps) - see {@link #subtractConsumptionOfVehiclesThatAreAlreadyInTheBuffer()} <br>
 	 */
-	private final Queue<Pair<QVehicle,Double>> buffer = new LinkedList<>() ;
+	private final VehicleBuffer buffer = new VehicleBuffer() ;
 	/**
 	 * null if the link is not signalized
 	 */
@@ -173,12 +273,14 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 	/**
 	 * Points to the latest vehicle that entered the buffer and the entry time.
 	 */
-	private Pair<QVehicle,Double> lastBufferEntry = null;
+	private QVehicle lastBufferEntryVehicle = null;
+	private double lastBufferEntryTime = Double.NaN;
 
 	/**
 	 * Points to the latest vehicle that entered the queue and the entry time.
 	 */
-	private Pair<QVehicle,Double> lastQueueEntry = null;
+	private QVehicle lastQueueEntryVehicle = null;
+	private double lastQueueEntryTime = Double.NaN;
 
 
 	private final VisData visData = new VisDataImpl() ;
@@ -225,12 +327,13 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 
 		double now = context.getSimTimer().getTimeOfDay() ;
 
-		double flowConsumption = (lastBufferEntry == null) ?
-				getFlowCapacityConsumptionInEquivalents(veh, null, null) : getFlowCapacityConsumptionInEquivalents(veh, lastBufferEntry.getKey(), now - lastBufferEntry.getValue());
+		double flowConsumption = (lastBufferEntryVehicle == null) ?
+				getFlowCapacityConsumptionInEquivalents(veh, null, null) : getFlowCapacityConsumptionInEquivalents(veh, lastBufferEntryVehicle, now - lastBufferEntryTime);
         this.flowcap_accumulate.addValue(-flowConsumption, now);
 
-		buffer.add(new ImmutablePair<>(veh,flowConsumption));
-		lastBufferEntry = new ImmutablePair<>(veh,now);
+		buffer.add(veh,flowConsumption);
+		lastBufferEntryVehicle = veh;
+		lastBufferEntryTime = now;
 
 		if (buffer.size() == 1) {
 			bufferLastMovedTime = now;
@@ -353,12 +456,8 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 	}
 
 	private double subtractConsumptionOfVehiclesThatAreAlreadyInTheBuffer() {
-		double remainingFlowCapThisTimeStep = flowCapacityPerTimeStep;
-		for (Pair<QVehicle,Double> vehEfficiencyPair : buffer) {
-			// Subtract size of vehicles that are already in the buffer (from previous time steps)
-			remainingFlowCapThisTimeStep -= vehEfficiencyPair.getValue();
-		}
-		return remainingFlowCapThisTimeStep;
+		// Subtract size of vehicles that are already in the buffer (from previous time steps)
+		return buffer.subtractFlowConsumptionsFrom(flowCapacityPerTimeStep);
 	}
 
 	@Override
@@ -629,15 +728,16 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
                 break;
             case kinematicWaves:
                 this.remainingHolesStorageCapacity -= veh.getSizeInEquivalents();
-				double flowConsumption = (lastQueueEntry == null) ?
-						getFlowCapacityConsumptionInEquivalents(veh, null, null) : getFlowCapacityConsumptionInEquivalents(veh, lastQueueEntry.getKey(), now - lastQueueEntry.getValue());
+				double flowConsumption = (lastQueueEntryVehicle == null) ?
+						getFlowCapacityConsumptionInEquivalents(veh, null, null) : getFlowCapacityConsumptionInEquivalents(veh, lastQueueEntryVehicle, now - lastQueueEntryTime);
                 this.accumulatedInflowCap -= flowConsumption;
                 break;
             default:
                 throw new RuntimeException("The traffic dynamics " + context.qsimConfig.getTrafficDynamics() + " is not implemented yet.");
 		}
 
-		lastQueueEntry = new ImmutablePair<>(veh, now);
+		lastQueueEntryVehicle = veh;
+		lastQueueEntryTime = now;
 	}
 
 	private void removeVehicleFromQueue(final QVehicle veh2Remove) {
@@ -772,9 +872,9 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 			if (veh.getId().equals(vehicleId))
 				return veh;
 		}
-		for (Pair<QVehicle,Double> vehEfficiencyPair : this.buffer) {
-			if (vehEfficiencyPair.getKey().getId().equals(vehicleId))
-				return vehEfficiencyPair.getKey();
+		for (QVehicle veh : this.buffer) {
+			if (veh.getId().equals(vehicleId))
+				return veh;
 		}
 		return null;
 	}
@@ -785,8 +885,8 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 		 * It will be more complicated for passingQueue. amit feb'16
 		 */
 		Collection<MobsimVehicle> vehicles = new ArrayList<>();
-		for (Pair<QVehicle, Double> pair : buffer) {
-			vehicles.add(pair.getKey());
+		for (QVehicle veh : buffer) {
+			vehicles.add(veh);
 		}
 		vehicles.addAll(vehQueue);
 		return vehicles ;
@@ -806,7 +906,7 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 
 	private final QVehicle removeFirstVehicle(){
 		double now = context.getSimTimer().getTimeOfDay() ;
-		QVehicle veh = buffer.poll().getKey();
+		QVehicle veh = buffer.poll();
 		bufferLastMovedTime = now; // just in case there is another vehicle in the buffer that is now the new front-most
 		if( context.qsimConfig.isUsingFastCapacityUpdate() ) {
 			flowcap_accumulate.setTimeStep(now - context.qsimConfig.getTimeStepSize());
@@ -867,8 +967,7 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 		}
 		vehQueue.clear();
 
-		for (Pair<QVehicle,Double> bufferEntry : buffer) {
-			QVehicle veh = bufferEntry.getKey();
+		for (QVehicle veh : buffer) {
 			context.getEventsManager().processEvent( new VehicleAbortsEvent(now, veh.getId(), veh.getCurrentLink().getId()));
 			context.getEventsManager().processEvent( new PersonStuckEvent(now, veh.getDriver().getId(), veh.getCurrentLink().getId(), veh.getDriver().getMode()));
 
@@ -904,7 +1003,7 @@ final class QueueWithBuffer implements QLaneI, SignalizeableItem {
 		if (this.buffer.isEmpty()) {
 			return this.vehQueue.peek();
 		}
-		return this.buffer.peek().getKey() ;
+		return this.buffer.peek() ;
 	}
 
 	@Override
@@ -24,7 +24,9 @@
 import org.matsim.api.core.v01.network.Link;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * An optimized data structure to answer nearest-neighbor queries for links in a
@@ -70,6 +72,21 @@ public final class LinkQuadTree {
 		return w.link;
 	}
 
+	/**
+	 * Finds the nearest link for each of the given locations. The locations are queried in parallel, so no links must
+	 * be added to or removed from the tree while this method runs.
+	 *
+	 * @return the links nearest to xs[i]/ys[i], in the order of the locations
+	 */
+	public List<Link> getNearest(final double[] xs, final double[] ys) {
+		if (xs.length != ys.length) {
+			throw new IllegalArgumentException("number of x- and y-coordinates differ: " + xs.length + " x, " + ys.length + " y");
+		}
+		Link[] nearest = new Link[xs.length];
+		IntStream.range(0, xs.length).parallel().forEach(i -> nearest[i] = getNearest(xs[i], ys[i]));
+		return Arrays.asList(nearest);
+	}
+
 	public void remove(final Link link) {
 		this.top.remove(new LinkWrapper(link));
 	}
@@ -166,7 +183,12 @@ public final class LinkQuadTree {
 			
 			// go through all links in current quadtree node (= box):
 			for (LinkWrapper w : this.links) {
-				double tmp = calcLineSegmentDistanceIndicator(x, y, w.link);
+				if (w.calcDistanceIndicator(x, y) >= bestDistanceIndicator.value) {
+					// the link lies within its bounding box, so it cannot be closer than the box. Saves the more expensive
+					// line segment distance for the (often long) links stored in the upper nodes of the tree.
+					continue;
+				}
+				double tmp = calcLineSegmentDistanceIndicator(x, y, w);
 				if (tmp < bestDistanceIndicator.value) {
 					bestDistanceIndicator.value = tmp;
 					closest = w;
@@ -311,12 +333,12 @@ public final class LinkQuadTree {
 
 	}
 
-	private static double calcLineSegmentDistanceIndicator(final double x, final double y, final Link link) {
+	private static double calcLineSegmentDistanceIndicator(final double x, final double y, final LinkWrapper w) {
 
-		double fx = link.getFromNode().getCoord().getX();
-		double fy = link.getFromNode().getCoord().getY();
-		double lineDX = link.getToNode().getCoord().getX() - fx;
-		double lineDY = link.getToNode().getCoord().getY() - fy;
+		double fx = w.fromX;
+		double fy = w.fromY;
+		double lineDX = w.toX - fx;
+		double lineDY = w.toY - fy;
 
 		if ((lineDX == 0.0) && (lineDY == 0.0)) {
 			// the line segment is a point without dimension
@@ -351,6 +373,12 @@ public final class LinkQuadTree {
 		/*package*/ final double maxX;
 		/*package*/ final double maxY;
 
+		// the coordinates of the link's nodes, copied so queries need not go through link, node and coord for every candidate
+		/*package*/ final double fromX;
+		/*package*/ final double fromY;
+		/*package*/ final double toX;
+		/*package*/ final double toY;
+
 		/*package*/ final Link link;
 
 		public LinkWrapper(final Link link) {
@@ -358,6 +386,10 @@ public final class LinkQuadTree {
 			double fy = link.getFromNode().getCoord().getY();
 			double tx = link.getToNode().getCoord().getX();
 			double ty = link.getToNode().getCoord().getY();
+			this.fromX = fx;
+			this.fromY = fy;
+			this.toX = tx;
+			this.toY = ty;
 
 			if (fx == tx) {
 				// enforce minimal extent
@@ -377,6 +409,15 @@ public final class LinkQuadTree {
 
 			this.link = link;
 		}
+
+		/**
+		 * @return the squared distance of (x,y) to the bounding box of the link, 0 if inside the box.
+		 */
+		/*package*/ double calcDistanceIndicator(final double x, final double y) {
+			double distanceX = x < this.minX ? this.minX - x : (x > this.maxX ? x - this.maxX : 0);
+			double distanceY = y < this.minY ? this.minY - y : (y > this.maxY ? y - this.maxY : 0);
+			return distanceX * distanceX + distanceY * distanceY;
+		}
 	}
 
 	private static class MutableDouble {
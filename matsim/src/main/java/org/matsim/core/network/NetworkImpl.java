@@ -418,9 +418,14 @@ import java.util.*;
 
 		log.info("building QuadTree for nodes: xrange(" + minx + "," + maxx + "); yrange(" + miny + "," + maxy + ")");
 		QuadTree<Node> quadTree = new QuadTree<>(minx, miny, maxx, maxy);
-		for (Node n : this.nodes.values()) {
-			quadTree.put(n.getCoord().getX(), n.getCoord().getY(), n);
+		List<Node> values = new ArrayList<>(this.nodes.values());
+		double[] xs = new double[values.size()];
+		double[] ys = new double[values.size()];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = values.get(i).getCoord().getX();
+			ys[i] = values.get(i).getCoord().getY();
 		}
+		quadTree.putAll(xs, ys, values);
 		/* assign the quadTree at the very end, when it is complete.
 		 * otherwise, other threads may already start working on an incomplete quadtree
 		 */
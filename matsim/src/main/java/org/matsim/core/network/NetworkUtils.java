@@ -805,6 +805,25 @@ public final class NetworkUtils {
 		}
 	}
 
+	/**
+	 * Same as {@link #getNearestLinkExactly(Network, Coord)} for many coordinates, which are looked up in parallel.
+	 *
+	 * @return the links nearest to the given coordinates, in the same order
+	 */
+	public static List<Link> getNearestLinksExactly(Network network, List<Coord> coords) {
+		if ( network instanceof SearchableNetwork ) {
+			double[] xs = new double[coords.size()];
+			double[] ys = new double[coords.size()];
+			for (int i = 0; i < xs.length; i++) {
+				xs[i] = coords.get(i).getX();
+				ys[i] = coords.get(i).getY();
+			}
+			return ((SearchableNetwork) network).getLinkQuadTree().getNearest(xs, ys) ;
+		} else {
+			throw new RuntimeException( Gbl.WRONG_IMPLEMENTATION + " Network, SearchableNetwork " ) ;
+		}
+	}
+
 
 	public static Node getNearestNode(Network network, final Coord coord) {
 		if ( network instanceof SearchableNetwork ) {
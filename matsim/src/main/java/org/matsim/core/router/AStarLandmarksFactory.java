@@ -20,9 +20,6 @@
 
 package org.matsim.core.router;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -31,6 +28,7 @@ import org.matsim.core.config.groups.GlobalConfigGroup;
 import org.matsim.core.router.util.LeastCostPathCalculator;
 import org.matsim.core.router.util.LeastCostPathCalculatorFactory;
 import org.matsim.core.router.util.PreProcessLandmarks;
+import org.matsim.core.router.util.RoutingDataCache;
 import org.matsim.core.router.util.TravelDisutility;
 import org.matsim.core.router.util.TravelTime;
 
@@ -40,28 +38,37 @@ import org.matsim.core.router.util.TravelTime;
 @Singleton
 public class AStarLandmarksFactory implements LeastCostPathCalculatorFactory {
 
-	private final Map<Network, PreProcessLandmarks> preProcessData = new HashMap<>();
+	private final RoutingDataCache cache;
 
 	private final int nThreads;
 
 	@Inject
+	public AStarLandmarksFactory(final GlobalConfigGroup globalConfigGroup, final RoutingDataCache cache) {
+		this(globalConfigGroup.getNumberOfThreads(), cache);
+	}
+
 	public AStarLandmarksFactory(final GlobalConfigGroup globalConfigGroup) {
 		this(globalConfigGroup.getNumberOfThreads());
 	}
 
 	public AStarLandmarksFactory(int numberOfThreads) {
+		this(numberOfThreads, new RoutingDataCache());
+	}
+
+	public AStarLandmarksFactory(int numberOfThreads, RoutingDataCache cache) {
 		this.nThreads = numberOfThreads;
+		this.cache = cache;
 	}
 
 	@Override
-	public synchronized LeastCostPathCalculator createPathCalculator(final Network network, final TravelDisutility travelCosts, final TravelTime travelTimes) {
-		PreProcessLandmarks preProcessLandmarks = this.preProcessData.get(network);
-		if (preProcessLandmarks == null) {
-			preProcessLandmarks = new PreProcessLandmarks(travelCosts);
-			preProcessLandmarks.setNumberOfThreads(nThreads);
-			preProcessLandmarks.run(network);
-			this.preProcessData.put(network, preProcessLandmarks);
-		}
+	public LeastCostPathCalculator createPathCalculator(final Network network, final TravelDisutility travelCosts, final TravelTime travelTimes) {
+		// the landmarks depend on the travel costs, so different disutilities on the same network get their own landmarks
+		PreProcessLandmarks preProcessLandmarks = this.cache.get(network, PreProcessLandmarks.class, travelCosts.getClass(), () -> {
+			PreProcessLandmarks data = new PreProcessLandmarks(travelCosts);
+			data.setNumberOfThreads(nThreads);
+			data.run(network);
+			return data;
+		}, PreProcessLandmarks::getMemorySize);
 
 		final double overdoFactor = 1.0;
 		return new AStarLandmarks(network, preProcessLandmarks, travelCosts, travelTimes, overdoFactor);
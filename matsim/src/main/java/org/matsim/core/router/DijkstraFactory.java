@@ -20,9 +20,6 @@
 
 package org.matsim.core.router;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -30,6 +27,7 @@ import org.matsim.api.core.v01.network.Network;
 import org.matsim.core.router.util.LeastCostPathCalculator;
 import org.matsim.core.router.util.LeastCostPathCalculatorFactory;
 import org.matsim.core.router.util.PreProcessDijkstra;
+import org.matsim.core.router.util.RoutingDataCache;
 import org.matsim.core.router.util.TravelDisutility;
 import org.matsim.core.router.util.TravelTime;
 
@@ -37,15 +35,20 @@ import org.matsim.core.router.util.TravelTime;
 public class DijkstraFactory implements LeastCostPathCalculatorFactory {
 
 	private final boolean usePreProcessData;
-	private final Map<Network, PreProcessDijkstra> preProcessData = new HashMap<>();
+	private final RoutingDataCache cache;
 
 	@Inject
 	public DijkstraFactory() {
-		this.usePreProcessData = false;
+		this(false);
 	}
 
 	public DijkstraFactory(final boolean usePreProcessData) {
+		this(usePreProcessData, new RoutingDataCache());
+	}
+
+	public DijkstraFactory(final boolean usePreProcessData, final RoutingDataCache cache) {
 		this.usePreProcessData = usePreProcessData;
+		this.cache = cache;
 	}
 
 	// yy there is no guarantee that "createPathCalculator" is called with the same network as the one that was used for "preProcessData".
@@ -53,15 +56,15 @@ public class DijkstraFactory implements LeastCostPathCalculatorFactory {
 	// To fix this, we create the PreProcessData when the first LeastCostPathCalculator object is created and store it in a map using
 	// the network as key. For the PreProcessDijkstra data this is fine, since it does not take travel times and disutilities into account.
 	// For the AStarLandmarks data, we would have to include the other two arguments into the lookup value as well... cdobler, sep'17
+	// The preprocessed data is now kept in the (shared) RoutingDataCache, where AStarLandmarksFactory also uses the type of the travel disutility as key.
 	@Override
-	public synchronized LeastCostPathCalculator createPathCalculator(final Network network, final TravelDisutility travelCosts, final TravelTime travelTimes) {
+	public LeastCostPathCalculator createPathCalculator(final Network network, final TravelDisutility travelCosts, final TravelTime travelTimes) {
 		if (this.usePreProcessData) {
-			PreProcessDijkstra preProcessDijkstra = this.preProcessData.get(network);
-			if (preProcessDijkstra == null) {
-				preProcessDijkstra = new PreProcessDijkstra();
-				preProcessDijkstra.run(network);
-				this.preProcessData.put(network, preProcessDijkstra);
-			}
+			PreProcessDijkstra preProcessDijkstra = this.cache.get(network, PreProcessDijkstra.class, null, () -> {
+				PreProcessDijkstra data = new PreProcessDijkstra();
+				data.run(network);
+				return data;
+			}, PreProcessDijkstra::getMemorySize);
 			return new Dijkstra(network, travelCosts, travelTimes, preProcessDijkstra);
 		}
 		return new Dijkstra(network, travelCosts, travelTimes);
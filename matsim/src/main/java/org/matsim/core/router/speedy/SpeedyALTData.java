@@ -184,6 +184,13 @@ class SpeedyALTData {
 		return minCost;
 	}
 
+	/**
+	 * @return an estimate of the memory used by the landmarks data in bytes, not including the graph
+	 */
+	long getMemorySize() {
+		return 4L * this.landmarksNodeIndices.length + 8L * this.nodesData.length + 4L * this.deadendData.length;
+	}
+
 	private void setNodeData(double[] data, int offset) {
 		int multiplier = this.landmarksCount * 2;
 		for (int i = 0; i < this.graph.nodeCount; i++) {
@@ -1,28 +1,33 @@
 package org.matsim.core.router.speedy;
 
+import jakarta.inject.Inject;
+
 import org.matsim.api.core.v01.network.Network;
 import org.matsim.core.router.util.LeastCostPathCalculator;
 import org.matsim.core.router.util.LeastCostPathCalculatorFactory;
+import org.matsim.core.router.util.RoutingDataCache;
 import org.matsim.core.router.util.TravelDisutility;
 import org.matsim.core.router.util.TravelTime;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * @author mrieser / Simunto, sponsored by SBB Swiss Federal Railways
  */
 public class SpeedyDijkstraFactory implements LeastCostPathCalculatorFactory {
 
-	private final Map<Network, SpeedyGraph> graphs = new ConcurrentHashMap<>();
+	private final RoutingDataCache cache;
+
+	public SpeedyDijkstraFactory() {
+		this(new RoutingDataCache());
+	}
+
+	@Inject
+	public SpeedyDijkstraFactory(RoutingDataCache cache) {
+		this.cache = cache;
+	}
 
 	@Override
 	public LeastCostPathCalculator createPathCalculator(Network network, TravelDisutility travelCosts, TravelTime travelTimes) {
-		SpeedyGraph graph = graphs.get(network);
-		if (graph == null) {
-			graph = SpeedyGraphBuilder.build(network);
-			graphs.put(network, graph);
-		}
+		SpeedyGraph graph = this.cache.get(network, SpeedyGraph.class, null, () -> SpeedyGraphBuilder.build(network), SpeedyGraph::getMemorySize);
 		return new SpeedyDijkstra(graph, travelTimes, travelCosts);
 	}
 }
@@ -86,6 +86,13 @@ public class SpeedyGraph {
 			return this.hasTurnRestrictions;
 		}
 
+    /**
+     * @return an estimate of the memory used by this graph in bytes, assuming 8 bytes per object-pointer
+     */
+    long getMemorySize() {
+        return 4L * this.nodeData.length + 4L * this.linkData.length + 8L * this.nodes.length + 8L * this.links.length;
+    }
+
     public interface LinkIterator {
 
         void reset(int nodeIdx);
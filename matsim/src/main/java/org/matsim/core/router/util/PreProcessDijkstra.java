@@ -195,4 +195,12 @@ public class PreProcessDijkstra {
 	public boolean containsData() {
 		return this.containsData;
 	}
+
+	/**
+	 * @return a rough estimate of the memory used by the preprocessed data in bytes
+	 */
+	public long getMemorySize() {
+		// per node: map entry, DeadEndData object and its (mostly small) list of dead end nodes
+		return this.nodeData == null ? 0 : this.nodeData.size() * (48L + 24L + 56L);
+	}
 }
\ No newline at end of file
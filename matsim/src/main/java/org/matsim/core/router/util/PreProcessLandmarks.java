@@ -239,6 +239,13 @@ public class PreProcessLandmarks extends PreProcessEuclidean {
 		return this.landmarks.clone();
 	}
 
+	@Override
+	public long getMemorySize() {
+		// per node: two additional arrays with one travel time per landmark
+		long nodeCount = this.nodeData == null ? 0 : this.nodeData.size();
+		return super.getMemorySize() + nodeCount * 2 * (16L + 8L * this.landmarkCount);
+	}
+
 	@Override
 	public LandmarksData getNodeData(final Node n) {
 		DeadEndData r = this.nodeData.get(n);
@@ -0,0 +1,139 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.core.router.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import jakarta.inject.Singleton;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.matsim.api.core.v01.network.Network;
+
+/**
+ * Holds the immutable, preprocessed routing data (e.g. graphs, landmarks, dead ends) that {@link LeastCostPathCalculatorFactory}s
+ * derive from a network, so it is computed only once and then shared by all path calculators of all replanning threads and iterations.
+ * <p>
+ * Entries are keyed by the network, the type of the data and optionally the type of the {@link TravelDisutility} the data was
+ * computed with. Modes are covered by the network, as every mode-specific network (see
+ * {@link org.matsim.core.router.SingleModeNetworksCache}) is a separate instance.
+ * <p>
+ * Entries are kept until they are removed with {@link #remove(Network)} or {@link #clear()}. Weak keys would not help here,
+ * because the cached data (e.g. the links of a graph) usually references the network. Code that routes on temporary networks
+ * with a shared cache should therefore remove their entries once the network is no longer needed.
+ * <p>
+ * This class is thread-safe.
+ */
+@Singleton
+public final class RoutingDataCache {
+
+	private static final Logger log = LogManager.getLogger(RoutingDataCache.class);
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the cached data for the given network, data type and travel disutility type, creating it first if required.
+	 * The data is created at most once per key, even if several threads request it at the same time.
+	 *
+	 * @param travelDisutilityType the type of the travel disutility the data depends on, or <code>null</code> if it only depends on the network
+	 * @param memorySizeEstimator estimates the memory used by the data in bytes, for reporting only
+	 */
+	public <D> D get(Network network, Class<D> dataType, @Nullable Class<?> travelDisutilityType, Supplier<? extends D> creator,
+					 ToLongFunction<? super D> memorySizeEstimator) {
+		Key key = new Key(network, dataType, travelDisutilityType);
+		Entry entry = this.entries.get(key);
+		if (entry == null) {
+			// creating one entry may require another one (e.g. landmarks require the graph), so a reentrant lock is needed here
+			synchronized (this) {
+				entry = this.entries.get(key);
+				if (entry == null) {
+					long start = System.nanoTime();
+					D data = creator.get();
+					entry = new Entry(data, memorySizeEstimator.applyAsLong(data));
+					this.entries.put(key, entry);
+					log.info("Cached " + dataType.getSimpleName() + (travelDisutilityType == null ? "" : " for " + travelDisutilityType.getSimpleName())
+							+ " on a network with " + network.getNodes().size() + " nodes and " + network.getLinks().size() + " links: approx. "
+							+ toMB(entry.memorySize) + " MB, created in " + (System.nanoTime() - start) / 1_000_000 + " ms. The cache now holds "
+							+ this.entries.size() + " entries using approx. " + toMB(getMemorySize()) + " MB.");
+				}
+			}
+		}
+		return dataType.cast(entry.data);
+	}
+
+	/**
+	 * Removes all entries of the given network (compared by identity), so that the network and its data can be garbage collected.
+	 *
+	 * @return the number of removed entries
+	 */
+	public int remove(Network network) {
+		int removed = 0;
+		for (Iterator<Key> iterator = this.entries.keySet().iterator(); iterator.hasNext(); ) {
+			if (iterator.next().network == network) {
+				iterator.remove();
+				removed++;
+			}
+		}
+		if (removed > 0) {
+			log.info("Removed " + removed + " cached entries of a network with " + network.getNodes().size() + " nodes and "
+					+ network.getLinks().size() + " links. The cache now holds " + this.entries.size() + " entries using approx. "
+					+ toMB(getMemorySize()) + " MB.");
+		}
+		return removed;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * @return the estimated memory used by all cached entries in bytes
+	 */
+	public long getMemorySize() {
+		long memorySize = 0;
+		for (Entry entry : this.entries.values()) {
+			memorySize += entry.memorySize;
+		}
+		return memorySize;
+	}
+
+	public int size() {
+		return this.entries.size();
+	}
+
+	private static String toMB(long bytes) {
+		return String.format("%.1f", bytes / (1024.0 * 1024.0));
+	}
+
+	private record Key(Network network, Class<?> dataType, Class<?> travelDisutilityType) {
+	}
+
+	private record Entry(Object data, long memorySize) {
+	}
+}
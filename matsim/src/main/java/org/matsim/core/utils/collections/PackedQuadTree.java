@@ -0,0 +1,376 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * PackedQuadTree.java
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.core.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable copy of a {@link QuadTree}, created with {@link QuadTree#pack()}. Instead of node and leaf objects,
+ * the tree is stored in flat arrays: the bounds and children of the nodes, and the coordinates and values of the
+ * entries. The entries of every subtree are stored next to each other, so queries touch few cache lines, and all
+ * entries of a subtree that lies completely within a query area are collected without visiting its nodes.<br />
+ * As the tree cannot be modified, all queries are thread-safe.
+ *
+ * @param <T> The type of data stored in the tree.
+ */
+public final class PackedQuadTree<T> {
+
+	private static final int SOUTHWEST = 0;
+	private static final int NORTHWEST = 1;
+	private static final int SOUTHEAST = 2;
+	private static final int NORTHEAST = 3;
+	private static final int NO_CHILD = -1;
+	/** QuadTree searches the other children in this order after the one containing the query location */
+	private static final int[] SEARCH_ORDER = { NORTHWEST, NORTHEAST, SOUTHEAST, SOUTHWEST };
+
+	private final double[] nodeMinX;
+	private final double[] nodeMinY;
+	private final double[] nodeMaxX;
+	private final double[] nodeMaxY;
+	/** the four children of node i are at 4*i+SOUTHWEST ... 4*i+NORTHEAST, or {@link #NO_CHILD} for leaf nodes */
+	private final int[] nodeChildren;
+	/** the entries of node i and its descendants are entries nodeEntryStart[i] (inclusive) to nodeEntryEnd[i] (exclusive) */
+	private final int[] nodeEntryStart;
+	private final int[] nodeEntryEnd;
+
+	private final double[] entryX;
+	private final double[] entryY;
+	private final Object[] entryValues;
+
+	private int nodeCount = 0;
+	private int entryCount = 0;
+
+	/**
+	 * Only {@link QuadTree#pack()} creates packed trees, filling in the nodes and entries before the tree is handed out.
+	 */
+	/* package */ PackedQuadTree(final int nodeCount, final int entryCount) {
+		this.nodeMinX = new double[nodeCount];
+		this.nodeMinY = new double[nodeCount];
+		this.nodeMaxX = new double[nodeCount];
+		this.nodeMaxY = new double[nodeCount];
+		this.nodeChildren = new int[nodeCount * 4];
+		Arrays.fill(this.nodeChildren, NO_CHILD);
+		this.nodeEntryStart = new int[nodeCount];
+		this.nodeEntryEnd = new int[nodeCount];
+		this.entryX = new double[entryCount];
+		this.entryY = new double[entryCount];
+		this.entryValues = new Object[entryCount];
+	}
+
+	/* package */ int addNode(final QuadTree.Rect bounds) {
+		int index = this.nodeCount++;
+		this.nodeMinX[index] = bounds.minX;
+		this.nodeMinY[index] = bounds.minY;
+		this.nodeMaxX[index] = bounds.maxX;
+		this.nodeMaxY[index] = bounds.maxY;
+		this.nodeEntryStart[index] = this.entryCount;
+		return index;
+	}
+
+	/* package */ void setChildren(final int node, final int southwest, final int northwest, final int southeast, final int northeast) {
+		this.nodeChildren[4 * node + SOUTHWEST] = southwest;
+		this.nodeChildren[4 * node + NORTHWEST] = northwest;
+		this.nodeChildren[4 * node + SOUTHEAST] = southeast;
+		this.nodeChildren[4 * node + NORTHEAST] = northeast;
+	}
+
+	/* package */ void addEntry(final double x, final double y, final T value) {
+		int index = this.entryCount++;
+		this.entryX[index] = x;
+		this.entryY[index] = y;
+		this.entryValues[index] = value;
+	}
+
+	/* package */ void closeNode(final int node) {
+		this.nodeEntryEnd[node] = this.entryCount;
+	}
+
+	/**
+	 * @return the number of entries in this tree.
+	 */
+	public int size() {
+		return this.entryCount;
+	}
+
+	/**
+	 * @return all values of this tree, in the same order as {@link QuadTree#values()} of the tree it was created from.
+	 */
+	public List<T> values() {
+		return Collections.unmodifiableList(Arrays.asList(value(0, this.entryCount)));
+	}
+
+	/**
+	 * Gets the object closest to x/y. Returns the same object as {@link QuadTree#getClosest(double, double)}.
+	 *
+	 * @param x easting, left-right location, longitude
+	 * @param y northing, up-down location, latitude
+	 * @return the object found closest to x/y
+	 */
+	public T getClosest(final double x, final double y) {
+		if (this.entryCount == 0) {
+			return null;
+		}
+		double[] bestDistanceSqr = { Double.POSITIVE_INFINITY };
+		int entry = getClosest(0, x, y, bestDistanceSqr);
+		return entry < 0 ? null : value(entry);
+	}
+
+	/**
+	 * Gets the object closest to each of the given locations, querying the locations in parallel.
+	 *
+	 * @param xs easting, left-right locations, longitudes
+	 * @param ys northing, up-down locations, latitudes
+	 * @return the objects found closest to xs[i]/ys[i], in the order of the locations
+	 */
+	public List<T> getClosest(final double[] xs, final double[] ys) {
+		return QuadTree.queryAll(xs, ys, i -> getClosest(xs[i], ys[i]));
+	}
+
+	/**
+	 * Gets the k objects closest to x/y. If several objects are stored at the same location, each of them counts as
+	 * one of the k objects.
+	 *
+	 * @param x easting, left-right location, longitude
+	 * @param y northing, up-down location, latitude
+	 * @param k the maximal number of objects to return
+	 * @return the (at most) k objects closest to x/y, sorted by increasing distance
+	 */
+	public List<T> getKClosest(final double x, final double y, final int k) {
+		if (k < 1 || this.entryCount == 0) {
+			return new ArrayList<>();
+		}
+		PriorityQueue<QuadTree.Neighbour<T>> neighbours = QuadTree.createNeighbourQueue(k);
+		getKClosest(0, x, y, k, neighbours);
+		return QuadTree.sortNeighbours(neighbours);
+	}
+
+	/**
+	 * Gets the k objects closest to each of the given locations, querying the locations in parallel.
+	 *
+	 * @param xs easting, left-right locations, longitudes
+	 * @param ys northing, up-down locations, latitudes
+	 * @param k the maximal number of objects to return per location
+	 * @return the (at most) k objects closest to xs[i]/ys[i], sorted by increasing distance, in the order of the locations
+	 */
+	public List<List<T>> getKClosest(final double[] xs, final double[] ys, final int k) {
+		return QuadTree.queryAll(xs, ys, i -> getKClosest(xs[i], ys[i], k));
+	}
+
+	/**
+	 * Gets all objects within a certain distance around x/y
+	 *
+	 * @param x left-right location, longitude
+	 * @param y up-down location, latitude
+	 * @param distance the maximal distance returned objects can be away from x/y
+	 * @return the objects found within distance to x/y
+	 */
+	public Collection<T> getDisk(final double x, final double y, final double distance) {
+		Collection<T> values = new ArrayList<>();
+		if (this.entryCount > 0) {
+			getDisk(0, x, y, distance * distance, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Gets all objects within a certain distance around each of the given locations, querying the locations in parallel.
+	 *
+	 * @param xs left-right locations, longitudes
+	 * @param ys up-down locations, latitudes
+	 * @param distance the maximal distance returned objects can be away from xs[i]/ys[i]
+	 * @return the objects found within distance to xs[i]/ys[i], in the order of the locations
+	 */
+	public List<Collection<T>> getDisk(final double[] xs, final double[] ys, final double distance) {
+		return QuadTree.queryAll(xs, ys, i -> getDisk(xs[i], ys[i], distance));
+	}
+
+	/**
+	 * Gets all objects inside the specified boundary, including the objects on its border.
+	 *
+	 * @param bounds The bounds of the area of interest.
+	 * @param values A collection to store the found objects in.
+	 * @return The objects found within the area.
+	 */
+	public Collection<T> getRectangle(final QuadTree.Rect bounds, final Collection<T> values) {
+		if (this.entryCount > 0) {
+			getRectangle(0, bounds, values);
+		}
+		return values;
+	}
+
+	private int getClosest(final int node, final double x, final double y, final double[] bestDistanceSqr) {
+		int first = 4 * node;
+		if (this.nodeChildren[first] != NO_CHILD) {
+			// visit the children in the same order as QuadTree, so ties are resolved the same way
+			int bestChild = this.nodeChildren[first + getChildPosition(node, x, y)];
+			int closest = getClosest(bestChild, x, y, bestDistanceSqr);
+			for (int position : SEARCH_ORDER) {
+				int child = this.nodeChildren[first + position];
+				if (child != bestChild && calcDistanceSqr(child, x, y) < bestDistanceSqr[0]) {
+					int entry = getClosest(child, x, y, bestDistanceSqr);
+					if (entry >= 0) {
+						closest = entry;
+					}
+				}
+			}
+			return closest;
+		}
+		int closest = -1;
+		for (int entry = this.nodeEntryStart[node], end = this.nodeEntryEnd[node]; entry < end; entry++) {
+			double deltaX = this.entryX[entry] - x;
+			double deltaY = this.entryY[entry] - y;
+			double distanceSqr = deltaX * deltaX + deltaY * deltaY;
+			if (distanceSqr < bestDistanceSqr[0]) {
+				bestDistanceSqr[0] = distanceSqr;
+				closest = entry;
+			}
+		}
+		return closest;
+	}
+
+	private void getKClosest(final int node, final double x, final double y, final int k, final PriorityQueue<QuadTree.Neighbour<T>> neighbours) {
+		int first = 4 * node;
+		if (this.nodeChildren[first] != NO_CHILD) {
+			int bestChild = this.nodeChildren[first + getChildPosition(node, x, y)];
+			getKClosest(bestChild, x, y, k, neighbours);
+			for (int position : SEARCH_ORDER) {
+				int child = this.nodeChildren[first + position];
+				if (child != bestChild && isCandidate(calcDistanceSqr(child, x, y), k, neighbours)) {
+					getKClosest(child, x, y, k, neighbours);
+				}
+			}
+			return;
+		}
+		for (int entry = this.nodeEntryStart[node], end = this.nodeEntryEnd[node]; entry < end; entry++) {
+			double deltaX = this.entryX[entry] - x;
+			double deltaY = this.entryY[entry] - y;
+			double distanceSqr = deltaX * deltaX + deltaY * deltaY;
+			if (isCandidate(distanceSqr, k, neighbours)) {
+				QuadTree.addNeighbour(neighbours, k, value(entry), distanceSqr);
+			}
+		}
+	}
+
+	private static <T> boolean isCandidate(final double distanceSqr, final int k, final PriorityQueue<QuadTree.Neighbour<T>> neighbours) {
+		return neighbours.size() < k || distanceSqr < neighbours.peek().distanceSqr();
+	}
+
+	private void getDisk(final int node, final double x, final double y, final double maxDistanceSqr, final Collection<T> values) {
+		if (calcMaxDistanceSqr(node, x, y) <= maxDistanceSqr) {
+			// the whole subtree is within the disk
+			values.addAll(Arrays.asList(value(this.nodeEntryStart[node], this.nodeEntryEnd[node])));
+			return;
+		}
+		int first = 4 * node;
+		if (this.nodeChildren[first] != NO_CHILD) {
+			for (int position = 0; position < 4; position++) {
+				int child = this.nodeChildren[first + position];
+				if (calcDistanceSqr(child, x, y) <= maxDistanceSqr) {
+					getDisk(child, x, y, maxDistanceSqr, values);
+				}
+			}
+			return;
+		}
+		for (int entry = this.nodeEntryStart[node], end = this.nodeEntryEnd[node]; entry < end; entry++) {
+			double deltaX = this.entryX[entry] - x;
+			double deltaY = this.entryY[entry] - y;
+			if (deltaX * deltaX + deltaY * deltaY <= maxDistanceSqr) {
+				values.add(value(entry));
+			}
+		}
+	}
+
+	private void getRectangle(final int node, final QuadTree.Rect bounds, final Collection<T> values) {
+		if (bounds.minX <= this.nodeMinX[node] && this.nodeMaxX[node] <= bounds.maxX
+				&& bounds.minY <= this.nodeMinY[node] && this.nodeMaxY[node] <= bounds.maxY) {
+			// the whole subtree is within the rectangle
+			values.addAll(Arrays.asList(value(this.nodeEntryStart[node], this.nodeEntryEnd[node])));
+			return;
+		}
+		int first = 4 * node;
+		if (this.nodeChildren[first] != NO_CHILD) {
+			for (int position = 0; position < 4; position++) {
+				int child = this.nodeChildren[first + position];
+				if (intersects(child, bounds)) {
+					getRectangle(child, bounds, values);
+				}
+			}
+			return;
+		}
+		for (int entry = this.nodeEntryStart[node], end = this.nodeEntryEnd[node]; entry < end; entry++) {
+			if (bounds.containsOrEquals(this.entryX[entry], this.entryY[entry])) {
+				values.add(value(entry));
+			}
+		}
+	}
+
+	/** Same as QuadTree's getChild(): the position of the child of the given node that contains x/y. */
+	private int getChildPosition(final int node, final double x, final double y) {
+		double centerX = (this.nodeMinX[node] + this.nodeMaxX[node]) / 2;
+		double centerY = (this.nodeMinY[node] + this.nodeMaxY[node]) / 2;
+		if (x < centerX) {
+			return y < centerY ? SOUTHWEST : NORTHWEST;
+		}
+		return y < centerY ? SOUTHEAST : NORTHEAST;
+	}
+
+	/** Same as {@link QuadTree.Rect#calcDistanceSqr(double, double)} for the bounds of the given node. */
+	private double calcDistanceSqr(final int node, final double x, final double y) {
+		double distanceX = 0;
+		double distanceY = 0;
+		if (x < this.nodeMinX[node] || x > this.nodeMaxX[node]) {
+			distanceX = Math.min(Math.abs(this.nodeMinX[node] - x), Math.abs(this.nodeMaxX[node] - x));
+		}
+		if (y < this.nodeMinY[node] || y > this.nodeMaxY[node]) {
+			distanceY = Math.min(Math.abs(this.nodeMinY[node] - y), Math.abs(this.nodeMaxY[node] - y));
+		}
+		return distanceX * distanceX + distanceY * distanceY;
+	}
+
+	/** Same as {@link QuadTree.Rect#calcMaxDistanceSqr(double, double)} for the bounds of the given node. */
+	private double calcMaxDistanceSqr(final int node, final double x, final double y) {
+		double distanceX = Math.max(Math.abs(this.nodeMinX[node] - x), Math.abs(this.nodeMaxX[node] - x));
+		double distanceY = Math.max(Math.abs(this.nodeMinY[node] - y), Math.abs(this.nodeMaxY[node] - y));
+		return distanceX * distanceX + distanceY * distanceY;
+	}
+
+	/** Same as {@link QuadTree.Rect#intersects(QuadTree.Rect)} for the bounds of the given node. */
+	private boolean intersects(final int node, final QuadTree.Rect other) {
+		return !(other.maxX < this.nodeMinX[node] || other.minX > this.nodeMaxX[node]
+				|| other.maxY < this.nodeMinY[node] || other.minY > this.nodeMaxY[node]);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T value(final int entry) {
+		return (T) this.entryValues[entry];
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] value(final int start, final int end) {
+		return (T[]) Arrays.copyOfRange(this.entryValues, start, end);
+	}
+
+}
@@ -22,6 +22,10 @@ package org.matsim.core.utils.collections;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 /**
  * An implementation of a QuadTree to store data assigned to geometric points.
@@ -30,7 +34,11 @@ import java.util.*;
  * added outside of the given bounds cannot be guaranteed.<br />
  * At one location, several different objects can be put. An object can be put
  * to the QuadTree at different locations. But an object cannot be put more than
- * once at the same location.
+ * once at the same location.<br />
+ * Many entries can be bulk-loaded with {@link #putAll(double[], double[], List)}, and many locations can be queried
+ * in parallel with the batched variants of {@link #getClosest(double[], double[])}, {@link #getKClosest(double[], double[], int)}
+ * and {@link #getDisk(double[], double[], double)}. Once a tree is no longer modified, {@link #pack()} creates a compact,
+ * immutable copy of it.
  *
  * @author mrieser
  * @param <T> The type of data to be stored in the QuadTree.
@@ -94,6 +102,61 @@ public class QuadTree<T> implements Serializable {
 		return false;
 	}
 
+	/**
+	 * Associates all the specified values with the specified coordinates in this QuadTree. If the QuadTree is empty,
+	 * the entries are bulk-loaded: they are partitioned top-down into the quadrants (large quadrants in parallel) instead
+	 * of being put one after the other, which repeatedly splits nodes and moves their leaves. The resulting tree is the
+	 * same as if the entries were put one after the other in the given order.
+	 *
+	 * @param xs x-coordinates where the specified values are to be associated.
+	 * @param ys y-coordinates where the specified values are to be associated.
+	 * @param values values to be associated with the specified coordinates, in the same order as the coordinates.
+	 *
+	 * @return the number of values that changed the data structure.
+	 */
+	public int putAll(final double[] xs, final double[] ys, final List<? extends T> values) {
+		if (xs.length != ys.length || xs.length != values.size()) {
+			throw new IllegalArgumentException("number of coordinates and values differ: " + xs.length + " x, " + ys.length + " y, " + values.size() + " values");
+		}
+		if (this.size > 0) {
+			int count = 0;
+			for (int i = 0; i < xs.length; i++) {
+				if (put(xs[i], ys[i], values.get(i))) {
+					count++;
+				}
+			}
+			return count;
+		}
+		for (int i = 0; i < xs.length; i++) {
+			if (!this.top.bounds.containsOrEquals(xs[i], ys[i])) {
+				throw new IllegalArgumentException("cannot add a point at x=" + xs[i] + ", y=" + ys[i] + " with bounds " + this.top.bounds);
+			}
+		}
+		// merge the values at the same location into one leaf, like Node.put() does. Adding 0.0 turns -0.0 into 0.0 so they are found as the same location.
+		Map<Location, Leaf<T>> leafPerLocation = new HashMap<>();
+		List<Leaf<T>> leaves = new ArrayList<>();
+		int count = 0;
+		for (int i = 0; i < xs.length; i++) {
+			T value = values.get(i);
+			Location location = new Location(xs[i] + 0.0, ys[i] + 0.0);
+			Leaf<T> leaf = leafPerLocation.get(location);
+			if (leaf == null) {
+				leaf = new Leaf<>(xs[i], ys[i], value);
+				leafPerLocation.put(location, leaf);
+				leaves.add(leaf);
+				count++;
+			} else if (leaf.add(value)) {
+				count++;
+			}
+		}
+		this.top.clear();
+		ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> this.top.build(leaves)));
+		this.size = count;
+		this.modCount++;
+		this.values = null;
+		return count;
+	}
+
 	/**
 	 * Removes the specified object from the specified location.
 	 *
@@ -131,6 +194,49 @@ public class QuadTree<T> implements Serializable {
 		return this.top.get(x, y, new MutableDouble(Double.POSITIVE_INFINITY));
 	}
 
+	/**
+	 * Gets the object closest to each of the given locations. The locations are queried in parallel, so the QuadTree
+	 * must not be modified while this method runs.
+	 *
+	 * @param xs easting, left-right locations, longitudes
+	 * @param ys northing, up-down locations, latitudes
+	 * @return the objects found closest to xs[i]/ys[i], in the order of the locations
+	 */
+	public List<T> getClosest(final double[] xs, final double[] ys) {
+		return queryAll(xs, ys, i -> getClosest(xs[i], ys[i]));
+	}
+
+	/**
+	 * Gets the k objects closest to x/y. If several objects are stored at the same location, each of them counts as
+	 * one of the k objects.
+	 *
+	 * @param x easting, left-right location, longitude
+	 * @param y northing, up-down location, latitude
+	 * @param k the maximal number of objects to return
+	 * @return the (at most) k objects closest to x/y, sorted by increasing distance
+	 */
+	public List<T> getKClosest(final double x, final double y, final int k) {
+		if (k < 1) {
+			return new ArrayList<>();
+		}
+		PriorityQueue<Neighbour<T>> neighbours = createNeighbourQueue(k);
+		this.top.getKClosest(x, y, k, neighbours);
+		return sortNeighbours(neighbours);
+	}
+
+	/**
+	 * Gets the k objects closest to each of the given locations. The locations are queried in parallel, so the
+	 * QuadTree must not be modified while this method runs.
+	 *
+	 * @param xs easting, left-right locations, longitudes
+	 * @param ys northing, up-down locations, latitudes
+	 * @param k the maximal number of objects to return per location
+	 * @return the (at most) k objects closest to xs[i]/ys[i], sorted by increasing distance, in the order of the locations
+	 */
+	public List<List<T>> getKClosest(final double[] xs, final double[] ys, final int k) {
+		return queryAll(xs, ys, i -> getKClosest(xs[i], ys[i], k));
+	}
+
 	/**
 	 * Gets all objects within a certain distance around x/y
 	 *
@@ -143,6 +249,19 @@ public class QuadTree<T> implements Serializable {
 		return this.top.get(x, y, distance * distance, new ArrayList<>());
 	}
 
+	/**
+	 * Gets all objects within a certain distance around each of the given locations. The locations are queried in
+	 * parallel, so the QuadTree must not be modified while this method runs.
+	 *
+	 * @param xs left-right locations, longitudes
+	 * @param ys up-down locations, latitudes
+	 * @param distance the maximal distance returned objects can be away from xs[i]/ys[i]
+	 * @return the objects found within distance to xs[i]/ys[i], in the order of the locations
+	 */
+	public List<Collection<T>> getDisk(final double[] xs, final double[] ys, final double distance) {
+		return queryAll(xs, ys, i -> getDisk(xs[i], ys[i], distance));
+	}
+
 	/**
 	 * Gets all objects within a linear ring (including borders).
 	 *
@@ -244,6 +363,19 @@ public class QuadTree<T> implements Serializable {
 		return execute(new Rect(minX, minY, maxX, maxY), executor);
 	}
 
+	/**
+	 * Creates an immutable copy of this QuadTree that stores its nodes and entries in flat arrays. The copy answers
+	 * the same queries, but with less memory and better cache locality, so it is meant for read-only use once all
+	 * entries have been added, e.g. after the scenario is loaded.
+	 *
+	 * @return the packed copy of this QuadTree.
+	 */
+	public PackedQuadTree<T> pack() {
+		PackedQuadTree<T> packed = new PackedQuadTree<>(this.top.countNodes(), this.size);
+		this.top.pack(packed);
+		return packed;
+	}
+
 	/**
 	 * Returns the number of entries in this QuadTree.
 	 *
@@ -365,6 +497,50 @@ public class QuadTree<T> implements Serializable {
 		return this.top.nextLeaf(currentLeaf);
 	}
 
+	/**
+	 * Runs the given query for all locations in parallel and collects the results in the order of the locations.
+	 */
+	/* package */ static <R> List<R> queryAll(final double[] xs, final double[] ys, final IntFunction<R> query) {
+		if (xs.length != ys.length) {
+			throw new IllegalArgumentException("number of x- and y-coordinates differ: " + xs.length + " x, " + ys.length + " y");
+		}
+		Object[] results = new Object[xs.length];
+		IntStream.range(0, xs.length).parallel().forEach(i -> results[i] = query.apply(i));
+		@SuppressWarnings("unchecked")
+		List<R> list = (List<R>) Arrays.asList(results);
+		return list;
+	}
+
+	/* package */ static <T> PriorityQueue<Neighbour<T>> createNeighbourQueue(final int k) {
+		// the farthest of the neighbours found so far is at the head of the queue, so it can be replaced by closer ones
+		return new PriorityQueue<>(k + 1, Comparator.<Neighbour<T>>comparingDouble(Neighbour::distanceSqr).reversed());
+	}
+
+	/* package */ static <T> void addNeighbour(final PriorityQueue<Neighbour<T>> neighbours, final int k, final T value, final double distanceSqr) {
+		neighbours.add(new Neighbour<>(value, distanceSqr));
+		if (neighbours.size() > k) {
+			neighbours.poll();
+		}
+	}
+
+	/* package */ static <T> List<T> sortNeighbours(final PriorityQueue<Neighbour<T>> neighbours) {
+		Object[] values = new Object[neighbours.size()];
+		for (int i = values.length - 1; i >= 0; i--) {
+			values[i] = neighbours.poll().value();
+		}
+		@SuppressWarnings("unchecked")
+		List<T> list = (List<T>) new ArrayList<>(Arrays.asList(values));
+		return list;
+	}
+
+	/** An object found by a k-nearest-neighbour query, with its squared distance to the query location. */
+	/* package */ record Neighbour<T>(T value, double distanceSqr) {
+	}
+
+	/** The key to find the leaf at a location when bulk-loading entries. */
+	private record Location(double x, double y) {
+	}
+
 	/**
 	 * An internal class to hold variable parameters when calling methods.
 	 * Here a double value is packaged within an object so the value can be
@@ -617,6 +793,28 @@ public class QuadTree<T> implements Serializable {
 			this.value = value;
 			this.values = null;
 		}
+
+		/* default */ boolean add(final T value) {
+			if (value == this.value) {
+				return false;
+			}
+			if (this.values != null) {
+				if (this.values.contains(value)) {
+					return false;
+				}
+				this.values.add(value);
+				return true;
+			}
+			if (this.value == null) {
+				this.value = value;
+				return true;
+			}
+			this.values = new ArrayList<>(3);
+			this.values.add(this.value);
+			this.value = null;
+			this.values.add(value);
+			return true;
+		}
 	}
 
 	protected static class Node<T> implements Serializable {
@@ -624,6 +822,9 @@ public class QuadTree<T> implements Serializable {
 
 		private static final int MAX_CHILDS = 128;
 
+		/** Nodes with fewer leaves are bulk-loaded in the calling thread, as forking would cost more than it saves. */
+		private static final int PARALLEL_BUILD_THRESHOLD = 8192;
+
 		private ArrayList<Leaf<T>> leaves = null;
 
 		private boolean hasChilds = false;
@@ -646,28 +847,8 @@ public class QuadTree<T> implements Serializable {
 			}
 			for (Leaf<T> l : this.leaves) {
 				if (l.x == leaf.x && l.y == leaf.y) {
-					if (leaf.value == l.value) {
-						return false;
-					}
-					if (l.values != null) {
-						if (l.values.contains(leaf.value)) {
-							return false;
-						}
-						l.values.add(leaf.value);
-						return true;
-					}
-					if (l.value == null) {
-						l.value = leaf.value;
-						return true;
-					} else {
-						l.values = new ArrayList<>(3);
-						l.values.add(l.value);
-						l.value = null;
-						l.values.add(leaf.value);
-						return true;
-					}
+					return l.add(leaf.value);
 				}
-
 			}
 			if (this.leaves.size() < MAX_CHILDS) {
 				this.leaves.add(leaf);
@@ -681,6 +862,48 @@ public class QuadTree<T> implements Serializable {
 			return put(new Leaf<>(x, y, value));
 		}
 
+		/**
+		 * Distributes the given leaves, which must all be at different locations, to this empty node and its
+		 * descendants. Nodes end up split exactly as if the leaves were put one after the other.
+		 */
+		/* default */ void build(final List<Leaf<T>> leaves) {
+			if (leaves.size() <= MAX_CHILDS) {
+				if (!leaves.isEmpty()) {
+					this.leaves = new ArrayList<>(leaves);
+				}
+				return;
+			}
+			createChilds();
+			List<Leaf<T>> northwestLeaves = new ArrayList<>();
+			List<Leaf<T>> northeastLeaves = new ArrayList<>();
+			List<Leaf<T>> southeastLeaves = new ArrayList<>();
+			List<Leaf<T>> southwestLeaves = new ArrayList<>();
+			for (Leaf<T> leaf : leaves) {
+				Node<T> child = getChild(leaf.x, leaf.y);
+				if (child == this.northwest) {
+					northwestLeaves.add(leaf);
+				} else if (child == this.northeast) {
+					northeastLeaves.add(leaf);
+				} else if (child == this.southeast) {
+					southeastLeaves.add(leaf);
+				} else {
+					southwestLeaves.add(leaf);
+				}
+			}
+			if (leaves.size() > PARALLEL_BUILD_THRESHOLD) {
+				ForkJoinTask.invokeAll(
+						ForkJoinTask.adapt(() -> this.northwest.build(northwestLeaves)),
+						ForkJoinTask.adapt(() -> this.northeast.build(northeastLeaves)),
+						ForkJoinTask.adapt(() -> this.southeast.build(southeastLeaves)),
+						ForkJoinTask.adapt(() -> this.southwest.build(southwestLeaves)));
+			} else {
+				this.northwest.build(northwestLeaves);
+				this.northeast.build(northeastLeaves);
+				this.southeast.build(southeastLeaves);
+				this.southwest.build(southwestLeaves);
+			}
+		}
+
 		public boolean remove(final double x, final double y, final T value) {
 			if (this.hasChilds) return getChild(x, y).remove(x, y, value);
 			if (this.leaves != null) {
@@ -766,6 +989,46 @@ public class QuadTree<T> implements Serializable {
 			return closest;
 		}
 
+		/* default */ void getKClosest(final double x, final double y, final int k, final PriorityQueue<Neighbour<T>> neighbours) {
+			if (this.hasChilds) {
+				Node<T> bestChild = this.getChild(x, y);
+				bestChild.getKClosest(x, y, k, neighbours);
+				if (bestChild != this.northwest && isCandidate(this.northwest.bounds.calcDistanceSqr(x, y), k, neighbours)) {
+					this.northwest.getKClosest(x, y, k, neighbours);
+				}
+				if (bestChild != this.northeast && isCandidate(this.northeast.bounds.calcDistanceSqr(x, y), k, neighbours)) {
+					this.northeast.getKClosest(x, y, k, neighbours);
+				}
+				if (bestChild != this.southeast && isCandidate(this.southeast.bounds.calcDistanceSqr(x, y), k, neighbours)) {
+					this.southeast.getKClosest(x, y, k, neighbours);
+				}
+				if (bestChild != this.southwest && isCandidate(this.southwest.bounds.calcDistanceSqr(x, y), k, neighbours)) {
+					this.southwest.getKClosest(x, y, k, neighbours);
+				}
+				return;
+			}
+			if (this.leaves != null) {
+				for (Leaf<T> leaf : this.leaves) {
+					double deltaX = leaf.x - x;
+					double deltaY = leaf.y - y;
+					double distanceSqr = deltaX * deltaX + deltaY * deltaY;
+					if (isCandidate(distanceSqr, k, neighbours)) {
+						if (leaf.value != null) {
+							addNeighbour(neighbours, k, leaf.value, distanceSqr);
+						} else {
+							for (T value : leaf.values) {
+								addNeighbour(neighbours, k, value, distanceSqr);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		private static <T> boolean isCandidate(final double distanceSqr, final int k, final PriorityQueue<Neighbour<T>> neighbours) {
+			return neighbours.size() < k || distanceSqr < neighbours.peek().distanceSqr();
+		}
+
 		/* default */ Collection<T> getElliptical(
 				final double x1,
 				final double y1,
@@ -965,11 +1228,7 @@ public class QuadTree<T> implements Serializable {
 		}
 
 		private void split() {
-			this.northwest = new Node<>(this.bounds.minX, this.bounds.centerY, this.bounds.centerX, this.bounds.maxY);
-			this.northeast = new Node<>(this.bounds.centerX, this.bounds.centerY, this.bounds.maxX, this.bounds.maxY);
-			this.southeast = new Node<>(this.bounds.centerX, this.bounds.minY, this.bounds.maxX, this.bounds.centerY);
-			this.southwest = new Node<>(this.bounds.minX, this.bounds.minY, this.bounds.centerX, this.bounds.centerY);
-			this.hasChilds = true;
+			createChilds();
 			if (this.leaves != null) {
 				for (Leaf<T> leaf : this.leaves) {
 					getChild(leaf.x, leaf.y).put(leaf);
@@ -978,6 +1237,14 @@ public class QuadTree<T> implements Serializable {
 			}
 		}
 
+		private void createChilds() {
+			this.northwest = new Node<>(this.bounds.minX, this.bounds.centerY, this.bounds.centerX, this.bounds.maxY);
+			this.northeast = new Node<>(this.bounds.centerX, this.bounds.centerY, this.bounds.maxX, this.bounds.maxY);
+			this.southeast = new Node<>(this.bounds.centerX, this.bounds.minY, this.bounds.maxX, this.bounds.centerY);
+			this.southwest = new Node<>(this.bounds.minX, this.bounds.minY, this.bounds.centerX, this.bounds.centerY);
+			this.hasChilds = true;
+		}
+
 		private Node<T> getChild(final double x, final double y) {
 			if (this.hasChilds) {
 				if (x < this.bounds.centerX) {
@@ -1056,6 +1323,42 @@ public class QuadTree<T> implements Serializable {
 			return this.bounds;
 		}
 
+		/* default */ int countNodes() {
+			if (this.hasChilds) {
+				return 1 + this.northwest.countNodes() + this.northeast.countNodes() + this.southeast.countNodes() + this.southwest.countNodes();
+			}
+			return 1;
+		}
+
+		/**
+		 * Copies this node and its descendants into the packed tree, depth-first and with the children in the same order
+		 * as {@link QuadTree#values()}, so the entries of every subtree end up next to each other.
+		 *
+		 * @return the index of this node in the packed tree.
+		 */
+		/* default */ int pack(final PackedQuadTree<T> packed) {
+			int index = packed.addNode(this.bounds);
+			if (this.hasChilds) {
+				int southwestIndex = this.southwest.pack(packed);
+				int northwestIndex = this.northwest.pack(packed);
+				int southeastIndex = this.southeast.pack(packed);
+				int northeastIndex = this.northeast.pack(packed);
+				packed.setChildren(index, southwestIndex, northwestIndex, southeastIndex, northeastIndex);
+			} else if (this.leaves != null) {
+				for (Leaf<T> leaf : this.leaves) {
+					if (leaf.value != null) {
+						packed.addEntry(leaf.x, leaf.y, leaf.value);
+					} else if (leaf.values != null) {
+						for (T value : leaf.values) {
+							packed.addEntry(leaf.x, leaf.y, value);
+						}
+					}
+				}
+			}
+			packed.closeNode(index);
+			return index;
+		}
+
 	}
 
 	public interface Executor<T> {
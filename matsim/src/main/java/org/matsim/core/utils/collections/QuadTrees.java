@@ -20,7 +20,9 @@
 
 package org.matsim.core.utils.collections;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 
 import org.matsim.api.core.v01.BasicLocation;
@@ -62,10 +64,15 @@ public class QuadTrees {
 		}
 
 		QuadTree<E> quadTree = new QuadTree<E>(minX - buffer, minY - buffer, maxX + buffer, maxY + buffer);
-		for (E stop : elements) {
-			Coord c = coordFunction.apply(stop);
-			quadTree.put(c.getX(), c.getY(), stop);
+		List<E> values = new ArrayList<>(elements);
+		double[] xs = new double[values.size()];
+		double[] ys = new double[values.size()];
+		for (int i = 0; i < xs.length; i++) {
+			Coord c = coordFunction.apply(values.get(i));
+			xs[i] = c.getX();
+			ys[i] = c.getY();
 		}
+		quadTree.putAll(xs, ys, values);
 		return quadTree;
 	}
 }
@@ -31,8 +31,10 @@ import org.matsim.utils.objectattributes.FailingObjectAttributes;
 import org.matsim.utils.objectattributes.attributable.Attributes;
 import org.matsim.utils.objectattributes.attributable.AttributesImpl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -193,9 +195,14 @@ public class ActivityFacilitiesImpl implements ActivityFacilities, SearchableAct
 
 		log.info("building QuadTree for nodes: xrange(" + minx + "," + maxx + "); yrange(" + miny + "," + maxy + ")");
 		QuadTree<ActivityFacility> quadTree = new QuadTree<>(minx, miny, maxx, maxy);
-		for (ActivityFacility n : this.facilities.values()) {
-			quadTree.put(n.getCoord().getX(), n.getCoord().getY(), n);
+		List<ActivityFacility> values = new ArrayList<>(this.facilities.values());
+		double[] xs = new double[values.size()];
+		double[] ys = new double[values.size()];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = values.get(i).getCoord().getX();
+			ys[i] = values.get(i).getCoord().getY();
 		}
+		quadTree.putAll(xs, ys, values);
 		/* assign the quadTree at the very end, when it is complete.
 		 * otherwise, other threads may already start working on an incomplete quadtree
 		 */
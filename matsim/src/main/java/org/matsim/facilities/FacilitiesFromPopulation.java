@@ -21,8 +21,11 @@ package org.matsim.facilities;
 
 import static org.matsim.core.config.groups.FacilitiesConfigGroup.FacilitiesSource;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -153,6 +156,33 @@ public final class FacilitiesFromPopulation {
 		}
 	}
 
+	/**
+	 * Looks up the nearest links of all activities with a coordinate but without a link in one parallel batch.
+	 */
+	private Map<Activity, Id<Link>> findNearestLinkIds(final Population population) {
+		List<Activity> activities = new ArrayList<>();
+		List<Coord> coords = new ArrayList<>();
+		for (Person person : population.getPersons().values()) {
+			for (Plan plan : person.getPlans()) {
+				for (PlanElement pe : plan.getPlanElements()) {
+					if (pe instanceof Activity activity && activity.getLinkId() == null && activity.getCoord() != null) {
+						activities.add(activity);
+						coords.add(activity.getCoord());
+					}
+				}
+			}
+		}
+		Map<Activity, Id<Link>> nearestLinkIds = new IdentityHashMap<>(activities.size());
+		if (activities.isEmpty()) {
+			return nearestLinkIds;
+		}
+		List<Link> nearestLinks = NetworkUtils.getNearestLinksExactly(this.network, coords);
+		for (int i = 0; i < activities.size(); i++) {
+			nearestLinkIds.put(activities.get(i), nearestLinks.get(i).getId());
+		}
+		return nearestLinkIds;
+	}
+
 	private void handleActivities(final Population population) {
 		Gbl.assertNotNull( network ) ;
 
@@ -160,6 +190,7 @@ public final class FacilitiesFromPopulation {
 		ActivityFacilitiesFactory factory = this.facilities.getFactory();
 		IdMap<Link, ActivityFacility> facilitiesPerLinkId = new IdMap<>(Link.class);
 		Map<Coord, ActivityFacility> facilitiesPerCoordinate = new HashMap<>();
+		Map<Activity, Id<Link>> nearestLinkIds = findNearestLinkIds(population);
 
 		for (Person person : population.getPersons().values()) {
 			for (Plan plan : person.getPlans()) {
@@ -179,7 +210,7 @@ public final class FacilitiesFromPopulation {
 						ActivityFacility facility ;
 
 						if ( linkId == null ) {
-							linkId = NetworkUtils.getNearestLinkExactly(this.network, coord).getId();
+							linkId = nearestLinkIds.get(activity);
 							// yyyy we have been using the non-exact version in other parts of the project. kai, mar'19
 						}
 						if ( coord==null ) {
@@ -0,0 +1,112 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * BinaryTrajectoryReader.java
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.vis.snapshotwriters;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.population.Person;
+import org.matsim.core.utils.io.IOUtils;
+
+/**
+ * Reads files written by {@link BinaryTrajectoryWriter}. The file is read sequentially and every snapshot and position
+ * is passed to a {@link TrajectoryHandler}, so no objects are created per position.
+ */
+public final class BinaryTrajectoryReader {
+
+	public interface TrajectoryHandler {
+
+		void handleSnapshot(double time);
+
+		void handlePosition(Id<Person> agentId, double easting, double northing, double colorValue, AgentSnapshotInfo.AgentState agentState);
+
+	}
+
+	private final TrajectoryHandler handler;
+
+	public BinaryTrajectoryReader(TrajectoryHandler handler) {
+		this.handler = handler;
+	}
+
+	public void readFile(String filename) {
+		try (InputStream stream = IOUtils.getInputStream(IOUtils.getFileUrl(filename))) {
+			readStream(stream);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void readStream(InputStream stream) {
+		AgentSnapshotInfo.AgentState[] states = AgentSnapshotInfo.AgentState.values();
+		List<Id<Person>> agentIds = new ArrayList<>();
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+			if (in.readInt() != BinaryTrajectoryWriter.MAGIC) {
+				throw new IllegalArgumentException("The data is not in the binary trajectory format.");
+			}
+			int version = in.readInt();
+			if (version != BinaryTrajectoryWriter.VERSION) {
+				throw new IllegalArgumentException("Unsupported binary trajectory format version: " + version);
+			}
+			while (true) {
+				int recordType = in.read();
+				if (recordType < 0) {
+					break; // end of file
+				}
+				switch (recordType) {
+					case BinaryTrajectoryWriter.RECORD_AGENT: {
+						int agentIndex = in.readInt();
+						Id<Person> agentId = Id.create(in.readUTF(), Person.class);
+						while (agentIds.size() <= agentIndex) {
+							agentIds.add(null);
+						}
+						agentIds.set(agentIndex, agentId);
+						break;
+					}
+					case BinaryTrajectoryWriter.RECORD_SNAPSHOT:
+						this.handler.handleSnapshot(in.readDouble());
+						break;
+					case BinaryTrajectoryWriter.RECORD_POSITION: {
+						Id<Person> agentId = agentIds.get(in.readInt());
+						double easting = in.readFloat();
+						double northing = in.readFloat();
+						double colorValue = in.readFloat();
+						byte state = in.readByte();
+						this.handler.handlePosition(agentId, easting, northing, colorValue, state < 0 ? null : states[state]);
+						break;
+					}
+					default:
+						throw new IllegalArgumentException("Unknown record type in binary trajectory data: " + recordType);
+				}
+			}
+		} catch (EOFException e) {
+			throw new UncheckedIOException("Unexpected end of binary trajectory data.", e);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * BinaryTrajectoryWriter.java
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+package org.matsim.vis.snapshotwriters;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.population.Person;
+import org.matsim.core.utils.io.IOUtils;
+
+/**
+ * Writes snapshots into a compact binary trajectory file. Each agent position is stored as a fixed-size record
+ * (agent index, easting, northing, color value, agent state), the agent id itself is only written once, the first
+ * time the agent appears in the file. Positions are not collected, but written as they are passed to
+ * {@link #addAgent(AgentSnapshotInfo)}, so the writer needs no memory per snapshot.
+ * <p>
+ * The file starts with the magic number {@link #MAGIC} and the format version. It is then followed by a sequence
+ * of records, each starting with a record type byte:
+ * <ul>
+ *     <li>{@link #RECORD_AGENT}: <code>int</code> agent index, <code>UTF</code> agent id</li>
+ *     <li>{@link #RECORD_SNAPSHOT}: <code>double</code> time</li>
+ *     <li>{@link #RECORD_POSITION}: <code>int</code> agent index, <code>float</code> easting, <code>float</code> northing,
+ *     <code>float</code> color value, <code>byte</code> agent state (ordinal of {@link AgentSnapshotInfo.AgentState})</li>
+ * </ul>
+ * Coordinates are stored as <code>float</code>, which is precise to about half a meter for typical projected
+ * coordinate systems. This is sufficient for visualization, which is what snapshots are used for.
+ * The time granularity is given by the snapshot period configured in the qsim config group.
+ * Use {@link BinaryTrajectoryReader} to read the files.
+ */
+public final class BinaryTrajectoryWriter implements SnapshotWriter {
+
+	static final int MAGIC = 0x4D545452; // "MTTR"
+	static final int VERSION = 1;
+
+	static final byte RECORD_AGENT = 1;
+	static final byte RECORD_SNAPSHOT = 2;
+	static final byte RECORD_POSITION = 3;
+
+	private final DataOutputStream out;
+	private int[] agentIndexById = new int[1024];
+	private int agentCount = 0;
+
+	public BinaryTrajectoryWriter(String filename) {
+		this(IOUtils.getOutputStream(IOUtils.getFileUrl(filename), false));
+	}
+
+	public BinaryTrajectoryWriter(OutputStream stream) {
+		Arrays.fill(this.agentIndexById, -1);
+		this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+		try {
+			this.out.writeInt(MAGIC);
+			this.out.writeInt(VERSION);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void beginSnapshot(double time) {
+		try {
+			this.out.writeByte(RECORD_SNAPSHOT);
+			this.out.writeDouble(time);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void endSnapshot() {
+		// nothing to do, the next snapshot record or the end of the file marks the end of the snapshot
+	}
+
+	@Override
+	public void addAgent(AgentSnapshotInfo position) {
+		try {
+			int agentIndex = getOrWriteAgentIndex(position.getId());
+			this.out.writeByte(RECORD_POSITION);
+			this.out.writeInt(agentIndex);
+			this.out.writeFloat((float) position.getEasting());
+			this.out.writeFloat((float) position.getNorthing());
+			this.out.writeFloat((float) position.getColorValueBetweenZeroAndOne());
+			this.out.writeByte(position.getAgentState() == null ? -1 : position.getAgentState().ordinal());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private int getOrWriteAgentIndex(Id<Person> personId) throws IOException {
+		int idIndex = personId.index();
+		if (idIndex >= this.agentIndexById.length) {
+			int oldLength = this.agentIndexById.length;
+			this.agentIndexById = Arrays.copyOf(this.agentIndexById, Math.max(idIndex + 1, oldLength * 2));
+			Arrays.fill(this.agentIndexById, oldLength, this.agentIndexById.length, -1);
+		}
+		int agentIndex = this.agentIndexById[idIndex];
+		if (agentIndex < 0) {
+			agentIndex = this.agentCount++;
+			this.agentIndexById[idIndex] = agentIndex;
+			this.out.writeByte(RECORD_AGENT);
+			this.out.writeInt(agentIndex);
+			this.out.writeUTF(personId.toString());
+		}
+		return agentIndex;
+	}
+
+	@Override
+	public void finish() {
+		try {
+			this.out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
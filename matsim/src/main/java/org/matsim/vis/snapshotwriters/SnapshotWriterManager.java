@@ -33,10 +33,9 @@ import org.matsim.core.mobsim.framework.listeners.MobsimInitializedListener;
 import org.matsim.core.mobsim.qsim.interfaces.Netsim;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class SnapshotWriterManager implements MobsimBeforeCleanupListener, MobsimAfterSimStepListener, MobsimInitializedListener {
 
@@ -45,6 +44,7 @@ public class SnapshotWriterManager implements MobsimBeforeCleanupListener, Mobsi
 	private final List<SnapshotWriter> snapshotWriters = new ArrayList<>();
 	private final QSimConfigGroup.FilterSnapshots filterSnapshots;
 	private final int snapshotPeriod;
+	private final List<AgentSnapshotInfo> linkPositions = new ArrayList<>();
 
 	/**
 	 * time since last snapshot
@@ -90,23 +90,29 @@ public class SnapshotWriterManager implements MobsimBeforeCleanupListener, Mobsi
 	private void doSnapshot(final double time, VisMobsim visMobsim) {
 		if (!this.snapshotWriters.isEmpty()) {
 
-			// This could be parallel since mihal has fixed some concurrency issues in the SnapshotInfoBuilder
-			// I think mainly by using separate builders for each generated AgentPositionInfo.
-			// I don't have time to test this right now, but if this ever appears to be a bottle neck, this probably
-			// can be replaced by a parallel stream. janek: oct' 2021
-			var positions = visMobsim.getVisNetwork().getVisLinks().values().stream()
-					.filter(visLink -> isGenerateSnapshot(visLink.getLink()))
-					.flatMap(visLink -> visLink.getVisData().addAgentSnapshotInfo(new HashSet<>()).stream())
-					.collect(Collectors.toSet());
+			// The positions are handed to the writers link by link instead of first collecting the positions of all agents,
+			// so only the positions of a single link have to be kept in memory at any time.
+			for (SnapshotWriter writer : this.snapshotWriters) {
+				writer.beginSnapshot(time);
+			}
+			for (VisLink visLink : visMobsim.getVisNetwork().getVisLinks().values()) {
+				if (!isGenerateSnapshot(visLink.getLink())) {
+					continue;
+				}
+				this.linkPositions.clear();
+				Collection<AgentSnapshotInfo> positions = visLink.getVisData().addAgentSnapshotInfo(this.linkPositions);
+				for (SnapshotWriter writer : this.snapshotWriters) {
+					for (AgentSnapshotInfo position : positions) {
+						writer.addAgent(position);
+					}
+				}
+			}
+			this.linkPositions.clear();
 
 			// We do not put non-network agents in movies.
 			// Otherwise, we would add snapshots from visMobsim.getNonNetworkAgentSnapshots() here.
 
 			for (SnapshotWriter writer : this.snapshotWriters) {
-				writer.beginSnapshot(time);
-				for (AgentSnapshotInfo position : positions) {
-					writer.addAgent(position);
-				}
 				writer.endSnapshot();
 			}
 		}
@@ -46,6 +46,9 @@ public class SnapshotWritersModule extends AbstractModule {
 		if (getConfig().controller().getSnapshotFormat().contains(SnapshotFormat.positionevents)) {
 			addSnapshotWriterBinding().toProvider(PositionEventsWriterFactory.class);
 		}
+		if (getConfig().controller().getSnapshotFormat().contains(SnapshotFormat.binary)) {
+			addSnapshotWriterBinding().toProvider(BinaryTrajectoryWriterFactory.class);
+		}
 		if (getConfig().controller().getWriteSnapshotsInterval() != 0) {
 			addMobsimListenerBinding().toProvider(SnapshotWriterManagerProvider.class);
 		}
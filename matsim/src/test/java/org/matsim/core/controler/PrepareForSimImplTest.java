@@ -46,6 +46,7 @@ import org.matsim.core.population.PopulationUtils;
 import org.matsim.core.router.MainModeIdentifierImpl;
 import org.matsim.core.router.RoutingModule;
 import org.matsim.core.router.RoutingRequest;
+import org.matsim.core.router.SingleModeNetworksCache;
 import org.matsim.core.router.TripRouter;
 import org.matsim.core.router.TripStructureUtils;
 import org.matsim.core.scenario.ScenarioUtils;
@@ -808,6 +809,24 @@ public class PrepareForSimImplTest {
 
 	}
 
+	@Test
+	void testCarOnlyNetworkSharedWithRouters() {
+		Config config = ConfigUtils.createConfig();
+		Scenario scenario = ScenarioUtils.createScenario(config);
+		createAndAddNetwork(scenario);
+		SingleModeNetworksCache singleModeNetworksCache = new SingleModeNetworksCache(scenario.getNetwork(), config.network());
+
+		Network carOnlyNetwork = PrepareForSimImpl.getCarOnlyNetwork(scenario.getNetwork(), singleModeNetworksCache, config.network());
+		Assertions.assertSame(singleModeNetworksCache.getOrCreateSingleModeNetwork(TransportMode.car), carOnlyNetwork);
+		Assertions.assertSame(carOnlyNetwork, PrepareForSimImpl.getCarOnlyNetwork(scenario.getNetwork(), singleModeNetworksCache, config.network()));
+		Assertions.assertEquals(Set.of(Id.create("1", Link.class)), carOnlyNetwork.getLinks().keySet());
+
+		// without cache, e.g. when instantiated via constructor, a separate car-only network is filtered
+		Network filteredNetwork = PrepareForSimImpl.getCarOnlyNetwork(scenario.getNetwork(), null, config.network());
+		Assertions.assertNotSame(carOnlyNetwork, filteredNetwork);
+		Assertions.assertEquals(Set.of(Id.create("1", Link.class)), filteredNetwork.getLinks().keySet());
+	}
+
 	private class DummyTripRouterProvider implements Provider<TripRouter> {
 		@Override
 		public TripRouter get() {
@@ -31,6 +31,11 @@ import org.matsim.api.core.v01.network.NetworkFactory;
 import org.matsim.api.core.v01.network.Node;
 import org.matsim.core.config.ConfigUtils;
 import org.matsim.core.scenario.ScenarioUtils;
+import org.matsim.core.utils.geometry.CoordUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 	/**
  * @author mrieser / senozon
@@ -208,6 +213,43 @@ public class LinkQuadTreeTest {
 		Assertions.assertEquals(lInTop1, qt.getNearest(100, 80));
 	}
 
+	 @Test
+	 void testGetNearest_batch() {
+		Scenario s = ScenarioUtils.createScenario(ConfigUtils.createConfig());
+		Random r = new Random(20261019L);
+
+		LinkQuadTree qt = new LinkQuadTree(0, 0, 10000, 10000);
+		List<Link> links = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			double fromX = r.nextDouble() * 10000;
+			double fromY = r.nextDouble() * 10000;
+			// mostly short links, some long ones which end up in the upper nodes of the tree
+			double length = i % 50 == 0 ? 5000 : 200;
+			Link link = createLink(s, fromX, fromY, Math.min(10000, Math.max(0, fromX + (r.nextDouble() - 0.5) * length)), Math.min(10000, Math.max(0, fromY + (r.nextDouble() - 0.5) * length)));
+			qt.put(link);
+			links.add(link);
+		}
+
+		double[] xs = new double[500];
+		double[] ys = new double[500];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = r.nextDouble() * 10000;
+			ys[i] = r.nextDouble() * 10000;
+		}
+		List<Link> nearest = qt.getNearest(xs, ys);
+		Assertions.assertEquals(xs.length, nearest.size());
+		for (int i = 0; i < xs.length; i++) {
+			Coord coord = new Coord(xs[i], ys[i]);
+			double expectedDistance = Double.POSITIVE_INFINITY;
+			for (Link link : links) {
+				expectedDistance = Math.min(expectedDistance, CoordUtils.distancePointLinesegment(link.getFromNode().getCoord(), link.getToNode().getCoord(), coord));
+			}
+			Link link = nearest.get(i);
+			Assertions.assertEquals(expectedDistance, CoordUtils.distancePointLinesegment(link.getFromNode().getCoord(), link.getToNode().getCoord(), coord), 1e-9);
+			Assertions.assertEquals(qt.getNearest(xs[i], ys[i]), link);
+		}
+	}
+
 	private Link createLink(Scenario s, double fromX, double fromY, double toX, double toY) {
 		NetworkFactory nf = s.getNetwork().getFactory();
 		Coord fc = new Coord(fromX, fromY);
@@ -0,0 +1,141 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.core.router.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Coord;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.network.Network;
+import org.matsim.api.core.v01.network.Node;
+import org.matsim.core.config.groups.ScoringConfigGroup;
+import org.matsim.core.network.NetworkUtils;
+import org.matsim.core.router.costcalculators.FreespeedTravelTimeAndDisutility;
+import org.matsim.core.router.costcalculators.OnlyTimeDependentTravelDisutility;
+import org.matsim.core.router.speedy.SpeedyALTFactory;
+import org.matsim.core.router.speedy.SpeedyDijkstraFactory;
+import org.matsim.core.trafficmonitoring.FreeSpeedTravelTime;
+
+public class RoutingDataCacheTest {
+
+	@Test
+	void testCreatedOnceForConcurrentRequests() throws Exception {
+		RoutingDataCache cache = new RoutingDataCache();
+		Network network = createNetwork();
+		AtomicInteger creations = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<int[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				futures.add(executor.submit(() -> cache.get(network, int[].class, null, () -> {
+					creations.incrementAndGet();
+					return new int[256];
+				}, data -> 4L * data.length)));
+			}
+			int[] first = futures.get(0).get();
+			for (Future<int[]> future : futures) {
+				Assertions.assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		Assertions.assertEquals(1, creations.get());
+		Assertions.assertEquals(1, cache.size());
+		Assertions.assertEquals(1024, cache.getMemorySize());
+
+		// a different travel disutility type or network results in a new entry
+		cache.get(network, int[].class, OnlyTimeDependentTravelDisutility.class, () -> new int[1], data -> 4L);
+		cache.get(createNetwork(), int[].class, null, () -> new int[1], data -> 4L);
+		Assertions.assertEquals(3, cache.size());
+		Assertions.assertEquals(1032, cache.getMemorySize());
+	}
+
+	@Test
+	void testSharedBetweenFactories() {
+		RoutingDataCache cache = new RoutingDataCache();
+		Network network = createNetwork();
+		FreeSpeedTravelTime travelTime = new FreeSpeedTravelTime();
+		FreespeedTravelTimeAndDisutility freespeedDisutility = new FreespeedTravelTimeAndDisutility(new ScoringConfigGroup());
+		OnlyTimeDependentTravelDisutility timeDisutility = new OnlyTimeDependentTravelDisutility(travelTime);
+
+		Node from = network.getNodes().get(Id.createNodeId(0));
+		Node to = network.getNodes().get(Id.createNodeId(3));
+		for (int i = 0; i < 2; i++) {
+			LeastCostPathCalculator alt = new SpeedyALTFactory(cache).createPathCalculator(network, timeDisutility, travelTime);
+			Assertions.assertEquals(3, alt.calcLeastCostPath(from, to, 0, null, null).links.size());
+		}
+		// the graph and the landmarks
+		Assertions.assertEquals(2, cache.size());
+
+		new SpeedyDijkstraFactory(cache).createPathCalculator(network, timeDisutility, travelTime);
+		Assertions.assertEquals(2, cache.size(), "the graph should be shared with the landmarks router");
+
+		new SpeedyALTFactory(cache).createPathCalculator(network, freespeedDisutility, freespeedDisutility);
+		Assertions.assertEquals(3, cache.size(), "landmarks should be computed per travel disutility type");
+		Assertions.assertTrue(cache.getMemorySize() > 0);
+	}
+
+	@Test
+	void testRemove() {
+		RoutingDataCache cache = new RoutingDataCache();
+		Network network = createNetwork();
+		Network otherNetwork = createNetwork();
+		cache.get(network, int[].class, null, () -> new int[1], data -> 4L);
+		cache.get(network, int[].class, OnlyTimeDependentTravelDisutility.class, () -> new int[1], data -> 4L);
+		cache.get(otherNetwork, int[].class, null, () -> new int[2], data -> 8L);
+
+		Assertions.assertEquals(2, cache.remove(network));
+		Assertions.assertEquals(1, cache.size());
+		Assertions.assertEquals(8, cache.getMemorySize());
+		Assertions.assertEquals(0, cache.remove(network));
+
+		// the data is created again when requested after removal
+		AtomicInteger creations = new AtomicInteger();
+		cache.get(network, int[].class, null, () -> new int[creations.incrementAndGet()], data -> 4L);
+		Assertions.assertEquals(1, creations.get());
+
+		cache.clear();
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertEquals(0, cache.getMemorySize());
+	}
+
+	private static Network createNetwork() {
+		Network network = NetworkUtils.createNetwork();
+		Node previous = null;
+		for (int i = 0; i < 4; i++) {
+			Node node = NetworkUtils.createAndAddNode(network, Id.createNodeId(i), new Coord(i * 1000, 0));
+			if (previous != null) {
+				NetworkUtils.createAndAddLink(network, Id.createLinkId(i + "-" + (i - 1)), node, previous, 1000, 10, 1000, 1);
+				NetworkUtils.createAndAddLink(network, Id.createLinkId((i - 1) + "-" + i), previous, node, 1000, 10, 1000, 1);
+			}
+			previous = node;
+		}
+		return network;
+	}
+}
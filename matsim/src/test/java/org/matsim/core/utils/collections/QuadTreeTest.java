@@ -35,10 +35,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -699,6 +702,154 @@ public class QuadTreeTest {
 		}
 	}
 
+	/**
+	 * Test {@link QuadTree#putAll(double[], double[], List)}: the bulk-loaded tree must be the same as the one built by
+	 * single puts, including duplicate locations and duplicate values.
+	 */
+	@Test
+	void testPutAll() {
+		Random r = new Random(20261019L);
+		int count = 20000;
+		double[] xs = new double[count];
+		double[] ys = new double[count];
+		List<String> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (i % 100 == 99) {
+				// another value at an existing location
+				xs[i] = xs[i - 50];
+				ys[i] = ys[i - 50];
+			} else {
+				xs[i] = -1000 + r.nextDouble() * 21000;
+				ys[i] = -5000 + r.nextDouble() * 17000;
+			}
+			values.add(i % 1000 == 998 ? values.get(i - 1) : "ITEM_" + i);
+		}
+
+		QuadTree<String> expected = new QuadTree<>(-1000, -5000, 20000, 12000);
+		for (int i = 0; i < count; i++) {
+			expected.put(xs[i], ys[i], values.get(i));
+		}
+		QuadTree<String> bulkLoaded = new QuadTree<>(-1000, -5000, 20000, 12000);
+		assertEquals(expected.size(), bulkLoaded.putAll(xs, ys, values));
+		assertEquals(expected.size(), bulkLoaded.size());
+		assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(bulkLoaded.values()));
+
+		// adding to a non-empty tree falls back to single puts
+		assertEquals(1, bulkLoaded.putAll(new double[] { 0.0, xs[0] }, new double[] { 0.0, ys[0] }, List.of("origin", values.get(0))));
+		assertEquals(expected.size() + 1, bulkLoaded.size());
+		assertEquals("origin", bulkLoaded.getClosest(0.1, 0.1));
+
+		try {
+			new QuadTree<String>(0, 0, 10, 10).putAll(new double[] { 5, 20 }, new double[] { 5, 5 }, List.of("in", "out"));
+			fail("missing exception for a point outside the bounds.");
+		} catch (IllegalArgumentException e) {
+			LOG.info("caught expected exception: " + e.getMessage());
+		}
+	}
+
+	@Test
+	void testGetKClosest() {
+		QuadTree<String> qt = getTestTree();
+		assertEquals(List.of("10.0, 10.0"), qt.getKClosest(10.0, 9.0, 1));
+		List<String> result = qt.getKClosest(10.0, 9.0, 3);
+		assertEquals(3, result.size());
+		assertEquals("10.0, 10.0", result.get(0));
+		// both objects at the same location count as neighbours
+		assertEquals(Set.of("15.0, 15.0", "15.0, 15.0 B"), new HashSet<>(result.subList(1, 3)));
+		assertEquals(6, qt.getKClosest(0.0, 0.0, 10).size());
+		assertEquals("100.0, 0.0", qt.getKClosest(0.0, 0.0, 10).get(5));
+		assertTrue(qt.getKClosest(0.0, 0.0, 0).isEmpty());
+
+		Random r = new Random(20261020L);
+		QuadTree<Coord> randomTree = createRandomTree(r, 5000);
+		for (int i = 0; i < 100; i++) {
+			Coord query = new Coord(r.nextDouble() * 10000, r.nextDouble() * 10000);
+			List<Coord> expected = new ArrayList<>(randomTree.values());
+			expected.sort(Comparator.comparingDouble(c -> CoordUtils.calcEuclideanDistance(c, query)));
+			List<Coord> actual = randomTree.getKClosest(query.getX(), query.getY(), 7);
+			assertEquals(7, actual.size());
+			for (int k = 0; k < 7; k++) {
+				assertEquals(CoordUtils.calcEuclideanDistance(expected.get(k), query), CoordUtils.calcEuclideanDistance(actual.get(k), query), 1e-9);
+			}
+			assertEquals(randomTree.getClosest(query.getX(), query.getY()), actual.get(0));
+		}
+	}
+
+	/**
+	 * Test the batched queries, which run in parallel, against the single queries.
+	 */
+	@Test
+	void testBatchedQueries() {
+		Random r = new Random(20261021L);
+		QuadTree<Coord> qt = createRandomTree(r, 5000);
+		double[] xs = new double[1000];
+		double[] ys = new double[1000];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = -500 + r.nextDouble() * 11000;
+			ys[i] = -500 + r.nextDouble() * 11000;
+		}
+
+		List<Coord> closest = qt.getClosest(xs, ys);
+		List<List<Coord>> kClosest = qt.getKClosest(xs, ys, 5);
+		List<Collection<Coord>> disks = qt.getDisk(xs, ys, 300);
+		assertEquals(xs.length, closest.size());
+		for (int i = 0; i < xs.length; i++) {
+			assertSame(qt.getClosest(xs[i], ys[i]), closest.get(i));
+			assertEquals(qt.getKClosest(xs[i], ys[i], 5), kClosest.get(i));
+			assertEquals(qt.getDisk(xs[i], ys[i], 300), disks.get(i));
+		}
+
+		try {
+			qt.getClosest(new double[2], new double[3]);
+			fail("missing exception for different numbers of coordinates.");
+		} catch (IllegalArgumentException e) {
+			LOG.info("caught expected exception: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Test {@link QuadTree#pack()}: the packed tree must answer all queries like the original tree.
+	 */
+	@Test
+	void testPack() {
+		QuadTree<String> qt = getTestTree();
+		PackedQuadTree<String> packedTestTree = qt.pack();
+		assertEquals(6, packedTestTree.size());
+		assertEquals(new ArrayList<>(qt.values()), packedTestTree.values());
+		assertEquals("15.0, 15.0", packedTestTree.getClosest(14.0, 14.0));
+		assertEquals(new HashSet<>(qt.getDisk(10.0, 10.0, 10.0)), new HashSet<>(packedTestTree.getDisk(10.0, 10.0, 10.0)));
+		assertNull(new QuadTree<String>(0, 0, 10, 10).pack().getClosest(5, 5));
+
+		Random r = new Random(20261022L);
+		QuadTree<Coord> randomTree = createRandomTree(r, 10000);
+		PackedQuadTree<Coord> packed = randomTree.pack();
+		assertEquals(randomTree.size(), packed.size());
+		assertEquals(new ArrayList<>(randomTree.values()), packed.values());
+		for (int i = 0; i < 500; i++) {
+			double x = -500 + r.nextDouble() * 11000;
+			double y = -500 + r.nextDouble() * 11000;
+			assertSame(randomTree.getClosest(x, y), packed.getClosest(x, y));
+			assertEquals(randomTree.getKClosest(x, y, 10), packed.getKClosest(x, y, 10));
+			assertEquals(new HashSet<>(randomTree.getDisk(x, y, 500)), new HashSet<>(packed.getDisk(x, y, 500)));
+			Rect rect = new Rect(x, y, x + 800, y + 300);
+			assertEquals(new HashSet<>(randomTree.getRectangle(rect, new ArrayList<>())), new HashSet<>(packed.getRectangle(rect, new ArrayList<>())));
+		}
+	}
+
+	private static QuadTree<Coord> createRandomTree(Random r, int count) {
+		double[] xs = new double[count];
+		double[] ys = new double[count];
+		List<Coord> coords = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			xs[i] = r.nextDouble() * 10000;
+			ys[i] = r.nextDouble() * 10000;
+			coords.add(new Coord(xs[i], ys[i]));
+		}
+		QuadTree<Coord> qt = new QuadTree<>(0, 0, 10000, 10000);
+		qt.putAll(xs, ys, coords);
+		return qt;
+	}
+
 	/**
 	 * A kind of performance test, but not marked as test, as there is no need
 	 * to run it in every check as there is not assert statement.
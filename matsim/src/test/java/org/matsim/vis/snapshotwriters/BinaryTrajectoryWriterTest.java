@@ -0,0 +1,84 @@
+/* *********************************************************************** *
+ * project: org.matsim.*
+ * BinaryTrajectoryWriterTest.java
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ * copyright       : (C) 2026 by the members listed in the COPYING,        *
+ *                   LICENSE and WARRANTY file.                            *
+ * email           : info at matsim dot org                                *
+ *                                                                         *
+ * *********************************************************************** *
+ *                                                                         *
+ *   This program is free software; you can redistribute it and/or modify  *
+ *   it under the terms of the GNU General Public License as published by  *
+ *   the Free Software Foundation; either version 2 of the License, or     *
+ *   (at your option) any later version.                                   *
+ *   See also COPYING, LICENSE and WARRANTY file                           *
+ *                                                                         *
+ * *********************************************************************** */
+
+package org.matsim.vis.snapshotwriters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.matsim.api.core.v01.Id;
+import org.matsim.api.core.v01.population.Person;
+
+public class BinaryTrajectoryWriterTest {
+
+	@Test
+	void testWriteAndRead() {
+		Id<Person> agent1 = Id.create("agent1", Person.class);
+		Id<Person> agent2 = Id.create("agent2", Person.class);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryTrajectoryWriter writer = new BinaryTrajectoryWriter(out);
+		writer.beginSnapshot(10.0);
+		writer.addAgent(createPosition(agent1, 100, 200, 0.5, AgentSnapshotInfo.AgentState.PERSON_DRIVING_CAR));
+		writer.addAgent(createPosition(agent2, 300, 400, 1.0, AgentSnapshotInfo.AgentState.PERSON_AT_ACTIVITY));
+		writer.endSnapshot();
+		writer.beginSnapshot(20.0);
+		writer.addAgent(createPosition(agent2, 350, 450, 0.0, AgentSnapshotInfo.AgentState.PERSON_DRIVING_CAR));
+		writer.endSnapshot();
+		writer.beginSnapshot(30.0);
+		writer.endSnapshot();
+		writer.finish();
+
+		List<Double> snapshots = new ArrayList<>();
+		List<String> positions = new ArrayList<>();
+		new BinaryTrajectoryReader(new BinaryTrajectoryReader.TrajectoryHandler() {
+			@Override
+			public void handleSnapshot(double time) {
+				snapshots.add(time);
+			}
+
+			@Override
+			public void handlePosition(Id<Person> agentId, double easting, double northing, double colorValue, AgentSnapshotInfo.AgentState agentState) {
+				positions.add(agentId + ";" + easting + ";" + northing + ";" + colorValue + ";" + agentState);
+			}
+		}).readStream(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(List.of(10.0, 20.0, 30.0), snapshots);
+		assertEquals(3, positions.size());
+		assertEquals("agent1;100.0;200.0;0.5;PERSON_DRIVING_CAR", positions.get(0));
+		assertEquals("agent2;300.0;400.0;1.0;PERSON_AT_ACTIVITY", positions.get(1));
+		assertEquals("agent2;350.0;450.0;0.0;PERSON_DRIVING_CAR", positions.get(2));
+	}
+
+	private static AgentSnapshotInfo createPosition(Id<Person> agentId, double x, double y, double colorValue, AgentSnapshotInfo.AgentState state) {
+		return new PositionInfo.DirectBuilder()
+				.setPersonId(agentId)
+				.setEasting(x)
+				.setNorthing(y)
+				.setColorValue(colorValue)
+				.setAgentState(state)
+				.build();
+	}
+}